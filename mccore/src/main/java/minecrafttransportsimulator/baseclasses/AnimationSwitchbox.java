@@ -15,6 +15,10 @@ import minecrafttransportsimulator.rendering.DurationDelayClock;
  * matrix, all operations are done as pre-operations.  So a translation operation followed by a rotate operation
  * is valid, but the internal code here will take the rotation matrix and multiply it by the translation matrix.  Then
  * any further calls will the calling matrix transform multiplied by the net transform.
+ * <br><br>
+ * The animations are compiled into a flat program when the switchbox is created.  Runs of transforms whose clamps
+ * make them constant are folded into a single pre-computed transform, and the switchbox we apply after is resolved
+ * once and only looked up again if that switchbox is {@link #invalidate()}d when its entity re-creates its animations.
  *
  * @author don_bruce
  */
@@ -29,7 +33,9 @@ public class AnimationSwitchbox {
     //Computational variables.
     protected final AEntityD_Definable<?> entity;
     private final String applyAfter;
-    private final List<DurationDelayClock> clocks = new ArrayList<>();
+    private final Step[] program;
+    private AnimationSwitchbox applyAfterSwitchbox;
+    private boolean invalidated;
     private final Point3D helperPoint = new Point3D();
     private final Point3D helperScalingVector = new Point3D();
     private final RotationMatrix helperRotationMatrix = new RotationMatrix();
@@ -42,20 +48,78 @@ public class AnimationSwitchbox {
     public AnimationSwitchbox(AEntityD_Definable<?> entity, List<JSONAnimationDefinition> animations, String applyAfter) {
         this.entity = entity;
         this.applyAfter = applyAfter;
+
+        //Compile the animations into steps.  Constant transforms can only be folded if we use the
+        //standard transform logic, as extending classes use the transform animations for other things.
+        boolean canFold = getClass() == AnimationSwitchbox.class;
+        List<Step> steps = new ArrayList<>();
+        Step constantStep = null;
         for (JSONAnimationDefinition animation : animations) {
-            clocks.add(new DurationDelayClock(animation));
+            DurationDelayClock clock = new DurationDelayClock(animation);
+            if (canFold && isConstantTransform(clock)) {
+                if (constantStep == null) {
+                    constantStep = new Step(null);
+                    steps.add(constantStep);
+                }
+                double value = animation.clampMin;
+                switch (animation.animationType) {
+                    case TRANSLATION:
+                        applyTranslation(clock, value, constantStep.matrix, constantStep.translation);
+                        break;
+                    case ROTATION:
+                        applyRotation(clock, value, constantStep.matrix, constantStep.translation, constantStep.rotation);
+                        break;
+                    case SCALING:
+                        applyScaling(clock, value, constantStep.matrix, constantStep.scale);
+                        break;
+                    default:
+                        break;
+                }
+            } else {
+                constantStep = null;
+                steps.add(new Step(clock));
+            }
+        }
+        this.program = steps.toArray(new Step[0]);
+    }
+
+    /**
+     * Returns true if the clock is a transform that always has the same value.  This happens if it has no
+     * duration/delay logic and its min and max clamps are equal, as the clamps will then always set the value to them.
+     */
+    private static boolean isConstantTransform(DurationDelayClock clock) {
+        JSONAnimationDefinition animation = clock.animation;
+        switch (animation.animationType) {
+            case TRANSLATION:
+            case ROTATION:
+            case SCALING:
+                return !clock.isUseful && animation.axis != null && animation.clampMin != 0 && animation.clampMin == animation.clampMax;
+            default:
+                return false;
         }
     }
 
+    /**
+     * Invalidates this switchbox.  This should be called when the entity re-creates its switchboxes, so
+     * any switchboxes that apply after this one know to get the new one rather than use this one.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
     public boolean runSwitchbox(float partialTicks, boolean forceSameTick) {
         if (forceSameTick || lastTickRun != entity.ticksExisted || lastPartialTickRun != partialTicks) {
             lastTickRun = entity.ticksExisted;
             lastPartialTickRun = partialTicks;
 
             if (applyAfter != null) {
-                AnimationSwitchbox switchbox = entity.animatedObjectSwitchboxes.get(applyAfter);
-                if (switchbox == null) {
-                    throw new IllegalArgumentException("Was told to applyAfter the object " + applyAfter + " on " + entity + ", but there aren't any animations to applyAfter!");
+                AnimationSwitchbox switchbox = applyAfterSwitchbox;
+                if (switchbox == null || switchbox.invalidated) {
+                    switchbox = entity.animatedObjectSwitchboxes.get(applyAfter);
+                    if (switchbox == null) {
+                        throw new IllegalArgumentException("Was told to applyAfter the object " + applyAfter + " on " + entity + ", but there aren't any animations to applyAfter!");
+                    }
+                    applyAfterSwitchbox = switchbox;
                 }
                 if (switchbox.runSwitchbox(partialTicks, forceSameTick)) {
                     translation.set(switchbox.translation);
@@ -75,7 +139,18 @@ public class AnimationSwitchbox {
 
             inhibitAnimations = false;
             switchboxEnabled = true;
-            for (DurationDelayClock clock : clocks) {
+            for (Step step : program) {
+                DurationDelayClock clock = step.clock;
+                if (clock == null) {
+                    //Folded constant transforms.
+                    if (!inhibitAnimations) {
+                        netMatrix.multiply(step.matrix);
+                        translation.add(step.translation);
+                        rotation.multiply(step.rotation);
+                        scale.multiply(step.scale);
+                    }
+                    continue;
+                }
                 switch (clock.animation.animationType) {
                     case TRANSLATION: {
                         if (!inhibitAnimations) {
@@ -136,9 +211,7 @@ public class AnimationSwitchbox {
         //Found translation.  This gets applied in the translation axis direction directly.
         double variableValue = entity.getAnimatedVariableValue(clock, clock.animationAxisMagnitude, partialTicks);
         if (variableValue != 0) {
-            helperPoint.set(clock.animationAxisNormalized).scale(variableValue);
-            netMatrix.applyTranslation(helperPoint);
-            translation.add(helperPoint);
+            applyTranslation(clock, variableValue, netMatrix, translation);
         }
     }
 
@@ -146,36 +219,50 @@ public class AnimationSwitchbox {
         //Found rotation.  Get angles that needs to be applied.
         double variableValue = entity.getAnimatedVariableValue(clock, clock.animationAxisMagnitude, partialTicks);
         if (variableValue != 0) {
-            helperRotationMatrix.setToAxisAngle(clock.animationAxisNormalized, variableValue);
+            applyRotation(clock, variableValue, netMatrix, translation, rotation);
+        }
+    }
 
-            //If we have a center offset, do special translation code to handle it.
-            //Otherwise, don't bother, as it'll just take cycles.
-            if (clock.animation.centerPoint.x != 0 || clock.animation.centerPoint.y != 0 || clock.animation.centerPoint.z != 0) {
-                //First translate to the center point.
-                helperOffsetOperationMatrix.resetTransforms();
-                helperOffsetOperationMatrix.setTranslation(clock.animation.centerPoint);
+    public void runScaling(DurationDelayClock clock, float partialTicks) {
+        //Found scaling.  Get scale that needs to be applied.
+        double variableValue = entity.getAnimatedVariableValue(clock, clock.animationAxisMagnitude, partialTicks);
+        applyScaling(clock, variableValue, netMatrix, scale);
+    }
 
-                //Now do rotation.
-                helperOffsetOperationMatrix.applyRotation(helperRotationMatrix);
+    private void applyTranslation(DurationDelayClock clock, double variableValue, TransformationMatrix targetMatrix, Point3D targetTranslation) {
+        helperPoint.set(clock.animationAxisNormalized).scale(variableValue);
+        targetMatrix.applyTranslation(helperPoint);
+        targetTranslation.add(helperPoint);
+    }
 
-                //Translate back.  This requires inverting the translation.
-                helperOffsetOperationMatrix.applyInvertedTranslation(clock.animation.centerPoint);
+    private void applyRotation(DurationDelayClock clock, double variableValue, TransformationMatrix targetMatrix, Point3D targetTranslation, RotationMatrix targetRotation) {
+        helperRotationMatrix.setToAxisAngle(clock.animationAxisNormalized, variableValue);
 
-                //Apply that net value to our main matrix.
-                netMatrix.multiply(helperOffsetOperationMatrix);
+        //If we have a center offset, do special translation code to handle it.
+        //Otherwise, don't bother, as it'll just take cycles.
+        if (clock.animation.centerPoint.x != 0 || clock.animation.centerPoint.y != 0 || clock.animation.centerPoint.z != 0) {
+            //First translate to the center point.
+            helperOffsetOperationMatrix.resetTransforms();
+            helperOffsetOperationMatrix.setTranslation(clock.animation.centerPoint);
 
-                //Get the translation value from the offset matrix and apply it to our net translation.
-                translation.add(helperOffsetOperationMatrix.m03, helperOffsetOperationMatrix.m13, helperOffsetOperationMatrix.m23);
-            } else {
-                netMatrix.applyRotation(helperRotationMatrix);
-            }
-            rotation.multiply(helperRotationMatrix);
+            //Now do rotation.
+            helperOffsetOperationMatrix.applyRotation(helperRotationMatrix);
+
+            //Translate back.  This requires inverting the translation.
+            helperOffsetOperationMatrix.applyInvertedTranslation(clock.animation.centerPoint);
+
+            //Apply that net value to our main matrix.
+            targetMatrix.multiply(helperOffsetOperationMatrix);
+
+            //Get the translation value from the offset matrix and apply it to our net translation.
+            targetTranslation.add(helperOffsetOperationMatrix.m03, helperOffsetOperationMatrix.m13, helperOffsetOperationMatrix.m23);
+        } else {
+            targetMatrix.applyRotation(helperRotationMatrix);
         }
+        targetRotation.multiply(helperRotationMatrix);
     }
 
-    public void runScaling(DurationDelayClock clock, float partialTicks) {
-        //Found scaling.  Get scale that needs to be applied.
-        double variableValue = entity.getAnimatedVariableValue(clock, clock.animationAxisMagnitude, partialTicks);
+    private void applyScaling(DurationDelayClock clock, double variableValue, TransformationMatrix targetMatrix, Point3D targetScale) {
         helperScalingVector.set(clock.animationAxisNormalized).scale(variableValue);
         //Check for 0s and remove them.
         if (helperScalingVector.x == 0)
@@ -199,10 +286,37 @@ public class AnimationSwitchbox {
             helperOffsetOperationMatrix.applyInvertedTranslation(clock.animation.centerPoint);
 
             //Apply that net value to our main matrix and our scale.
-            netMatrix.multiply(helperOffsetOperationMatrix);
-            scale.multiply(helperScalingVector);
+            targetMatrix.multiply(helperOffsetOperationMatrix);
+            targetScale.multiply(helperScalingVector);
         } else {
-            netMatrix.applyScaling(helperScalingVector);
+            targetMatrix.applyScaling(helperScalingVector);
+        }
+    }
+
+    /**
+     * A step in the compiled program.  Either a clock to run, or if the clock is null,
+     * the net transform of a run of constant transforms that were folded together.
+     */
+    private static class Step {
+        private final DurationDelayClock clock;
+        private final TransformationMatrix matrix;
+        private final Point3D translation;
+        private final RotationMatrix rotation;
+        private final Point3D scale;
+
+        private Step(DurationDelayClock clock) {
+            this.clock = clock;
+            if (clock == null) {
+                matrix = new TransformationMatrix();
+                translation = new Point3D();
+                rotation = new RotationMatrix();
+                scale = new Point3D(1, 1, 1);
+            } else {
+                matrix = null;
+                translation = null;
+                rotation = null;
+                scale = null;
+            }
         }
     }
 }
@@ -9,6 +9,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
@@ -18,6 +19,8 @@ import minecrafttransportsimulator.entities.instances.EntityBullet;
 import minecrafttransportsimulator.entities.instances.EntityPlacedPart;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.entities.instances.PartGun;
+import minecrafttransportsimulator.rendering.ParticleSystem;
+import minecrafttransportsimulator.rendering.StaticGeometryBatcher;
 
 /**
  * Class that manages entities in a world or other area.
@@ -33,6 +36,11 @@ public class EntityManager {
     private final ConcurrentHashMap<UUID, AEntityA_Base> trackedEntityMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, PartGun> gunMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, Map<Integer, EntityBullet>> bulletMap = new ConcurrentHashMap<>();
+    private final EntitySpatialIndex multipartIndex = new EntitySpatialIndex();
+    public final VehicleMovementSync vehicleMovementSync = new VehicleMovementSync();
+    public final StaticGeometryBatcher staticGeometry = new StaticGeometryBatcher();
+    public final SensorSweep sensorSweep = new SensorSweep(this);
+    public final ParticleSystem particles = new ParticleSystem();
 
     /**
      * Adds the entity to the world.  This will make it get update ticks and be rendered
@@ -57,6 +65,12 @@ public class EntityManager {
             EntityBullet bullet = (EntityBullet) entity;
             bulletMap.get(bullet.gun.uniqueUUID).put(bullet.bulletNumber, bullet);
         }
+        if (entity instanceof EntityVehicleF_Physics || entity instanceof EntityPlacedPart) {
+            multipartIndex.add((AEntityF_Multipart<?>) entity);
+        }
+        if (entity instanceof EntityVehicleF_Physics) {
+            vehicleMovementSync.addVehicle((EntityVehicleF_Physics) entity);
+        }
 
         @SuppressWarnings("unchecked")
         ConcurrentLinkedQueue<EntityType> classList = (ConcurrentLinkedQueue<EntityType>) entitiesByClass.get(entity.getClass());
@@ -131,6 +145,7 @@ public class EntityManager {
      * are not parts, since parts are ticked by their parents.
      */
     public void tickAll() {
+        sensorSweep.markStale();
         for (AEntityA_Base entity : allTickableEntities) {
             if (!(entity instanceof AEntityG_Towable) || !(((AEntityG_Towable<?>) entity).blockMainUpdateCall())) {
                 entity.world.beginProfiling("MTSEntity_" + entity.uniqueUUID, true);
@@ -141,6 +156,46 @@ public class EntityManager {
                 entity.world.endProfiling();
             }
         }
+        particles.update();
+        vehicleMovementSync.sendMovement();
+    }
+
+    /**
+     * Updates the position of the multipart in the spatial index.  This should be called any time
+     * the multipart's {@link AEntityF_Multipart#encompassingBox} changes.  Multiparts that aren't
+     * in the index, such as parts on vehicles, are ignored.
+     */
+    public void updateMultipartBounds(AEntityF_Multipart<?> multipart) {
+        multipartIndex.update(multipart);
+    }
+
+    /**
+     * Returns a new, mutable list, with all vehicles and placed parts that are an instance of the passed-in class,
+     * and have an {@link AEntityF_Multipart#encompassingBox} that intersects the passed-in box.  This uses the spatial
+     * index, so only multiparts near the box are checked.  Use this rather than looping over {@link #getEntitiesOfType(Class)}.
+     */
+    public <EntityType extends AEntityB_Existing> List<EntityType> getMultipartsWithin(Class<EntityType> entityClass, BoundingBox box) {
+        List<EntityType> list = new ArrayList<>();
+        multipartIndex.getEntitiesWithin(entityClass, box, list);
+        return list;
+    }
+
+    /**
+     * Like {@link #getMultipartsWithin(Class, BoundingBox)}, but for the vector between the two points.
+     * Used for raytracing, where the multiparts returned then need their boxes checked against the vector.
+     */
+    public <EntityType extends AEntityB_Existing> List<EntityType> getMultipartsAlong(Class<EntityType> entityClass, Point3D startPoint, Point3D endPoint) {
+        return getMultipartsWithin(entityClass, new BoundingBox(startPoint, endPoint));
+    }
+
+    /**
+     * Like {@link #getMultipartsWithin(Class, BoundingBox)}, but returns multiparts whose position
+     * is within the passed-in radius of the passed-in point.
+     */
+    public <EntityType extends AEntityB_Existing> List<EntityType> getMultipartsInRadius(Class<EntityType> entityClass, Point3D center, double radius) {
+        List<EntityType> list = getMultipartsWithin(entityClass, new BoundingBox(center, radius));
+        list.removeIf(entity -> !entity.position.isDistanceToCloserThan(center, radius));
+        return list;
     }
 
     /**
@@ -150,21 +205,19 @@ public class EntityManager {
     public EntityInteractResult getMultipartEntityIntersect(Point3D startPoint, Point3D endPoint) {
         EntityInteractResult closestResult = null;
         BoundingBox vectorBounds = new BoundingBox(startPoint, endPoint);
-        List<AEntityF_Multipart<?>> multiparts = new ArrayList<>();
-        multiparts.addAll(getEntitiesOfType(EntityVehicleF_Physics.class));
-        multiparts.addAll(getEntitiesOfType(EntityPlacedPart.class));
-
-        for (AEntityF_Multipart<?> multipart : multiparts) {
-            if (multipart.encompassingBox.intersects(vectorBounds)) {
-                //Could have hit this multipart, check if and what we did via raytracing.
-                for (BoundingBox box : multipart.allInteractionBoxes) {
-                    if (box.intersects(vectorBounds)) {
-                        BoundingBoxHitResult intersectionPoint = box.getIntersection(startPoint, endPoint);
-                        if (intersectionPoint != null) {
-                            if (closestResult == null || startPoint.isFirstCloserThanSecond(intersectionPoint.position, closestResult.position)) {
-                                APart part = multipart.getPartWithBox(box);
-                                closestResult = new EntityInteractResult(part != null ? part : multipart, box, intersectionPoint.position);
-                            }
+        for (AEntityF_Multipart<?> multipart : getMultipartsWithin(AEntityF_Multipart.class, vectorBounds)) {
+            //Could have hit this multipart, check if and what we did via raytracing.
+            //Check the oriented box first, as the encompassing box is much larger for rotated multiparts.
+            if (multipart.orientedEncompassingBox.getIntersection(startPoint, endPoint) == null) {
+                continue;
+            }
+            for (BoundingBox box : multipart.allInteractionBoxes) {
+                if (box.intersects(vectorBounds)) {
+                    BoundingBoxHitResult intersectionPoint = box.getIntersection(startPoint, endPoint);
+                    if (intersectionPoint != null) {
+                        if (closestResult == null || startPoint.isFirstCloserThanSecond(intersectionPoint.position, closestResult.position)) {
+                            APart part = multipart.getPartWithBox(box);
+                            closestResult = new EntityInteractResult(part != null ? part : multipart, box, intersectionPoint.position);
                         }
                     }
                 }
@@ -181,6 +234,7 @@ public class EntityManager {
         allTickableEntities.remove(entity);
         if (entity instanceof AEntityC_Renderable) {
             renderableEntities.remove(entity);
+            staticGeometry.remove((AEntityC_Renderable) entity);
         }
         entitiesByClass.get(entity.getClass()).remove(entity);
         if (entity.shouldSync()) {
@@ -190,5 +244,11 @@ public class EntityManager {
             EntityBullet bullet = (EntityBullet) entity;
             bulletMap.get(bullet.gun.uniqueUUID).remove(bullet.bulletNumber);
         }
+        if (entity instanceof AEntityF_Multipart) {
+            multipartIndex.remove((AEntityF_Multipart<?>) entity);
+        }
+        if (entity instanceof EntityVehicleF_Physics) {
+            vehicleMovementSync.removeVehicle((EntityVehicleF_Physics) entity);
+        }
     }
 }
\ No newline at end of file
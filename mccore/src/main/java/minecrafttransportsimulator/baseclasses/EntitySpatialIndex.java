@@ -0,0 +1,158 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
+
+/**
+ * Uniform grid of multipart entities, bucketed by their {@link AEntityF_Multipart#encompassingBox}.
+ * This allows for box, ray, and radius queries to only check the entities in the area of the query,
+ * rather than every entity in the world.  The grid is 2D in the XZ-plane, as entities are spread out
+ * horizontally far more than they are vertically.  Entities that span multiple cells are put in all of them.
+ * <br><br>
+ * Entities must be re-bucketed when their box changes via {@link #update(AEntityF_Multipart)}.  This is cheap
+ * if the entity hasn't left the cells it was in, so it's fine to call every time the box is updated.
+ * Note that queries only check the encompassing box of the entity.  Callers should still check the individual
+ * boxes of the entities returned, the same as they would if they were looping over all entities.
+ *
+ * @author don_bruce
+ */
+public class EntitySpatialIndex {
+    /**
+     * Size of cells, in blocks.  Set to chunk size, since that's about the size of most entities and queries.
+     **/
+    private static final int CELL_SIZE = 16;
+
+    private final Map<Long, Set<Entry>> cells = new ConcurrentHashMap<>();
+    private final Map<AEntityF_Multipart<?>, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the entity to this index.  Should be called when the entity is added to the world.
+     */
+    public void add(AEntityF_Multipart<?> entity) {
+        Entry entry = new Entry(entity);
+        entries.put(entity, entry);
+        entry.setBounds(entity.encompassingBox);
+        addToCells(entry);
+    }
+
+    /**
+     * Updates the cells the entity is in to match its current box.  If the entity isn't in this index
+     * this call is ignored, so this can be called by any entity that updates its box.
+     */
+    public void update(AEntityF_Multipart<?> entity) {
+        Entry entry = entries.get(entity);
+        if (entry != null) {
+            BoundingBox box = entity.encompassingBox;
+            if (getCell(box.globalCenter.x - box.widthRadius) != entry.minX || getCell(box.globalCenter.x + box.widthRadius) != entry.maxX || getCell(box.globalCenter.z - box.depthRadius) != entry.minZ || getCell(box.globalCenter.z + box.depthRadius) != entry.maxZ) {
+                removeFromCells(entry);
+                entry.setBounds(box);
+                addToCells(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes the entity from this index.  Should be called when the entity is removed from the world.
+     */
+    public void remove(AEntityF_Multipart<?> entity) {
+        Entry entry = entries.remove(entity);
+        if (entry != null) {
+            removeFromCells(entry);
+        }
+    }
+
+    /**
+     * Adds all entities of the passed-in class whose {@link AEntityF_Multipart#encompassingBox} intersects
+     * the passed-in box to the results.  Only entities in the cells the box overlaps are checked.  Each entity
+     * is added once, even if it spans multiple cells.  If the box covers more cells than there are entities,
+     * as it will for radar and other long-range queries, all entities are checked instead, as that's cheaper.
+     */
+    @SuppressWarnings("unchecked")
+    public <EntityType extends AEntityA_Base> void getEntitiesWithin(Class<EntityType> entityClass, BoundingBox box, List<EntityType> results) {
+        int minX = getCell(box.globalCenter.x - box.widthRadius);
+        int maxX = getCell(box.globalCenter.x + box.widthRadius);
+        int minZ = getCell(box.globalCenter.z - box.depthRadius);
+        int maxZ = getCell(box.globalCenter.z + box.depthRadius);
+        if (((long) maxX - minX + 1) * ((long) maxZ - minZ + 1) > entries.size()) {
+            for (Entry entry : entries.values()) {
+                if (entityClass.isInstance(entry.entity) && entry.entity.encompassingBox.intersects(box)) {
+                    results.add((EntityType) entry.entity);
+                }
+            }
+            return;
+        }
+        for (int x = minX; x <= maxX; ++x) {
+            for (int z = minZ; z <= maxZ; ++z) {
+                Set<Entry> cell = cells.get(getKey(x, z));
+                if (cell != null) {
+                    for (Entry entry : cell) {
+                        //Only check the entity in the first cell that both it and the query share.
+                        //This prevents duplicates without needing to check the results.
+                        if (x == Math.max(minX, entry.minX) && z == Math.max(minZ, entry.minZ) && entityClass.isInstance(entry.entity) && entry.entity.encompassingBox.intersects(box)) {
+                            results.add((EntityType) entry.entity);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void addToCells(Entry entry) {
+        for (int x = entry.minX; x <= entry.maxX; ++x) {
+            for (int z = entry.minZ; z <= entry.maxZ; ++z) {
+                cells.computeIfAbsent(getKey(x, z), k -> ConcurrentHashMap.newKeySet()).add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry entry) {
+        for (int x = entry.minX; x <= entry.maxX; ++x) {
+            for (int z = entry.minZ; z <= entry.maxZ; ++z) {
+                Long key = getKey(x, z);
+                Set<Entry> cell = cells.get(key);
+                if (cell != null) {
+                    cell.remove(entry);
+                    if (cell.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int getCell(double coord) {
+        return (int) Math.floor(coord / CELL_SIZE);
+    }
+
+    private static long getKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Entry for an entity in the index.  Holds the cell range the entity was last put in
+     * so we know where to remove it from, and if it needs to be moved.
+     */
+    private static class Entry {
+        private final AEntityF_Multipart<?> entity;
+        private int minX;
+        private int maxX;
+        private int minZ;
+        private int maxZ;
+
+        private Entry(AEntityF_Multipart<?> entity) {
+            this.entity = entity;
+        }
+
+        private void setBounds(BoundingBox box) {
+            minX = getCell(box.globalCenter.x - box.widthRadius);
+            maxX = getCell(box.globalCenter.x + box.widthRadius);
+            minZ = getCell(box.globalCenter.z - box.depthRadius);
+            maxZ = getCell(box.globalCenter.z + box.depthRadius);
+        }
+    }
+}
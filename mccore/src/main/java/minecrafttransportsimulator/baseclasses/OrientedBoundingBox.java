@@ -0,0 +1,235 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Collection;
+
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+
+/**
+ * Bounding box that rotates with the entity that owns it, rather than being aligned to the world axes.
+ * {@link BoundingBox} is axis-aligned, so a box that encloses a rotated entity has to grow to enclose
+ * all the rotated corners.  For long things like trains turned 45 degrees, most of the space in such a box
+ * is empty, which makes for lots of false hits in pre-checks.  This box is much tighter in those cases,
+ * so it's used as a second pre-check after the axis-aligned box passes, but before we check all the small boxes.
+ * <br><br>
+ * Boxes are built by calling {@link #reset(AEntityB_Existing)}, adding all the boxes that should be enclosed with
+ * {@link #addBox(BoundingBox)}, and then calling {@link #update()}.  Intersection checks use the separating axis
+ * theorem, so they are exact, not approximations.
+ *
+ * @author don_bruce
+ */
+public class OrientedBoundingBox {
+    /**
+     * The center of this box, relative to the entity position, in the entity's coordinate system.
+     **/
+    public final Point3D localCenter = new Point3D();
+    /**
+     * The center of this box in the world.
+     **/
+    public final Point3D globalCenter = new Point3D();
+    /**
+     * The half-lengths of this box along each of its axes.
+     **/
+    public final Point3D radius = new Point3D();
+    /**
+     * The orientation of this box.  This is a copy of the entity orientation at the time of {@link #reset(AEntityB_Existing)}.
+     **/
+    public final RotationMatrix orientation = new RotationMatrix();
+
+    private final Point3D entityPosition = new Point3D();
+    private final Point3D min = new Point3D();
+    private final Point3D max = new Point3D();
+    private final Point3D helperPoint = new Point3D();
+    private final double[][] axes = new double[][]{{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+    private final double[][] rotation = new double[3][3];
+    private final double[][] absRotation = new double[3][3];
+    private final double[] translation = new double[3];
+    private final double[] ourRadius = new double[3];
+    private final double[] otherRadius = new double[3];
+
+    private static final double[][] WORLD_AXES = new double[][]{{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+    //Added to the absolute rotation values to prevent false separations when two edges are near-parallel.
+    private static final double EPSILON = 0.00001;
+
+    /**
+     * Resets this box to a zero-sized box at the entity's position, aligned to the entity's orientation.
+     */
+    public void reset(AEntityB_Existing entity) {
+        orientation.set(entity.orientation);
+        entityPosition.set(entity.position);
+        min.set(Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE);
+        max.set(-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE);
+    }
+
+    /**
+     * Grows this box to enclose all boxes in the passed-in collection.
+     */
+    public void addBoxes(Collection<BoundingBox> boxes) {
+        for (BoundingBox box : boxes) {
+            addBox(box);
+        }
+    }
+
+    /**
+     * Grows this box to enclose the passed-in box.  As the passed-in box is axis-aligned,
+     * we use the extents of its rotated corners in our coordinate system.
+     */
+    public void addBox(BoundingBox box) {
+        helperPoint.set(box.globalCenter).subtract(entityPosition).reOrigin(orientation);
+        double extentX = Math.abs(orientation.m00) * box.widthRadius + Math.abs(orientation.m10) * box.heightRadius + Math.abs(orientation.m20) * box.depthRadius;
+        double extentY = Math.abs(orientation.m01) * box.widthRadius + Math.abs(orientation.m11) * box.heightRadius + Math.abs(orientation.m21) * box.depthRadius;
+        double extentZ = Math.abs(orientation.m02) * box.widthRadius + Math.abs(orientation.m12) * box.heightRadius + Math.abs(orientation.m22) * box.depthRadius;
+        min.x = Math.min(min.x, helperPoint.x - extentX);
+        min.y = Math.min(min.y, helperPoint.y - extentY);
+        min.z = Math.min(min.z, helperPoint.z - extentZ);
+        max.x = Math.max(max.x, helperPoint.x + extentX);
+        max.y = Math.max(max.y, helperPoint.y + extentY);
+        max.z = Math.max(max.z, helperPoint.z + extentZ);
+    }
+
+    /**
+     * Updates the center and radius of this box to enclose all boxes added since the last reset.
+     * If no boxes were added, the box will have no size and be at the entity's position.
+     */
+    public void update() {
+        if (min.x > max.x) {
+            localCenter.set(0, 0, 0);
+            radius.set(0, 0, 0);
+        } else {
+            localCenter.set(min).add(max).scale(0.5);
+            radius.set(max).subtract(min).scale(0.5);
+        }
+        globalCenter.set(localCenter).rotate(orientation).add(entityPosition);
+
+        //Axes are the columns of the rotation matrix.
+        axes[0][0] = orientation.m00;
+        axes[0][1] = orientation.m10;
+        axes[0][2] = orientation.m20;
+        axes[1][0] = orientation.m01;
+        axes[1][1] = orientation.m11;
+        axes[1][2] = orientation.m21;
+        axes[2][0] = orientation.m02;
+        axes[2][1] = orientation.m12;
+        axes[2][2] = orientation.m22;
+    }
+
+    /**
+     * Returns true if the passed-in point is inside this box, or on its border.
+     */
+    public boolean isPointInside(Point3D point) {
+        helperPoint.set(point).subtract(globalCenter).reOrigin(orientation);
+        return Math.abs(helperPoint.x) <= radius.x && Math.abs(helperPoint.y) <= radius.y && Math.abs(helperPoint.z) <= radius.z;
+    }
+
+    /**
+     * Returns true if the passed-in axis-aligned box intersects this box.
+     */
+    public boolean intersects(BoundingBox box) {
+        otherRadius[0] = box.widthRadius;
+        otherRadius[1] = box.heightRadius;
+        otherRadius[2] = box.depthRadius;
+        return intersects(box.globalCenter, WORLD_AXES, otherRadius);
+    }
+
+    /**
+     * Returns true if the passed-in oriented box intersects this box.
+     */
+    public boolean intersects(OrientedBoundingBox box) {
+        otherRadius[0] = box.radius.x;
+        otherRadius[1] = box.radius.y;
+        otherRadius[2] = box.radius.z;
+        return intersects(box.globalCenter, box.axes, otherRadius);
+    }
+
+    /**
+     * Separating axis test between this box and a box with the passed-in center, axes, and radius.
+     * Checks our 3 axes, the other box's 3 axes, and the 9 cross-products of those axes.  If the projections
+     * of the boxes onto any of those are separated, then the boxes don't intersect.
+     */
+    private boolean intersects(Point3D otherCenter, double[][] otherAxes, double[] otherRadius) {
+        //Get the other box's axes and center in our coordinate system.
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                rotation[i][j] = axes[i][0] * otherAxes[j][0] + axes[i][1] * otherAxes[j][1] + axes[i][2] * otherAxes[j][2];
+                absRotation[i][j] = Math.abs(rotation[i][j]) + EPSILON;
+            }
+        }
+        double deltaX = otherCenter.x - globalCenter.x;
+        double deltaY = otherCenter.y - globalCenter.y;
+        double deltaZ = otherCenter.z - globalCenter.z;
+        for (int i = 0; i < 3; ++i) {
+            translation[i] = deltaX * axes[i][0] + deltaY * axes[i][1] + deltaZ * axes[i][2];
+        }
+        ourRadius[0] = radius.x;
+        ourRadius[1] = radius.y;
+        ourRadius[2] = radius.z;
+        double ra;
+        double rb;
+
+        //Our axes.
+        for (int i = 0; i < 3; ++i) {
+            ra = ourRadius[i];
+            rb = otherRadius[0] * absRotation[i][0] + otherRadius[1] * absRotation[i][1] + otherRadius[2] * absRotation[i][2];
+            if (Math.abs(translation[i]) > ra + rb) {
+                return false;
+            }
+        }
+
+        //Their axes.
+        for (int j = 0; j < 3; ++j) {
+            ra = ourRadius[0] * absRotation[0][j] + ourRadius[1] * absRotation[1][j] + ourRadius[2] * absRotation[2][j];
+            rb = otherRadius[j];
+            if (Math.abs(translation[0] * rotation[0][j] + translation[1] * rotation[1][j] + translation[2] * rotation[2][j]) > ra + rb) {
+                return false;
+            }
+        }
+
+        //Cross-products of our axis i with their axis j.
+        for (int i = 0; i < 3; ++i) {
+            int i1 = (i + 1) % 3;
+            int i2 = (i + 2) % 3;
+            for (int j = 0; j < 3; ++j) {
+                int j1 = (j + 1) % 3;
+                int j2 = (j + 2) % 3;
+                ra = ourRadius[i1] * absRotation[i2][j] + ourRadius[i2] * absRotation[i1][j];
+                rb = otherRadius[j1] * absRotation[i][j2] + otherRadius[j2] * absRotation[i][j1];
+                if (Math.abs(translation[i2] * rotation[i1][j] - translation[i1] * rotation[i2][j]) > ra + rb) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks to see if the line defined by the passed-in start and end points intersects this box.
+     * If so, then a new point is returned on the first point of intersection, or the start point if it is inside the box.
+     * If the line does not intersect this box, null is returned.
+     */
+    public Point3D getIntersection(Point3D start, Point3D end) {
+        //Put the line into our coordinate system, then clip it against each pair of faces.
+        Point3D localStart = start.copy().subtract(globalCenter).reOrigin(orientation);
+        Point3D localDelta = end.copy().subtract(start).reOrigin(orientation);
+        double[] startValues = new double[]{localStart.x, localStart.y, localStart.z};
+        double[] deltaValues = new double[]{localDelta.x, localDelta.y, localDelta.z};
+        double[] radiusValues = new double[]{radius.x, radius.y, radius.z};
+        double entryFactor = 0;
+        double exitFactor = 1;
+        for (int i = 0; i < 3; ++i) {
+            if (Math.abs(deltaValues[i]) < EPSILON) {
+                //Parallel to these faces, so we must already be between them.
+                if (Math.abs(startValues[i]) > radiusValues[i]) {
+                    return null;
+                }
+            } else {
+                double firstFactor = (-radiusValues[i] - startValues[i]) / deltaValues[i];
+                double secondFactor = (radiusValues[i] - startValues[i]) / deltaValues[i];
+                entryFactor = Math.max(entryFactor, Math.min(firstFactor, secondFactor));
+                exitFactor = Math.min(exitFactor, Math.max(firstFactor, secondFactor));
+                if (entryFactor > exitFactor) {
+                    return null;
+                }
+            }
+        }
+        return end.copy().subtract(start).scale(entryFactor).add(start);
+    }
+}
@@ -0,0 +1,250 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+
+/**
+ * Class that handles sensor queries for radars, gun lock-ons, and missile seekers.
+ * Rather than each sensor getting vehicles and doing trig and raytraces on its own, the first
+ * query in a tick takes a snapshot of all vehicles, and all queries for that tick run against it.
+ * Cone checks are done with squared distances and dot products, so no square roots or inverse trig
+ * are needed, and only the best candidate is raytraced for line-of-sight.  Line-of-sight
+ * results are then memoized by the blocks the start and target points are in for the rest of the tick,
+ * as many sensors tend to look at the same targets from about the same spot, such as multiple guns
+ * controlled by the same player.
+ *
+ * @author don_bruce
+ */
+public class SensorSweep {
+    private final EntityManager manager;
+    private final List<Contact> contacts = new ArrayList<>();
+    private final List<Contact> candidates = new ArrayList<>();
+    private final Map<LineOfSightKey, Boolean> lineOfSightResults = new HashMap<>();
+    private final LineOfSightKey lookupKey = new LineOfSightKey();
+    private final Point3D coneDirection = new Point3D();
+    private final Point3D rayDelta = new Point3D();
+    private int contactCount;
+    private boolean isStale = true;
+
+    public SensorSweep(EntityManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Marks the snapshot and line-of-sight results as stale.  Should be called at the start of every tick.
+     * The snapshot won't be re-built until something queries it.
+     */
+    public void markStale() {
+        isStale = true;
+        lineOfSightResults.clear();
+    }
+
+    /**
+     * Adds all vehicles within range of the start point that are inside the cone defined by the search vector
+     * and angle, in degrees, to the passed-in lists.  Aircraft are added to the first list, ground vehicles to the second.
+     * The passed-in entity and vehicles that are out of health are excluded.  No line-of-sight checks are done, as
+     * this is used for radars, which can see though terrain.
+     */
+    public void getVehiclesInCone(Point3D startPoint, Point3D searchVector, double range, double coneAngle, AEntityB_Existing excludedEntity, List<EntityVehicleF_Physics> aircraft, List<EntityVehicleF_Physics> grounders) {
+        updateSnapshot();
+        coneDirection.set(searchVector).normalize();
+        double rangeSquared = range * range;
+        double minDot = getMinDot(coneAngle);
+        for (int i = 0; i < contactCount; ++i) {
+            Contact contact = contacts.get(i);
+            if (contact.vehicle != excludedEntity && !contact.outOfHealth && contact.isInCone(startPoint, coneDirection, rangeSquared, minDot)) {
+                if (contact.isAircraft) {
+                    aircraft.add(contact.vehicle);
+                } else {
+                    grounders.add(contact.vehicle);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the closest vehicle that is within the cone defined by the search vector and angle, in degrees,
+     * and that is in line-of-sight of the start point.  The length of the search vector is the range of the cone.
+     * Candidates are raytraced closest-first, so only the vehicle returned, and any closer ones that are blocked, are raytraced.
+     * The passed-in entity is excluded, and aircraft and ground vehicles are only included if requested.
+     * Returns null if there are no matching vehicles.
+     */
+    public EntityVehicleF_Physics getClosestVehicleInCone(AWrapperWorld world, Point3D startPoint, Point3D searchVector, double coneAngle, AEntityB_Existing excludedEntity, boolean includeAircraft, boolean includeGrounders) {
+        updateSnapshot();
+        coneDirection.set(searchVector).normalize();
+        double range = searchVector.length();
+        double rangeSquared = range * range;
+        double minDot = getMinDot(coneAngle);
+        candidates.clear();
+        for (int i = 0; i < contactCount; ++i) {
+            Contact contact = contacts.get(i);
+            if (contact.vehicle != excludedEntity && (contact.isAircraft ? includeAircraft : includeGrounders) && contact.isInCone(startPoint, coneDirection, rangeSquared, minDot)) {
+                candidates.add(contact);
+            }
+        }
+
+        EntityVehicleF_Physics closestVehicle = null;
+        while (!candidates.isEmpty()) {
+            int closestIndex = 0;
+            for (int i = 1; i < candidates.size(); ++i) {
+                if (candidates.get(i).distanceSquared < candidates.get(closestIndex).distanceSquared) {
+                    closestIndex = i;
+                }
+            }
+            Contact closest = candidates.get(closestIndex);
+            if (hasLineOfSight(world, startPoint, closest.position)) {
+                closestVehicle = closest.vehicle;
+                break;
+            } else {
+                candidates.set(closestIndex, candidates.get(candidates.size() - 1));
+                candidates.remove(candidates.size() - 1);
+            }
+        }
+        candidates.clear();
+        return closestVehicle;
+    }
+
+    /**
+     * Returns true if the target point is inside the cone defined by the search vector and angle, in degrees,
+     * and is within the passed-in range.  This does not need the snapshot, so may be used for any target.
+     */
+    public boolean isInCone(Point3D startPoint, Point3D searchVector, double range, double coneAngle, Point3D targetPoint) {
+        coneDirection.set(searchVector).normalize();
+        return isInCone(coneDirection, range * range, getMinDot(coneAngle), targetPoint.x - startPoint.x, targetPoint.y - startPoint.y, targetPoint.z - startPoint.z);
+    }
+
+    /**
+     * Returns true if there are no blocks between the start and target points.
+     * Results are memoized until the next tick, so repeated checks between points in the same blocks are free.
+     * Moving sensors and targets rarely check the exact same points twice, so this is close enough for sensors.
+     */
+    public boolean hasLineOfSight(AWrapperWorld world, Point3D startPoint, Point3D targetPoint) {
+        lookupKey.set(startPoint, targetPoint);
+        Boolean result = lineOfSightResults.get(lookupKey);
+        if (result == null) {
+            rayDelta.set(targetPoint).subtract(startPoint);
+            result = world.getBlockHit(startPoint, rayDelta) == null;
+            LineOfSightKey key = new LineOfSightKey();
+            key.set(startPoint, targetPoint);
+            lineOfSightResults.put(key, result);
+        }
+        return result;
+    }
+
+    private void updateSnapshot() {
+        if (isStale) {
+            int index = 0;
+            for (EntityVehicleF_Physics vehicle : manager.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+                Contact contact;
+                if (index < contacts.size()) {
+                    contact = contacts.get(index);
+                } else {
+                    contact = new Contact();
+                    contacts.add(contact);
+                }
+                contact.vehicle = vehicle;
+                contact.position.set(vehicle.position);
+                contact.isAircraft = vehicle.definition.motorized.isAircraft;
+                contact.outOfHealth = vehicle.outOfHealth;
+                ++index;
+            }
+
+            //Clear out old references so removed vehicles can be collected.
+            for (int i = index; i < contactCount; ++i) {
+                contacts.get(i).vehicle = null;
+            }
+            contactCount = index;
+            isStale = false;
+        }
+    }
+
+    /**
+     * Returns the minimum normalized dot product for a point to be inside a cone of the passed-in angle.
+     * Angles of 180 or more include everything, but we have to handle them specially as cos wraps around.
+     */
+    private static double getMinDot(double coneAngle) {
+        return coneAngle >= 180 ? -2 : Math.cos(Math.toRadians(coneAngle));
+    }
+
+    /**
+     * Returns true if the delta is inside the cone.  This squares both sides of dot > |delta| * minDot
+     * to avoid the square root, so the signs need to be checked prior.
+     */
+    private static boolean isInCone(Point3D coneDirection, double rangeSquared, double minDot, double deltaX, double deltaY, double deltaZ) {
+        double distanceSquared = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+        if (distanceSquared < rangeSquared) {
+            double dot = coneDirection.x * deltaX + coneDirection.y * deltaY + coneDirection.z * deltaZ;
+            if (minDot >= 0) {
+                return dot > 0 && dot * dot > minDot * minDot * distanceSquared;
+            } else {
+                return dot >= 0 || dot * dot < minDot * minDot * distanceSquared;
+            }
+        } else {
+            return false;
+        }
+    }
+
+    private static class Contact {
+        private final Point3D position = new Point3D();
+        private EntityVehicleF_Physics vehicle;
+        private boolean isAircraft;
+        private boolean outOfHealth;
+        private double distanceSquared;
+
+        private boolean isInCone(Point3D startPoint, Point3D coneDirection, double rangeSquared, double minDot) {
+            double deltaX = position.x - startPoint.x;
+            double deltaY = position.y - startPoint.y;
+            double deltaZ = position.z - startPoint.z;
+            distanceSquared = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+            return SensorSweep.isInCone(coneDirection, rangeSquared, minDot, deltaX, deltaY, deltaZ);
+        }
+    }
+
+    /**
+     * Key for line-of-sight results.  Points are quantized to the block they are in.
+     */
+    private static class LineOfSightKey {
+        private int startX;
+        private int startY;
+        private int startZ;
+        private int targetX;
+        private int targetY;
+        private int targetZ;
+
+        private void set(Point3D startPoint, Point3D targetPoint) {
+            startX = (int) Math.floor(startPoint.x);
+            startY = (int) Math.floor(startPoint.y);
+            startZ = (int) Math.floor(startPoint.z);
+            targetX = (int) Math.floor(targetPoint.x);
+            targetY = (int) Math.floor(targetPoint.y);
+            targetZ = (int) Math.floor(targetPoint.z);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object instanceof LineOfSightKey) {
+                LineOfSightKey other = (LineOfSightKey) object;
+                return startX == other.startX && startY == other.startY && startZ == other.startZ && targetX == other.targetX && targetY == other.targetY && targetZ == other.targetZ;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = startX;
+            hash = hash * 31 + startY;
+            hash = hash * 31 + startZ;
+            hash = hash * 31 + targetX;
+            hash = hash * 31 + targetY;
+            hash = hash * 31 + targetZ;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.blocks.components.ABlockBase.BlockMaterial;
+import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
+
+/**
+ * Pre-parsed form of a variable name as used in animations, text, and the various variable lists in JSON.
+ * Variable names have a lot of structure to them: they may be inverted with a "!", forwarded to a parent
+ * with "parent_", indexed to a specific part with a "_xx" suffix, or be one of the parametrized variables like
+ * cycles and block materials.  Rather than re-parsing all of that every time the variable is queried, which is
+ * every frame for animations, it is parsed once here and stored.  Entities then use the pre-parsed
+ * {@link #type} and parameters in {@link AEntityD_Definable#getRawVariableValue(VariableHandle, float)}
+ * to get the value without any string operations.
+ * <br><br>
+ * Handles are immutable and shared between all entities, so get them via {@link #of(String)} rather than
+ * creating new ones.  Animations should obtain their handles once when they are created and hold onto them.
+ *
+ * @author don_bruce
+ */
+public class VariableHandle {
+    private static final Map<String, VariableHandle> handles = new ConcurrentHashMap<>();
+    private static final String INVERTED_PREFIX = "!";
+    private static final String PARENT_PREFIX = "parent_";
+    private static final String CYCLE_SUFFIX = "_cycle";
+    private static final String TEXT_PREFIX = "text_";
+    private static final String TEXT_SUFFIX = "_present";
+    private static final String BLOCKMATERIAL_PREFIX = "blockmaterial_";
+    private static final String TERRAIN_BLOCKMATERIAL_PREFIX = "terrain_blockmaterial_";
+    private static final String GROUND_BLOCKMATERIAL_PREFIX = "ground_blockmaterial_";
+    private static final String CONNECTION_PREFIX = "connection";
+    private static final String ENGINE_SIN_PREFIX = "engine_sin_";
+    private static final String ENGINE_COS_PREFIX = "engine_cos_";
+    private static final String ENGINE_DRIVESHAFT_SIN_PREFIX = "engine_driveshaft_sin_";
+    private static final String ENGINE_DRIVESHAFT_COS_PREFIX = "engine_driveshaft_cos_";
+    private static final String ENGINE_PISTON_PREFIX = "engine_piston_";
+    private static final String ENGINE_PISTON_CRANK_SUFFIX = "_crank";
+    private static final String ENGINE_PISTON_CAM_SUFFIX = "_cam";
+    private static final String NEIGHBOR_PRESENT_PREFIX = "neighbor_present_";
+    private static final String MATCHING_PRESENT_PREFIX = "matching_present_";
+    private static final String SOLID_PRESENT_PREFIX = "solid_present_";
+    private static final String MISSILE_PREFIX = "missile_";
+    private static final String RADAR_PREFIX = "radar_";
+
+    /**
+     * The name of the variable, without any inversion prefix.  This is what is used for generic variable lookups.
+     **/
+    public final String name;
+
+    /**
+     * True if the variable had a "!" prefix.  Inverted variables return 1 if the variable is 0, and 0 otherwise.
+     * Note that this is only used by animation and variable-list logic; raw value calls ignore it.
+     **/
+    public final boolean inverted;
+
+    /**
+     * The type of this variable.  Used by entities to do the lookup without parsing the name.
+     **/
+    public final VariableType type;
+
+    /**
+     * The 0-indexed part number defined by a "_xx" suffix, or -1 if the variable doesn't have one.
+     **/
+    public final int partNumber;
+
+    /**
+     * The part type of a part-indexed variable.  This is the section of the name prior to the first "_".
+     * Null if the variable isn't part-indexed.
+     **/
+    public final String partType;
+
+    /**
+     * The variable to query on the part for a part-indexed variable, which is this variable without the suffix.
+     * Null if the variable isn't part-indexed.
+     **/
+    public final VariableHandle partVariable;
+
+    /**
+     * The variable to query on the parent for "parent_" variables, or null if this isn't one.
+     **/
+    public final VariableHandle parentVariable;
+
+    /**
+     * The timing parameters for cycle variables, in ticks.  0 if this isn't a cycle.
+     **/
+    public final int cycleOffTime;
+    public final int cycleOnTime;
+    public final int cycleTotalTime;
+
+    /**
+     * The 0-indexed text object index for text present variables.  -1 if this isn't one.
+     **/
+    public final int textIndex;
+
+    /**
+     * The material to check for block material variables.  Null if this isn't one,
+     * or if the material requested is not a valid material.
+     **/
+    public final BlockMaterial material;
+
+    /**
+     * The 0-indexed number parsed out of the name of entity-specific variables, such as the connection group for
+     * connection variables, the contact for radar and missile variables, or the piston for engine piston variables.
+     * -1 if this variable doesn't have one.
+     **/
+    public final int index;
+
+    /**
+     * The 0-indexed connection for connection variables, or -1 if this isn't one or it doesn't specify one.
+     **/
+    public final int subIndex;
+
+    /**
+     * The total number of pistons for engine piston variables.  0 if this isn't one.
+     **/
+    public final int count;
+
+    /**
+     * The rotation offset for engine trig and piston variables.  Piston offsets are already multiplied for camshafts.
+     **/
+    public final int offset;
+
+    /**
+     * True if this is an engine piston variable for the camshaft rather than the crankshaft.
+     **/
+    public final boolean camshaft;
+
+    /**
+     * The axis to check for pole neighbor, matching, and solid variables.  Null if this isn't one.
+     **/
+    public final Axis axis;
+
+    /**
+     * The trailing section of the name of connection, radar, and missile variables.  This is what is being queried
+     * of the connection or contact, such as "connected" or "distance".  Null if this isn't one of those variables.
+     **/
+    public final VariableHandle subVariable;
+
+    private VariableHandle(String variable) {
+        this.inverted = variable.startsWith(INVERTED_PREFIX);
+        this.name = inverted ? variable.substring(INVERTED_PREFIX.length()) : variable;
+
+        this.partNumber = AEntityF_Multipart.getVariableNumber(name);
+        if (partNumber != -1) {
+            this.partType = name.substring(0, name.indexOf('_'));
+            this.partVariable = of(name.substring(0, name.lastIndexOf('_')));
+        } else {
+            this.partType = null;
+            this.partVariable = null;
+        }
+        this.parentVariable = name.startsWith(PARENT_PREFIX) ? of(name.substring(PARENT_PREFIX.length())) : null;
+
+        VariableType builtinType = VariableType.forName(name);
+        int offTime = 0;
+        int onTime = 0;
+        int totalTime = 0;
+        int parsedTextIndex = -1;
+        BlockMaterial parsedMaterial = null;
+        int parsedIndex = -1;
+        int parsedSubIndex = -1;
+        int parsedCount = 0;
+        int parsedOffset = 0;
+        boolean parsedCamshaft = false;
+        Axis parsedAxis = null;
+        VariableHandle parsedSubVariable = null;
+        if (builtinType == null) {
+            //Malformed cycle and text variables are left as generic variables rather than crashing.
+            //They may be valid for an entity that forwards them, such as parts with "parent_" variables.
+            if (name.endsWith(CYCLE_SUFFIX)) {
+                String[] parsedVariable = name.split("_");
+                try {
+                    offTime = Integer.parseInt(parsedVariable[0]);
+                    onTime = Integer.parseInt(parsedVariable[1]);
+                    totalTime = offTime + onTime + Integer.parseInt(parsedVariable[2]);
+                    builtinType = VariableType.CYCLE;
+                } catch (Exception e) {
+                    builtinType = VariableType.GENERIC;
+                }
+            } else if (name.startsWith(TEXT_PREFIX) && name.endsWith(TEXT_SUFFIX)) {
+                try {
+                    parsedTextIndex = Integer.parseInt(name.substring(TEXT_PREFIX.length(), name.length() - TEXT_SUFFIX.length())) - 1;
+                    builtinType = VariableType.TEXT_PRESENT;
+                } catch (Exception e) {
+                    builtinType = VariableType.GENERIC;
+                }
+            } else if (name.startsWith(BLOCKMATERIAL_PREFIX)) {
+                builtinType = VariableType.BLOCK_MATERIAL;
+                parsedMaterial = getMaterial(name.substring(BLOCKMATERIAL_PREFIX.length()));
+            } else if (name.startsWith(TERRAIN_BLOCKMATERIAL_PREFIX)) {
+                builtinType = VariableType.TERRAIN_BLOCK_MATERIAL;
+                parsedMaterial = getMaterial(name.substring(TERRAIN_BLOCKMATERIAL_PREFIX.length()));
+            } else if (name.startsWith(GROUND_BLOCKMATERIAL_PREFIX)) {
+                builtinType = VariableType.GROUND_BLOCK_MATERIAL;
+                parsedMaterial = getMaterial(name.substring(GROUND_BLOCKMATERIAL_PREFIX.length()));
+            } else {
+                //Entity-specific variables with parameters.  These are also left generic if malformed.
+                try {
+                    if (name.startsWith(CONNECTION_PREFIX)) {
+                        //Format is connection_groupIndex_connectionIndex_animationType, with connectionIndex optional.
+                        String[] parsedVariable = name.split("_");
+                        if (parsedVariable.length >= 3) {
+                            parsedIndex = Integer.parseInt(parsedVariable[1]) - 1;
+                            parsedSubIndex = parsedVariable.length == 4 ? Integer.parseInt(parsedVariable[2]) - 1 : -1;
+                            parsedSubVariable = of(parsedVariable[parsedVariable.length == 4 ? 3 : 2]);
+                            builtinType = VariableType.CONNECTION;
+                        }
+                    } else if (name.startsWith(ENGINE_SIN_PREFIX)) {
+                        parsedOffset = Integer.parseInt(name.substring(ENGINE_SIN_PREFIX.length()));
+                        builtinType = VariableType.ENGINE_SIN;
+                    } else if (name.startsWith(ENGINE_COS_PREFIX)) {
+                        parsedOffset = Integer.parseInt(name.substring(ENGINE_COS_PREFIX.length()));
+                        builtinType = VariableType.ENGINE_COS;
+                    } else if (name.startsWith(ENGINE_DRIVESHAFT_SIN_PREFIX)) {
+                        parsedOffset = Integer.parseInt(name.substring(ENGINE_DRIVESHAFT_SIN_PREFIX.length()));
+                        builtinType = VariableType.ENGINE_DRIVESHAFT_SIN;
+                    } else if (name.startsWith(ENGINE_DRIVESHAFT_COS_PREFIX)) {
+                        parsedOffset = Integer.parseInt(name.substring(ENGINE_DRIVESHAFT_COS_PREFIX.length()));
+                        builtinType = VariableType.ENGINE_DRIVESHAFT_COS;
+                    } else if (name.startsWith(ENGINE_PISTON_PREFIX)) {
+                        //Format is engine_piston_pistonNumber_totalPistons_offset, with an optional _crank or _cam suffix.
+                        String pistonVariable = name;
+                        if (pistonVariable.endsWith(ENGINE_PISTON_CRANK_SUFFIX)) {
+                            pistonVariable = pistonVariable.substring(0, pistonVariable.length() - ENGINE_PISTON_CRANK_SUFFIX.length());
+                        }
+                        if (pistonVariable.endsWith(ENGINE_PISTON_CAM_SUFFIX)) {
+                            parsedCamshaft = true;
+                            pistonVariable = pistonVariable.substring(0, pistonVariable.length() - ENGINE_PISTON_CAM_SUFFIX.length());
+                        }
+                        String[] parsedVariable = pistonVariable.substring(ENGINE_PISTON_PREFIX.length()).split("_");
+                        parsedIndex = Integer.parseInt(parsedVariable[0]);
+                        parsedCount = Integer.parseInt(parsedVariable[1]);
+                        if (parsedVariable.length >= 3) {
+                            parsedOffset = (parsedCamshaft ? 2 : 1) * Integer.parseInt(parsedVariable[2]);
+                        }
+                        //Safety to ensure the value always fluctuates and we don't have more sectors than are possible.
+                        if (parsedIndex > parsedCount || parsedCount == 1) {
+                            parsedIndex = 1;
+                            parsedCount = 2;
+                        }
+                        builtinType = VariableType.ENGINE_PISTON;
+                    } else if (name.startsWith(NEIGHBOR_PRESENT_PREFIX)) {
+                        parsedAxis = Axis.valueOf(name.substring(NEIGHBOR_PRESENT_PREFIX.length()).toUpperCase(Locale.ROOT));
+                        builtinType = VariableType.NEIGHBOR_PRESENT;
+                    } else if (name.startsWith(MATCHING_PRESENT_PREFIX)) {
+                        parsedAxis = Axis.valueOf(name.substring(MATCHING_PRESENT_PREFIX.length()).toUpperCase(Locale.ROOT));
+                        builtinType = VariableType.MATCHING_PRESENT;
+                    } else if (name.startsWith(SOLID_PRESENT_PREFIX)) {
+                        parsedAxis = Axis.valueOf(name.substring(SOLID_PRESENT_PREFIX.length()).toUpperCase(Locale.ROOT));
+                        builtinType = VariableType.SOLID_PRESENT;
+                    } else if (name.startsWith(MISSILE_PREFIX)) {
+                        //Format is missile_X_variablename, or missile_incoming.
+                        int lastSplit = name.lastIndexOf('_');
+                        parsedIndex = AEntityF_Multipart.getVariableNumber(name.substring(0, lastSplit));
+                        parsedSubVariable = of(name.substring(lastSplit + 1));
+                        builtinType = VariableType.MISSILE;
+                    } else if (name.startsWith(RADAR_PREFIX)) {
+                        //Format is radar_X_variablename or radar_detected for inbound, radar_type_X_variablename for outbound.
+                        String[] parsedVariable = name.split("_");
+                        switch (parsedVariable[1]) {
+                            case ("aircraft"):
+                            case ("ground"): {
+                                parsedIndex = Integer.parseInt(parsedVariable[2]) - 1;
+                                parsedSubVariable = of(parsedVariable[3]);
+                                builtinType = parsedVariable[1].equals("aircraft") ? VariableType.RADAR_AIRCRAFT : VariableType.RADAR_GROUND;
+                                break;
+                            }
+                            default: {
+                                if (parsedVariable.length == 2) {
+                                    parsedSubVariable = of(parsedVariable[1]);
+                                } else if (parsedVariable.length == 3) {
+                                    parsedIndex = Integer.parseInt(parsedVariable[1]) - 1;
+                                    parsedSubVariable = of(parsedVariable[2]);
+                                }
+                                builtinType = VariableType.RADAR_INBOUND;
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    builtinType = null;
+                    parsedIndex = -1;
+                    parsedSubIndex = -1;
+                    parsedCount = 0;
+                    parsedOffset = 0;
+                    parsedCamshaft = false;
+                    parsedAxis = null;
+                    parsedSubVariable = null;
+                }
+                if (builtinType == null) {
+                    builtinType = VariableType.GENERIC;
+                }
+            }
+        }
+        this.type = builtinType;
+        this.cycleOffTime = offTime;
+        this.cycleOnTime = onTime;
+        this.cycleTotalTime = totalTime;
+        this.textIndex = parsedTextIndex;
+        this.material = parsedMaterial;
+        this.index = parsedIndex;
+        this.subIndex = parsedSubIndex;
+        this.count = parsedCount;
+        this.offset = parsedOffset;
+        this.camshaft = parsedCamshaft;
+        this.axis = parsedAxis;
+        this.subVariable = parsedSubVariable;
+    }
+
+    /**
+     * Returns the handle for the passed-in variable name.  Handles are cached, so this is only
+     * parsed the first time the name is seen.  Inverted names ("!" prefix) are supported.
+     */
+    public static VariableHandle of(String variable) {
+        VariableHandle handle = handles.get(variable);
+        if (handle == null) {
+            handle = new VariableHandle(variable);
+            handles.put(variable, handle);
+        }
+        return handle;
+    }
+
+    private static BlockMaterial getMaterial(String materialName) {
+        String upperName = materialName.toUpperCase();
+        for (BlockMaterial material : BlockMaterial.values()) {
+            if (material.name().equals(upperName)) {
+                return material;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return inverted ? INVERTED_PREFIX + name : name;
+    }
+
+    /**
+     * The types of variables that can be parsed.  The built-in types are the base variables that
+     * every definable entity has.  Entity-specific variables with parameters in their names have their
+     * own types so the parameters can be parsed here, but they are resolved by the entity that uses them.
+     * All other entity-specific variables are {@link #GENERIC} and are resolved by the entity itself.
+     */
+    public enum VariableType {
+        TICK("tick"),
+        TICK_SIN("tick_sin"),
+        TICK_COS("tick_cos"),
+        TIME("time"),
+        RANDOM("random"),
+        RANDOM_FLIP("random_flip"),
+        RAIN_STRENGTH("rain_strength"),
+        RAIN_SIN("rain_sin"),
+        RAIN_COS("rain_cos"),
+        LIGHT_SUNLIGHT("light_sunlight"),
+        LIGHT_TOTAL("light_total"),
+        TERRAIN_DISTANCE("terrain_distance"),
+        POS_X("posX"),
+        POS_Y("posY"),
+        POS_Z("posZ"),
+        INLIQUID("inliquid"),
+        PLAYER_INTERACTING("player_interacting"),
+        PLAYER_CRAFTEDITEM("player_crafteditem"),
+        CONFIG_SIMPLETHROTTLE("config_simplethrottle"),
+        CONFIG_INNERWINDOWS("config_innerwindows"),
+        CYCLE(null),
+        TEXT_PRESENT(null),
+        BLOCK_MATERIAL(null),
+        TERRAIN_BLOCK_MATERIAL(null),
+        GROUND_BLOCK_MATERIAL(null),
+        CONNECTION(null),
+        ENGINE_SIN(null),
+        ENGINE_COS(null),
+        ENGINE_DRIVESHAFT_SIN(null),
+        ENGINE_DRIVESHAFT_COS(null),
+        ENGINE_PISTON(null),
+        NEIGHBOR_PRESENT(null),
+        MATCHING_PRESENT(null),
+        SOLID_PRESENT(null),
+        MISSILE(null),
+        RADAR_AIRCRAFT(null),
+        RADAR_GROUND(null),
+        RADAR_INBOUND(null),
+        GENERIC(null);
+
+        private final String variableName;
+
+        VariableType(String variableName) {
+            this.variableName = variableName;
+        }
+
+        private static VariableType forName(String variableName) {
+            for (VariableType type : values()) {
+                if (variableName.equals(type.variableName)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+}
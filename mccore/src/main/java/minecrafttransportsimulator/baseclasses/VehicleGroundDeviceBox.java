@@ -328,7 +328,7 @@ public class VehicleGroundDeviceBox {
                             offset = offsetDelta;
                         }
                         testOffset.y = offset;
-                        if (!vehicle.world.checkForCollisions(solidBox, testOffset, false, false)) {
+                        if (!vehicle.world.checkForCollisions(solidBox, testOffset, false)) {
                             isBlockedVertically = false;
                             break;
                         }
@@ -418,14 +418,14 @@ public class VehicleGroundDeviceBox {
         //Transform operates off contact points, so get the world-based transform delta the transform will apply to our contact point.
         Point3D vehicleMotionOffset = contactPoint.copy().transform(transform).subtract(contactPoint).rotate(vehicle.orientation).rotate(vehicle.rotation).addScaled(vehicle.motion, vehicle.speedFactor).add(groundMotion);
         if (!groundDevices.isEmpty()) {
-            if (vehicle.world.checkForCollisions(solidBox, vehicleMotionOffset, false, false)) {
+            if (vehicle.world.checkForCollisions(solidBox, vehicleMotionOffset, false)) {
                 return false;
             }
         }
 
         if (!canRollOnGround || !isAbleToDoGroundOperations) {
             if (!liquidDevices.isEmpty() || !liquidCollisionBoxes.isEmpty()) {
-                return !vehicle.world.checkForCollisions(liquidBox, vehicleMotionOffset, false, false);
+                return !vehicle.world.checkForCollisions(liquidBox, vehicleMotionOffset, false);
             }
         }
         return true;
@@ -436,8 +436,8 @@ public class VehicleGroundDeviceBox {
      */
     private boolean checkEntityCollisions(Point3D collisionMotion) {
         boolean didCollision = false;
-        for (EntityVehicleF_Physics otherVehicle : vehicle.world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
-            if (!otherVehicle.equals(vehicle) && vehicle.canCollideWith(otherVehicle) && !otherVehicle.collidedEntities.contains(vehicle) && otherVehicle.encompassingBox.intersects(solidBox)) {
+        for (EntityVehicleF_Physics otherVehicle : vehicle.world.getMultipartsWithin(EntityVehicleF_Physics.class, solidBox)) {
+            if (!otherVehicle.equals(vehicle) && vehicle.canCollideWith(otherVehicle) && !otherVehicle.collidedEntities.contains(vehicle) && otherVehicle.orientedEncompassingBox.intersects(solidBox)) {
                 //We know we could have hit this entity.  Check if we actually did.
                 BoundingBox collidingBox = null;
                 double boxCollisionDepth;
@@ -461,6 +461,7 @@ public class VehicleGroundDeviceBox {
                 }
                 if (collidingBox != null) {
                     vehicle.collidedEntities.add(otherVehicle);
+                    otherVehicle.wakeUp();
                     didCollision = true;
                 }
             }
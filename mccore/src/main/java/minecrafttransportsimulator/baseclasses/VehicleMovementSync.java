@@ -0,0 +1,119 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement;
+
+/**
+ * Class that handles batching of vehicle movement for {@link PacketVehicleServerMovement}.
+ * On servers, vehicles that moved are queued here during the tick, and at the end of the tick
+ * one packet is sent to each player with the movement of all the vehicles they are tracking.
+ * On clients, this holds the mapping of movement IDs to vehicles for those packets.
+ *
+ * @author don_bruce
+ */
+public class VehicleMovementSync {
+    private final Map<Short, EntityVehicleF_Physics> vehiclesByID = new ConcurrentHashMap<>();
+    private final List<EntityVehicleF_Physics> movedVehicles = new ArrayList<>();
+    private final Set<EntityVehicleF_Physics> vehiclesMovedLastTick = new HashSet<>();
+    private final Set<Short> usedIDs = new HashSet<>();
+    private short nextID;
+
+    /**
+     * Returns a new ID for a vehicle.  Only call this on servers.
+     * IDs stay in use until their vehicle is removed, so IDs that wrap around on long-running
+     * servers will skip any that are still used by vehicles in the world.
+     */
+    public short getNextID() {
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; ++i) {
+            short id = nextID++;
+            if (usedIDs.add(id)) {
+                return id;
+            }
+        }
+        throw new IllegalStateException("All vehicle movement IDs are in use!  There are too many vehicles in the world to sync them.");
+    }
+
+    /**
+     * Sets the ID for the vehicle.  Called on clients when they get the ID from the server.
+     */
+    public void setID(EntityVehicleF_Physics vehicle, short id) {
+        if (vehicle.movementSyncID != id) {
+            vehiclesByID.remove(vehicle.movementSyncID, vehicle);
+            vehicle.movementSyncID = id;
+        }
+        vehiclesByID.put(id, vehicle);
+    }
+
+    /**
+     * Gets the vehicle for the ID, or null if we don't know about it.
+     */
+    public EntityVehicleF_Physics getVehicle(short id) {
+        return vehiclesByID.get(id);
+    }
+
+    /**
+     * Adds the vehicle.  Should be called when the vehicle is added to the world.
+     */
+    public void addVehicle(EntityVehicleF_Physics vehicle) {
+        vehiclesByID.put(vehicle.movementSyncID, vehicle);
+    }
+
+    /**
+     * Removes the vehicle.  Should be called when the vehicle is removed from the world.
+     */
+    public void removeVehicle(EntityVehicleF_Physics vehicle) {
+        //Only free the ID if it's still ours, as it may have been handed out again if we were removed before.
+        if (vehiclesByID.remove(vehicle.movementSyncID, vehicle)) {
+            usedIDs.remove(vehicle.movementSyncID);
+        }
+        movedVehicles.remove(vehicle);
+        vehiclesMovedLastTick.remove(vehicle);
+    }
+
+    /**
+     * Queues the vehicle to have its movement sent at the end of the tick.
+     * Only call this on servers.
+     */
+    public void queueMovement(EntityVehicleF_Physics vehicle) {
+        movedVehicles.add(vehicle);
+    }
+
+    /**
+     * Sends the movement for all vehicles queued this tick.  Should be called at the end of every tick.
+     * This does nothing on clients, as they never have vehicles queued.
+     */
+    public void sendMovement() {
+        if (!movedVehicles.isEmpty() || !vehiclesMovedLastTick.isEmpty()) {
+            Map<IWrapperPlayer, PacketVehicleServerMovement> packets = new HashMap<>();
+            for (EntityVehicleF_Physics vehicle : movedVehicles) {
+                vehiclesMovedLastTick.remove(vehicle);
+                addToPackets(packets, vehicle, vehicle.getMovementSyncEntry(false));
+            }
+
+            //Vehicles that stopped moving get a keyframe to remove any rounding from their deltas.
+            for (EntityVehicleF_Physics vehicle : vehiclesMovedLastTick) {
+                addToPackets(packets, vehicle, vehicle.getMovementSyncEntry(true));
+            }
+            vehiclesMovedLastTick.clear();
+            vehiclesMovedLastTick.addAll(movedVehicles);
+            movedVehicles.clear();
+
+            packets.forEach(IWrapperPlayer::sendPacket);
+        }
+    }
+
+    private static void addToPackets(Map<IWrapperPlayer, PacketVehicleServerMovement> packets, EntityVehicleF_Physics vehicle, PacketVehicleServerMovement.Entry entry) {
+        for (IWrapperPlayer player : vehicle.world.getPlayersTracking(vehicle)) {
+            packets.computeIfAbsent(player, k -> new PacketVehicleServerMovement()).addEntry(entry);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.blocks.tileentities.components;
 
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.items.components.AItemSubTyped;
 import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
@@ -73,9 +74,14 @@ public abstract class ATileEntityBase<JSONDefinition extends AJSONMultiModelProv
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
+    public double getRenderDistance() {
+        return ConfigSystem.client.renderingSettings.blockRenderDistance.value;
+    }
+
+    @Override
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
         //Check generic block variables.
-        switch (variable) {
+        switch (variable.name) {
             case ("redstone_active"):
                 return world.getRedstonePower(position) > 0 ? 1 : 0;
             case ("redstone_level"):
@@ -1,8 +1,8 @@
 package minecrafttransportsimulator.blocks.tileentities.components;
 
-import java.util.Locale;
-
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
+import minecrafttransportsimulator.baseclasses.VariableHandle.VariableType;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityPole;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
@@ -39,36 +39,44 @@ public abstract class ATileEntityPole_Component extends AEntityD_Definable<JSONP
         return false;
     }
 
+    @Override
+    public boolean shouldBatchStaticObjects() {
+        return true;
+    }
+
     @Override
     public boolean shouldRenderBeams() {
         return ConfigSystem.client.renderingSettings.blockBeams.value;
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
+    public double getRenderDistance() {
+        return ConfigSystem.client.renderingSettings.blockRenderDistance.value;
+    }
+
+    @Override
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
         double value = super.getRawVariableValue(variable, partialTicks);
         if (!Double.isNaN(value)) {
             return value;
         }
 
-        //Check connector variables.
-        if (variable.startsWith("neighbor_present_")) {
-            Axis connectionAxis = Axis.valueOf(variable.substring("neighbor_present_".length()).toUpperCase(Locale.ROOT));
-            ATileEntityBase<?> otherTile = world.getTileEntity(connectionAxis.getOffsetPoint(position));
-            return otherTile instanceof TileEntityPole ? 1 : 0;
-        }
-        if (variable.startsWith("matching_present_")) {
-            Axis connectionAxis = Axis.valueOf(variable.substring("matching_present_".length()).toUpperCase(Locale.ROOT));
-            ATileEntityBase<?> otherTile = world.getTileEntity(connectionAxis.getOffsetPoint(position));
-            return otherTile != null && core.definition.systemName.equals(otherTile.definition.systemName) ? 1 : 0;
-        }
-        //Check solid block variables.
-        if (variable.startsWith("solid_present_")) {
-            Axis connectionAxis = Axis.valueOf(variable.substring("solid_present_".length()).toUpperCase(Locale.ROOT));
-            return world.isBlockSolid(connectionAxis.getOffsetPoint(position), connectionAxis.getOpposite()) ? 1 : 0;
+        switch (variable.type) {
+            //Check connector variables.
+            case NEIGHBOR_PRESENT: {
+                ATileEntityBase<?> otherTile = world.getTileEntity(variable.axis.getOffsetPoint(position));
+                return otherTile instanceof TileEntityPole ? 1 : 0;
+            }
+            case MATCHING_PRESENT: {
+                ATileEntityBase<?> otherTile = world.getTileEntity(variable.axis.getOffsetPoint(position));
+                return otherTile != null && core.definition.systemName.equals(otherTile.definition.systemName) ? 1 : 0;
+            }
+            //Check solid block variables.
+            case SOLID_PRESENT:
+                return world.isBlockSolid(variable.axis.getOffsetPoint(position), variable.axis.getOpposite()) ? 1 : 0;
         }
         //Check slab variables.
-        switch (variable) {
+        switch (variable.name) {
             case ("slab_present_up"):
                 return world.isBlockAboveTopSlab(position) ? 1 : 0;
             case ("slab_present_down"):
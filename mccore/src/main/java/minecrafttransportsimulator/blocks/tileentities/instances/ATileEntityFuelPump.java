@@ -145,7 +145,7 @@ public abstract class ATileEntityFuelPump extends TileEntityDecor {
             //Get the closest vehicle within a 16-block radius.
             EntityVehicleF_Physics nearestVehicle = null;
             double lowestDistance = 16D;
-            for (EntityVehicleF_Physics testVehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            for (EntityVehicleF_Physics testVehicle : world.getMultipartsInRadius(EntityVehicleF_Physics.class, position, lowestDistance)) {
                 double vehicleDistance = testVehicle.position.distanceTo(position);
                 if (vehicleDistance < lowestDistance) {
                     lowestDistance = vehicleDistance;
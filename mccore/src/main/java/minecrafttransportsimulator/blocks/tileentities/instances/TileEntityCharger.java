@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.blocks.tileentities.instances;
 
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.blocks.tileentities.components.ITileEntityEnergyCharger;
 import minecrafttransportsimulator.entities.instances.AEntityVehicleE_Powered.FuelTankResult;
 import minecrafttransportsimulator.entities.instances.APart;
@@ -70,8 +71,8 @@ public class TileEntityCharger extends ATileEntityFuelPump implements ITileEntit
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("charger_active"):
                 return connectedVehicle != null ? 1 : 0;
             case ("charger_dispensed"):
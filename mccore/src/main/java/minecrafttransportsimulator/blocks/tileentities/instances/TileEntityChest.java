@@ -2,6 +2,7 @@ package minecrafttransportsimulator.blocks.tileentities.instances;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.instances.EntityInventoryContainer;
 import minecrafttransportsimulator.items.instances.ItemDecor;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
@@ -55,8 +56,8 @@ public class TileEntityChest extends TileEntityDecor {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("inventory_count"): {
                 if (inventory != null) {
                     return inventory.getCount();
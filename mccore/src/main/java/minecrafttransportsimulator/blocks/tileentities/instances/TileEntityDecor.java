@@ -93,8 +93,8 @@ public class TileEntityDecor extends ATileEntityBase<JSONDecor> {
             }
             setVariable(CLICKED_VARIABLE, 1);
             toggleVariable(ACTIVATED_VARIABLE);
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(this, CLICKED_VARIABLE, 1));
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this, ACTIVATED_VARIABLE));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(this, CLICKED_VARIABLE, 1), this);
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(this, ACTIVATED_VARIABLE), this);
         }
         return true;
     }
@@ -2,6 +2,7 @@ package minecrafttransportsimulator.blocks.tileentities.instances;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.blocks.tileentities.components.ITileEntityFluidTankProvider;
 import minecrafttransportsimulator.entities.instances.AEntityVehicleE_Powered.FuelTankResult;
 import minecrafttransportsimulator.entities.instances.EntityFluidTank;
@@ -130,8 +131,8 @@ public class TileEntityFuelPump extends ATileEntityFuelPump implements ITileEnti
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("fuelpump_active"):
                 return connectedVehicle != null ? 1 : 0;
             case ("fuelpump_stored"):
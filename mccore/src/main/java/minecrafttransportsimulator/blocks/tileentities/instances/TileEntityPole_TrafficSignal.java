@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.blocks.tileentities.instances;
 
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityPole_Component;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntitySignalController.LightType;
@@ -42,8 +43,8 @@ public class TileEntityPole_TrafficSignal extends ATileEntityPole_Component {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("linked"):
                 return linkedController != null ? 1 : 0;
         }
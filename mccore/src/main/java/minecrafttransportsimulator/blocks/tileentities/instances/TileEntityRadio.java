@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.blocks.tileentities.instances;
 
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.items.instances.ItemDecor;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
@@ -44,9 +45,9 @@ public class TileEntityRadio extends TileEntityDecor {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
         //Radio-specific variables.
-        switch (variable) {
+        switch (variable.name) {
             case ("radio_active"):
                 return radio.isPlaying() ? 1 : 0;
             case ("radio_volume"):
@@ -67,6 +67,8 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
     public final List<BoundingBox> blockingBoundingBoxes = new ArrayList<>();
     public final List<Point3D> collisionBlockOffsets;
     public final List<Point3D> collidingBlockOffsets;
+    private BezierCurve renderRadiusCurve;
+    private double curveRenderRadius;
 
     public TileEntityRoad(AWrapperWorld world, Point3D position, IWrapperPlayer placingPlayer, ItemRoadComponent item, IWrapperNBT data) {
         super(world, position, placingPlayer, item, data);
@@ -142,6 +144,8 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
         isActive = active;
         if (active) {
             generateLanes(null);
+        } else {
+            world.staticGeometry.remove(this);
         }
     }
 
@@ -489,7 +493,12 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
                     object.transform.set(transform);
                 }
                 object.setLighting(worldLightValue, false, false);
-                object.render(this);
+                if (isActive()) {
+                    //Active roads don't change, so batch them with the other static geometry in the area.
+                    world.staticGeometry.submit(this, object);
+                } else {
+                    object.render(this);
+                }
             }
 
             //If we are inactive render the blocking blocks and the main block.
@@ -513,6 +522,28 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
         }
     }
 
+    @Override
+    public double getRenderRadius() {
+        //Dynamic roads render along their whole curve, not just around our position, so the model radius isn't enough.
+        //Add the distance to the furthest point on the curve, which only needs calculating when the curve changes.
+        double modelRadius = super.getRenderRadius();
+        if (dynamicCurve != null && modelRadius != 0) {
+            if (renderRadiusCurve != dynamicCurve) {
+                Point3D curvePoint = new Point3D();
+                double maxDistance = 0;
+                for (float segmentPoint = 0; segmentPoint < dynamicCurve.pathLength; ++segmentPoint) {
+                    dynamicCurve.setPointToPositionAt(curvePoint, segmentPoint);
+                    maxDistance = Math.max(maxDistance, curvePoint.distanceTo(position));
+                }
+                dynamicCurve.setPointToPositionAt(curvePoint, dynamicCurve.pathLength);
+                curveRenderRadius = Math.max(maxDistance, curvePoint.distanceTo(position));
+                renderRadiusCurve = dynamicCurve;
+            }
+            return modelRadius + curveRenderRadius;
+        }
+        return modelRadius;
+    }
+
     @Override
     public void renderBoundingBoxes(TransformationMatrix transform) {
         super.renderBoundingBoxes(transform);
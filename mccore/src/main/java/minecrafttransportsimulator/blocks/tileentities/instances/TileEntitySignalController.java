@@ -399,7 +399,12 @@ public class TileEntitySignalController extends TileEntityDecor {
                                     //Just wait until the other signals don't have any cooldown, then set them red.
                                     stateChangeRequested = true;
                                 } else {
-                                    for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+                                    //Only vehicles near our signal line can be on it, so only check those.
+                                    //Bounds are a circle around the line area, and don't care about height, same as the line check.
+                                    Point3D searchCenter = new Point3D(signalLineCenter.x, 0, signalLineCenter.z + 8).rotate(axis.yRotation).add(intersectionCenterPoint);
+                                    double searchRadius = Math.hypot(signalLineWidth / 2D, 8);
+                                    BoundingBox searchBounds = new BoundingBox(searchCenter, searchRadius, Double.MAX_VALUE, searchRadius);
+                                    for (EntityVehicleF_Physics vehicle : world.getMultipartsWithin(EntityVehicleF_Physics.class, searchBounds)) {
                                         Point3D adjustedPos = vehicle.position.copy().subtract(intersectionCenterPoint).reOrigin(axis.yRotation);
                                         if (adjustedPos.x > signalLineCenter.x - signalLineWidth / 2D && adjustedPos.x < signalLineCenter.x + signalLineWidth / 2D && adjustedPos.z > signalLineCenter.z && adjustedPos.z < signalLineCenter.z + 16) {
                                             //Vehicle present.  If we are blocked, send the respective signal states to the other signals to change them.
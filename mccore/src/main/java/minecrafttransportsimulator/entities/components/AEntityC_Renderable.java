@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.entities.components;
 
+import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
@@ -33,6 +34,11 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
 
     public int worldLightValue;
 
+    /**
+     * Box used to check if we are in view of the camera.  Set to a cube around our position each render.
+     */
+    private final BoundingBox cullingBox = new BoundingBox(new Point3D(), 0);
+
     /**
      * Constructor for synced entities
      **/
@@ -72,6 +78,18 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
     public final void render(boolean blendingEnabled, float partialTicks) {
         //If we need to render, do so now.
         if (!disableRendering()) {
+            //If our model isn't ready, or we can't be seen, skip the model and just do the things that need doing regardless.
+            //Check the model first, so it can start loading before we come into view.
+            if (!isModelReady() || isCulled()) {
+                world.beginProfiling("Culled", true);
+                renderCulled(blendingEnabled, partialTicks);
+                world.endProfiling();
+
+                world.beginProfiling("Sounds", true);
+                updateSounds(partialTicks);
+                world.endProfiling();
+                return;
+            }
 
             //Get interpolated orientation if required.
             world.beginProfiling("RenderSetup", true);
@@ -117,6 +135,57 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
         }
     }
 
+    /**
+     * Returns true if this entity is out of the camera's view, or further from it than {@link #getRenderDistance()}.
+     * Entities with no {@link #getRenderRadius()} are never culled.
+     */
+    private boolean isCulled() {
+        double radius = getRenderRadius();
+        if (radius > 0) {
+            //Entities are rendered at their interpolated position, so grow the box to cover that.
+            radius += position.distanceTo(prevPosition);
+            cullingBox.globalCenter.set(position);
+            cullingBox.widthRadius = radius;
+            cullingBox.heightRadius = radius;
+            cullingBox.depthRadius = radius;
+            double renderDistance = getRenderDistance();
+            return !InterfaceManager.renderingInterface.isBoxInView(cullingBox, renderDistance > 0 ? renderDistance + radius : 0);
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the model for this entity is ready to render.  If not, the entity is rendered as if it was culled.
+     * Called every frame prior to rendering, so entities that load their models in the background should start doing so here.
+     */
+    protected boolean isModelReady() {
+        return true;
+    }
+
+    /**
+     * Returns the radius around this entity's position that contains everything it renders.
+     * Used to cull entities that can't be seen.  Return 0 if this isn't known, and the entity will never be culled.
+     */
+    public double getRenderRadius() {
+        return 0;
+    }
+
+    /**
+     * Returns the distance from the camera past which this entity won't be rendered.
+     * Return 0 to render at any distance, though the entity will still be culled if it's out of view.
+     */
+    public double getRenderDistance() {
+        return 0;
+    }
+
+    /**
+     * Called in place of the normal rendering when this entity is culled.  Use this for anything
+     * that has to happen every frame even if the entity can't be seen.  The matrix state will be aligned to
+     * the position of the entity relative to the player-camera, but won't be rotated.
+     */
+    protected void renderCulled(boolean blendingEnabled, float partialTicks) {
+    }
+
     /**
      * If rendering needs to be skipped for any reason, return true here.
      */
@@ -4,8 +4,8 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -19,9 +19,9 @@ import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.blocks.components.ABlockBase.BlockMaterial;
 import minecrafttransportsimulator.entities.instances.APart;
-import minecrafttransportsimulator.entities.instances.EntityParticle;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.components.AItemSubTyped;
@@ -30,6 +30,7 @@ import minecrafttransportsimulator.jsondefs.JSONAnimatedObject;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
 import minecrafttransportsimulator.jsondefs.JSONCameraObject;
 import minecrafttransportsimulator.jsondefs.JSONLight;
+import minecrafttransportsimulator.jsondefs.JSONModelLOD;
 import minecrafttransportsimulator.jsondefs.JSONParticle;
 import minecrafttransportsimulator.jsondefs.JSONRendering.ModelType;
 import minecrafttransportsimulator.jsondefs.JSONSound;
@@ -50,6 +51,7 @@ import minecrafttransportsimulator.rendering.AModelParser;
 import minecrafttransportsimulator.rendering.DurationDelayClock;
 import minecrafttransportsimulator.rendering.RenderText;
 import minecrafttransportsimulator.rendering.RenderableModelObject;
+import minecrafttransportsimulator.rendering.RenderableObject;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.systems.CameraSystem;
 import minecrafttransportsimulator.systems.ConfigSystem;
@@ -101,6 +103,16 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     private long lastTickParticlesSpawned;
     private float lastPartialTickParticlesSpawned;
 
+    //Terrain values.  Only updated once a tick, or if we move, as terrain checks are costly and requested by many animations.
+    private long lastTickTerrainChecked = -1;
+    private final Point3D lastPositionTerrainChecked = new Point3D();
+    private double terrainDistance;
+    private BlockMaterial terrainMaterial;
+
+    //Level of detail values.  Updated every frame prior to rendering.
+    private JSONModelLOD currentLOD;
+    private String currentModelLocation;
+
     /**
      * Maps animated (model) object names to their JSON bits for this entity.  Used for model lookups as the same model might be used on multiple JSONs,
      * and iterating through the entire rendering section of the JSON is time-consuming.
@@ -127,6 +139,12 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      **/
     public final Map<JSONLight, ColorRGB> lightColorValues = new HashMap<>();
 
+    /**
+     * True if this entity is further from the camera than the detail render distance.  If so, small details like
+     * text, light flares, and small animated objects aren't rendered.  This is updated every frame prior to rendering.
+     **/
+    public boolean isPastDetailDistance;
+
     /**
      * Maps light (model) object names to their definitions.  This is created from the JSON definition to prevent the need to do loops.
      **/
@@ -137,6 +155,28 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      **/
     private static final Map<String, List<RenderableModelObject>> objectLists = new HashMap<>();
 
+    /**
+     * Radius of the models parsed in for this class, as the furthest vertex from the model origin.  Maps are keyed by the model name.
+     **/
+    private static final Map<String, Double> modelRadii = new HashMap<>();
+    /**
+     * Animations can move objects past their modeled positions, so we grow the model radius by this much for culling.
+     **/
+    private static final double MODEL_RADIUS_CULLING_FACTOR = 1.5;
+
+    /**
+     * Object lists for levels of detail that hide objects.  These are the object lists for the level's model, less the hidden objects.
+     * Maps are keyed by model location, then by level.  Levels without their own model use the model of the
+     * sub-definition, so the same level may hide objects from different models, and different definitions may
+     * use the same model but hide different objects.
+     **/
+    private static final Map<String, Map<JSONModelLOD, List<RenderableModelObject>>> levelOfDetailObjectLists = new HashMap<>();
+    /**
+     * Once at a level of detail, we don't go back to a closer level until we are this fraction of its distance.
+     * This keeps models from flickering between levels when the camera is right at the distance of a level.
+     **/
+    private static final double LEVEL_OF_DETAIL_HYSTERESIS_FACTOR = 0.9;
+
     /**
      * List of players interacting with this entity via a GUI.
      **/
@@ -246,25 +286,19 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
         //Only update radar once a second, and only if we requested it via variables.
         if (definition.general.radarRange > 0 && ticksExisted % 20 == 0) {
-            Collection<EntityVehicleF_Physics> allVehicles = world.getEntitiesOfType(EntityVehicleF_Physics.class);
+            //Vehicles are shared between all sensors in the world for the tick, so just query those.
             aircraftOnRadar.clear();
             groundersOnRadar.clear();
-            Point3D searchVector = new Point3D();
-            Point3D LOSVector = new Point3D();
-            for (EntityVehicleF_Physics vehicle : allVehicles) {
-                searchVector.set(0, 0, definition.general.radarRange).rotate(orientation);
-                LOSVector.set(vehicle.position).subtract(position).normalize();
-                double coneAngle = definition.general.radarWidth;
-                double angle = Math.abs(Math.toDegrees(Math.acos(searchVector.normalize().dotProduct(LOSVector, false))));
-                if (!vehicle.outOfHealth && vehicle != this && (angle < coneAngle && vehicle.position.isDistanceToCloserThan(position, definition.general.radarRange))) {
-                    if (vehicle.definition.motorized.isAircraft) {
-                        aircraftOnRadar.add(vehicle);
-                    } else {
-                        groundersOnRadar.add(vehicle);
-                    }
-                    if (!vehicle.radarsTracking.contains(this)) {
-                        vehicle.radarsTracking.add(this);
-                    }
+            Point3D searchVector = new Point3D(0, 0, 1).rotate(orientation);
+            world.sensorSweep.getVehiclesInCone(position, searchVector, definition.general.radarRange, definition.general.radarWidth, this, aircraftOnRadar, groundersOnRadar);
+            for (EntityVehicleF_Physics vehicle : aircraftOnRadar) {
+                if (!vehicle.radarsTracking.contains(this)) {
+                    vehicle.radarsTracking.add(this);
+                }
+            }
+            for (EntityVehicleF_Physics vehicle : groundersOnRadar) {
+                if (!vehicle.radarsTracking.contains(this)) {
+                    vehicle.radarsTracking.add(this);
                 }
             }
             aircraftOnRadar.sort(entityComparator);
@@ -372,6 +406,8 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
         if (definition.rendering != null && definition.rendering.animatedObjects != null) {
             animatedObjectDefinitions.clear();
+            //Invalidate the old switchboxes so anything that applies after them gets the new ones.
+            animatedObjectSwitchboxes.values().forEach(AnimationSwitchbox::invalidate);
             animatedObjectSwitchboxes.clear();
             for (JSONAnimatedObject animatedDef : definition.rendering.animatedObjects) {
                 animatedObjectDefinitions.put(animatedDef.objectName, animatedDef);
@@ -430,12 +466,15 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
             
             //Clear rendering assignments.
             if (world.isClient() && definition.rendering.modelType != ModelType.NONE) {
-                List<RenderableModelObject> objectList = objectLists.get(definition.getModelLocation(subDefinition));
-                if (objectList != null) {
-                    for (RenderableModelObject modelObject : objectList) {
-                        InterfaceManager.renderingInterface.deleteVertices(modelObject.object, this);
+                for (String modelLocation : getModelLocations()) {
+                    List<RenderableModelObject> objectList = objectLists.get(modelLocation);
+                    if (objectList != null) {
+                        for (RenderableModelObject modelObject : objectList) {
+                            InterfaceManager.renderingInterface.deleteVertices(modelObject.object, this);
+                        }
                     }
                 }
+                RenderText.releaseText(this);
             }
         }
     }
@@ -536,7 +575,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                             if (spawningSwitchbox != null) {
                                 spawningSwitchbox.runSwitchbox(partialTicks, false);
                             }
-                            world.addEntity(new EntityParticle(this, particleDef, spawningPosition, spawningSwitchbox));
+                            world.particles.spawn(this, particleDef, spawningPosition, spawningSwitchbox);
                         }
                         lastParticlePosition.set(spawningPosition);
                     }
@@ -549,7 +588,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                             if (spawningSwitchbox != null) {
                                 spawningSwitchbox.runSwitchbox(partialTicks, false);
                             }
-                            world.addEntity(new EntityParticle(this, particleDef, position, spawningSwitchbox));
+                            world.particles.spawn(this, particleDef, position, spawningSwitchbox);
                         }
                         lastTickParticleSpawned.put(particleDef, ticksExisted);
                     }
@@ -846,100 +885,85 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      * This should be extended on all sub-classes for them to provide their own variables.
      * For all cases of this, the sub-classed variables should be checked first.  If none are
      * found, then the super() method should be called to return those as a default.
+     * Note that the variable is pre-parsed, so sub-classes should use the parsed parameters
+     * in it rather than parsing the name themselves.
      */
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
-            case ("tick"):
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.type) {
+            case TICK:
                 return ticksExisted + partialTicks;
-            case ("tick_sin"):
+            case TICK_SIN:
                 return Math.sin(Math.toRadians(ticksExisted + partialTicks));
-            case ("tick_cos"):
+            case TICK_COS:
                 return Math.cos(Math.toRadians(ticksExisted + partialTicks));
-            case ("time"):
+            case TIME:
                 return world.getTime();
-            case ("random"):
+            case RANDOM:
                 return Math.random();
-            case ("random_flip"):
+            case RANDOM_FLIP:
                 return Math.random() < 0.5 ? 0 : 1;
-            case ("rain_strength"):
+            case RAIN_STRENGTH:
                 return (int) world.getRainStrength(position);
-            case ("rain_sin"): {
+            case RAIN_SIN: {
                 int rainStrength = (int) world.getRainStrength(position);
                 return rainStrength > 0 ? Math.sin(rainStrength * Math.toRadians(360 * (ticksExisted + partialTicks) / 20)) / 2D + 0.5 : 0;
             }
-            case ("rain_cos"): {
+            case RAIN_COS: {
                 int rainStrength = (int) world.getRainStrength(position);
                 return rainStrength > 0 ? Math.cos(rainStrength * Math.toRadians(360 * (ticksExisted + partialTicks) / 20)) / 2D + 0.5 : 0;
             }
-            case ("light_sunlight"):
+            case LIGHT_SUNLIGHT:
                 return world.getLightBrightness(position, false);
-            case ("light_total"):
+            case LIGHT_TOTAL:
                 return world.getLightBrightness(position, true);
-            case ("terrain_distance"):
-                return world.getHeight(position);
-            case ("posX"):
+            case TERRAIN_DISTANCE:
+                updateTerrainValues();
+                return terrainDistance;
+            case POS_X:
                 return position.x;
-            case ("posY"):
+            case POS_Y:
                 return position.y;
-            case ("posZ"):
+            case POS_Z:
                 return position.z;
-            case ("inliquid"):
+            case INLIQUID:
                 return world.isBlockLiquid(position) ? 1 : 0;
-            case ("player_interacting"):
+            case PLAYER_INTERACTING:
                 return !playersInteracting.isEmpty() ? 1 : 0;
-            case ("player_crafteditem"):
+            case PLAYER_CRAFTEDITEM:
                 return playerCraftedItem ? 1 : 0;
-            case ("config_simplethrottle"):
+            case CONFIG_SIMPLETHROTTLE:
                 return ConfigSystem.client.controlSettings.simpleThrottle.value ? 1 : 0;
-            case ("config_innerwindows"):
+            case CONFIG_INNERWINDOWS:
                 return ConfigSystem.client.renderingSettings.innerWindows.value ? 1 : 0;
-        }
-
-        //Check if this is a cycle variable.
-        if (variable.endsWith("_cycle")) {
-            String[] parsedVariable = variable.split("_");
-            int offTime = Integer.parseInt(parsedVariable[0]);
-            int onTime = Integer.parseInt(parsedVariable[1]);
-            int totalTime = offTime + onTime + Integer.parseInt(parsedVariable[2]);
-            long timeInCycle = ticksExisted % totalTime;
-            return timeInCycle > offTime && timeInCycle - offTime < onTime ? 1 : 0;
-        }
-
-        //Check if this is a text_x_ispresent variable.
-        if (variable.startsWith("text_") && variable.endsWith("_present")) {
-            if (definition.rendering != null && definition.rendering.textObjects != null) {
-                int textIndex = Integer.parseInt(variable.substring("text_".length(), variable.length() - "_present".length())) - 1;
-                if (definition.rendering.textObjects.size() > textIndex) {
-                    return !text.get(definition.rendering.textObjects.get(textIndex)).isEmpty() ? 1 : 0;
-                }
+            case CYCLE: {
+                long timeInCycle = ticksExisted % variable.cycleTotalTime;
+                return timeInCycle > variable.cycleOffTime && timeInCycle - variable.cycleOffTime < variable.cycleOnTime ? 1 : 0;
             }
-            return 0;
-        }
-
-        //Check if this is a blockmaterial_x variable.
-        if (variable.startsWith("blockmaterial_")) {
-            BlockMaterial material = world.getBlockMaterial(position);
-            if (material != null) {
-                return material.name().equals(variable.substring("blockmaterial_".length()).toUpperCase()) ? 1 : 0;
-            } else {
+            case TEXT_PRESENT: {
+                if (definition.rendering != null && definition.rendering.textObjects != null) {
+                    if (definition.rendering.textObjects.size() > variable.textIndex) {
+                        return !text.get(definition.rendering.textObjects.get(variable.textIndex)).isEmpty() ? 1 : 0;
+                    }
+                }
                 return 0;
             }
-        } else if (variable.startsWith("terrain_blockmaterial_")) {
-            double height = world.getHeight(position) + 1;
-            position.y -= height;
-            BlockMaterial material = world.getBlockMaterial(position);
-            position.y += height;
-            if (material != null) {
-                return material.name().equals(variable.substring("terrain_blockmaterial_".length()).toUpperCase()) ? 1 : 0;
-            } else {
-                return 0;
+            case BLOCK_MATERIAL: {
+                BlockMaterial material = world.getBlockMaterial(position);
+                return material != null && material == variable.material ? 1 : 0;
+            }
+            case TERRAIN_BLOCK_MATERIAL: {
+                updateTerrainValues();
+                return terrainMaterial != null && terrainMaterial == variable.material ? 1 : 0;
+            }
+            default: {
+                //Check if this is a generic variable.  This contains lights in most cases.
+                //Entity-specific types are checked too, as entities that don't resolve them may still have them set.
+                Double variableValue = variables.get(variable.name);
+                if (variableValue != null) {
+                    return variableValue;
+                }
+                break;
             }
-        }
-
-        //Check if this is a generic variable.  This contains lights in most cases.
-        Double variableValue = variables.get(variable);
-        if (variableValue != null) {
-            return variableValue;
         }
 
         //Didn't find a variable.  Return NaN.
@@ -947,16 +971,47 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     }
 
     /**
-     * Like {@link #getRawVariableValue(String, float)}, but returns 0 if not found
+     * Updates the terrain distance and material if we haven't checked them this tick at this position.
+     */
+    private void updateTerrainValues() {
+        if (ticksExisted != lastTickTerrainChecked || !position.equals(lastPositionTerrainChecked)) {
+            terrainDistance = world.getHeight(position);
+            double height = terrainDistance + 1;
+            position.y -= height;
+            terrainMaterial = world.getBlockMaterial(position);
+            position.y += height;
+            lastTickTerrainChecked = ticksExisted;
+            lastPositionTerrainChecked.set(position);
+        }
+    }
+
+    /**
+     * Like {@link #getRawVariableValue(VariableHandle, float)}, but takes the name of the variable.
+     * This is for one-off lookups of variables; anything that queries a variable repeatedly should
+     * obtain the {@link VariableHandle} once and use that instead.
+     */
+    public final double getRawVariableValue(String variable, float partialTicks) {
+        return getRawVariableValue(VariableHandle.of(variable), partialTicks);
+    }
+
+    /**
+     * Like {@link #getRawVariableValue(VariableHandle, float)}, but returns 0 if not found
      * rather than NaN.  This is designed for getting variable values without animations.
      */
-    public final double getCleanRawVariableValue(String variable, float partialTicks) {
+    public final double getCleanRawVariableValue(VariableHandle variable, float partialTicks) {
         double value = getRawVariableValue(variable, partialTicks);
         return Double.isNaN(value) ? 0 : value;
     }
 
     /**
-     * Similar to {@link #getRawVariableValue(String, float)}, but returns
+     * Like {@link #getCleanRawVariableValue(VariableHandle, float)}, but takes the name of the variable.
+     */
+    public final double getCleanRawVariableValue(String variable, float partialTicks) {
+        return getCleanRawVariableValue(VariableHandle.of(variable), partialTicks);
+    }
+
+    /**
+     * Similar to {@link #getRawVariableValue(VariableHandle, float)}, but returns
      * a String for text-based parameters rather than a double.  If no match
      * is found, return null.  Otherwise, return the string.
      */
@@ -971,15 +1026,18 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      * the scale parameter as only the variable value should be scaled, not the offset..
      */
     public final double getAnimatedVariableValue(DurationDelayClock clock, double scaleFactor, double offset, float partialTicks) {
-        double value;
-        if (clock.animation.variable.startsWith("!")) {
-            value = getCleanRawVariableValue(clock.animation.variable.substring(1), partialTicks);
+        return getAnimatedVariableValue(clock, clock.variable, scaleFactor, offset, partialTicks);
+    }
+
+    /**
+     * Like {@link #getAnimatedVariableValue(DurationDelayClock, double, double, float)}, but uses the passed-in
+     * variable rather than the one the clock was created with.  This is for cases where the variable queried
+     * depends on the context of the animation, such as instruments that can be bound to different parts.
+     */
+    public final double getAnimatedVariableValue(DurationDelayClock clock, VariableHandle variable, double scaleFactor, double offset, float partialTicks) {
+        double value = getCleanRawVariableValue(variable, partialTicks);
+        if (variable.inverted) {
             value = value == 0 ? 1 : 0;
-        } else {
-            value = getRawVariableValue(clock.animation.variable, partialTicks);
-            if (Double.isNaN(value)) {
-                value = 0;
-            }
         }
         if (!clock.isUseful) {
             return clampAndScale(value, clock.animation, scaleFactor, offset);
@@ -1127,15 +1185,16 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
             for (List<String> variableList : list) {
                 boolean listIsTrue = false;
                 for (String variableName : variableList) {
-                    if (variableName.startsWith("!")) {
-                        double value = getCleanRawVariableValue(variableName.substring(1), 0);
+                    VariableHandle variable = VariableHandle.of(variableName);
+                    if (variable.inverted) {
+                        double value = getCleanRawVariableValue(variable, 0);
                         if (value == 0) {
                             //Inverted variable value is 0, therefore list is true.
                             listIsTrue = true;
                             break;
                         }
                     } else {
-                        double value = getCleanRawVariableValue(variableName, 0);
+                        double value = getCleanRawVariableValue(variable, 0);
                         if (value > 0) {
                             //Normal variable value is non-zero 0, therefore list is true.
                             listIsTrue = true;
@@ -1223,21 +1282,15 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         world.beginProfiling("LightStateUpdates", true);
         updateLightBrightness(partialTicks);
 
-        //Parse model if it hasn't been already.
-        world.beginProfiling("MainModel", false);
-        String modelLocation = definition.getModelLocation(subDefinition);
-        if (!objectLists.containsKey(modelLocation)) {
-            objectLists.put(modelLocation, AModelParser.generateRenderables(this));
-        }
-
         //Render model object individually.
-        for (RenderableModelObject modelObject : objectLists.get(modelLocation)) {
+        world.beginProfiling("MainModel", false);
+        for (RenderableModelObject modelObject : getObjectList()) {
             modelObject.render(this, transform, blendingEnabled, partialTicks);
         }
 
         //Render any static text.
         world.beginProfiling("MainText", false);
-        if (!blendingEnabled) {
+        if (!blendingEnabled && !isPastDetailDistance) {
             for (Entry<JSONText, String> textEntry : text.entrySet()) {
                 JSONText textDef = textEntry.getKey();
                 if (textDef.attachedTo == null) {
@@ -1245,14 +1298,159 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                 }
             }
         }
-        //Handle particles.  Need to only do this once per frame-render.  Shaders may have us render multiple times.
+        world.beginProfiling("Particles", false);
+        spawnFrameParticles(partialTicks);
+        world.endProfiling();
+    }
+
+    @Override
+    protected boolean isModelReady() {
+        //Update level of detail, as that decides the model we need.
+        JSONModelLOD lastLOD = currentLOD;
+        String lastModelLocation = currentModelLocation;
+        double cameraDistance = position.distanceTo(InterfaceManager.clientInterface.getCameraPosition());
+        double detailDistance = ConfigSystem.client.renderingSettings.detailRenderDistance.value;
+        isPastDetailDistance = detailDistance > 0 && cameraDistance > detailDistance;
+        updateLevelOfDetail(cameraDistance);
+
+        //Get the model if we don't have it.  This is parsed in the background, so it may take a few frames.
+        if (!objectLists.containsKey(currentModelLocation)) {
+            List<RenderableObject> parsedObjects = AModelParser.getParsedModel(currentModelLocation);
+            if (parsedObjects == null) {
+                //Keep rendering the model for the last level of detail until the new one is ready, if we have it.
+                if (lastModelLocation != null && objectLists.containsKey(lastModelLocation)) {
+                    currentLOD = lastLOD;
+                    currentModelLocation = lastModelLocation;
+                    return true;
+                }
+                return false;
+            }
+            List<RenderableModelObject> modelObjects = AModelParser.generateRenderables(currentModelLocation, parsedObjects);
+            objectLists.put(currentModelLocation, modelObjects);
+            modelRadii.put(currentModelLocation, getModelRadius(modelObjects));
+        }
+        return true;
+    }
+
+    @Override
+    protected void renderCulled(boolean blendingEnabled, float partialTicks) {
+        //Particles need to spawn, as they can move into view even if we can't be seen.
+        spawnFrameParticles(partialTicks);
+    }
+
+    /**
+     * Spawns particles for the current frame.  Need to only do this once per frame-render.  Shaders may have us render multiple times.
+     */
+    private void spawnFrameParticles(float partialTicks) {
         if (!InterfaceManager.clientInterface.isGamePaused() && !(ticksExisted == lastTickParticlesSpawned && partialTicks == lastPartialTickParticlesSpawned)) {
-            world.beginProfiling("Particles", false);
             spawnParticles(partialTicks);
             lastTickParticlesSpawned = ticksExisted;
             lastPartialTickParticlesSpawned = partialTicks;
         }
-        world.endProfiling();
+    }
+
+    /**
+     * Updates the current level of detail, and the model location for it.  The location is updated every call, as the
+     * sub-definition may have changed.  The level used is the one with the highest
+     * distance that we are past.  If that level is closer than the current level, we only switch to it once we are
+     * past the hysteresis distance of the current level.  Entities that batch their static objects don't use levels, as
+     * the batch has all the objects in the full model, and simplifying them wouldn't save anything.
+     */
+    private void updateLevelOfDetail(double cameraDistance) {
+        JSONModelLOD newLOD = null;
+        if (definition.rendering.levelsOfDetail != null && !shouldBatchStaticObjects()) {
+            for (JSONModelLOD levelOfDetail : definition.rendering.levelsOfDetail) {
+                if (cameraDistance >= levelOfDetail.distance && (newLOD == null || levelOfDetail.distance > newLOD.distance)) {
+                    newLOD = levelOfDetail;
+                }
+            }
+            //If we're moving to a closer level, don't do so until we're well within the current level's distance.
+            if (currentLOD != null && newLOD != currentLOD && (newLOD == null || newLOD.distance < currentLOD.distance) && cameraDistance > currentLOD.distance * LEVEL_OF_DETAIL_HYSTERESIS_FACTOR) {
+                newLOD = currentLOD;
+            }
+        }
+        currentLOD = newLOD;
+        currentModelLocation = definition.getModelLocation(subDefinition, currentLOD);
+    }
+
+    /**
+     * Returns the objects to render for the current level of detail.  This is the object list for the current model,
+     * less any objects hidden by the level.  The model for the level must have been parsed prior to calling this method.
+     */
+    private List<RenderableModelObject> getObjectList() {
+        List<RenderableModelObject> objectList = objectLists.get(currentModelLocation);
+        if (currentLOD != null && currentLOD.hiddenObjects != null) {
+            Map<JSONModelLOD, List<RenderableModelObject>> modelLevelObjectLists = levelOfDetailObjectLists.computeIfAbsent(currentModelLocation, k -> new HashMap<>());
+            List<RenderableModelObject> shownObjectList = modelLevelObjectLists.get(currentLOD);
+            if (shownObjectList == null) {
+                shownObjectList = new ArrayList<>();
+                for (RenderableModelObject modelObject : objectList) {
+                    boolean hidden = false;
+                    for (String hiddenObject : currentLOD.hiddenObjects) {
+                        if (modelObject.object.name.contains(hiddenObject)) {
+                            hidden = true;
+                            break;
+                        }
+                    }
+                    if (!hidden) {
+                        shownObjectList.add(modelObject);
+                    }
+                }
+                modelLevelObjectLists.put(currentLOD, shownObjectList);
+            }
+            return shownObjectList;
+        }
+        return objectList;
+    }
+
+    /**
+     * Returns all the model locations this entity may render, including those for its levels of detail.
+     */
+    private Set<String> getModelLocations() {
+        Set<String> modelLocations = new HashSet<>();
+        modelLocations.add(definition.getModelLocation(subDefinition));
+        if (definition.rendering.levelsOfDetail != null) {
+            for (JSONModelLOD levelOfDetail : definition.rendering.levelsOfDetail) {
+                modelLocations.add(definition.getModelLocation(subDefinition, levelOfDetail));
+            }
+        }
+        return modelLocations;
+    }
+
+    @Override
+    public double getRenderRadius() {
+        //Can't cull until the model has been parsed on the first render.
+        Double modelRadius = currentModelLocation != null ? modelRadii.get(currentModelLocation) : null;
+        return modelRadius != null ? modelRadius * MODEL_RADIUS_CULLING_FACTOR * Math.max(scale.x, Math.max(scale.y, scale.z)) : 0;
+    }
+
+    /**
+     * Returns the distance of the furthest vertex from the origin in the passed-in model objects.
+     */
+    private static double getModelRadius(List<RenderableModelObject> modelObjects) {
+        double maxDistanceSquared = 0;
+        for (RenderableModelObject modelObject : modelObjects) {
+            FloatBuffer vertices = modelObject.object.vertices;
+            if (vertices != null) {
+                //Each vertex is normal, UV, then XYZ, so the position is the last 3 of every 8 floats.
+                for (int i = 5; i + 2 < vertices.limit(); i += 8) {
+                    double x = vertices.get(i);
+                    double y = vertices.get(i + 1);
+                    double z = vertices.get(i + 2);
+                    maxDistanceSquared = Math.max(maxDistanceSquared, x * x + y * y + z * z);
+                }
+            }
+        }
+        return Math.sqrt(maxDistanceSquared);
+    }
+
+    /**
+     * Returns true if this entity never moves once placed.  If so, model objects on it that don't have
+     * animations, lights, or other dynamic rendering will be batched with the other static geometry
+     * in the area rather than rendered individually.
+     */
+    public boolean shouldBatchStaticObjects() {
+        return false;
     }
 
     @Override
@@ -1268,12 +1466,23 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         for (AEntityD_Definable<?> entity : world.getEntitiesExtendingType(AEntityD_Definable.class)) {
             if (entity.definition.rendering.modelType != ModelType.NONE) {
                 entity.animationsInitialized = false;
-                for (RenderableModelObject modelObject : objectLists.get(entity.definition.getModelLocation(entity.subDefinition))) {
-                    modelObject.destroy(entity);
+                world.staticGeometry.remove(entity);
+                for (String modelLocation : entity.getModelLocations()) {
+                    List<RenderableModelObject> objectList = objectLists.get(modelLocation);
+                    if (objectList != null) {
+                        for (RenderableModelObject modelObject : objectList) {
+                            modelObject.destroy(entity);
+                        }
+                    }
                 }
+                entity.currentLOD = null;
             }
         }
         objectLists.clear();
+        modelRadii.clear();
+        levelOfDetailObjectLists.clear();
+        AModelParser.clearParsedModels();
+        RenderText.clearFontData();
     }
 
     @Override
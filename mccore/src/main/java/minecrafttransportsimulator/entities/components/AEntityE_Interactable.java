@@ -14,9 +14,11 @@ import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.OrientedBoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.items.components.AItemSubTyped;
 import minecrafttransportsimulator.items.instances.ItemInstrument;
 import minecrafttransportsimulator.jsondefs.AJSONInteractableEntity;
@@ -108,6 +110,12 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
      **/
     public final BoundingBox encompassingBox = new BoundingBox(new Point3D(), new Point3D(), 0, 0, 0, false);
 
+    /**
+     * Like {@link #encompassingBox}, but rotated with this entity.  This is a tighter fit for rotated entities,
+     * so it should be checked after the encompassing box to cull things the encompassing box couldn't.
+     **/
+    public final OrientedBoundingBox orientedEncompassingBox = new OrientedBoundingBox();
+
     /**
      * Set of entities that this entity collided with this tick.  Any entity that is in this set
      * should NOT do collision checks with this entity, or infinite loops will occur.
@@ -293,10 +301,10 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        if ("damage_percent".equals(variable)) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        if ("damage_percent".equals(variable.name)) {
             return damageAmount / definition.general.health;
-        } else if ("damage_totaled".equals(variable)) {
+        } else if ("damage_totaled".equals(variable.name)) {
             return outOfHealth ? 1 : 0;
         }
 
@@ -372,6 +380,9 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
             encompassingBox.depthRadius = (float) Math.max(encompassingBox.depthRadius, Math.abs(box.globalCenter.z - position.z) + box.depthRadius);
         }
         encompassingBox.updateToEntity(this, null);
+        orientedEncompassingBox.reset(this);
+        orientedEncompassingBox.addBoxes(damageCollisionBoxes);
+        orientedEncompassingBox.update();
     }
 
     /**
@@ -385,9 +396,9 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
         if (currentDamage > box.groupDef.health) {
             double amountActuallyNeeded = damageAmount - (currentDamage - box.groupDef.health);
             currentDamage = box.groupDef.health;
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, variableName, amountActuallyNeeded));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, variableName, amountActuallyNeeded), this);
         } else {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, variableName, damageAmount));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, variableName, damageAmount), this);
         }
         setVariable(variableName, currentDamage);
     }
@@ -515,9 +526,9 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
                 if (damageAmount > definition.general.health) {
                     damageAmount = definition.general.health;
                     outOfHealth = true;
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(this, DAMAGE_VARIABLE, damageAmount));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(this, DAMAGE_VARIABLE, damageAmount), this);
                 } else {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, DAMAGE_VARIABLE, damage.amount));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, DAMAGE_VARIABLE, damage.amount), this);
                 }
                 setVariable(DAMAGE_VARIABLE, damageAmount);
             }
@@ -534,6 +545,13 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
         }
     }
 
+    @Override
+    public double getRenderRadius() {
+        //Make sure we cover all our boxes too, as they can extend past the model.
+        double modelRadius = super.getRenderRadius();
+        return modelRadius != 0 ? Math.max(modelRadius, Math.max(encompassingBox.widthRadius, Math.max(encompassingBox.heightRadius, encompassingBox.depthRadius))) : 0;
+    }
+
     @Override
     protected void renderModel(TransformationMatrix transform, boolean blendingEnabled, float partialTicks) {
         super.renderModel(transform, blendingEnabled, partialTicks);
@@ -542,7 +560,8 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
         //We only apply the appropriate translation and rotation.
         //Normalization is required here, as otherwise the normals get scaled with the
         //scaling operations, and shading gets applied funny.
-        if (definition.instruments != null) {
+        //Instruments are small details, so don't render them if we're too far away to see them.
+        if (definition.instruments != null && !isPastDetailDistance) {
             world.beginProfiling("Instruments", true);
             for (int i = 0; i < definition.instruments.size(); ++i) {
                 ItemInstrument instrument = instruments.get(i);
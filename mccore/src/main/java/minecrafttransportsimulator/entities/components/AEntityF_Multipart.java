@@ -17,6 +17,7 @@ import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.instances.APart;
 import minecrafttransportsimulator.entities.instances.EntityBullet;
 import minecrafttransportsimulator.entities.instances.EntityBullet.HitType;
@@ -213,7 +214,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
             JSONPartDefinition otherPartDef = placedPart.definition.parts.get(0);
             partToPlace.linkToEntity(placedPart, otherPartDef);
             placedPart.addPart(partToPlace, false);
-            InterfaceManager.packetInterface.sendToAllClients(new PacketPartChange_Transfer(partToPlace, placedPart, otherPartDef));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartChange_Transfer(partToPlace, placedPart, otherPartDef), partToPlace);
             partToPlace = null;
             placedPart = null;
         }
@@ -285,7 +286,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
                     if (isVariableActive(partDef.transferVariable)) {
                         transferPart(partDef);
                         toggleVariable(partDef.transferVariable);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this, partDef.transferVariable));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(this, partDef.transferVariable), this);
                     }
                 }
             }
@@ -306,7 +307,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
                     partToTransfer.entityOn.removePart(partToTransfer, false, null);
                     partToTransfer.linkToEntity(this, partDef);
                     addPart(partToTransfer, false);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartChange_Transfer(partToTransfer, this, partDef));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartChange_Transfer(partToTransfer, this, partDef), partToTransfer);
                     return;
                 }
             }
@@ -327,7 +328,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
                                     removePart(currentPart, false, null);
                                     currentPart.linkToEntity(entity, otherPartDef);
                                     entity.addPart(currentPart, false);
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartChange_Transfer(currentPart, entity, otherPartDef));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartChange_Transfer(currentPart, entity, otherPartDef), currentPart);
                                     return;
                                 }
                             }
@@ -392,7 +393,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
      * the bullet know if it WILL hit this entity.  Returns null if no boxes collided, not an empty collection.
      */
     public Collection<BoundingBoxHitResult> getHitBoxes(Point3D pathStart, Point3D pathEnd, BoundingBox movementBounds, boolean isBullet) {
-        if (encompassingBox.intersects(movementBounds)) {
+        if (encompassingBox.intersects(movementBounds) && orientedEncompassingBox.getIntersection(pathStart, pathEnd) != null) {
             //Get all collision boxes and check if we hit any of them.
             //Sort them by distance for later.
             TreeMap<Double, BoundingBoxHitResult> hitBoxes = new TreeMap<>();
@@ -638,12 +639,11 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
         //If we have a variable with a suffix, we need to get that part first and pass
         //it into this method rather than trying to run through the code now.
-        int partNumber = getVariableNumber(variable);
-        if (partNumber != -1) {
-            return getSpecificPartAnimation(variable, partNumber, partialTicks);
+        if (variable.partNumber != -1) {
+            return getSpecificPartAnimation(variable, partialTicks);
         } else {
             return super.getRawVariableValue(variable, partialTicks);
         }
@@ -683,11 +683,17 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
      * define a number, then -1 is returned.
      */
     public static int getVariableNumber(String variable) {
-        if (variable.matches("^.*_\\d+$")) {
-            return Integer.parseInt(variable.substring(variable.lastIndexOf('_') + 1)) - 1;
-        } else {
+        int suffixStart = variable.lastIndexOf('_') + 1;
+        if (suffixStart == 0 || suffixStart == variable.length()) {
             return -1;
         }
+        for (int i = suffixStart; i < variable.length(); ++i) {
+            char c = variable.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(variable.substring(suffixStart)) - 1;
     }
 
     /**
@@ -789,7 +795,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 
             //If we are on the server, and need to notify clients, do so.
             if (sendPacket && !world.isClient()) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartChange_Add(this, part));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartChange_Add(this, part), this);
             }
         }
 
@@ -830,7 +836,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 
             //If we are on the server, notify all clients of this change.
             if (!world.isClient()) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartChange_Remove(part, removeFromWorld));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartChange_Remove(part, removeFromWorld), part);
             }
         }
 
@@ -985,6 +991,16 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
             }
         }
         encompassingBox.updateToEntity(this, null);
+
+        //Oriented box gets all boxes we could hit, since it's used as a pre-check for all of them.
+        orientedEncompassingBox.addBoxes(allDamageCollisionBoxes);
+        orientedEncompassingBox.addBoxes(allBulletCollisionBoxes);
+        orientedEncompassingBox.addBoxes(allInteractionBoxes);
+        if (world.isClient()) {
+            orientedEncompassingBox.addBoxes(activePartSlotBoxes.keySet());
+        }
+        orientedEncompassingBox.update();
+        world.updateMultipartBounds(this);
     }
 
     /**
@@ -992,8 +1008,16 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
      * Returns null if the part doesn't exist.
      */
     public APart getSpecificPart(String variable, int partNumber) {
+        return getSpecificPartOfType(variable.substring(0, variable.indexOf("_")), partNumber);
+    }
+
+    /**
+     * Helper method to return the part at the specific index for the passed-in part type.
+     * The type "part" is a special case that returns the part in the slot at the index.
+     * Returns null if the part doesn't exist.
+     */
+    public APart getSpecificPartOfType(String partType, int partNumber) {
         //Iterate through our parts to find the index of the pack def for the part we want.
-        String partType = variable.substring(0, variable.indexOf("_"));
         if (partType.equals("part")) {
             //Shortcut as we can just get the part for the slot.
             //Check index just in case someone screwed up a JSON.
@@ -1022,10 +1046,10 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
      * Helper method to return the value of an animation for a specific part, as
      * determined by the index of that part.
      */
-    public double getSpecificPartAnimation(String variable, int partNumber, float partialTicks) {
-        APart foundPart = getSpecificPart(variable, partNumber);
+    public double getSpecificPartAnimation(VariableHandle variable, float partialTicks) {
+        APart foundPart = getSpecificPartOfType(variable.partType, variable.partNumber);
         if (foundPart != null) {
-            return foundPart.getRawVariableValue(variable.substring(0, variable.lastIndexOf("_")), partialTicks);
+            return foundPart.getRawVariableValue(variable.partVariable, partialTicks);
         } else {
             return 0;
         }
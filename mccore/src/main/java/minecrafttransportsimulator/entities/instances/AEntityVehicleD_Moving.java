@@ -44,6 +44,9 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     public static final String RIGHTTURNLIGHT_VARIABLE = "right_turn_signal";
     public static final String BRAKE_VARIABLE = "brake";
     public static final String PARKINGBRAKE_VARIABLE = "p_brake";
+    private static final int SLEEP_CHECK_INTERVAL = 20;
+    private static final double REST_MOTION_THRESHOLD = 0.001;
+    private static final double REST_ROTATION_THRESHOLD = 0.01;
 
     //External state control.
     @DerivedValue
@@ -61,6 +64,9 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     public boolean slipping;
     public boolean skidSteerActive;
     public boolean lockedOnRoad;
+    public boolean isSleeping;
+    private boolean sleepingUnobserved;
+    private int ticksAtRest;
     private boolean updateGroundDevicesRequest;
     private int lastBlockCollisionBoxesCount;
     public double groundVelocity;
@@ -89,6 +95,11 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     private double prevTotalPathDelta;
     private boolean invertedRoadOrientation;
 
+    /**
+     * Session-local ID used by {@link PacketVehicleServerMovement} to reference this vehicle.
+     **/
+    public short movementSyncID;
+
     //Internal movement variables.
     private final Point3D serverDeltaM;
     private final Point3D serverDeltaR;
@@ -96,6 +107,9 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     private final Point3D serverDeltaMApplied = new Point3D();
     private final Point3D serverDeltaRApplied = new Point3D();
     private double serverDeltaPApplied;
+    private final Point3D unsyncedDeltaM = new Point3D();
+    private final Point3D unsyncedDeltaR = new Point3D();
+    private double unsyncedDeltaP;
 
     private final Point3D clientDeltaM;
     private final Point3D clientDeltaR;
@@ -114,6 +128,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     private double pathingApplied;
 
     private final Point3D tempBoxPosition = new Point3D();
+    private final Point3D restRotationDelta = new Point3D();
     private final Point3D normalizedGroundVelocityVector = new Point3D();
     private final Point3D normalizedGroundHeadingVector = new Point3D();
     private AEntityE_Interactable<?> lastCollidedEntity;
@@ -136,6 +151,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         this.clientDeltaM = serverDeltaM.copy();
         this.clientDeltaR = serverDeltaR.copy();
         this.clientDeltaP = serverDeltaP;
+        //Servers make new IDs every load, clients get theirs from the server's data.
+        this.movementSyncID = world.isClient() ? (short) data.getInteger("movementSyncID") : world.vehicleMovementSync.getNextID();
         this.groundDeviceCollective = new VehicleGroundDeviceCollection((EntityVehicleF_Physics) this);
         this.placingPlayer = placingPlayer;
     }
@@ -194,7 +211,11 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         locked = isVariableActive(LOCKED_VARIABLE);
 
         //Now do update calculations and logic.
-        if (!ConfigSystem.settings.general.noclipVehicles.value || groundDeviceCollective.isReady()) {
+        //Sleeping vehicles only do these once a second to make sure they are still at rest.
+        if (isSleeping && !canSleep()) {
+            wakeUp();
+        }
+        if ((!isSleeping || ticksExisted % SLEEP_CHECK_INTERVAL == 0) && (!ConfigSystem.settings.general.noclipVehicles.value || groundDeviceCollective.isReady())) {
             world.beginProfiling("GroundForces", false);
             getForcesAndMotions();
             world.beginProfiling("GroundOperations", false);
@@ -208,16 +229,85 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
             if (!world.isClient()) {
                 adjustControlSurfaces();
             }
+            world.beginProfiling("SleepChecks", false);
+            updateSleepState();
         }
         world.endProfiling();
     }
 
+    /**
+     * Returns true if this vehicle is in a state where it could sleep, not counting if it is at rest.
+     * This is checked every tick on sleeping vehicles, so should be kept cheap.
+     */
+    protected boolean canSleep() {
+        if (ConfigSystem.settings.general.vehicleSleepDelay.value == 0 || towedByConnection != null || !towingConnections.isEmpty() || lastCollidedEntity != null || (!parkingBrakeOn && !sleepingUnobserved)) {
+            return false;
+        }
+        for (APart part : allParts) {
+            if (part.rider != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if we moved this tick, and puts us to sleep if we have been at rest long enough.
+     * Vehicles without their parking brake set may only sleep if no players are nearby.
+     * If we are already sleeping, and we moved, or a player came close to us, we wake up.
+     */
+    private void updateSleepState() {
+        restRotationDelta.set(orientation.angles).subtract(prevOrientation.angles).clamp180();
+        if (motion.length() < REST_MOTION_THRESHOLD && position.distanceTo(prevPosition) < REST_MOTION_THRESHOLD && restRotationDelta.length() < REST_ROTATION_THRESHOLD) {
+            if (isSleeping) {
+                if (sleepingUnobserved && !parkingBrakeOn && isObserved()) {
+                    wakeUp();
+                } else {
+                    motion.set(0, 0, 0);
+                    rotation.angles.set(0, 0, 0);
+                }
+            } else if (++ticksAtRest >= ConfigSystem.settings.general.vehicleSleepDelay.value) {
+                //Only check for players if we could otherwise sleep, as it's not a cheap check.
+                sleepingUnobserved = !parkingBrakeOn;
+                if (canSleep() && (parkingBrakeOn || !isObserved())) {
+                    isSleeping = true;
+                    motion.set(0, 0, 0);
+                    rotation.angles.set(0, 0, 0);
+                } else {
+                    sleepingUnobserved = false;
+                    ticksAtRest = 0;
+                }
+            }
+        } else {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Returns true if any players are close enough to this vehicle that it shouldn't sleep without its parking brake.
+     */
+    private boolean isObserved() {
+        double sleepDistance = ConfigSystem.settings.general.vehicleSleepDistance.value;
+        return sleepDistance == 0 || !world.getPlayersWithin(new BoundingBox(position, sleepDistance, sleepDistance, sleepDistance)).isEmpty();
+    }
+
+    /**
+     * Wakes this vehicle up if it was sleeping, and resets its rest timer.  Call this whenever something
+     * happens to the vehicle that could make it move, such as collisions or towing.
+     */
+    public void wakeUp() {
+        isSleeping = false;
+        sleepingUnobserved = false;
+        ticksAtRest = 0;
+    }
+
     @Override
     protected void updateAllpartList() {
         super.updateAllpartList();
         if (ticksExisted > 1) {
             updateGroundDevicesRequest = true;
         }
+        wakeUp();
     }
 
     @Override
@@ -239,6 +329,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     public void connectTrailer(TowingConnection connection, boolean notifyClient) {
         super.connectTrailer(connection, notifyClient);
         AEntityVehicleD_Moving towedVehicle = connection.towedVehicle;
+        wakeUp();
+        towedVehicle.wakeUp();
         if (towedVehicle.parkingBrakeOn) {
             towedVehicle.setVariable(PARKINGBRAKE_VARIABLE, 0);
         }
@@ -266,6 +358,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         if (connection.towedVehicle.definition.motorized.isTrailer) {
             connection.towedVehicle.setVariable(PARKINGBRAKE_VARIABLE, 1);
         }
+        connection.towedVehicle.wakeUp();
+        wakeUp();
         super.disconnectTrailer(connectionIndex);
     }
 
@@ -941,13 +1035,11 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
      */
     private boolean isCollisionBoxCollided() {
         if (motion.length() > 0.001) {
-            boolean clearedCache = false;
             for (BoundingBox box : allBlockCollisionBoxes) {
                 tempBoxPosition.set(box.globalCenter).subtract(position).rotate(rotation).subtract(box.globalCenter).add(position).addScaled(motion, speedFactor);
-                if (!box.collidesWithLiquids && world.checkForCollisions(box, tempBoxPosition, !clearedCache, ConfigSystem.settings.general.blockBreakage.value)) {
+                if (!box.collidesWithLiquids && world.checkForCollisions(box, tempBoxPosition, ConfigSystem.settings.general.blockBreakage.value)) {
                     return true;
                 }
-                clearedCache = true;
             }
         }
         return false;
@@ -1036,6 +1128,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     public void addToServerDeltas(Point3D motionAdded, Point3D rotationAdded, double pathingAdded) {
         if (rotationAdded != null) {
             //Packet call from server, add directly.
+            //Wake up, as the server wouldn't have sent movement if we weren't moving.
+            wakeUp();
             serverDeltaM.add(motionAdded);
             serverDeltaR.add(rotationAdded);
             serverDeltaP += pathingAdded;
@@ -1051,11 +1145,34 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
                 }
                 serverDeltaPApplied += pathingApplied;
                 serverDeltaP += pathingApplied;
-                InterfaceManager.packetInterface.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, motionApplied, rotationApplied.angles, pathingApplied));
+                unsyncedDeltaM.add(motionApplied);
+                unsyncedDeltaR.add(rotationApplied.angles);
+                unsyncedDeltaP += pathingApplied;
+                world.vehicleMovementSync.queueMovement((EntityVehicleF_Physics) this);
             }
         }
     }
 
+    /**
+     * Returns the movement entry to send to clients for this tick.  This contains all movement that hasn't
+     * been sent to clients yet.  Normally this is a rounded delta, with the rounding left to be sent next time.
+     * If a keyframe is due, requested, or the delta is too big to send, the movement is sent un-rounded instead.
+     * Only call this on servers, and only once a tick.
+     */
+    public PacketVehicleServerMovement.Entry getMovementSyncEntry(boolean forceKeyframe) {
+        PacketVehicleServerMovement.Entry entry = null;
+        if (!forceKeyframe && ticksExisted % PacketVehicleServerMovement.KEYFRAME_INTERVAL != 0) {
+            entry = PacketVehicleServerMovement.Entry.createDelta((EntityVehicleF_Physics) this, unsyncedDeltaM, unsyncedDeltaR, unsyncedDeltaP);
+        }
+        if (entry == null) {
+            entry = PacketVehicleServerMovement.Entry.createKeyframe((EntityVehicleF_Physics) this, unsyncedDeltaM, unsyncedDeltaR, unsyncedDeltaP);
+        }
+        unsyncedDeltaM.subtract(entry.motion);
+        unsyncedDeltaR.subtract(entry.rotation);
+        unsyncedDeltaP -= entry.pathing;
+        return entry;
+    }
+
     /**
      * Locks or unlocks this entity.  Allows for supplemental logic.
      * Call this ONLY on the server.
@@ -1063,7 +1180,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     public void toggleLock() {
         locked = !locked;
         toggleVariable(LOCKED_VARIABLE);
-        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this, LOCKED_VARIABLE));
+        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(this, LOCKED_VARIABLE), this);
 
         //Check for doors to close on locking.
         if (locked) {
@@ -1071,7 +1188,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
             while (iterator.hasNext()) {
                 String variable = iterator.next();
                 if (variable.contains("door")) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this, variable));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(this, variable), this);
                     iterator.remove();
                 }
             }
@@ -1123,6 +1240,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         data.setPoint3d("serverDeltaM", serverDeltaM);
         data.setPoint3d("serverDeltaR", serverDeltaR);
         data.setDouble("serverDeltaP", serverDeltaP);
+        data.setInteger("movementSyncID", movementSyncID);
         return data;
     }
 }
@@ -265,6 +265,21 @@ public abstract class AEntityVehicleE_Powered extends AEntityVehicleD_Moving {
         }
     }
 
+    @Override
+    protected boolean canSleep() {
+        if (super.canSleep()) {
+            //Running engines could move us at any time, so don't sleep with them.
+            for (PartEngine engine : engines) {
+                if (engine.running) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     @Override
     public void updatePartList() {
         super.updatePartList();
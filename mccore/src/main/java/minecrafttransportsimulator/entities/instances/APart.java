@@ -9,6 +9,7 @@ import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.items.components.AItemPart;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
@@ -544,6 +545,11 @@ public abstract class APart extends AEntityF_Multipart<JSONPart> {
         return entityOn.shouldRenderBeams();
     }
 
+    @Override
+    public double getRenderDistance() {
+        return entityOn.getRenderDistance();
+    }
+
     @Override
     public String getTexture() {
         if (definition.generic.useVehicleTexture) {
@@ -565,20 +571,19 @@ public abstract class APart extends AEntityF_Multipart<JSONPart> {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
         //If the variable is prefixed with "parent_", then we need to get our parent's value.
-        if (variable.startsWith("parent_")) {
-            return entityOn.getRawVariableValue(variable.substring("parent_".length()), partialTicks);
+        if (variable.parentVariable != null) {
+            return entityOn.getRawVariableValue(variable.parentVariable, partialTicks);
         } else if (definition.parts != null) {
             //Check sub-parts for the part with the specified index.
-            int partNumber = getVariableNumber(variable);
-            if (partNumber != -1) {
-                return getSpecificPartAnimation(variable, partNumber, partialTicks);
+            if (variable.partNumber != -1) {
+                return getSpecificPartAnimation(variable, partialTicks);
             }
         }
 
         //Check for generic part variables.
-        switch (variable) {
+        switch (variable.name) {
             case ("part_present"):
                 return 1;
             case ("part_ismirrored"):
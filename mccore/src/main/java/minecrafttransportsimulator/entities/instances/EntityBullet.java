@@ -1,6 +1,5 @@
 package minecrafttransportsimulator.entities.instances;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -10,6 +9,7 @@ import minecrafttransportsimulator.baseclasses.BoundingBoxHitResult;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
@@ -62,15 +62,12 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
     public double armorPenetrated;
 
     private Point3D targetVector;
-    private Point3D normalizedConeVector = new Point3D();
-    private Point3D normalizedEntityVector = new Point3D();
     private PartEngine engineTargeted;
     private IWrapperEntity externalEntityTargeted;
     public HitType lastHit;
     public Axis sideHit;
     private Point3D relativeGunPos;
     private Point3D prevRelativeGunPos;
-    private final List<AEntityF_Multipart<?>> multiparts = new ArrayList<>();
 
     /**
      * Generic constructor for no target.
@@ -214,10 +211,7 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
                         //Always knows where the target is once fired.
                         if (externalEntityTargeted != null) {
                             //check to see if target is able to be locked on to still.(seeker can see it)
-                            normalizedConeVector.set(searchVector).normalize();
-                            normalizedEntityVector.set(externalEntityTargeted.getPosition()).subtract(startPoint).normalize();
-                            double targetAngle = Math.abs(Math.toDegrees(Math.acos(normalizedConeVector.dotProduct(normalizedEntityVector, false))));
-                            if (externalEntityTargeted.isValid() && targetAngle < coneAngle || world.getBlockHit(startPoint, targetPosition) != null || targetPosition.distanceTo(position) > definition.bullet.seekerRange) {
+                            if (externalEntityTargeted.isValid() && world.sensorSweep.isInCone(startPoint, searchVector, definition.bullet.seekerRange, coneAngle, externalEntityTargeted.getPosition()) || !world.sensorSweep.hasLineOfSight(world, startPoint, targetPosition) || targetPosition.distanceTo(position) > definition.bullet.seekerRange) {
                                 targetPosition.set(externalEntityTargeted.getPosition()).add(0, externalEntityTargeted.getBounds().heightRadius, 0);
                             } else {
                                 //Entity is dead. Don't target it anymore.
@@ -225,12 +219,9 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
                                 targetPosition = null;
                             }
                         } else if (engineTargeted != null) {
-                            normalizedConeVector.set(searchVector).normalize();
-                            normalizedEntityVector.set(engineTargeted.vehicleOn.position).subtract(startPoint).normalize();
-                            double targetAngle = Math.abs(Math.toDegrees(Math.acos(normalizedConeVector.dotProduct(normalizedEntityVector, false))));
                             //Don't need to update the position variable for engines, as it auto-syncs.
                             //Do need to check if the engine is still warm and valid, however.
-                            if (!engineTargeted.isValid || targetAngle > coneAngle || world.getBlockHit(startPoint, targetPosition) != null || targetPosition.distanceTo(position) > definition.bullet.seekerRange) {// || engineTargeted.temp <= PartEngine.COLD_TEMP){
+                            if (!engineTargeted.isValid || !world.sensorSweep.isInCone(startPoint, searchVector, definition.bullet.seekerRange, coneAngle, engineTargeted.vehicleOn.position) || !world.sensorSweep.hasLineOfSight(world, startPoint, targetPosition) || targetPosition.distanceTo(position) > definition.bullet.seekerRange) {// || engineTargeted.temp <= PartEngine.COLD_TEMP){
                                 engineTargeted.vehicleOn.missilesIncoming.remove(this);
                                 engineTargeted = null;
                                 targetPosition = null;
@@ -325,16 +316,12 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
                     hitBlock = null;
                 }
 
-                //Populate multiparts for following functions.
-                multiparts.clear();
-                multiparts.addAll(world.getEntitiesOfType(EntityVehicleF_Physics.class));
-                multiparts.addAll(world.getEntitiesOfType(EntityPlacedPart.class));
-
                 //Check for collided internal entities.
                 //This is a bit more involved, as we need to check all possible types and check hitbox distance.
+                //Only multiparts along our path can be hit, so just get those.
                 Point3D endPoint = position.copy().add(motion);
                 BoundingBox bulletMovementBounds = new BoundingBox(position, endPoint);
-                for (AEntityF_Multipart<?> multipart : multiparts) {
+                for (AEntityF_Multipart<?> multipart : world.getMultipartsWithin(AEntityF_Multipart.class, bulletMovementBounds)) {
                     //Don't attack the entity that has the gun that fired us.
                     if (!multipart.allParts.contains(gun)) {
                         Collection<BoundingBoxHitResult> hitResults = multipart.getHitBoxes(position, endPoint, bulletMovementBounds, true);
@@ -452,18 +439,16 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
                             int maxSteps = (int) Math.floor(velocity / definition.bullet.proximityFuze);
                             proxBounds.globalCenter.set(position);
                             for (int step = 0; step < maxSteps; ++step) {
-                                for (AEntityF_Multipart<?> multipart : multiparts) {
+                                for (AEntityF_Multipart<?> multipart : world.getMultipartsWithin(AEntityF_Multipart.class, proxBounds)) {
                                     //Don't attack the entity that has the gun that fired us.
                                     if (!multipart.allParts.contains(gun)) {
-                                        if (multipart.encompassingBox.intersects(proxBounds)) {
-                                            //Could have hit this multipart, check all boxes.
-                                            for (BoundingBox box : multipart.allInteractionBoxes) {
-                                                if (box.globalCenter.isDistanceToCloserThan(proxBounds.globalCenter, definition.bullet.proximityFuze)) {
-                                                    targetToHit = box.globalCenter.copy();
-                                                    hitType = HitType.VEHICLE;
-                                                    displayDebugMessage("PROX FUZE HIT VEHICLE");
-                                                    break;
-                                                }
+                                        //Could have hit this multipart, check all boxes.
+                                        for (BoundingBox box : multipart.allInteractionBoxes) {
+                                            if (box.globalCenter.isDistanceToCloserThan(proxBounds.globalCenter, definition.bullet.proximityFuze)) {
+                                                targetToHit = box.globalCenter.copy();
+                                                hitType = HitType.VEHICLE;
+                                                displayDebugMessage("PROX FUZE HIT VEHICLE");
+                                                break;
                                             }
                                         }
                                     }
@@ -652,8 +637,8 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("bullet_hit"):
                 return lastHit != null ? 1 : 0;
             case ("bullet_burntime"):
@@ -9,6 +9,8 @@ import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TowingConnection;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
+import minecrafttransportsimulator.baseclasses.VariableHandle.VariableType;
 import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.entities.components.AEntityG_Towable;
 import minecrafttransportsimulator.items.instances.ItemVehicle;
@@ -265,7 +267,7 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
             delta = -degrees;
         }
         setVariable(RUDDER_INPUT_VARIABLE, rudderInput + delta);
-        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, RUDDER_INPUT_VARIABLE, delta));
+        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, RUDDER_INPUT_VARIABLE, delta), this);
     }
 
     @Override
@@ -641,13 +643,13 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
                 if (throttle < MAX_THROTTLE) {
                     throttle += MAX_THROTTLE / 100D;
                     setVariable(THROTTLE_VARIABLE, throttle);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, THROTTLE_VARIABLE, MAX_THROTTLE / 100D));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, THROTTLE_VARIABLE, MAX_THROTTLE / 100D), this);
                 }
             } else if (indicatedSpeed > autopilotSetting) {
                 if (throttle > 0) {
                     throttle -= MAX_THROTTLE / 100D;
                     setVariable(THROTTLE_VARIABLE, throttle);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, THROTTLE_VARIABLE, -MAX_THROTTLE / 100D));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, THROTTLE_VARIABLE, -MAX_THROTTLE / 100D), this);
                 }
             }
         }
@@ -661,11 +663,11 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
                     if (motion.y < 0 && throttle < MAX_THROTTLE) {
                         throttle += MAX_THROTTLE / 100D;
                         setVariable(THROTTLE_VARIABLE, throttle);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, THROTTLE_VARIABLE, MAX_THROTTLE / 100D));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, THROTTLE_VARIABLE, MAX_THROTTLE / 100D), this);
                     } else if (motion.y > 0 && throttle < MAX_THROTTLE) {
                         throttle -= MAX_THROTTLE / 100D;
                         setVariable(THROTTLE_VARIABLE, throttle);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, THROTTLE_VARIABLE, -MAX_THROTTLE / 100D));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, THROTTLE_VARIABLE, -MAX_THROTTLE / 100D), this);
                     }
                 }
                 //Change pitch/roll based on movement.
@@ -675,33 +677,33 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
                 double sidewaysDelta = sidewaysVelocity - prevMotion.dotProduct(sideVector, false);
                 if (forwardsDelta > 0 && forwardsVelocity > 0 && elevatorTrim < MAX_ELEVATOR_TRIM) {
                     setVariable(ELEVATOR_TRIM_VARIABLE, elevatorTrim + 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, 1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, 1), this);
                 } else if (forwardsDelta < 0 && forwardsVelocity < 0 && elevatorTrim > -MAX_ELEVATOR_TRIM) {
                     setVariable(ELEVATOR_TRIM_VARIABLE, elevatorTrim - 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, -1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, -1), this);
                 }
                 if (sidewaysVelocity > 0 && sidewaysDelta > 0 && aileronTrim < MAX_AILERON_TRIM) {
                     setVariable(AILERON_TRIM_VARIABLE, aileronTrim + 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, 1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, 1), this);
                 } else if (sidewaysVelocity < 0 && sidewaysDelta < 0 && aileronTrim > -MAX_AILERON_TRIM) {
                     setVariable(AILERON_TRIM_VARIABLE, aileronTrim - 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, -1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, -1), this);
                 }
             } else {
                 //Reset trim to prevent directional surges.
                 if (elevatorTrim < 0) {
                     setVariable(ELEVATOR_TRIM_VARIABLE, elevatorTrim + 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, 1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, 1), this);
                 } else if (elevatorTrim > 0) {
                     setVariable(ELEVATOR_TRIM_VARIABLE, elevatorTrim - 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, -1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, -1), this);
                 }
                 if (aileronTrim < 0) {
                     setVariable(AILERON_TRIM_VARIABLE, aileronTrim + 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, 1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, 1), this);
                 } else if (aileronTrim > 0) {
                     setVariable(AILERON_TRIM_VARIABLE, aileronTrim - 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, -1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, -1), this);
                 }
             }
         } else if (definition.motorized.isAircraft && autopilotSetting != 0) {
@@ -709,18 +711,18 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
             //If we are not flying at a steady elevation, angle the elevator to compensate
             if (-motion.y * 10 > elevatorTrim + 1 && elevatorTrim < MAX_ELEVATOR_TRIM) {
                 setVariable(ELEVATOR_TRIM_VARIABLE, elevatorTrim + 0.1);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, 0.1));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, 0.1), this);
             } else if (-motion.y * 10 < elevatorTrim - 1 && elevatorTrim > -MAX_ELEVATOR_TRIM) {
                 setVariable(ELEVATOR_TRIM_VARIABLE, elevatorTrim - 0.1);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, -0.1));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, ELEVATOR_TRIM_VARIABLE, -0.1), this);
             }
             //Keep the roll angle at 0.
             if (-orientation.angles.z > aileronTrim + 0.1 && aileronTrim < MAX_AILERON_TRIM) {
                 setVariable(AILERON_TRIM_VARIABLE, aileronTrim + 0.1);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, 0.1));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, 0.1), this);
             } else if (-orientation.angles.z < aileronTrim - 0.1 && aileronTrim > -MAX_AILERON_TRIM) {
                 setVariable(AILERON_TRIM_VARIABLE, aileronTrim - 0.1);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, -0.1));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, AILERON_TRIM_VARIABLE, -0.1), this);
             }
         }
 
@@ -729,35 +731,35 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
         if (!lockedOnRoad && controllerCount == 0) {
             if (aileronInput > AILERON_DAMPEN_RATE) {
                 setVariable(AILERON_INPUT_VARIABLE, aileronInput - AILERON_DAMPEN_RATE);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, AILERON_INPUT_VARIABLE, -AILERON_DAMPEN_RATE, 0, MAX_AILERON_ANGLE));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, AILERON_INPUT_VARIABLE, -AILERON_DAMPEN_RATE, 0, MAX_AILERON_ANGLE), this);
             } else if (aileronInput < -AILERON_DAMPEN_RATE) {
                 setVariable(AILERON_INPUT_VARIABLE, aileronInput + AILERON_DAMPEN_RATE);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, AILERON_INPUT_VARIABLE, AILERON_DAMPEN_RATE, -MAX_AILERON_ANGLE, 0));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, AILERON_INPUT_VARIABLE, AILERON_DAMPEN_RATE, -MAX_AILERON_ANGLE, 0), this);
             } else if (aileronInput != 0) {
                 setVariable(AILERON_INPUT_VARIABLE, 0);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(this, AILERON_INPUT_VARIABLE, 0));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(this, AILERON_INPUT_VARIABLE, 0), this);
             }
 
             if (elevatorInput > ELEVATOR_DAMPEN_RATE) {
                 setVariable(ELEVATOR_INPUT_VARIABLE, elevatorInput - ELEVATOR_DAMPEN_RATE);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, ELEVATOR_INPUT_VARIABLE, -ELEVATOR_DAMPEN_RATE, 0, MAX_ELEVATOR_ANGLE));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, ELEVATOR_INPUT_VARIABLE, -ELEVATOR_DAMPEN_RATE, 0, MAX_ELEVATOR_ANGLE), this);
             } else if (elevatorInput < -ELEVATOR_DAMPEN_RATE) {
                 setVariable(ELEVATOR_INPUT_VARIABLE, elevatorInput + ELEVATOR_DAMPEN_RATE);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, ELEVATOR_INPUT_VARIABLE, ELEVATOR_DAMPEN_RATE, -MAX_ELEVATOR_ANGLE, 0));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, ELEVATOR_INPUT_VARIABLE, ELEVATOR_DAMPEN_RATE, -MAX_ELEVATOR_ANGLE, 0), this);
             } else if (elevatorInput != 0) {
                 setVariable(ELEVATOR_INPUT_VARIABLE, 0);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(this, ELEVATOR_INPUT_VARIABLE, 0));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(this, ELEVATOR_INPUT_VARIABLE, 0), this);
             }
 
             if (rudderInput > RUDDER_DAMPEN_RATE) {
                 setVariable(RUDDER_INPUT_VARIABLE, rudderInput - RUDDER_DAMPEN_RATE);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, RUDDER_INPUT_VARIABLE, -RUDDER_DAMPEN_RATE, 0, MAX_RUDDER_ANGLE));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, RUDDER_INPUT_VARIABLE, -RUDDER_DAMPEN_RATE, 0, MAX_RUDDER_ANGLE), this);
             } else if (rudderInput < -RUDDER_DAMPEN_RATE) {
                 setVariable(RUDDER_INPUT_VARIABLE, rudderInput + RUDDER_DAMPEN_RATE);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, RUDDER_INPUT_VARIABLE, RUDDER_DAMPEN_RATE, -MAX_RUDDER_ANGLE, 0));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, RUDDER_INPUT_VARIABLE, RUDDER_DAMPEN_RATE, -MAX_RUDDER_ANGLE, 0), this);
             } else if (rudderInput != 0) {
                 setVariable(RUDDER_INPUT_VARIABLE, 0);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(this, RUDDER_INPUT_VARIABLE, 0));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(this, RUDDER_INPUT_VARIABLE, 0), this);
             }
 
         }
@@ -799,14 +801,19 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
+    public double getRenderDistance() {
+        return ConfigSystem.client.renderingSettings.vehicleRenderDistance.value;
+    }
+
+    @Override
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
         //If we are a forwarded variable and are a connected trailer, do that now.
-        if (definition.motorized.isTrailer && towedByConnection != null && definition.motorized.hookupVariables.contains(variable)) {
+        if (definition.motorized.isTrailer && towedByConnection != null && definition.motorized.hookupVariables.contains(variable.name)) {
             return towedByConnection.towingVehicle.getRawVariableValue(variable, partialTicks);
         }
 
         //Not a part of a forwarded variable.  Just return normally.
-        switch (variable) {
+        switch (variable.name) {
             //Vehicle world state cases.
             case ("yaw"):
                 return orientation.angles.y;
@@ -906,104 +913,82 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
                 return selectedBeacon != null ? selectedBeacon.glideSlope - Math.toDegrees(Math.asin((position.y - selectedBeacon.position.y) / position.distanceTo(selectedBeacon.position))) : 0;
             case ("beacon_distance"):
                 return selectedBeacon != null ? Math.hypot(-selectedBeacon.position.z + position.z,-selectedBeacon.position.x + position.x) : 0;
-            default: {
+        }
+
+        switch (variable.type) {
+            case MISSILE: {
                 //Missile incoming variables.
-                //Variable is in the form of missile_X_variablename.
-                if (variable.startsWith("missile_")) {
-                    String missileVariable = variable.substring(variable.lastIndexOf("_") + 1);
-                    int missileNumber = getVariableNumber(variable.substring(0, variable.lastIndexOf('_')));
-                    if (missileNumber != -1) {
-                        if (missilesIncoming.size() <= missileNumber) {
-                            return 0;
-                        } else {
-                            switch (missileVariable) {
-                                case ("distance"):
-                                    return missilesIncoming.get(missileNumber).targetDistance;
-                                case ("direction"): {
-                                    Point3D missilePos = missilesIncoming.get(missileNumber).position;
-                                    return Math.toDegrees(Math.atan2(-missilePos.z + position.z, -missilePos.x + position.x)) + 90 + orientation.angles.y;
-                                }
+                //Variable is in the form of missile_X_variablename, or missile_incoming.
+                if (variable.index != -1) {
+                    if (missilesIncoming.size() <= variable.index) {
+                        return 0;
+                    } else {
+                        switch (variable.subVariable.name) {
+                            case ("distance"):
+                                return missilesIncoming.get(variable.index).targetDistance;
+                            case ("direction"): {
+                                Point3D missilePos = missilesIncoming.get(variable.index).position;
+                                return Math.toDegrees(Math.atan2(-missilePos.z + position.z, -missilePos.x + position.x)) + 90 + orientation.angles.y;
                             }
                         }
-                    } else if (missileVariable.equals("incoming")) {
-                        return missilesIncoming.isEmpty() ? 0 : 1;
                     }
+                } else if (variable.subVariable.name.equals("incoming")) {
+                    return missilesIncoming.isEmpty() ? 0 : 1;
                 }
-                //Radar variables.
-                if (variable.startsWith("radar_")) {
-                    String[] parsedVariable = variable.split("_");
-
-                    //First check if we are seeing with our own radar, or being seen.
-                    //Variable is in the form of radar_X_variablename for inbound, radar_X_Y_variablename for outbound.
-                    List<EntityVehicleF_Physics> radarList;
-                    switch (parsedVariable[1]) {
-                        case ("aircraft"): {
-                            radarList = aircraftOnRadar;
-                            break;
-                        }
-                        case ("ground"): {
-                            radarList = groundersOnRadar;
-                            break;
+                break;
+            }
+            case RADAR_INBOUND: {
+                //Inbound contact from another radar.
+                //Variable is in the form of radar_X_variablename, or radar_detected.
+                if (variable.subVariable != null) {
+                    if (variable.index == -1) {
+                        if (variable.subVariable.name.equals("detected")) {
+                            return radarsTracking.isEmpty() ? 0 : 1;
                         }
-                        default: {
-                            //Inbound contact from another radar.
-                            switch (parsedVariable.length) {
-                                case 2: {
-                                    switch (parsedVariable[1]) {
-                                        case ("detected"):
-                                            return radarsTracking.isEmpty() ? 0 : 1;
-                                    }
-                                    break;
-                                }
-                                case 3: {
-                                    int radarNumber = Integer.parseInt(parsedVariable[1]) - 1;
-                                    if (radarsTracking.size() <= radarNumber) {
-                                        return 0;
-                                    } else {
-                                        switch (parsedVariable[2]) {
-                                            case ("detected"):
-                                                return 1;
-                                            case ("distance"):
-                                                return radarsTracking.get(radarNumber).position.distanceTo(position);
-                                            case ("direction"): {
-                                                Point3D entityPos = radarsTracking.get(radarNumber).position;
-                                                return Math.toDegrees(Math.atan2(-entityPos.z + position.z, -entityPos.x + position.x)) + 90 + orientation.angles.y;
-                                            }
-                                        }
-                                    }
-                                }
+                    } else if (variable.index < radarsTracking.size()) {
+                        switch (variable.subVariable.name) {
+                            case ("detected"):
+                                return 1;
+                            case ("distance"):
+                                return radarsTracking.get(variable.index).position.distanceTo(position);
+                            case ("direction"): {
+                                Point3D entityPos = radarsTracking.get(variable.index).position;
+                                return Math.toDegrees(Math.atan2(-entityPos.z + position.z, -entityPos.x + position.x)) + 90 + orientation.angles.y;
                             }
-                            //Invalid inbound radar value, return 0.
-                            return 0;
                         }
                     }
-
-                    //Outbound radar found, do logic.
-                    int radarNumber = Integer.parseInt(parsedVariable[2]) - 1;
-                    if (radarNumber < radarList.size()) {
-                        AEntityB_Existing contact = radarList.get(radarNumber);
-                        switch (parsedVariable[3]) {
-                            case ("distance"):
-                                return contact.position.distanceTo(position);
-                            case ("direction"):
-                                double delta = Math.toDegrees(Math.atan2(-contact.position.z + position.z, -contact.position.x + position.x)) + 90 + orientation.angles.y;
-                                while (delta < -180)
-                                    delta += 360;
-                                while (delta > 180)
-                                    delta -= 360;
-                                return delta;
-                            case ("speed"):
-                                return contact.velocity;
-                            case ("altitude"):
-                                return contact.position.y;
-                            case ("angle"):
-                                return -Math.toDegrees(Math.atan2(-contact.position.y + position.y, Math.hypot(-contact.position.z + position.z, -contact.position.x + position.x))) + orientation.angles.x;
-                        }
+                }
+                //Invalid inbound radar value, return 0.
+                return 0;
+            }
+            case RADAR_AIRCRAFT:
+            case RADAR_GROUND: {
+                //Outbound radar contacts seen by our own radar.
+                //Variable is in the form of radar_type_X_variablename.
+                List<EntityVehicleF_Physics> radarList = variable.type == VariableType.RADAR_AIRCRAFT ? aircraftOnRadar : groundersOnRadar;
+                if (variable.index < radarList.size()) {
+                    AEntityB_Existing contact = radarList.get(variable.index);
+                    switch (variable.subVariable.name) {
+                        case ("distance"):
+                            return contact.position.distanceTo(position);
+                        case ("direction"):
+                            double delta = Math.toDegrees(Math.atan2(-contact.position.z + position.z, -contact.position.x + position.x)) + 90 + orientation.angles.y;
+                            while (delta < -180)
+                                delta += 360;
+                            while (delta > 180)
+                                delta -= 360;
+                            return delta;
+                        case ("speed"):
+                            return contact.velocity;
+                        case ("altitude"):
+                            return contact.position.y;
+                        case ("angle"):
+                            return -Math.toDegrees(Math.atan2(-contact.position.y + position.y, Math.hypot(-contact.position.z + position.z, -contact.position.x + position.x))) + orientation.angles.x;
                     }
-
-                    //Contact not found or bad variable, return 0.
-                    return 0;
                 }
+
+                //Contact not found or bad variable, return 0.
+                return 0;
             }
         }
 
@@ -11,6 +11,7 @@ import java.util.Set;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.items.instances.ItemPartEffector;
 import minecrafttransportsimulator.jsondefs.JSONPart.EffectorComponentType;
@@ -141,7 +142,7 @@ public class PartEffector extends APart {
                                         if (++blocksBroken == definition.effector.drillDurability) {
                                             remove();
                                         } else {
-                                            InterfaceManager.packetInterface.sendToAllClients(new PacketPartEffector(this, true));
+                                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEffector(this, true), this);
                                         }
                                         activatedThisTick = true;
                                     } else {
@@ -265,14 +266,14 @@ public class PartEffector extends APart {
                 }
             }
             if (activatedThisTick) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEffector(this, false));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEffector(this, false), this);
             }
         }
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("effector_active"):
                 return isActive ? 1 : 0;
             case ("effector_operated"):
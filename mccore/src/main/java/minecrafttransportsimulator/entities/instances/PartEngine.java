@@ -6,6 +6,8 @@ import java.util.List;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
+import minecrafttransportsimulator.baseclasses.VariableHandle.VariableType;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.items.instances.ItemPartEngine;
 import minecrafttransportsimulator.jsondefs.JSONPart;
@@ -203,10 +205,10 @@ public class PartEngine extends APart {
                     if (!masterEntity.allParts.contains(damage.entityResponsible.getEntityRiding())) {
                         if (!magnetoOn) {
                             setVariable(MAGNETO_VARIABLE, 1);
-                            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this, MAGNETO_VARIABLE));
+                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(this, MAGNETO_VARIABLE), this);
                         }
                         handStartEngine();
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.HS_ON));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.HS_ON), this);
                         return;
                     }
                 }
@@ -217,11 +219,11 @@ public class PartEngine extends APart {
                     hoursApplied *= 10;
                 }
                 hours += hoursApplied;
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, hoursApplied));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, hoursApplied), this);
             }
         } else if (definition.engine.type == JSONPart.EngineType.NORMAL) {
             stallEngine(Signal.DROWN);
-            InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.DROWN));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.DROWN), this);
         }
     }
 
@@ -299,7 +301,7 @@ public class PartEngine extends APart {
                         starterLevel += 4;
                     } else if (!world.isClient()) {
                         setVariable(ELECTRIC_STARTER_VARIABLE, 0);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this, ELECTRIC_STARTER_VARIABLE));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(this, ELECTRIC_STARTER_VARIABLE), this);
                     }
                 }
                 if (starterLevel > 0) {
@@ -313,7 +315,7 @@ public class PartEngine extends APart {
                 if (autoStarterEngaged) {
                     if (!world.isClient() && running) {
                         setVariable(ELECTRIC_STARTER_VARIABLE, 0);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this, ELECTRIC_STARTER_VARIABLE));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(this, ELECTRIC_STARTER_VARIABLE), this);
                     }
                 }
             } else if (handStarterEngaged) {
@@ -397,13 +399,13 @@ public class PartEngine extends APart {
                 if (!world.isClient()) {
                     if (!isActive) {
                         stallEngine(Signal.INACTIVE);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.INACTIVE));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.INACTIVE), this);
                     } else if (vehicleOn.outOfHealth) {
                         stallEngine(Signal.DEAD_VEHICLE);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.DEAD_VEHICLE));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.DEAD_VEHICLE), this);
                     } else if (ConfigSystem.settings.general.engineDimensionWhitelist.value.isEmpty() ? ConfigSystem.settings.general.engineDimensionBlacklist.value.contains(world.getName()) : !ConfigSystem.settings.general.engineDimensionWhitelist.value.contains(world.getName())) {
                         stallEngine(Signal.INVALID_DIMENSION);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.INVALID_DIMENSION));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.INVALID_DIMENSION), this);
                     }
                 }
 
@@ -472,7 +474,7 @@ public class PartEngine extends APart {
                         if (hours >= 500 && !world.isClient()) {
                             if (Math.random() < (hours / 3) / (500 + (10000 - hours)) * (currentMaxSafeRPM / (rpm + currentMaxSafeRPM / 1.5))) {
                                 backfireEngine();
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.BACKFIRE));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.BACKFIRE), this);
                             }
                         }
 
@@ -480,13 +482,13 @@ public class PartEngine extends APart {
                         if (!world.isClient()) {
                             if (isInLiquid()) {
                                 stallEngine(Signal.DROWN);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.DROWN));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.DROWN), this);
                             } else if (!vehicleOn.isCreative && ConfigSystem.settings.general.fuelUsageFactor.value != 0 && vehicleOn.fuelTank.getFluidLevel() == 0) {
                                 stallEngine(Signal.FUEL_OUT);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.FUEL_OUT));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.FUEL_OUT), this);
                             } else if (rpm < currentStallRPM) {
                                 stallEngine(Signal.TOO_SLOW);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.TOO_SLOW));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.TOO_SLOW), this);
                             }
                         }
                     } else {
@@ -505,7 +507,7 @@ public class PartEngine extends APart {
                             if (vehicleOn.isCreative || ConfigSystem.settings.general.fuelUsageFactor.value == 0 || vehicleOn.fuelTank.getFluidLevel() > 0) {
                                 if (!isInLiquid() && magnetoOn) {
                                     startEngine();
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.START));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.START), this);
                                 }
                             }
                         }
@@ -543,7 +545,7 @@ public class PartEngine extends APart {
                         if (!world.isClient()) {
                             if (!vehicleOn.isCreative && ConfigSystem.settings.general.fuelUsageFactor.value != 0 && vehicleOn.fuelTank.getFluidLevel() == 0) {
                                 stallEngine(Signal.FUEL_OUT);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.FUEL_OUT));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.FUEL_OUT), this);
                             }
                         }
                     } else {
@@ -552,7 +554,7 @@ public class PartEngine extends APart {
                             if (isActive && (vehicleOn.isCreative || ConfigSystem.settings.general.fuelUsageFactor.value == 0 || vehicleOn.fuelTank.getFluidLevel() > 0)) {
                                 if (magnetoOn) {
                                     startEngine();
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.START));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.START), this);
                                 }
                             }
                         }
@@ -570,7 +572,7 @@ public class PartEngine extends APart {
                             if (isActive) {
                                 if (magnetoOn) {
                                     startEngine();
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.START));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.START), this);
                                 }
                             }
                         }
@@ -879,8 +881,8 @@ public class PartEngine extends APart {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("engine_isautomatic"):
                 return currentIsAutomatic != 0 ? 1 : 0;
             case ("engine_rotation"):
@@ -962,64 +964,35 @@ public class PartEngine extends APart {
             case ("engine_hours"):
                 return hours;
         }
-        if (variable.startsWith("engine_sin_")) {
-        	//engine_sin_X This will offset the engine rotation INPUT to the trig function by X
-            int offset = Integer.parseInt(variable.substring("engine_sin_".length()));
-        	return Math.sin(Math.toRadians(getEngineRotation(partialTicks) + offset));
-        }
-        if (variable.startsWith("engine_cos_")) {
-        	//engine_cos_X This will offset the engine rotation INPUT to the trig function by X
-            int offset = Integer.parseInt(variable.substring("engine_cos_".length()));
-        	return Math.cos(Math.toRadians(getEngineRotation(partialTicks) + offset));
-        }
-        if (variable.startsWith("engine_driveshaft_sin_")) {
-        	//engine_driveshaft_sin_X This will offset the driveshaft rotation INPUT to the trig function by X
-            int offset = Integer.parseInt(variable.substring("engine_driveshaft_sin_".length()));
-        	return Math.sin(Math.toRadians(getDriveshaftRotation(partialTicks) + offset));
-        }
-        if (variable.startsWith("engine_driveshaft_cos_")) {
-        	//engine_driveshaft_sin_X This will offset the driveshaft rotation INPUT to the trig function by X
-            int offset = Integer.parseInt(variable.substring("engine_driveshaft_cos_".length()));
-        	return Math.cos(Math.toRadians(getDriveshaftRotation(partialTicks) + offset));
-        }
-        if (variable.startsWith("engine_piston_")) {
-        	//Divide the crank shaft rotation into a number of sectors, and return 1 when the crank is in the defined sector.
-        	//i.e. engine_piston_2_6_0_crank will return 1 when the crank is in the second of 6 sectors.
-        	//When suffixed with _cam, it will instead return the sector the camshaft rotation.
-
-        	//If this a camshaft, set the multiplier to 2 and chop off the end of the variable string
-        	int camMultiplier = 1;
-        	if (variable.endsWith("_crank")) {
-        		variable = variable.substring(0, variable.length() - "_crank".length());
-        	}
-        	if (variable.endsWith("_cam")) {
-        		camMultiplier = 2;
-        		variable = variable.substring(0, variable.length() - "_cam".length());
-        	}
-        	
-        	//Extract the values we need
-            String[] parsedVariable = variable.substring("engine_piston_".length()).split("_");
-            int pistonNumber = Integer.parseInt(parsedVariable[0]);
-            int totalPistons = Integer.parseInt(parsedVariable[1]);
-            int offset = 0;
-            if (parsedVariable.length >= 3) {
-                offset = camMultiplier * Integer.parseInt(parsedVariable[2]);
-            }
-            
-            //Safety to ensure the value always fluctuates and we don't have more sectors than are possible
-            if (pistonNumber > totalPistons || totalPistons == 1) {
-            	pistonNumber = 1;
-            	totalPistons = 2;
+        switch (variable.type) {
+            case ENGINE_SIN:
+                //engine_sin_X This will offset the engine rotation INPUT to the trig function by X
+                return Math.sin(Math.toRadians(getEngineRotation(partialTicks) + variable.offset));
+            case ENGINE_COS:
+                //engine_cos_X This will offset the engine rotation INPUT to the trig function by X
+                return Math.cos(Math.toRadians(getEngineRotation(partialTicks) + variable.offset));
+            case ENGINE_DRIVESHAFT_SIN:
+                //engine_driveshaft_sin_X This will offset the driveshaft rotation INPUT to the trig function by X
+                return Math.sin(Math.toRadians(getDriveshaftRotation(partialTicks) + variable.offset));
+            case ENGINE_DRIVESHAFT_COS:
+                //engine_driveshaft_cos_X This will offset the driveshaft rotation INPUT to the trig function by X
+                return Math.cos(Math.toRadians(getDriveshaftRotation(partialTicks) + variable.offset));
+            case ENGINE_PISTON: {
+                //Divide the crank shaft rotation into a number of sectors, and return 1 when the crank is in the defined sector.
+                //i.e. engine_piston_2_6_0_crank will return 1 when the crank is in the second of 6 sectors.
+                //When suffixed with _cam, it will instead return the sector the camshaft rotation.
+                //The piston number, total pistons, and offset are pre-parsed, with the offset already doubled for camshafts.
+                int camMultiplier = variable.camshaft ? 2 : 1;
+
+                //Map the shaft rotation to a value between 0 and 359.99...
+                double shaftRotation = Math.floorMod(Math.round(10 * (variable.offset + getEngineRotation(partialTicks))), Math.round(3600D * camMultiplier)) / 10;
+
+                //Calculate the angle of a 'sector'
+                double sector = (360D * camMultiplier) / variable.count;
+
+                //If the crank is in the requested sector, return 1, otherwise return 0.
+                return (0 + (sector * (variable.index - 1)) <= shaftRotation) && (shaftRotation < sector + (sector * (variable.index - 1))) ? 1 : 0;
             }
-            
-            //Map the shaft rotation to a value between 0 and 359.99...
-            double shaftRotation = Math.floorMod(Math.round(10 * (offset + getEngineRotation(partialTicks))), Math.round(3600D * camMultiplier)) / 10;
-            
-            //Calculate the angle of a 'sector'
-            double sector = (360D * camMultiplier) / totalPistons;
-            
-            //If the crank is in the requested sector, return 1, otherwise return 0.
-            return (0 + (sector * (pistonNumber - 1)) <= shaftRotation) && (shaftRotation < sector + (sector * (pistonNumber - 1))) ? 1 : 0;
         }
 
         return super.getRawVariableValue(variable, partialTicks);
@@ -1141,10 +1114,10 @@ public class PartEngine extends APart {
                 shiftCooldown = definition.engine.shiftSpeed;
                 upshiftCountdown = definition.engine.clutchTime;
                 if (!world.isClient()) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.SHIFT_UP));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.SHIFT_UP), this);
                 }
             } else {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.BAD_SHIFT));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.BAD_SHIFT), this);
             }
         }
         return doShift;
@@ -1173,10 +1146,10 @@ public class PartEngine extends APart {
                 shiftCooldown = definition.engine.shiftSpeed;
                 downshiftCountdown = definition.engine.clutchTime;
                 if (!world.isClient()) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.SHIFT_DOWN));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.SHIFT_DOWN), this);
                 }
             } else {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.BAD_SHIFT));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.BAD_SHIFT), this);
             }
         }
         return doShift;
@@ -1194,7 +1167,7 @@ public class PartEngine extends APart {
                 currentGear = 0;
                 setVariable(GEAR_VARIABLE, currentGear);
                 if (!world.isClient()) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.SHIFT_NEUTRAL));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.SHIFT_NEUTRAL), this);
                 }
             }
         }
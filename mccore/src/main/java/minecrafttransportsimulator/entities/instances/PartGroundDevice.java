@@ -2,6 +2,8 @@ package minecrafttransportsimulator.entities.instances;
 
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
+import minecrafttransportsimulator.baseclasses.VariableHandle.VariableType;
 import minecrafttransportsimulator.blocks.components.ABlockBase.BlockMaterial;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.items.instances.ItemPartGroundDevice;
@@ -255,8 +257,8 @@ public class PartGroundDevice extends APart {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("ground_rotation"):
                 return vehicleOn != null ? vehicleOn.speedFactor * (partialTicks != 0 ? prevAngularPosition + (angularPosition - prevAngularPosition) * partialTicks : angularPosition) * 360D : 0;
             case ("ground_rotation_normalized"):
@@ -274,12 +276,8 @@ public class PartGroundDevice extends APart {
             case ("ground_distance"):
                 return world.getHeight(zeroReferencePosition);
         }
-        if (variable.startsWith("ground_blockmaterial")) {
-            if (materialBelow != null) {
-                return materialBelow.name().equals(variable.substring("ground_blockmaterial_".length()).toUpperCase()) ? 1 : 0;
-            } else {
-                return 0;
-            }
+        if (variable.type == VariableType.GROUND_BLOCK_MATERIAL) {
+            return materialBelow != null && materialBelow == variable.material ? 1 : 0;
         }
 
         return super.getRawVariableValue(variable, partialTicks);
@@ -313,7 +311,7 @@ public class PartGroundDevice extends APart {
                 }
             }
             //Valid conditions, send packet before continuing.
-            InterfaceManager.packetInterface.sendToAllClients(new PacketPartGroundDevice(this, setFlat));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartGroundDevice(this, setFlat), this);
         }
 
         //Set flat state and new bounding box.
@@ -12,6 +12,7 @@ import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.instances.ItemBullet;
@@ -120,8 +121,6 @@ public class PartGun extends APart {
     private final RotationMatrix firingSpreadRotation = new RotationMatrix();
     private final RotationMatrix pitchMuzzleRotation = new RotationMatrix();
     private final RotationMatrix yawMuzzleRotation = new RotationMatrix();
-    private final Point3D normalizedConeVector = new Point3D();
-    private final Point3D normalizedEntityVector = new Point3D();
 
     //Global data.
     private static final int RAYTRACE_DISTANCE = 750;
@@ -726,27 +725,8 @@ public class PartGun extends APart {
                 if (startPoint != null) {
                     //First check for hard targets, since those are more dangerous.
                     if (definition.gun.targetType == TargetType.ALL || definition.gun.targetType == TargetType.HARD || definition.gun.targetType == TargetType.AIRCRAFT || definition.gun.targetType == TargetType.GROUND) {
-                        normalizedConeVector.set(searchVector).normalize();
-                        EntityVehicleF_Physics vehicleTarget = null;
-                        double smallestDistance = searchVector.length();
-                        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
-                            //Make sure we don't lock-on to our own vehicle.  Also, ensure if we want aircraft, or ground, we only get those.
-                            if (vehicle != vehicleOn && (definition.gun.targetType != TargetType.AIRCRAFT || vehicle.definition.motorized.isAircraft) && (definition.gun.targetType != TargetType.GROUND || !vehicle.definition.motorized.isAircraft)) {
-                                targetVector.set(vehicle.position).subtract(startPoint);
-                                if (world.getBlockHit(startPoint, targetVector) == null) {
-                                    double entityDistance = vehicle.position.distanceTo(startPoint);
-                                    if (entityDistance < smallestDistance) {
-                                        //Potential match by distance, check if the entity is inside the cone.
-                                        normalizedEntityVector.set(vehicle.position).subtract(startPoint).normalize();
-                                        double targetAngle = Math.abs(Math.toDegrees(Math.acos(normalizedConeVector.dotProduct(normalizedEntityVector, false))));
-                                        if (targetAngle < coneAngle) {
-                                            smallestDistance = entityDistance;
-                                            vehicleTarget = vehicle;
-                                        }
-                                    }
-                                }
-                            }
-                        }
+                        //Make sure we don't lock-on to our own vehicle.  Also, ensure if we want aircraft, or ground, we only get those.
+                        EntityVehicleF_Physics vehicleTarget = world.sensorSweep.getClosestVehicleInCone(world, startPoint, searchVector, coneAngle, vehicleOn, definition.gun.targetType != TargetType.GROUND, definition.gun.targetType != TargetType.AIRCRAFT);
 
                         //If we found a vehicle, get the engine to target.
                         if (vehicleTarget != null && !vehicleTarget.outOfHealth) {
@@ -761,23 +741,15 @@ public class PartGun extends APart {
 
                     //If we didn't find a hard vehicle target, try and get a soft one.
                     if (engineTarget == null && definition.gun.targetType == TargetType.ALL || definition.gun.targetType == TargetType.SOFT) {
-                        normalizedConeVector.set(searchVector).normalize();
                         double smallestDistance = searchVector.length();
                         BoundingBox searchBox = new BoundingBox(position, smallestDistance, smallestDistance, smallestDistance);
                         for (IWrapperEntity entity : world.getEntitiesWithin(searchBox)) {
                             if (entity.isValid() && entity != controller) {
-                                targetVector.set(entity.getPosition()).subtract(startPoint);
-                                if (world.getBlockHit(startPoint, targetVector) == null) {
-                                    double entityDistance = entity.getPosition().distanceTo(startPoint);
-                                    if (entityDistance < smallestDistance) {
-                                        //Potential match by distance, check if the entity is inside the cone.
-                                        normalizedEntityVector.set(entity.getPosition()).subtract(startPoint).normalize();
-                                        double targetAngle = Math.abs(Math.toDegrees(Math.acos(normalizedConeVector.dotProduct(normalizedEntityVector, false))));
-                                        if (targetAngle < coneAngle) {
-                                            smallestDistance = entityDistance;
-                                            entityTarget = entity;
-                                        }
-                                    }
+                                //Potential match if closer than our current target and inside the cone.
+                                //Only raytrace once we know this, since raytraces are far more expensive.
+                                if (world.sensorSweep.isInCone(startPoint, searchVector, smallestDistance, coneAngle, entity.getPosition()) && world.sensorSweep.hasLineOfSight(world, startPoint, entity.getPosition())) {
+                                    smallestDistance = entity.getPosition().distanceTo(startPoint);
+                                    entityTarget = entity;
                                 }
                             }
                         }
@@ -953,7 +925,7 @@ public class PartGun extends APart {
                 if (item.definition.bullet.quantity + bulletsLeft <= definition.gun.capacity) {
                     reloadingBullet = item;
                     reloadTimeRemaining = definition.gun.reloadTime;
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartGun(this, reloadingBullet));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartGun(this, reloadingBullet), this);
                     return true;
                 }
             }
@@ -1126,8 +1098,8 @@ public class PartGun extends APart {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("gun_inhand"):
                 return entityOn instanceof EntityPlayerGun ? 1 : 0;
             case ("gun_inhand_sneaking"):
@@ -6,6 +6,7 @@ import java.util.List;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.items.instances.ItemPartPropeller;
 import minecrafttransportsimulator.jsondefs.JSONPartDefinition;
@@ -72,7 +73,7 @@ public class PartPropeller extends APart {
                 if (!masterEntity.allParts.contains(damage.entityResponsible.getEntityRiding())) {
                     connectedEngines.forEach(connectedEngine -> {
                         connectedEngine.handStartEngine();
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(connectedEngine, Signal.HS_ON));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(connectedEngine, Signal.HS_ON), connectedEngine);
                     });
                 }
             }
@@ -199,8 +200,8 @@ public class PartPropeller extends APart {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
-        switch (variable) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
+        switch (variable.name) {
             case ("propeller_pitch_deg"):
                 return Math.toDegrees(Math.atan(currentPitch / (definition.propeller.diameter * 0.75D * Math.PI)));
             case ("propeller_pitch_in"):
@@ -6,6 +6,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.guis.components.AGUIBase;
@@ -104,7 +105,7 @@ public final class PartSeat extends APart {
                             if (activeGunItem == null) {
                                 if (!placementDefinition.canDisableGun) {
                                     setNextActiveGun();
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartSeat(this, SeatAction.CHANGE_GUN));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartSeat(this, SeatAction.CHANGE_GUN), this);
                                 }
                             }
                         }
@@ -275,7 +276,7 @@ public final class PartSeat extends APart {
             if (!world.isClient() && placementDefinition.interactableVariables != null) {
                 placementDefinition.interactableVariables.forEach(variableList -> variableList.forEach(variable -> {
                     entityOn.setVariable(variable, 1);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(entityOn, variable, 1));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(entityOn, variable, 1), entityOn);
                 }));
             }
         }
@@ -445,13 +446,13 @@ public final class PartSeat extends APart {
     }
 
     @Override
-    public double getRawVariableValue(String variable, float partialTicks) {
+    public double getRawVariableValue(VariableHandle variable, float partialTicks) {
         double value = super.getRawVariableValue(variable, partialTicks);
         if (!Double.isNaN(value)) {
             return value;
         }
 
-        switch (variable) {
+        switch (variable.name) {
             case ("seat_occupied"):
                 return rider != null ? 1 : 0;
             case ("seat_occupied_client"):
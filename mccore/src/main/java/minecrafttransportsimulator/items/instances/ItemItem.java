@@ -300,7 +300,7 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
                                     if (interactable.position.isDistanceToCloserThan(firstPartClicked.position, 16)) {
                                         if (interactable.tank.getFluid().isEmpty() || firstPartClicked.tank.getFluid().isEmpty() || interactable.tank.getFluid().equals(firstPartClicked.tank.getFluid())) {
                                             firstPartClicked.linkedPart = interactable;
-                                            InterfaceManager.packetInterface.sendToAllClients(new PacketPartInteractable(firstPartClicked, player));
+                                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartInteractable(firstPartClicked, player), firstPartClicked);
                                             player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_FUELHOSE_SECONDLINK));
                                             firstPartClicked = null;
                                         } else {
@@ -321,7 +321,7 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
                             if (vehicle.position.isDistanceToCloserThan(firstPartClicked.position, 16)) {
                                 if (vehicle.fuelTank.getFluid().isEmpty() || firstPartClicked.tank.getFluid().isEmpty() || vehicle.fuelTank.getFluid().equals(firstPartClicked.tank.getFluid())) {
                                     firstPartClicked.linkedVehicle = vehicle;
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartInteractable(firstPartClicked, player));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartInteractable(firstPartClicked, player), firstPartClicked);
                                     player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_FUELHOSE_SECONDLINK));
                                     firstPartClicked = null;
                                 } else {
@@ -353,8 +353,8 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
                                     } else if (engine.position.isDistanceToCloserThan(firstEngineClicked.position, 15)) {
                                         engine.linkedEngine = firstEngineClicked;
                                         firstEngineClicked.linkedEngine = engine;
-                                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(engine, firstEngineClicked));
-                                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(firstEngineClicked, engine));
+                                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(engine, firstEngineClicked), engine);
+                                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(firstEngineClicked, engine), firstEngineClicked);
                                         firstEngineClicked = null;
                                         player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_JUMPERCABLE_SECONDLINK));
                                     } else {
@@ -406,7 +406,7 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
                                     double newDamage = vehicle.damageAmount - amountRepaired;
                                     vehicle.setVariable(AEntityE_Interactable.DAMAGE_VARIABLE, newDamage);
                                     vehicle.repairCooldownTicks = 200;
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(vehicle, AEntityE_Interactable.DAMAGE_VARIABLE, newDamage));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(vehicle, AEntityE_Interactable.DAMAGE_VARIABLE, newDamage), vehicle);
                                     InterfaceManager.packetInterface.sendToPlayer(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_REPAIR_PASS, new Object[] { amountRepaired, entity.definition.general.health - newDamage, entity.definition.general.health }), player);
                                     if (!player.isCreative()) {
                                         player.getInventory().removeFromSlot(player.getHotbarIndex(), 1);
@@ -459,15 +459,15 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
             if (!world.isClient() && player.isOP()) {
                 for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
                     vehicle.setVariable(EntityVehicleF_Physics.THROTTLE_VARIABLE, 0);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(vehicle, EntityVehicleF_Physics.THROTTLE_VARIABLE, 0));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(vehicle, EntityVehicleF_Physics.THROTTLE_VARIABLE, 0), vehicle);
                     if (!vehicle.isVariableActive(EntityVehicleF_Physics.PARKINGBRAKE_VARIABLE)) {
                         vehicle.setVariable(EntityVehicleF_Physics.PARKINGBRAKE_VARIABLE, 1);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(vehicle, EntityVehicleF_Physics.PARKINGBRAKE_VARIABLE));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(vehicle, EntityVehicleF_Physics.PARKINGBRAKE_VARIABLE), vehicle);
                     }
                     vehicle.engines.forEach(engine -> {
                         if (engine.isVariableActive(PartEngine.MAGNETO_VARIABLE)) {
                             engine.setVariable(PartEngine.MAGNETO_VARIABLE, 0);
-                            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(engine, PartEngine.MAGNETO_VARIABLE));
+                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(engine, PartEngine.MAGNETO_VARIABLE), engine);
                         }
                     });
                 }
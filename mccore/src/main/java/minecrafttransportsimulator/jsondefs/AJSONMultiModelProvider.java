@@ -47,6 +47,24 @@ public abstract class AJSONMultiModelProvider extends AJSONItem {
         return null;
     }
 
+    /**
+     * Returns the model location in the classpath for the passed-in level of detail.
+     * If the level doesn't have its own model, or is null, then the normal model location is returned.
+     */
+    public String getModelLocation(JSONSubDefinition subDefinition, JSONModelLOD levelOfDetail) {
+        if (levelOfDetail != null && levelOfDetail.modelName != null) {
+            switch (rendering.modelType) {
+                case OBJ:
+                    return PackResourceLoader.getPackResource(this, ResourceType.OBJ_MODEL, levelOfDetail.modelName);
+                case LITTLETILES:
+                    return PackResourceLoader.getPackResource(this, ResourceType.LT_MODEL, levelOfDetail.modelName);
+                case NONE:
+                    return null;
+            }
+        }
+        return getModelLocation(subDefinition);
+    }
+
     /**
      * Returns the OBJ model texture location in the classpath for this definition.
      * Sub-name is passed-in as different sub-names have different textures.
@@ -35,6 +35,11 @@ public class JSONConfigClient {
         public JSONConfigEntry<Boolean> brightLights = new JSONConfigEntry<>(true, "If false, lights from vehicles and blocks will not make themselves bright and instead will render as if they were part of the model at that same brightness.  Useful if you have shaders and this is causing troubles.");
         public JSONConfigEntry<Boolean> blendedLights = new JSONConfigEntry<>(true, "If false, beam-based lights from vehicles and blocks will not do brightness blending.  This is different from the general brightness setting as this will do OpenGL blending on the world to make it brighter, not just the beams themselves.");
 
+        public JSONConfigEntry<Double> vehicleRenderDistance = new JSONConfigEntry<>(512D, "How far away, in blocks, vehicles and their parts will render.  Set to 0 to render them at any distance.  Note that vehicles out of view of the camera won't render regardless of this setting.");
+        public JSONConfigEntry<Double> blockRenderDistance = new JSONConfigEntry<>(256D, "How far away, in blocks, blocks and placed parts from this mod will render.  Set to 0 to render them at any distance.  Note that blocks out of view of the camera won't render regardless of this setting.");
+        public JSONConfigEntry<Boolean> preloadModels = new JSONConfigEntry<>(false, "If true, all models from packs will be loaded in the background when the game starts, rather than when they are first seen.  This prevents vehicles from taking a moment to appear when they first come into view, but uses more memory, as every model is kept loaded even if it's never seen.");
+        public JSONConfigEntry<Double> detailRenderDistance = new JSONConfigEntry<>(64D, "How far away, in blocks, small details on models from this mod will render.  This includes text, light flares, and small animated objects like gauges and switches.  Set to 0 to render them at any distance.");
+
         public JSONConfigEntry<Boolean> playerTweaks = new JSONConfigEntry<>(true, "If true, player hands will be modified when holding guns, and hands and legs will be modified when riding in vehicles.  Set this to false (and restart the game) if mods cause issues, like two-hand rendering or player model issues.  Automatically set to false if some mods are detected.");
 
     }
@@ -56,6 +56,9 @@ public class JSONConfigSettings {
         public JSONConfigEntry<Double> rfToElectricityFactor = new JSONConfigEntry<>(0.02D, "Factor for converting RF to internal electicity for vehicles.  Default value is 1/100, but can be adjusted.");
         public JSONConfigEntry<Double> vehicleDeathDespawnTime = new JSONConfigEntry<>(0.0D, "Time (in seconds) between when vehicles reach 0 health and they de-spawn.  Normally 0, which means they never de-spawn.");
         public JSONConfigEntry<Integer> seaLevel = new JSONConfigEntry<>(63,"The Y-Level that will be used to base altitude off of. Will also be factored in for engine performance calculations. Change only if you know what you're doing/ why this matters to engines/flying.");
+        public JSONConfigEntry<Integer> vehicleSleepDelay = new JSONConfigEntry<>(40, "Time (in ticks) a parked vehicle with no riders needs to be stationary before it goes to sleep.  Sleeping vehicles skip physics and collision checks until something disturbs them, and only re-check their surroundings once a second.  Set to 0 to disable sleeping.");
+        public JSONConfigEntry<Double> vehicleSleepDistance = new JSONConfigEntry<>(128D, "Distance (in blocks) from all players past which stationary vehicles with no riders may go to sleep even if their parking brake isn't set.  Set to 0 to only allow vehicles with their parking brake set to sleep.");
+        public JSONConfigEntry<Integer> savedDataWriteInterval = new JSONConfigEntry<>(5, "Time (in seconds) between writes of world data, such as beacons, to disk.  Changes are batched and written in the background, so higher values mean less disk activity, but more changes lost if the server crashes.  Data is always written when the world unloads.");
         public JSONConfigEntry<Set<String>> engineDimensionBlacklist = new JSONConfigEntry<>(new HashSet<>(), "Blacklist of dimension names where engines will be prevented from being started.  Can be used to disable vehicles in specific dimensions.  Think Galacticraft, where you don't want folks flying planes on the moon.");
         public JSONConfigEntry<Set<String>> engineDimensionWhitelist = new JSONConfigEntry<>(new HashSet<>(), "Whitelist of dimension names where engines will only be alowed to work.  Overrides the blacklist if this exists.");
         public JSONConfigEntry<Map<String, Double>> packVehicleScales = new JSONConfigEntry<>(new HashMap<>(), "Scale of all vehicles for this pack.  You probably won't want to change this, but if you do want the vehicles to be smaller for some reason, you can.");
@@ -0,0 +1,18 @@
+package minecrafttransportsimulator.jsondefs;
+
+import java.util.List;
+
+import minecrafttransportsimulator.packloading.JSONParser.JSONDescription;
+import minecrafttransportsimulator.packloading.JSONParser.JSONRequired;
+
+public class JSONModelLOD {
+    @JSONRequired
+    @JSONDescription("The distance, in blocks, from the camera at which this level of detail will be used.  The level with the highest distance that the camera is past is the one that's used.  To prevent models from flickering between levels when the camera is right at this distance, MTS won't go back to a closer level until the camera is a bit closer than this distance.")
+    public double distance;
+
+    @JSONDescription("This parameter is optional.  If set, then the model with this name will be rendered rather than the normal model when this level is used.  This model must be in the same folder as all other models for this component, but it may be in sub-folders if desired.  It should have the same object names as the normal model for any objects that are animated, lights, or have text on them, as those are looked up by name.")
+    public String modelName;
+
+    @JSONDescription("This parameter is optional.  A list of object names that won't be rendered when this level is used.  Any object with a name that contains one of these entries will be hidden, so you can hide all the objects for a single component with one entry if they share part of their name.  Useful for hiding things like interiors and small details that can't be seen at a distance without needing another model.")
+    public List<String> hiddenObjects;
+}
@@ -30,6 +30,9 @@ public class JSONRendering {
     @JSONDescription("Particles are the little things spawned into the game to add a bit of flair to your model.  Think exhausts and burnout smoke, but also dirt from tires and water from outboard motors.")
     public List<JSONParticle> particles;
 
+    @JSONDescription("Levels of detail let you render less of your model when it's far from the camera, as small details can't be seen at a distance anyways.  Each level can either swap the model for a simpler one, hide objects in the model, or both.  Note that poles and other blocks that never move don't use these, as their models are already batched with other blocks in the area, so there's nothing gained from simplifying them.")
+    public List<JSONModelLOD> levelsOfDetail;
+
     @JSONRequired
     @JSONDescription("The type of model that this entity will render from.")
     public ModelType modelType;
@@ -117,6 +117,12 @@ public abstract class AWrapperWorld extends EntityManager {
      */
     public abstract List<IWrapperPlayer> getPlayersWithin(BoundingBox box);
 
+    /**
+     * Returns a list of all players that are tracking the passed-in entity.  These are the players
+     * that are close enough to have the entity loaded on their client.  Only call this on servers.
+     */
+    public abstract List<IWrapperPlayer> getPlayersTracking(AEntityB_Existing entity);
+
     /**
      * Returns a list of all hostile entities in the specified radius.
      */
@@ -239,11 +245,10 @@ public abstract class AWrapperWorld extends EntityManager {
 
     /**
      * Checks the passed-in bounding box for collisions with other blocks.  Returns true if they collided,
-     * false if they did not.  This is a bulk method designed to handle multiple checks in a row.  As such,
-     * it stores a listing of known air blocks.  If a block has been checked before and is air, it is ignored.
-     * To reset this list, pass in clearCache.  Note that leaves are ignored, but can be broken if requested.
+     * false if they did not.  Block collision shapes are cached between calls, and only re-calculated when
+     * the block changes, so this may be called many times a tick.  Note that leaves are ignored, but can be broken if requested.
      */
-    public abstract boolean checkForCollisions(BoundingBox box, Point3D offset, boolean clearCache, boolean breakLeaves);
+    public abstract boolean checkForCollisions(BoundingBox box, Point3D offset, boolean breakLeaves);
 
     /**
      * Returns the current redstone power at the passed-in position.
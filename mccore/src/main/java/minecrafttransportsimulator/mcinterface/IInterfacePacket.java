@@ -1,6 +1,10 @@
 package minecrafttransportsimulator.mcinterface;
 
+import java.util.function.Function;
+
 import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.packets.components.APacketBase;
 
 /**
@@ -15,9 +19,11 @@ import minecrafttransportsimulator.packets.components.APacketBase;
 public interface IInterfacePacket {
 
     /**
-     * Registers the passed-in packet with the interface.
+     * Registers the passed-in packet with the interface.  The factory is used to create
+     * the packet from the buffer when it is received, and should normally be the
+     * {@link APacketBase#APacketBase(ByteBuf)} constructor of the packet.
      */
-    void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass);
+    <PacketType extends APacketBase> void registerPacket(byte packetIndex, Class<PacketType> packetClass, Function<ByteBuf, PacketType> packetFactory);
 
     /**
      * Gets the index for the passed-in packet from the mapping.
@@ -31,9 +37,32 @@ public interface IInterfacePacket {
 
     /**
      * Sends the passed-in packet to all clients.
+     * This goes to every player in every world, so only use it for packets
+     * that aren't tied to a world.  For packets that are, use one of the
+     * more specific methods to avoid sending data to clients that don't need it.
      */
     void sendToAllClients(APacketBase packet);
 
+    /**
+     * Sends the passed-in packet to all clients in the passed-in world.
+     */
+    void sendToClientsInWorld(APacketBase packet, AWrapperWorld world);
+
+    /**
+     * Sends the passed-in packet to all clients in the passed-in world
+     * that are within the radius of the passed-in position.
+     */
+    void sendToClientsNear(APacketBase packet, AWrapperWorld world, Point3D position, double radius);
+
+    /**
+     * Sends the passed-in packet to all clients that are tracking the passed-in entity.
+     * These are the clients close enough to the entity to have it loaded, which is the
+     * server's view distance.  Clients outside of this range don't have the entity, and
+     * will get its full state when they come in range and load it, so they don't need
+     * any packets for it.  This should be used for all packets that update entity states.
+     */
+    void sendToTrackingClients(APacketBase packet, AEntityB_Existing entity);
+
     /**
      * Sends the passed-in packet to the passed-in player.
      * Note that this may ONLY be called on the server, as
@@ -2,6 +2,7 @@ package minecrafttransportsimulator.mcinterface;
 
 import java.io.InputStream;
 
+import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.guis.components.GUIComponentItem;
 import minecrafttransportsimulator.rendering.GIFParser.ParsedGIF;
@@ -76,4 +77,10 @@ public interface IInterfaceRender {
      * Returns true if bounding boxes should be rendered.
      */
     boolean shouldRenderBoundingBoxes();
+
+    /**
+     * Returns true if the passed-in box is in view of the camera for the current render, and is closer
+     * to the camera than the passed-in distance.  A distance of 0 means the box can be at any distance.
+     */
+    boolean isBoxInView(BoundingBox box, double maxDistance);
 }
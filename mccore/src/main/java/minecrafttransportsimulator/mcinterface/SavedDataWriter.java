@@ -0,0 +1,152 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Write-behind store for world saved data.  Rather than writing the whole data file every time a
+ * section of data changes, sections are marked dirty and the file is written on a background thread
+ * at most once every {@link minecrafttransportsimulator.jsondefs.JSONConfigSettings.ConfigGeneral#savedDataWriteInterval}.
+ * Writes go to a temp file that is then moved over the data file, so a crash mid-write won't corrupt it.
+ * If a write fails, the sections it had are marked dirty again so the next write, or the flush on unload, retries them.
+ * <br><br>
+ * As the background thread can't access the live data, the world provides a {@link Snapshotter} that copies the
+ * data on the server thread.  Only dirty sections need to be copied; the snapshotter is free to re-use
+ * its copies of sections that haven't changed since the last write.
+ *
+ * @author don_bruce
+ */
+public class SavedDataWriter {
+    private static final ExecutorService writeThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MTS Saved Data Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File dataFile;
+    private final Snapshotter snapshotter;
+    private final Set<String> dirtySections = new HashSet<>();
+    private final Set<String> pendingSections = new HashSet<>();
+    private long lastWriteTime;
+    private Future<Boolean> pendingWrite;
+
+    public SavedDataWriter(File dataFile, Snapshotter snapshotter) {
+        this.dataFile = dataFile;
+        this.snapshotter = snapshotter;
+    }
+
+    /**
+     * Marks the section as changed.  It will be written on the next write.
+     */
+    public void markDirty(String sectionName) {
+        dirtySections.add(sectionName);
+    }
+
+    /**
+     * Queues a write if there are dirty sections and the write interval has passed.
+     * Should be called every server tick.
+     */
+    public void tick() {
+        if (pendingWrite != null && pendingWrite.isDone()) {
+            finishPendingWrite();
+        }
+        //Don't queue another write if the last one is still going, we'll catch the changes once it's done.
+        if (!dirtySections.isEmpty() && pendingWrite == null && System.currentTimeMillis() - lastWriteTime >= ConfigSystem.settings.general.savedDataWriteInterval.value * 1000L) {
+            DataWriter writer = snapshotter.snapshot(dirtySections);
+            pendingSections.addAll(dirtySections);
+            dirtySections.clear();
+            lastWriteTime = System.currentTimeMillis();
+            pendingWrite = writeThread.submit(() -> {
+                try {
+                    writeToFile(writer);
+                    return true;
+                } catch (Exception e) {
+                    InterfaceManager.coreInterface.logError("Could not save world data to disk!  Will try again on the next save.");
+                    InterfaceManager.coreInterface.logError(e.getMessage());
+                    return false;
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes any dirty sections and waits for all writes to finish.  This includes sections
+     * from a background write that failed.  Should be called when the world is unloaded.
+     */
+    public void flush() {
+        try {
+            if (pendingWrite != null) {
+                finishPendingWrite();
+            }
+            if (!dirtySections.isEmpty()) {
+                DataWriter writer = snapshotter.snapshot(dirtySections);
+                writeThread.submit(() -> {
+                    writeToFile(writer);
+                    return null;
+                }).get();
+                dirtySections.clear();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Could not save data to disk!  This will result in data loss if we continue!");
+        }
+    }
+
+    /**
+     * Waits for the pending write to finish.  If it failed, the sections it had are marked dirty again.
+     */
+    private void finishPendingWrite() {
+        boolean writeSucceeded;
+        try {
+            writeSucceeded = pendingWrite.get();
+        } catch (Exception e) {
+            writeSucceeded = false;
+        }
+        if (!writeSucceeded) {
+            dirtySections.addAll(pendingSections);
+        }
+        pendingSections.clear();
+        pendingWrite = null;
+    }
+
+    private void writeToFile(DataWriter writer) throws IOException {
+        File tempFile = new File(dataFile.getParentFile(), dataFile.getName() + ".tmp");
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+            writer.write(stream);
+        }
+        try {
+            Files.move(tempFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Copies the world's data on the server thread, and returns a writer that writes that copy.
+     * The passed-in set contains the sections that changed since the last snapshot.
+     */
+    @FunctionalInterface
+    public interface Snapshotter {
+        DataWriter snapshot(Set<String> dirtySections);
+    }
+
+    /**
+     * Writes a snapshot of data.  Called on the background thread.
+     */
+    @FunctionalInterface
+    public interface DataWriter {
+        void write(OutputStream stream) throws IOException;
+    }
+}
@@ -77,8 +77,8 @@ public abstract class APacketBase {
      * populate all fields to be used by {@link #handle(AWrapperWorld)} and
      * is used to create this packet from a buffer after it is
      * received on the other end of the network line.  Note that
-     * the network system expects this constructor, so leaving it
-     * out will cause crashes!
+     * this constructor is what should be registered as the packet's
+     * factory in {@link #initPackets(byte)}.
      */
     public APacketBase(ByteBuf buf) {
     }
@@ -224,80 +224,80 @@ public abstract class APacketBase {
         //Ideally this could be done via reflection, but it doesn't work too well so we don't do that.
 
         //Core packsets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPackImport.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPackImport.class, PacketPackImport::new);
 
         //Entity packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCameraChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityColorChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityInstrumentChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityRiderChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityTextChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityTowingChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableIncrement.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableSet.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableToggle.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityInteract.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityInteractGUI.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCameraChange.class, PacketEntityCameraChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityColorChange.class, PacketEntityColorChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityInstrumentChange.class, PacketEntityInstrumentChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityRiderChange.class, PacketEntityRiderChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityTextChange.class, PacketEntityTextChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityTowingChange.class, PacketEntityTowingChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableIncrement.class, PacketEntityVariableIncrement::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableSet.class, PacketEntityVariableSet::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableToggle.class, PacketEntityVariableToggle::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityInteract.class, PacketEntityInteract::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityInteractGUI.class, PacketEntityInteractGUI::new);
 
         //Bullet packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitGeneric.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitCollision.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitEntity.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitExternalEntity.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitBlock.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitGeneric.class, PacketEntityBulletHitGeneric::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitCollision.class, PacketEntityBulletHitCollision::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitEntity.class, PacketEntityBulletHitEntity::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitExternalEntity.class, PacketEntityBulletHitExternalEntity::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityBulletHitBlock.class, PacketEntityBulletHitBlock::new);
 
         //Fluid tank packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketFluidTankChange.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketFluidTankChange.class, PacketFluidTankChange::new);
 
         //Inventory container packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketInventoryContainerChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketItemInteractable.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketInventoryContainerChange.class, PacketInventoryContainerChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketItemInteractable.class, PacketItemInteractable::new);
 
         //Furnace packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketFurnaceFuelAdd.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketFurnaceTimeSet.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketFurnaceFuelAdd.class, PacketFurnaceFuelAdd::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketFurnaceTimeSet.class, PacketFurnaceTimeSet::new);
 
         //GUI packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketGUIRequest.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityGUIRequest.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketGUIRequest.class, PacketGUIRequest::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityGUIRequest.class, PacketEntityGUIRequest::new);
 
         //Part packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartChange_Add.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartChange_Remove.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartChange_Transfer.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartGun.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartEffector.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartEngine.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartGroundDevice.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartInteractable.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartSeat.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartChange_Add.class, PacketPartChange_Add::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartChange_Remove.class, PacketPartChange_Remove::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartChange_Transfer.class, PacketPartChange_Transfer::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartGun.class, PacketPartGun::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartEffector.class, PacketPartEffector::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartEngine.class, PacketPartEngine::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartGroundDevice.class, PacketPartGroundDevice::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartInteractable.class, PacketPartInteractable::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPartSeat.class, PacketPartSeat::new);
 
         //Player packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerChatMessage.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerCraftItem.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerItemTransfer.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerChatMessage.class, PacketPlayerChatMessage::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerCraftItem.class, PacketPlayerCraftItem::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerItemTransfer.class, PacketPlayerItemTransfer::new);
 
         //Radio packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketRadioStateChange.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketRadioStateChange.class, PacketRadioStateChange::new);
 
         //Tile entity packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityLoaderConnection.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityFuelPumpConnection.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityFuelPumpDispense.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityRoadCollisionUpdate.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityPoleChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityPoleCollisionUpdate.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityRoadChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityRoadConnectionUpdate.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntitySignalControllerChange.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityLoaderConnection.class, PacketTileEntityLoaderConnection::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityFuelPumpConnection.class, PacketTileEntityFuelPumpConnection::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityFuelPumpDispense.class, PacketTileEntityFuelPumpDispense::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityRoadCollisionUpdate.class, PacketTileEntityRoadCollisionUpdate::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityPoleChange.class, PacketTileEntityPoleChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityPoleCollisionUpdate.class, PacketTileEntityPoleCollisionUpdate::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityRoadChange.class, PacketTileEntityRoadChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntityRoadConnectionUpdate.class, PacketTileEntityRoadConnectionUpdate::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketTileEntitySignalControllerChange.class, PacketTileEntitySignalControllerChange::new);
 
         //Vehicle packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleBeaconChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleControlNotification.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleServerMovement.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleBeaconChange.class, PacketVehicleBeaconChange::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleControlNotification.class, PacketVehicleControlNotification::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleServerMovement.class, PacketVehicleServerMovement::new);
 
         //World packets.
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketWorldSavedDataRequest.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketWorldSavedDataUpdate.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketWorldSavedDataRequest.class, PacketWorldSavedDataRequest::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketWorldSavedDataUpdate.class, PacketWorldSavedDataUpdate::new);
     }
 }
@@ -5,6 +5,7 @@ import java.util.UUID;
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 
@@ -37,7 +38,11 @@ public abstract class APacketEntity<EntityType extends AEntityA_Base> extends AP
     public void handle(AWrapperWorld world) {
         EntityType entity = world.getEntity(uniqueUUID);
         if (entity != null && handle(world, entity) && !world.isClient()) {
-            InterfaceManager.packetInterface.sendToAllClients(this);
+            if (entity instanceof AEntityB_Existing) {
+                InterfaceManager.packetInterface.sendToTrackingClients(this, (AEntityB_Existing) entity);
+            } else {
+                InterfaceManager.packetInterface.sendToClientsInWorld(this, world);
+            }
             if (entity instanceof ATileEntityBase) {
                 //Need to set TEs as updated, as they don't normally do this.
                 world.markTileEntityChanged(((ATileEntityBase<?>) entity).position);
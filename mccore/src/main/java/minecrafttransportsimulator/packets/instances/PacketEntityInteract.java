@@ -142,28 +142,28 @@ public class PacketEntityInteract extends APacketEntityInteract<AEntityE_Interac
                     case BUTTON: {
                         if (rightClick) {
                             entity.setVariable(hitBox.definition.variableName, hitBox.definition.variableValue);
-                            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(entity, hitBox.definition.variableName, hitBox.definition.variableValue));
+                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(entity, hitBox.definition.variableName, hitBox.definition.variableValue), entity);
                         } else {
                             entity.setVariable(hitBox.definition.variableName, 0);
-                            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(entity, hitBox.definition.variableName, 0));
+                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(entity, hitBox.definition.variableName, 0), entity);
                         }
                         break;
                     }
                     case INCREMENT:
                         if (rightClick && entity.incrementVariable(hitBox.definition.variableName, hitBox.definition.variableValue, hitBox.definition.clampMin, hitBox.definition.clampMax)) {
-                            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(entity, hitBox.definition.variableName, hitBox.definition.variableValue, hitBox.definition.clampMin, hitBox.definition.clampMax));
+                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(entity, hitBox.definition.variableName, hitBox.definition.variableValue, hitBox.definition.clampMin, hitBox.definition.clampMax), entity);
                         }
                         break;
                     case SET:
                         if (rightClick) {
                             entity.setVariable(hitBox.definition.variableName, hitBox.definition.variableValue);
-                            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(entity, hitBox.definition.variableName, hitBox.definition.variableValue));
+                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(entity, hitBox.definition.variableName, hitBox.definition.variableValue), entity);
                         }
                         break;
                     case TOGGLE: {
                         if (rightClick) {
                             entity.toggleVariable(hitBox.definition.variableName);
-                            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(entity, hitBox.definition.variableName));
+                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(entity, hitBox.definition.variableName), entity);
                         }
                         break;
                     }
@@ -54,6 +54,7 @@ public class PacketTileEntityRoadChange extends APacketEntityInteract<TileEntity
         if (componentItem != null) {
             //Player clicked with a component.  Add/change it.
             road.components.put(componentType, componentItem);
+            world.staticGeometry.remove(road);
             if (!player.isCreative()) {
                 player.getInventory().removeFromSlot(player.getHotbarIndex(), 1);
             }
@@ -63,6 +64,7 @@ public class PacketTileEntityRoadChange extends APacketEntityInteract<TileEntity
             if (road.components.containsKey(componentType)) {
                 if (world.isClient() || player.isCreative() || player.getInventory().addStack(road.components.get(componentType).getNewStack(null))) {
                     road.components.remove(componentType);
+                    world.staticGeometry.remove(road);
                     return true;
                 }
             }
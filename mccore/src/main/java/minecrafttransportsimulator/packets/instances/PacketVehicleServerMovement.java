@@ -1,10 +1,14 @@
 package minecrafttransportsimulator.packets.instances;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
-import minecrafttransportsimulator.packets.components.APacketEntity;
+import minecrafttransportsimulator.packets.components.APacketBase;
 
 /**
  * Packet used to send server vehicle movement to clients.  This packet doesn't directly
@@ -15,39 +19,172 @@ import minecrafttransportsimulator.packets.components.APacketEntity;
  * the position and rotation.  This system of syncing has the side-effect of significant
  * rubberbanding when server TPS suffers or networking goes bad, but it's far better than
  * the alternatives when the connection is good, hence why we use it.
+ * <br><br>
+ * As there are a LOT of these sent, this packet contains the movement of all vehicles a player
+ * is tracking for a tick, rather than one packet per vehicle.  Vehicles are referenced by their
+ * {@link EntityVehicleF_Physics#movementSyncID} rather than their UUID, and movement is sent as fixed-point
+ * deltas.  The rounding on these deltas is carried over to the next delta by the server, so clients don't
+ * drift.  Every {@link #KEYFRAME_INTERVAL} ticks, and when a vehicle stops moving, a keyframe with the un-rounded
+ * movement and the vehicle's UUID is sent instead.  This removes any rounding error and lets clients that
+ * don't know the vehicle's ID map it to the vehicle.
  *
  * @author don_bruce
  */
-public class PacketVehicleServerMovement extends APacketEntity<EntityVehicleF_Physics> {
-    private final Point3D motion;
-    private final Point3D rotation;
-    private final double pathing;
-
-    public PacketVehicleServerMovement(EntityVehicleF_Physics vehicle, Point3D motion, Point3D rotation, double pathing) {
-        super(vehicle);
-        this.motion = motion;
-        this.rotation = rotation;
-        this.pathing = pathing;
+public class PacketVehicleServerMovement extends APacketBase {
+    /**
+     * How many ticks between keyframes for a moving vehicle.
+     **/
+    public static final int KEYFRAME_INTERVAL = 20;
+    private static final double MOTION_SCALE = 1024D;
+    private static final double ROTATION_SCALE = 128D;
+    private static final byte KEYFRAME_BIT = 1;
+    private static final byte MOTION_BIT = 2;
+    private static final byte ROTATION_BIT = 4;
+    private static final byte PATHING_BIT = 8;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    public PacketVehicleServerMovement() {
+        super(null);
     }
 
     public PacketVehicleServerMovement(ByteBuf buf) {
         super(buf);
-        this.motion = readPoint3dFromBuffer(buf);
-        this.rotation = readPoint3dFromBuffer(buf);
-        this.pathing = buf.readDouble();
+        int entryCount = buf.readInt();
+        for (int i = 0; i < entryCount; ++i) {
+            short id = buf.readShort();
+            byte flags = buf.readByte();
+            if ((flags & KEYFRAME_BIT) != 0) {
+                entries.add(new Entry(id, readUUIDFromBuffer(buf), readPoint3dFromBuffer(buf), readPoint3dFromBuffer(buf), buf.readDouble()));
+            } else {
+                Point3D motion = new Point3D();
+                if ((flags & MOTION_BIT) != 0) {
+                    motion.set(buf.readShort() / MOTION_SCALE, buf.readShort() / MOTION_SCALE, buf.readShort() / MOTION_SCALE);
+                }
+                Point3D rotation = new Point3D();
+                if ((flags & ROTATION_BIT) != 0) {
+                    rotation.set(buf.readShort() / ROTATION_SCALE, buf.readShort() / ROTATION_SCALE, buf.readShort() / ROTATION_SCALE);
+                }
+                double pathing = (flags & PATHING_BIT) != 0 ? buf.readShort() / MOTION_SCALE : 0;
+                entries.add(new Entry(id, null, motion, rotation, pathing));
+            }
+        }
+    }
+
+    /**
+     * Adds the entry to this packet.  Entries may be shared between multiple packets.
+     */
+    public void addEntry(Entry entry) {
+        entries.add(entry);
     }
 
     @Override
     public void writeToBuffer(ByteBuf buf) {
         super.writeToBuffer(buf);
-        writePoint3dToBuffer(motion, buf);
-        writePoint3dToBuffer(rotation, buf);
-        buf.writeDouble(pathing);
+        buf.writeInt(entries.size());
+        for (Entry entry : entries) {
+            buf.writeShort(entry.id);
+            if (entry.uniqueUUID != null) {
+                buf.writeByte(KEYFRAME_BIT);
+                writeUUIDToBuffer(entry.uniqueUUID, buf);
+                writePoint3dToBuffer(entry.motion, buf);
+                writePoint3dToBuffer(entry.rotation, buf);
+                buf.writeDouble(entry.pathing);
+            } else {
+                byte flags = 0;
+                if (!entry.motion.isZero()) {
+                    flags |= MOTION_BIT;
+                }
+                if (!entry.rotation.isZero()) {
+                    flags |= ROTATION_BIT;
+                }
+                if (entry.pathing != 0) {
+                    flags |= PATHING_BIT;
+                }
+                buf.writeByte(flags);
+                if ((flags & MOTION_BIT) != 0) {
+                    buf.writeShort((int) Math.round(entry.motion.x * MOTION_SCALE));
+                    buf.writeShort((int) Math.round(entry.motion.y * MOTION_SCALE));
+                    buf.writeShort((int) Math.round(entry.motion.z * MOTION_SCALE));
+                }
+                if ((flags & ROTATION_BIT) != 0) {
+                    buf.writeShort((int) Math.round(entry.rotation.x * ROTATION_SCALE));
+                    buf.writeShort((int) Math.round(entry.rotation.y * ROTATION_SCALE));
+                    buf.writeShort((int) Math.round(entry.rotation.z * ROTATION_SCALE));
+                }
+                if ((flags & PATHING_BIT) != 0) {
+                    buf.writeShort((int) Math.round(entry.pathing * MOTION_SCALE));
+                }
+            }
+        }
     }
 
     @Override
-    public boolean handle(AWrapperWorld world, EntityVehicleF_Physics vehicle) {
-        vehicle.addToServerDeltas(motion, rotation, pathing);
-        return false;
+    public void handle(AWrapperWorld world) {
+        for (Entry entry : entries) {
+            EntityVehicleF_Physics vehicle;
+            if (entry.uniqueUUID != null) {
+                vehicle = world.getEntity(entry.uniqueUUID);
+                if (vehicle != null) {
+                    world.vehicleMovementSync.setID(vehicle, entry.id);
+                }
+            } else {
+                vehicle = world.vehicleMovementSync.getVehicle(entry.id);
+            }
+            if (vehicle != null) {
+                vehicle.addToServerDeltas(entry.motion, entry.rotation, entry.pathing);
+            }
+        }
+    }
+
+    /**
+     * Movement entry for a single vehicle.  For keyframes, this contains the un-rounded movement and
+     * the UUID of the vehicle.  For deltas, this contains the movement, already rounded to what will be sent.
+     */
+    public static class Entry {
+        public final short id;
+        public final UUID uniqueUUID;
+        public final Point3D motion;
+        public final Point3D rotation;
+        public final double pathing;
+
+        private Entry(short id, UUID uniqueUUID, Point3D motion, Point3D rotation, double pathing) {
+            this.id = id;
+            this.uniqueUUID = uniqueUUID;
+            this.motion = motion;
+            this.rotation = rotation;
+            this.pathing = pathing;
+        }
+
+        /**
+         * Creates a keyframe entry from the passed-in movement.
+         */
+        public static Entry createKeyframe(EntityVehicleF_Physics vehicle, Point3D motion, Point3D rotation, double pathing) {
+            return new Entry(vehicle.movementSyncID, vehicle.uniqueUUID, motion.copy(), rotation.copy(), pathing);
+        }
+
+        /**
+         * Creates a delta entry from the passed-in movement.  The movement is rounded to the
+         * values that will be sent to clients, so the entry values are exactly what clients will receive.
+         * If any of the values are too large to send, null is returned and a keyframe should be sent instead.
+         */
+        public static Entry createDelta(EntityVehicleF_Physics vehicle, Point3D motion, Point3D rotation, double pathing) {
+            long motionX = Math.round(motion.x * MOTION_SCALE);
+            long motionY = Math.round(motion.y * MOTION_SCALE);
+            long motionZ = Math.round(motion.z * MOTION_SCALE);
+            long rotationX = Math.round(rotation.x * ROTATION_SCALE);
+            long rotationY = Math.round(rotation.y * ROTATION_SCALE);
+            long rotationZ = Math.round(rotation.z * ROTATION_SCALE);
+            long pathingDelta = Math.round(pathing * MOTION_SCALE);
+            if (isShort(motionX) && isShort(motionY) && isShort(motionZ) && isShort(rotationX) && isShort(rotationY) && isShort(rotationZ) && isShort(pathingDelta)) {
+                return new Entry(vehicle.movementSyncID, null, new Point3D(motionX / MOTION_SCALE, motionY / MOTION_SCALE, motionZ / MOTION_SCALE), new Point3D(rotationX / ROTATION_SCALE, rotationY / ROTATION_SCALE, rotationZ / ROTATION_SCALE), pathingDelta / MOTION_SCALE);
+            } else {
+                return null;
+            }
+        }
+
+        private static boolean isShort(long value) {
+            return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE;
+        }
     }
 }
@@ -80,7 +80,21 @@ import minecrafttransportsimulator.systems.ConfigSystem;
 @SuppressWarnings("deprecation")
 public final class LegacyCompatSystem {
 
-    public static void performLegacyCompats(AJSONBase definition) {
+    /**
+     * Performs all legacy compats on the passed-in definition.  Returns true if all compats were performed,
+     * or false if some compats failed and were skipped.  Failures that make the definition unusable throw
+     * exceptions instead, so a false return means the definition can still be used, but isn't fully converted.
+     */
+    public static boolean performLegacyCompats(AJSONBase definition) {
+        performDefinitionLegacyCompats(definition);
+        return performModelBasedLegacyCompats(definition);
+    }
+
+    /**
+     * Performs the legacy compats that only use the definition itself.  These are safe to perform on any thread.
+     * {@link #performModelBasedLegacyCompats(AJSONBase)} MUST be called after this to finish the compats.
+     */
+    public static void performDefinitionLegacyCompats(AJSONBase definition) {
         if (definition instanceof AJSONItem) {
             AJSONItem item = (AJSONItem) definition;
             //Update materials to match new format.
@@ -171,13 +185,21 @@ public final class LegacyCompatSystem {
         } else if (definition instanceof JSONBullet) {
             performBulletLegacyCompats((JSONBullet) definition);
         }
+    }
 
+    /**
+     * Performs the legacy compats that depend on the definition's model, and those that must run after them.
+     * Returns the same as {@link #performLegacyCompats(AJSONBase)}.  This parses the model if model compats are
+     * needed, so check {@link #canPerformModelBasedLegacyCompatsInBackground(AJSONBase)} before calling off the main thread.
+     */
+    public static boolean performModelBasedLegacyCompats(AJSONBase definition) {
+        boolean allCompatsPerformed = true;
         if (definition instanceof AJSONMultiModelProvider) {
             //Parse the model and do LCs on it if we need to do so.
             //This happens after general parsing so we don't clobber anything with the model LCs.
             AJSONMultiModelProvider provider = (AJSONMultiModelProvider) definition;
-            if (ConfigSystem.settings != null && ConfigSystem.settings.general.doLegacyLightCompats.value && !(definition instanceof JSONSkin) && provider.rendering.modelType.equals(ModelType.OBJ)) {
-                performModelLegacyCompats((AJSONMultiModelProvider) definition);
+            if (needsModelLegacyCompats(provider)) {
+                allCompatsPerformed = performModelLegacyCompats(provider);
             }
 
             //Check vehicle litVariable LCs, these have to run after model LCs since the model can set some of these.
@@ -210,6 +232,7 @@ public final class LegacyCompatSystem {
                 }
             }
         }
+        return allCompatsPerformed;
     }
 
     private static void performVehicleLegacyCompats(JSONVehicle definition) {
@@ -2364,7 +2387,24 @@ public final class LegacyCompatSystem {
         }
     }
 
-    private static void performModelLegacyCompats(AJSONMultiModelProvider definition) {
+    /**
+     * Returns true if {@link #performModelBasedLegacyCompats(AJSONBase)} can be called on a background thread.
+     * This is false if the model needs to be parsed, and its parser can only parse on the main thread.
+     * Only valid after {@link #performDefinitionLegacyCompats(AJSONBase)}, as that sets up the model location.
+     */
+    public static boolean canPerformModelBasedLegacyCompatsInBackground(AJSONBase definition) {
+        if (definition instanceof AJSONMultiModelProvider) {
+            AJSONMultiModelProvider provider = (AJSONMultiModelProvider) definition;
+            return !needsModelLegacyCompats(provider) || AModelParser.canParseInBackground(provider.getModelLocation(provider.definitions.get(0)));
+        }
+        return true;
+    }
+
+    private static boolean needsModelLegacyCompats(AJSONMultiModelProvider provider) {
+        return ConfigSystem.settings != null && ConfigSystem.settings.general.doLegacyLightCompats.value && !(provider instanceof JSONSkin) && provider.rendering.modelType.equals(ModelType.OBJ);
+    }
+
+    private static boolean performModelLegacyCompats(AJSONMultiModelProvider definition) {
         if (definition.rendering == null) {
             definition.rendering = new JSONRendering();
         } else if (definition.rendering.particles != null) {
@@ -2675,6 +2715,8 @@ public final class LegacyCompatSystem {
         } catch (Exception e) {
             InterfaceManager.coreInterface.logError("Could not do model-based legacy compats on " + definition.packID + ":" + definition.systemName + ".  Lights and treads will likely not be present on this model.");
             InterfaceManager.coreInterface.logError(e.getMessage());
+            return false;
         }
+        return true;
     }
 }
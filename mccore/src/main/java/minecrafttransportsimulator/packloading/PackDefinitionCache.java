@@ -0,0 +1,546 @@
+package minecrafttransportsimulator.packloading;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.jsondefs.AJSONBase;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * Cache of parsed pack definitions.  Parsing JSONs with Gson and running them through the
+ * {@link LegacyCompatSystem} is the slowest part of pack loading, and the result is the same
+ * every launch unless the pack jar changes.  This cache stores the definitions after those
+ * steps in a compact binary form, keyed to the jar's path, size, and modified time, so that
+ * unchanged packs can skip both steps on the next launch.
+ * <br><br>
+ * Definitions are written field-by-field via reflection, so the JSON classes don't need any
+ * changes to be cached.  Each class layout, including the names and types of its fields, is stored with the
+ * definitions, so if the classes change the cached data won't match and the pack will be parsed from its jar as normal.
+ *
+ * @author don_bruce
+ */
+public final class PackDefinitionCache {
+    private static final int FORMAT_VERSION = 2;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte BYTE = 3;
+    private static final byte SHORT = 4;
+    private static final byte CHARACTER = 5;
+    private static final byte INTEGER = 6;
+    private static final byte LONG = 7;
+    private static final byte FLOAT = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte ENUM = 10;
+    private static final byte ARRAY = 11;
+    private static final byte COLLECTION = 12;
+    private static final byte MAP = 13;
+    private static final byte OBJECT = 14;
+
+    private static final Map<String, Class<?>> primitiveClasses = new HashMap<>();
+    private static final Map<Class<?>, Field[]> classFields = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Constructor<?>> classConstructors = new ConcurrentHashMap<>();
+
+    static {
+        for (Class<?> primitiveClass : new Class<?>[]{boolean.class, byte.class, short.class, char.class, int.class, long.class, float.class, double.class}) {
+            primitiveClasses.put(primitiveClass.getName(), primitiveClass);
+        }
+    }
+
+    private final File cacheFile;
+    private final String cacheKey;
+    private final Map<String, CachedJar> loadedJars = new ConcurrentHashMap<>();
+    private final Map<String, CachedJar> savedJars = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache backed by the passed-in file.  The key should change any time the
+     * definitions produced from an unchanged jar would change, such as the mod version.
+     */
+    public PackDefinitionCache(File cacheFile, String cacheKey) {
+        this.cacheFile = cacheFile;
+        this.cacheKey = cacheKey;
+    }
+
+    /**
+     * Loads the cache from disk.  If there's no cache, or it's from a different key,
+     * nothing is loaded and all packs will be parsed from their jars.
+     */
+    public void load() {
+        if (cacheFile.exists()) {
+            try (DataInputStream input = new DataInputStream(new FileInputStream(cacheFile))) {
+                if (input.readInt() == FORMAT_VERSION && input.readUTF().equals(cacheKey)) {
+                    int jarCount = input.readInt();
+                    for (int i = 0; i < jarCount; ++i) {
+                        CachedJar cachedJar = new CachedJar(input.readUTF(), input.readLong(), input.readLong());
+                        int prefixCount = input.readInt();
+                        for (int j = 0; j < prefixCount; ++j) {
+                            String assetPathPrefix = input.readUTF();
+                            byte[] data = new byte[input.readInt()];
+                            input.readFully(data);
+                            cachedJar.definitionData.put(assetPathPrefix, data);
+                        }
+                        loadedJars.put(cachedJar.path, cachedJar);
+                    }
+                }
+            } catch (Exception e) {
+                InterfaceManager.coreInterface.logError("Could not read pack definition cache.  All packs will be parsed from their jars.");
+                InterfaceManager.coreInterface.logError(e.getMessage());
+                loadedJars.clear();
+            }
+        }
+    }
+
+    /**
+     * Saves the cache to disk.  Only definitions that were gotten or put this launch are saved,
+     * so packs that were removed don't stay in the cache forever.  The cache is written to a temp file
+     * and then moved over the old one, so a crash while saving won't leave a truncated cache.
+     */
+    public void save() {
+        File tempFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+                writeCache(output);
+            }
+            try {
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Could not save pack definition cache.");
+            InterfaceManager.coreInterface.logError(e.getMessage());
+            tempFile.delete();
+        }
+    }
+
+    private void writeCache(DataOutputStream output) throws IOException {
+        output.writeInt(FORMAT_VERSION);
+        output.writeUTF(cacheKey);
+        output.writeInt(savedJars.size());
+        for (CachedJar cachedJar : savedJars.values()) {
+            output.writeUTF(cachedJar.path);
+            output.writeLong(cachedJar.size);
+            output.writeLong(cachedJar.modified);
+            output.writeInt(cachedJar.definitionData.size());
+            for (Map.Entry<String, byte[]> prefixEntry : cachedJar.definitionData.entrySet()) {
+                output.writeUTF(prefixEntry.getKey());
+                output.writeInt(prefixEntry.getValue().length);
+                output.write(prefixEntry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the cached definitions for the passed-in jar and asset path prefix, or null if there
+     * are no definitions cached, or the jar has changed since they were.  The returned definitions have
+     * already had legacy compats performed on them and been validated.  This is thread-safe.
+     */
+    public List<AJSONBase> getDefinitions(File packJar, String assetPathPrefix) {
+        CachedJar cachedJar = loadedJars.get(packJar.getAbsolutePath());
+        if (cachedJar != null && cachedJar.size == packJar.length() && cachedJar.modified == packJar.lastModified()) {
+            byte[] data = cachedJar.definitionData.get(assetPathPrefix);
+            if (data != null) {
+                try {
+                    DefinitionReader reader = new DefinitionReader(new DataInputStream(new ByteArrayInputStream(data)));
+                    int definitionCount = reader.input.readInt();
+                    List<AJSONBase> definitions = new ArrayList<>(definitionCount);
+                    for (int i = 0; i < definitionCount; ++i) {
+                        definitions.add((AJSONBase) reader.readValue());
+                    }
+                    getSavedJar(packJar).definitionData.put(assetPathPrefix, data);
+                    return definitions;
+                } catch (Exception e) {
+                    //Class layouts changed, or the data is corrupt.  Parse from the jar instead.
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts the definitions for the passed-in jar and asset path prefix into the cache.  This must be
+     * called after legacy compats and validation, but before the definitions are registered, as registration
+     * may modify them.  If the definitions can't be cached, they will be parsed from the jar next launch.
+     * This is thread-safe.
+     */
+    public void putDefinitions(File packJar, String assetPathPrefix, List<AJSONBase> definitions) {
+        try {
+            ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+            DefinitionWriter writer = new DefinitionWriter(new DataOutputStream(byteStream));
+            writer.output.writeInt(definitions.size());
+            for (AJSONBase definition : definitions) {
+                writer.writeValue(definition);
+            }
+            writer.output.flush();
+            getSavedJar(packJar).definitionData.put(assetPathPrefix, byteStream.toByteArray());
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Could not cache definitions in " + assetPathPrefix + " of " + packJar.getName() + ".  They will be parsed from the jar next launch.");
+            InterfaceManager.coreInterface.logError(e.getMessage());
+        }
+    }
+
+    private CachedJar getSavedJar(File packJar) {
+        return savedJars.computeIfAbsent(packJar.getAbsolutePath(), k -> new CachedJar(k, packJar.length(), packJar.lastModified()));
+    }
+
+    /**
+     * Returns true if the class is stored as a set of fields, rather than as one of the special types.
+     */
+    private static boolean isObjectClass(Class<?> objectClass) {
+        return !objectClass.isPrimitive() && !objectClass.isArray() && !objectClass.isEnum() && !Collection.class.isAssignableFrom(objectClass) && !Map.class.isAssignableFrom(objectClass);
+    }
+
+    /**
+     * Returns all non-static fields of the class, including those of its super-classes.
+     * Synthetic fields, such as references to outer classes, are not included.
+     */
+    static Field[] getFields(Class<?> objectClass) {
+        return classFields.computeIfAbsent(objectClass, k -> {
+            List<Class<?>> classHierarchy = new ArrayList<>();
+            for (Class<?> currentClass = objectClass; currentClass != Object.class; currentClass = currentClass.getSuperclass()) {
+                classHierarchy.add(0, currentClass);
+            }
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> currentClass : classHierarchy) {
+                for (Field field : currentClass.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        });
+    }
+
+    /**
+     * Returns the constructor used to create objects of the class.  Inner classes are created
+     * without an outer instance, the same as Gson does.
+     */
+    private static Constructor<?> getConstructor(Class<?> objectClass) throws NoSuchMethodException {
+        Constructor<?> constructor = classConstructors.get(objectClass);
+        if (constructor == null) {
+            if (objectClass.isMemberClass() && !Modifier.isStatic(objectClass.getModifiers())) {
+                constructor = objectClass.getDeclaredConstructor(objectClass.getEnclosingClass());
+            } else {
+                constructor = objectClass.getDeclaredConstructor();
+            }
+            constructor.setAccessible(true);
+            classConstructors.put(objectClass, constructor);
+        }
+        return constructor;
+    }
+
+    /**
+     * Returns the class to store the passed-in collection or map as.  Collections we can't
+     * create, such as immutable ones, are stored as the passed-in default class instead.
+     */
+    private static Class<?> getContainerClass(Class<?> containerClass, Class<?> defaultClass) {
+        try {
+            if (Modifier.isPublic(containerClass.getModifiers())) {
+                containerClass.getConstructor();
+                return containerClass;
+            }
+        } catch (NoSuchMethodException e) {
+            //Fall through to default.
+        }
+        return defaultClass;
+    }
+
+    /**
+     * Writes definition objects to a stream.  Strings and classes are written once, and then
+     * referenced by index, as the same variable names and classes are used all over definitions.
+     */
+    private static class DefinitionWriter {
+        private final DataOutputStream output;
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final Map<Class<?>, Integer> classIndexes = new HashMap<>();
+        private final Set<Object> objectsBeingWritten = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private DefinitionWriter(DataOutputStream output) {
+            this.output = output;
+        }
+
+        private void writeValue(Object value) throws IOException, ReflectiveOperationException {
+            if (value == null) {
+                output.writeByte(NULL);
+            } else if (value instanceof String) {
+                output.writeByte(STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte(BOOLEAN);
+                output.writeBoolean((Boolean) value);
+            } else if (value instanceof Byte) {
+                output.writeByte(BYTE);
+                output.writeByte((Byte) value);
+            } else if (value instanceof Short) {
+                output.writeByte(SHORT);
+                output.writeShort((Short) value);
+            } else if (value instanceof Character) {
+                output.writeByte(CHARACTER);
+                output.writeChar((Character) value);
+            } else if (value instanceof Integer) {
+                output.writeByte(INTEGER);
+                output.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                output.writeByte(LONG);
+                output.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                output.writeByte(FLOAT);
+                output.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                output.writeByte(DOUBLE);
+                output.writeDouble((Double) value);
+            } else if (value instanceof Enum) {
+                output.writeByte(ENUM);
+                writeClass(((Enum<?>) value).getDeclaringClass());
+                writeString(((Enum<?>) value).name());
+            } else {
+                //Definitions are trees, but make sure so we don't recurse forever if one isn't.
+                if (!objectsBeingWritten.add(value)) {
+                    throw new IOException("Found circular reference in definition at object of type " + value.getClass().getName());
+                }
+                if (value.getClass().isArray()) {
+                    output.writeByte(ARRAY);
+                    writeClass(value.getClass().getComponentType());
+                    int length = Array.getLength(value);
+                    output.writeInt(length);
+                    for (int i = 0; i < length; ++i) {
+                        writeValue(Array.get(value, i));
+                    }
+                } else if (value instanceof Collection) {
+                    Collection<?> collection = (Collection<?>) value;
+                    output.writeByte(COLLECTION);
+                    writeClass(getContainerClass(value.getClass(), value instanceof Set ? LinkedHashSet.class : ArrayList.class));
+                    output.writeInt(collection.size());
+                    for (Object entry : collection) {
+                        writeValue(entry);
+                    }
+                } else if (value instanceof Map) {
+                    Map<?, ?> map = (Map<?, ?>) value;
+                    output.writeByte(MAP);
+                    writeClass(getContainerClass(value.getClass(), LinkedHashMap.class));
+                    output.writeInt(map.size());
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        writeValue(entry.getKey());
+                        writeValue(entry.getValue());
+                    }
+                } else {
+                    //Make sure we can create this object when reading it back.
+                    getConstructor(value.getClass());
+                    output.writeByte(OBJECT);
+                    writeClass(value.getClass());
+                    for (Field field : getFields(value.getClass())) {
+                        writeValue(field.get(value));
+                    }
+                }
+                objectsBeingWritten.remove(value);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            Integer index = stringIndexes.get(value);
+            if (index != null) {
+                output.writeInt(index);
+            } else {
+                output.writeInt(stringIndexes.size());
+                stringIndexes.put(value, stringIndexes.size());
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+
+        private void writeClass(Class<?> valueClass) throws IOException, ReflectiveOperationException {
+            Integer index = classIndexes.get(valueClass);
+            if (index != null) {
+                output.writeInt(index);
+            } else {
+                output.writeInt(classIndexes.size());
+                classIndexes.put(valueClass, classIndexes.size());
+                writeString(valueClass.getName());
+                if (isObjectClass(valueClass)) {
+                    Field[] fields = getFields(valueClass);
+                    output.writeInt(fields.length);
+                    for (Field field : fields) {
+                        writeString(field.getName());
+                        writeString(field.getGenericType().getTypeName());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads definition objects written by {@link DefinitionWriter}.  If the class layouts stored
+     * don't match the current classes, an exception is thrown.
+     */
+    private static class DefinitionReader {
+        private final DataInputStream input;
+        private final List<String> strings = new ArrayList<>();
+        private final List<Class<?>> classes = new ArrayList<>();
+        private final List<Field[]> classLayouts = new ArrayList<>();
+
+        private DefinitionReader(DataInputStream input) {
+            this.input = input;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readValue() throws IOException, ReflectiveOperationException {
+            byte type = input.readByte();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readString();
+                case BOOLEAN:
+                    return input.readBoolean();
+                case BYTE:
+                    return input.readByte();
+                case SHORT:
+                    return input.readShort();
+                case CHARACTER:
+                    return input.readChar();
+                case INTEGER:
+                    return input.readInt();
+                case LONG:
+                    return input.readLong();
+                case FLOAT:
+                    return input.readFloat();
+                case DOUBLE:
+                    return input.readDouble();
+                case ENUM:
+                    return Enum.valueOf((Class<? extends Enum>) classes.get(readClass()), readString());
+                case ARRAY: {
+                    Class<?> componentClass = classes.get(readClass());
+                    int length = input.readInt();
+                    Object array = Array.newInstance(componentClass, length);
+                    for (int i = 0; i < length; ++i) {
+                        Array.set(array, i, readValue());
+                    }
+                    return array;
+                }
+                case COLLECTION: {
+                    Collection<Object> collection = (Collection<Object>) classes.get(readClass()).getConstructor().newInstance();
+                    int size = input.readInt();
+                    for (int i = 0; i < size; ++i) {
+                        collection.add(readValue());
+                    }
+                    return collection;
+                }
+                case MAP: {
+                    Map<Object, Object> map = (Map<Object, Object>) classes.get(readClass()).getConstructor().newInstance();
+                    int size = input.readInt();
+                    for (int i = 0; i < size; ++i) {
+                        map.put(readValue(), readValue());
+                    }
+                    return map;
+                }
+                case OBJECT: {
+                    int classIndex = readClass();
+                    Class<?> objectClass = classes.get(classIndex);
+                    Constructor<?> constructor = getConstructor(objectClass);
+                    Object object = constructor.getParameterCount() == 0 ? constructor.newInstance() : constructor.newInstance((Object) null);
+                    for (Field field : classLayouts.get(classIndex)) {
+                        field.set(object, readValue());
+                    }
+                    return object;
+                }
+                default:
+                    throw new IOException("Unknown value type " + type + " in cached definition.");
+            }
+        }
+
+        private String readString() throws IOException {
+            int index = input.readInt();
+            if (index < strings.size()) {
+                return strings.get(index);
+            } else {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                String value = new String(bytes, StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            }
+        }
+
+        private int readClass() throws IOException, ReflectiveOperationException {
+            int index = input.readInt();
+            if (index == classes.size()) {
+                String className = readString();
+                Class<?> valueClass = primitiveClasses.get(className);
+                if (valueClass == null) {
+                    valueClass = Class.forName(className, false, PackDefinitionCache.class.getClassLoader());
+                }
+                Field[] layout = null;
+                if (isObjectClass(valueClass)) {
+                    Field[] fields = getFields(valueClass);
+                    int fieldCount = input.readInt();
+                    if (fieldCount != fields.length) {
+                        throw new IOException("Class " + className + " has changed since it was cached.");
+                    }
+                    layout = new Field[fieldCount];
+                    for (int i = 0; i < fieldCount; ++i) {
+                        String fieldName = readString();
+                        String fieldType = readString();
+                        for (Field field : fields) {
+                            if (field.getName().equals(fieldName) && field.getGenericType().getTypeName().equals(fieldType)) {
+                                layout[i] = field;
+                                break;
+                            }
+                        }
+                        if (layout[i] == null) {
+                            throw new IOException("Class " + className + " has changed since it was cached.");
+                        }
+                    }
+                }
+                classes.add(valueClass);
+                classLayouts.add(layout);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Cached data for a single jar.  Definitions are stored per asset path prefix,
+     * as which prefixes get loaded depends on what other packs and mods are present.
+     */
+    private static class CachedJar {
+        private final String path;
+        private final long size;
+        private final long modified;
+        private final Map<String, byte[]> definitionData = new ConcurrentHashMap<>();
+
+        private CachedJar(String path, long size, long modified) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
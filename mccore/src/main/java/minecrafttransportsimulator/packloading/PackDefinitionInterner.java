@@ -0,0 +1,151 @@
+package minecrafttransportsimulator.packloading;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import minecrafttransportsimulator.jsondefs.AJSONBase;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * Removes duplicate data from parsed pack definitions.  Each definition is parsed on its own, so every
+ * definition has its own copy of strings that are repeated across packs, like variable and object names,
+ * and its own copy of sub-objects that are identical across definitions, like the animations for wheels.
+ * With thousands of definitions loaded, these copies add up to a lot of memory.
+ * <br><br>
+ * All strings are interned, so they are the same instance as any other interned string or string literal with
+ * the same value.  Objects of {@link #DEDUPLICATED_CLASSES} that are structurally identical are replaced with
+ * a single instance, as are lists made entirely of them.  Only classes that are never modified or used as
+ * identity keys after loading may be deduplicated, as any change to a shared object would change it for all
+ * definitions that use it.  This means definitions MUST be interned after legacy compats are performed.
+ *
+ * @author don_bruce
+ */
+public final class PackDefinitionInterner {
+    private static final String JSON_PACKAGE_PREFIX = "minecrafttransportsimulator.jsondefs.";
+    private static final Set<Class<?>> DEDUPLICATED_CLASSES = Collections.singleton(JSONAnimationDefinition.class);
+
+    private final Set<Object> internedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Object, Object> canonicalObjects = new HashMap<>();
+    private final Map<List<Object>, List<Object>> canonicalLists = new HashMap<>();
+
+    /**
+     * Interns the passed-in definition against all other definitions interned with this interner.
+     * If this fails part-way through, the definition is left partially interned, which is still valid.
+     */
+    public void intern(AJSONBase definition) {
+        try {
+            internFields(definition);
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Could not intern definition " + definition.packID + ":" + definition.systemName + ".  It will use more memory than it should, but will otherwise work.");
+            InterfaceManager.coreInterface.logError(e.getMessage());
+        }
+    }
+
+    /**
+     * Interns all fields of the passed-in object.  Objects are only interned once, as deduplicated objects are shared.
+     */
+    private void internFields(Object object) throws IllegalAccessException {
+        if (internedObjects.add(object)) {
+            for (Field field : PackDefinitionCache.getFields(object.getClass())) {
+                if (!field.getType().isPrimitive()) {
+                    Object value = field.get(object);
+                    Object internedValue = internValue(value);
+                    if (internedValue != value) {
+                        field.set(object, internedValue);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the interned version of the passed-in value.  This may be the same object if it can't be interned,
+     * or if it's a container that had its contents interned in-place.
+     */
+    @SuppressWarnings("unchecked")
+    private Object internValue(Object value) throws IllegalAccessException {
+        if (value instanceof String) {
+            return ((String) value).intern();
+        } else if (value instanceof List) {
+            return internList((List<Object>) value);
+        } else if (value instanceof Collection) {
+            //Sets and the like can't set elements in-place, so re-add them all.
+            Collection<Object> collection = (Collection<Object>) value;
+            List<Object> elements = new ArrayList<>(collection);
+            collection.clear();
+            for (Object element : elements) {
+                collection.add(internValue(element));
+            }
+        } else if (value instanceof Map) {
+            //Same for maps, as we need to intern the keys as well as the values.
+            Map<Object, Object> map = (Map<Object, Object>) value;
+            List<Map.Entry<Object, Object>> entries = new ArrayList<>(map.entrySet());
+            map.clear();
+            for (Map.Entry<Object, Object> entry : entries) {
+                map.put(internValue(entry.getKey()), internValue(entry.getValue()));
+            }
+        } else if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            for (int i = 0; i < array.length; ++i) {
+                array[i] = internValue(array[i]);
+            }
+        } else if (value != null && !(value instanceof Enum) && value.getClass().getName().startsWith(JSON_PACKAGE_PREFIX)) {
+            internFields(value);
+            if (DEDUPLICATED_CLASSES.contains(value.getClass())) {
+                return canonicalObjects.computeIfAbsent(getStructuralKey(value), k -> value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Interns all elements of the passed-in list in-place.  If all elements are deduplicated objects,
+     * then the list itself is deduplicated and the shared list is returned.
+     */
+    private List<Object> internList(List<Object> list) throws IllegalAccessException {
+        boolean allElementsDeduplicated = !list.isEmpty();
+        for (int i = 0; i < list.size(); ++i) {
+            Object element = list.get(i);
+            Object internedElement = internValue(element);
+            if (internedElement != element) {
+                list.set(i, internedElement);
+            }
+            allElementsDeduplicated &= internedElement != null && DEDUPLICATED_CLASSES.contains(internedElement.getClass());
+        }
+        //Deduplicated elements are compared by identity, so lists with the same elements in the same order are identical.
+        return allElementsDeduplicated ? canonicalLists.computeIfAbsent(list, k -> list) : list;
+    }
+
+    /**
+     * Returns a key for the passed-in object that is equal to the key of any other object with the same structure.
+     * Objects are keyed by their class and the keys of all their fields.  Things we can't break down,
+     * like maps and arrays, are used as-is, so objects with them will only match if they share them.
+     */
+    private static Object getStructuralKey(Object value) throws IllegalAccessException {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum || value instanceof Map || value.getClass().isArray()) {
+            return value;
+        } else if (value instanceof Collection) {
+            List<Object> key = new ArrayList<>();
+            key.add(value.getClass());
+            for (Object element : (Collection<?>) value) {
+                key.add(getStructuralKey(element));
+            }
+            return key;
+        } else {
+            List<Object> key = new ArrayList<>();
+            key.add(value.getClass());
+            for (Field field : PackDefinitionCache.getFields(value.getClass())) {
+                key.add(getStructuralKey(field.get(value)));
+            }
+            return key;
+        }
+    }
+}
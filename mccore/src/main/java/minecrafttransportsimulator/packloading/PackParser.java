@@ -2,14 +2,17 @@ package minecrafttransportsimulator.packloading;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -140,9 +143,10 @@ public final class PackParser {
 
     /**
      * Called to parse all packs and set up the main mod.  All directories in the passed-in list will be checked
-     * for pack definitions.  After this, they will be created and loaded into the main mod.
+     * for pack definitions.  After this, they will be created and loaded into the main mod.  Parsed definitions
+     * are cached in the passed-in cache file, which is invalidated if the mod version changes.
      */
-    public static void parsePacks(List<File> packDirectories) {
+    public static void parsePacks(List<File> packDirectories, File cacheFile, String modVersion) {
         //First get all pack definitions from the passed-in directories.
         for (File directory : packDirectories) {
             for (File file : directory.listFiles()) {
@@ -153,7 +157,11 @@ public final class PackParser {
         }
 
         //Next, parse all packs in those definitions.
-        parseAllPacks();
+        //Model-based legacy compats depend on the config, so they need to invalidate the cache too.
+        PackDefinitionCache definitionCache = new PackDefinitionCache(cacheFile, modVersion + ":" + ConfigSystem.settings.general.doLegacyLightCompats.value);
+        definitionCache.load();
+        parseAllPacks(definitionCache);
+        definitionCache.save();
 
         //Check for custom skins.
         parseAllSkins();
@@ -318,8 +326,9 @@ public final class PackParser {
      * assume the default loader.  If you want to use a custom loader, you should manually
      * create and register your pack items and use {@link #registerItem(AJSONItem)}.
      */
-    private static void parseAllPacks() {
+    private static void parseAllPacks(PackDefinitionCache definitionCache) {
         List<String> packIDs = new ArrayList<>(packMap.keySet());
+        List<PackLoadTask> loadTasks = new ArrayList<>();
         for (String s : packMap.keySet()) {
             JSONPack packDef = packMap.get(s);
             //Don't parse the core pack.  THat's all internal.
@@ -371,7 +380,7 @@ public final class PackParser {
                 }
             }
 
-            //Load the pack components into the game.
+            //Queue the pack components for loading.
             //We iterate over all the sub-folders we found from the packDef checks.
             PackStructure structure = PackStructure.values()[packDef.fileStructure];
             for (String subDirectory : validSubDirectories) {
@@ -379,71 +388,28 @@ public final class PackParser {
                 if (!subDirectory.isEmpty()) {
                     assetPathPrefix += subDirectory + "/";
                 }
+                loadTasks.add(new PackLoadTask(packDef, structure, assetPathPrefix));
+            }
+        }
 
-                try {
-                    ZipFile jarFile = new ZipFile(packJarMap.get(packDef.packID));
-                    Enumeration<? extends ZipEntry> entries = jarFile.entries();
-                    while (entries.hasMoreElements()) {
-                        //Get next entry and path.
-                        ZipEntry entry = entries.nextElement();
-                        String entryFullPath = entry.getName();
-                        if (entryFullPath.startsWith(assetPathPrefix) && entryFullPath.endsWith(".json")) {
-                            //JSON is in correct folder.  Get path properties and ensure they match our specs.
-                            //Need the asset folder structure between the main prefix and the asset itself.
-                            //This lets us know what asset we need to create as all assets are in their own folders.
-                            String fileName = entryFullPath.substring(entryFullPath.lastIndexOf('/') + 1);
-                            String assetPath = entryFullPath.substring(assetPathPrefix.length(), entryFullPath.substring(0, entryFullPath.length() - fileName.length()).lastIndexOf("/") + 1);
-                            if (!structure.equals(PackStructure.MODULAR)) {
-                                //Need to trim the jsondefs folder to get correct sub-folder of jsondefs data.
-                                //Modular structure does not have a jsondefs folder, so we don't need to trim it off for that.
-                                //If we aren't modular, and aren't in a jsondefs folder, skip this entry.
-                                if (assetPath.startsWith("jsondefs/")) {
-                                    assetPath = assetPath.substring("jsondefs/".length());
-                                } else {
-                                    continue;
-                                }
-                            }
-
-                            //Check to make sure json isn't an item JSON or our pack definition.
-                            if (!fileName.equals("packdefinition.json") && (structure.equals(PackStructure.MODULAR) ? !fileName.endsWith("_item.json") : entryFullPath.contains("jsondefs"))) {
-                                //Get classification and JSON class type to use with GSON system.
-                                ItemClassification classification;
-                                try {
-                                    classification = ItemClassification.fromDirectory(assetPath.substring(0, assetPath.indexOf("/") + 1));
-                                } catch (Exception e) {
-                                    InterfaceManager.coreInterface.logError("Was given an invalid classifcation sub-folder for asset: " + fileName + ".  Check your folder paths.");
-                                    continue;
-                                }
-
-                                //Create the JSON instance.
-                                String systemName = fileName.substring(0, fileName.length() - ".json".length());
-                                AJSONBase definition;
-                                try {
-                                    definition = JSONParser.parseStream(jarFile.getInputStream(entry), classification.representingClass, packDef.packID, systemName);
-                                } catch (Exception e) {
-                                    InterfaceManager.coreInterface.logError("Could not parse: " + packDef.packID + ":" + fileName);
-                                    InterfaceManager.coreInterface.logError(e.getMessage());
-                                    continue;
-                                }
-
-                                //Remove the classification folder from the assetPath.  We don't use this for the resource-loading code.
-                                //Instead, this will be loaded by referencing the definition.  This also allows us to omit the path
-                                //if we are loading a non-default pack format.
-                                definition.packID = packDef.packID;
-                                definition.systemName = systemName;
-                                definition.classification = classification;
-                                definition.prefixFolders = assetPath.substring(classification.toDirectory().length());
-                                registerItem(definition);
-                            }
-                        }
-                    }
+        //Parse all pack components.  Packs and the JSONs in them don't depend on each other, so this is done in parallel.
+        //Items are registered after, on this thread, in the same order as the JSONs were found.
+        loadTasks.parallelStream().forEach(task -> task.parseDefinitions(definitionCache));
+        for (PackLoadTask task : loadTasks) {
+            task.prepareMainThreadDefinitions(definitionCache);
+        }
 
-                    //Done parsing.  Close the jarfile.
-                    jarFile.close();
-                } catch (Exception e) {
-                    InterfaceManager.coreInterface.logError("Could not start parsing of pack: " + packDef.packID);
-                    e.printStackTrace();
-                }
+        //Now that all definitions are parsed and have had legacy compats done, intern them against each other.
+        //This has to be done on one thread, as the point is to share data between all definitions.
+        PackDefinitionInterner interner = new PackDefinitionInterner();
+        for (PackLoadTask task : loadTasks) {
+            for (AJSONBase definition : task.definitions) {
+                interner.intern(definition);
+            }
+        }
+        for (PackLoadTask task : loadTasks) {
+            for (AJSONBase definition : task.definitions) {
+                registerPreparedItem(definition);
             }
         }
     }
@@ -464,11 +430,44 @@ public final class PackParser {
      */
     public static void registerItem(AJSONBase itemDef) {
         try {
-            //Do legacy compats before validating the JSON.
-            //This will populate any required fields that were not in older versions.
-            LegacyCompatSystem.performLegacyCompats(itemDef);
-            JSONParser.validateFields(itemDef, itemDef.packID + ":" + itemDef.systemName + "/", 1);
+            prepareDefinition(itemDef);
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError(e.getMessage());
+            e.printStackTrace();
+            return;
+        }
+        registerPreparedItem(itemDef);
+    }
 
+    /**
+     * Performs legacy compats on the definition and validates it.  This may parse the definition's model,
+     * so it must be called on the main thread.  Parallel loading splits this into its two halves instead.
+     * Returns false if some legacy compats failed and logged an error, but the definition is still usable.
+     */
+    private static boolean prepareDefinition(AJSONBase itemDef) {
+        //Do legacy compats before validating the JSON.
+        //This will populate any required fields that were not in older versions.
+        LegacyCompatSystem.performDefinitionLegacyCompats(itemDef);
+        return finishPreparingDefinition(itemDef);
+    }
+
+    /**
+     * Second half of {@link #prepareDefinition(AJSONBase)}, for definitions that have had their definition legacy compats
+     * performed.  This performs the model-based compats, so it may only be called off the main thread if
+     * {@link LegacyCompatSystem#canPerformModelBasedLegacyCompatsInBackground(AJSONBase)} returns true.
+     */
+    private static boolean finishPreparingDefinition(AJSONBase itemDef) {
+        boolean allCompatsPerformed = LegacyCompatSystem.performModelBasedLegacyCompats(itemDef);
+        JSONParser.validateFields(itemDef, itemDef.packID + ":" + itemDef.systemName + "/", 1);
+        return allCompatsPerformed;
+    }
+
+    /**
+     * Like {@link #registerItem(AJSONBase)}, but for definitions that have already been through
+     * {@link #prepareDefinition(AJSONBase)}.
+     */
+    private static void registerPreparedItem(AJSONBase itemDef) {
+        try {
             //Create all required items.
             if (itemDef instanceof AJSONMultiModelProvider) {
                 //Check if the definition is a skin.  If so, we need to just add it to the skin map for processing later.
@@ -690,4 +689,158 @@ public final class PackParser {
         }
         return packPanels;
     }
+
+    /**
+     * Task to load the definitions in a single sub-folder of a pack.  Definitions are gotten from the
+     * cache if possible, and parsed from the pack's jar if not.  These tasks are run in parallel, so they
+     * don't register anything: they only prepare the definitions for registration on the main thread.
+     */
+    private static class PackLoadTask {
+        private final JSONPack packDef;
+        private final PackStructure structure;
+        private final String assetPathPrefix;
+        private List<AJSONBase> definitions = new ArrayList<>();
+        private final List<AJSONBase> mainThreadDefinitions = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean hadErrors;
+
+        private PackLoadTask(JSONPack packDef, PackStructure structure, String assetPathPrefix) {
+            this.packDef = packDef;
+            this.structure = structure;
+            this.assetPathPrefix = assetPathPrefix;
+        }
+
+        private void parseDefinitions(PackDefinitionCache definitionCache) {
+            File packJar = packJarMap.get(packDef.packID);
+            List<AJSONBase> cachedDefinitions = definitionCache.getDefinitions(packJar, assetPathPrefix);
+            if (cachedDefinitions != null) {
+                definitions = cachedDefinitions;
+                return;
+            }
+
+            try {
+                ZipFile jarFile = new ZipFile(packJar);
+                List<ZipEntry> jsonEntries = new ArrayList<>();
+                Enumeration<? extends ZipEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.getName().startsWith(assetPathPrefix) && entry.getName().endsWith(".json")) {
+                        jsonEntries.add(entry);
+                    }
+                }
+
+                //Parse all JSONs in parallel.  The order of the list is kept, so items are registered in jar order.
+                definitions = jsonEntries.parallelStream().map(entry -> parseDefinition(jarFile, entry)).filter(Objects::nonNull).collect(Collectors.toList());
+
+                //Done parsing.  Close the jarfile.
+                jarFile.close();
+
+                //Only cache if we didn't have errors.  Otherwise, we wouldn't report them next launch.
+                //If we have definitions to finish on the main thread, we cache once those are done.
+                if (!hadErrors && mainThreadDefinitions.isEmpty()) {
+                    definitionCache.putDefinitions(packJar, assetPathPrefix, definitions);
+                }
+            } catch (Exception e) {
+                InterfaceManager.coreInterface.logError("Could not start parsing of pack: " + packDef.packID);
+                e.printStackTrace();
+                hadErrors = true;
+            }
+        }
+
+        /**
+         * Parses and prepares the definition for the passed-in entry.  Returns null if the entry isn't
+         * a definition, or if it couldn't be parsed.
+         */
+        private AJSONBase parseDefinition(ZipFile jarFile, ZipEntry entry) {
+            //JSON is in correct folder.  Get path properties and ensure they match our specs.
+            //Need the asset folder structure between the main prefix and the asset itself.
+            //This lets us know what asset we need to create as all assets are in their own folders.
+            String entryFullPath = entry.getName();
+            String fileName = entryFullPath.substring(entryFullPath.lastIndexOf('/') + 1);
+            String assetPath = entryFullPath.substring(assetPathPrefix.length(), entryFullPath.substring(0, entryFullPath.length() - fileName.length()).lastIndexOf("/") + 1);
+            if (!structure.equals(PackStructure.MODULAR)) {
+                //Need to trim the jsondefs folder to get correct sub-folder of jsondefs data.
+                //Modular structure does not have a jsondefs folder, so we don't need to trim it off for that.
+                //If we aren't modular, and aren't in a jsondefs folder, skip this entry.
+                if (assetPath.startsWith("jsondefs/")) {
+                    assetPath = assetPath.substring("jsondefs/".length());
+                } else {
+                    return null;
+                }
+            }
+
+            //Check to make sure json isn't an item JSON or our pack definition.
+            if (!fileName.equals("packdefinition.json") && (structure.equals(PackStructure.MODULAR) ? !fileName.endsWith("_item.json") : entryFullPath.contains("jsondefs"))) {
+                //Get classification and JSON class type to use with GSON system.
+                ItemClassification classification;
+                try {
+                    classification = ItemClassification.fromDirectory(assetPath.substring(0, assetPath.indexOf("/") + 1));
+                } catch (Exception e) {
+                    InterfaceManager.coreInterface.logError("Was given an invalid classifcation sub-folder for asset: " + fileName + ".  Check your folder paths.");
+                    hadErrors = true;
+                    return null;
+                }
+
+                //Create the JSON instance.
+                String systemName = fileName.substring(0, fileName.length() - ".json".length());
+                AJSONBase definition;
+                try {
+                    definition = JSONParser.parseStream(jarFile.getInputStream(entry), classification.representingClass, packDef.packID, systemName);
+                } catch (Exception e) {
+                    InterfaceManager.coreInterface.logError("Could not parse: " + packDef.packID + ":" + fileName);
+                    InterfaceManager.coreInterface.logError(e.getMessage());
+                    hadErrors = true;
+                    return null;
+                }
+
+                //Remove the classification folder from the assetPath.  We don't use this for the resource-loading code.
+                //Instead, this will be loaded by referencing the definition.  This also allows us to omit the path
+                //if we are loading a non-default pack format.
+                definition.packID = packDef.packID;
+                definition.systemName = systemName;
+                definition.classification = classification;
+                definition.prefixFolders = assetPath.substring(classification.toDirectory().length());
+                try {
+                    //Still use definitions with failed compats, but don't cache them so the error is logged next launch.
+                    //Models that can't be parsed in the background are left for the main thread to do their compats.
+                    LegacyCompatSystem.performDefinitionLegacyCompats(definition);
+                    if (!LegacyCompatSystem.canPerformModelBasedLegacyCompatsInBackground(definition)) {
+                        mainThreadDefinitions.add(definition);
+                    } else if (!finishPreparingDefinition(definition)) {
+                        hadErrors = true;
+                    }
+                } catch (Exception e) {
+                    InterfaceManager.coreInterface.logError(e.getMessage());
+                    e.printStackTrace();
+                    hadErrors = true;
+                    return null;
+                }
+                return definition;
+            }
+            return null;
+        }
+
+        /**
+         * Finishes preparing the definitions that couldn't be prepared by {@link #parseDefinitions(PackDefinitionCache)},
+         * then caches the definitions if there were no errors.  Must be called on the main thread after parsing.
+         */
+        private void prepareMainThreadDefinitions(PackDefinitionCache definitionCache) {
+            if (!mainThreadDefinitions.isEmpty()) {
+                for (AJSONBase definition : mainThreadDefinitions) {
+                    try {
+                        if (!finishPreparingDefinition(definition)) {
+                            hadErrors = true;
+                        }
+                    } catch (Exception e) {
+                        InterfaceManager.coreInterface.logError(e.getMessage());
+                        e.printStackTrace();
+                        hadErrors = true;
+                        definitions.remove(definition);
+                    }
+                }
+                if (!hadErrors) {
+                    definitionCache.putDefinitions(packJarMap.get(packDef.packID), assetPathPrefix, definitions);
+                }
+            }
+        }
+    }
 }
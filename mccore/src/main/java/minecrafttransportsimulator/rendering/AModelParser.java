@@ -4,8 +4,18 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
-import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.items.components.AItemSubTyped;
+import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
+import minecrafttransportsimulator.jsondefs.JSONModelLOD;
+import minecrafttransportsimulator.jsondefs.JSONSubDefinition;
+import minecrafttransportsimulator.packloading.PackParser;
 
 /**
  * Abstract class for parsing models.  This contains methods for determining what models
@@ -13,6 +23,10 @@ import minecrafttransportsimulator.entities.components.AEntityD_Definable;
  * It also stores a list of created parsers for use when requesting a model be parsed.
  * By default, an OBJ parser is created when this class is first accessed, but one may
  * add other parsers as they see fit.
+ * <br><br>
+ * Models for entities are parsed on background threads via {@link #getParsedModel(String)}, as large models
+ * can take multiple frames to parse.  Entities don't render until their model is ready.  Parsers that
+ * can't run on background threads have their models parsed on the calling thread instead.
  *
  * @author don_bruce
  */
@@ -22,6 +36,18 @@ public abstract class AModelParser {
     public static final String ONLINE_TEXTURE_OBJECT_NAME = "url";
     public static final String TRANSLUCENT_OBJECT_NAME = "translucent";
 
+    private static final ExecutorService loaderThreads = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+        Thread thread = new Thread(runnable, "MTS Model Loader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    /**
+     * Models that have been queued for parsing, keyed by their location.  Models are removed once they are returned
+     * from {@link #getParsedModel(String)}, as the caller is expected to hold onto them.
+     **/
+    private static final Map<String, Future<List<RenderableObject>>> loadingModels = new ConcurrentHashMap<>();
+
     public AModelParser() {
         parsers.put(getModelSuffix(), this);
     }
@@ -43,29 +69,145 @@ public abstract class AModelParser {
      */
     protected abstract List<RenderableObject> parseModelInternal(String modelLocation);
 
+    /**
+     * Returns true if models parsed by this parser can be stored in the {@link ModelCache}.  This should only
+     * be true if the parsed model depends on nothing but the model file, as that's all the cache checks.
+     */
+    protected boolean canCacheModels() {
+        return false;
+    }
+
+    /**
+     * Returns true if models parsed by this parser can be parsed on background threads.  This should be false
+     * if parsing uses game state that may only be accessed from the render thread, such as texture atlases.
+     */
+    protected boolean canParseInBackground() {
+        return true;
+    }
+
     /**
      * Attempts to obtain the parser for the passed-in modelLocation.  After this, the model
      * is parsed and returned.  If no parser is found, an exception is thrown.
+     * If the parser supports caching, the model is loaded from the cache if it's there,
+     * and put in the cache if it's not.
      */
     public static List<RenderableObject> parseModel(String modelLocation) {
-        AModelParser parser = parsers.get(modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
+        AModelParser parser = getParser(modelLocation);
         if (parser != null) {
+            if (parser.canCacheModels()) {
+                String cacheKey = ModelCache.getCacheKey(modelLocation);
+                if (cacheKey != null) {
+                    List<RenderableObject> parsedObjects = ModelCache.loadModel(cacheKey);
+                    if (parsedObjects == null) {
+                        parsedObjects = parser.parseModelInternal(modelLocation);
+                        ModelCache.saveModel(cacheKey, parsedObjects);
+                    }
+                    return parsedObjects;
+                }
+            }
             return parser.parseModelInternal(modelLocation);
         } else {
             throw new IllegalArgumentException("No parser found for model format of " + modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
         }
     }
 
+    private static AModelParser getParser(String modelLocation) {
+        return parsers.get(modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
+    }
+
+    /**
+     * Returns true if the model at the passed-in location can be parsed on a background thread.
+     * Models without a parser return true, as parsing them will just throw an exception on any thread.
+     */
+    public static boolean canParseInBackground(String modelLocation) {
+        AModelParser parser = getParser(modelLocation);
+        return parser == null || parser.canParseInBackground();
+    }
+
+    /**
+     * Returns the parsed model at the passed-in location, or null if it is still being parsed.  If the model
+     * hasn't been queued for parsing, it is queued on a background thread the first time this is called.
+     * Any errors from parsing are thrown here, as they can't be thrown on the background thread.
+     */
+    public static List<RenderableObject> getParsedModel(String modelLocation) {
+        Future<List<RenderableObject>> loadingModel = queueModel(modelLocation);
+        if (loadingModel.isDone()) {
+            loadingModels.remove(modelLocation);
+            try {
+                return loadingModel.get();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not parse the model at: " + modelLocation, e.getCause() != null ? e.getCause() : e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queues all models used by pack items for parsing on background threads.  This allows them to be ready
+     * before they are first seen, at the cost of keeping them in memory even if they are never used.
+     */
+    public static void preloadPackModels() {
+        for (AItemPack<?> packItem : PackParser.getAllPackItems()) {
+            if (packItem instanceof AItemSubTyped) {
+                AJSONMultiModelProvider definition = ((AItemSubTyped<?>) packItem).definition;
+                JSONSubDefinition subDefinition = ((AItemSubTyped<?>) packItem).subDefinition;
+                String modelLocation = definition.getModelLocation(subDefinition);
+                if (modelLocation != null) {
+                    preloadModel(modelLocation);
+                    if (definition.rendering.levelsOfDetail != null) {
+                        for (JSONModelLOD levelOfDetail : definition.rendering.levelsOfDetail) {
+                            preloadModel(definition.getModelLocation(subDefinition, levelOfDetail));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the model for parsing if its parser can parse it in the background.  Other models
+     * are left for their first render, as preloading isn't done on the render thread.
+     */
+    private static void preloadModel(String modelLocation) {
+        AModelParser parser = getParser(modelLocation);
+        if (parser != null && parser.canParseInBackground()) {
+            queueModel(modelLocation);
+        }
+    }
+
+    /**
+     * Queues the model at the passed-in location for parsing, if it isn't already, and returns the result of that parsing.
+     * If the model's parser can't parse in the background, the model is parsed on this thread and the result is returned right away.
+     */
+    private static Future<List<RenderableObject>> queueModel(String modelLocation) {
+        return loadingModels.computeIfAbsent(modelLocation, location -> {
+            AModelParser parser = getParser(location);
+            if (parser == null || parser.canParseInBackground()) {
+                return loaderThreads.submit(() -> parseModel(location));
+            } else {
+                //Run the parse as a task so any errors are thrown from getParsedModel, the same as background parses.
+                FutureTask<List<RenderableObject>> parseTask = new FutureTask<>(() -> parseModel(location));
+                parseTask.run();
+                return parseTask;
+            }
+        });
+    }
+
+    /**
+     * Clears all models queued for parsing.  Should be called when models are reset, as the model files may have changed.
+     */
+    public static void clearParsedModels() {
+        loadingModels.clear();
+    }
+
     /**
-     * Parses the model for the passed-in entity, and generates all {@link RenderableModelObject}s for it.
-     * These are returned as a list.  Objects in the parsed model are cross-checked with the passed-in
-     * definition to ensure the proper constructors are created.  All objects in the model
-     * are assured to be turned into one of the objects in the returned list.
+     * Generates all {@link RenderableModelObject}s for the passed-in parsed model.  These are returned as a list.
+     * All objects in the model are assured to be turned into one of the objects in the returned list.
+     * Entities may have more than one model if they have levels of detail.
      */
-    public static List<RenderableModelObject> generateRenderables(AEntityD_Definable<?> entity) {
-        String modelLocation = entity.definition.getModelLocation(entity.subDefinition);
+    public static List<RenderableModelObject> generateRenderables(String modelLocation, List<RenderableObject> parsedObjects) {
         List<RenderableModelObject> modelObjects = new ArrayList<>();
-        for (RenderableObject parsedObject : parseModel(modelLocation)) {
+        for (RenderableObject parsedObject : parsedObjects) {
             modelObjects.add(new RenderableModelObject(modelLocation, parsedObject));
         }
         return modelObjects;
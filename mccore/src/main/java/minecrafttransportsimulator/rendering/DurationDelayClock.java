@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.rendering;
 
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition.AnimationComponentType;
@@ -25,6 +26,7 @@ public class DurationDelayClock {
     private static final double d1 = 2.75;
 
     public final JSONAnimationDefinition animation;
+    public final VariableHandle variable;
     public final double animationAxisMagnitude;
     public final Point3D animationAxisNormalized;
     public final boolean isUseful;
@@ -39,6 +41,7 @@ public class DurationDelayClock {
 
     public DurationDelayClock(JSONAnimationDefinition animation) {
         this.animation = animation;
+        this.variable = VariableHandle.of(animation.variable);
         this.animationAxisMagnitude = animation.axis != null ? animation.axis.length() : 1.0;
         this.animationAxisNormalized = animation.axis != null ? animation.axis.copy().normalize() : null;
         this.shouldDoFactoring = animation.duration != 0 || animation.forwardsDelay != 0 || animation.reverseDelay != 0;
@@ -0,0 +1,215 @@
+package minecrafttransportsimulator.rendering;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * Disk cache of parsed models.  Parsing text models is slow, and the result is the same every launch unless
+ * the model changes.  This cache stores the parsed objects as raw floats, one file per model, so they can be
+ * memory-mapped straight into the {@link RenderableObject#vertices} buffers rather than being parsed again.
+ * <br><br>
+ * Files are named by a hash of the model location, then a hash of the location and its contents, so a changed model
+ * gets a new file rather than overwriting the old one.  This means we never need to check if a cached file is stale,
+ * and we never write to a file that may be mapped.  Maps are private, so objects that modify their vertices won't modify the file.
+ * Old versions of a model are deleted when the new version is saved, and files that haven't been used in
+ * {@link #UNUSED_FILE_DAYS} days are deleted the first time the cache is used each launch, so the cache doesn't grow forever.
+ * Files that can't be read are replaced with the freshly-parsed model.
+ *
+ * @author don_bruce
+ */
+final class ModelCache {
+    private static final int FORMAT_VERSION = 1;
+    private static final String CACHE_FOLDER_NAME = "mtsmodelcache";
+    private static final String CACHE_FILE_SUFFIX = ".bin";
+    private static final int UNUSED_FILE_DAYS = 30;
+
+    static {
+        pruneUnusedFiles();
+    }
+
+    /**
+     * Returns the key for the model at the passed-in location.  This is a hash of the location, then a hash of the location
+     * and the contents of the model, so it will change if either changes.  If the model can't be read, null is returned.
+     */
+    static String getCacheKey(String modelLocation) {
+        try (InputStream stream = InterfaceManager.coreInterface.getPackResource(modelLocation)) {
+            if (stream == null) {
+                return null;
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(modelLocation.getBytes(StandardCharsets.UTF_8));
+            String locationHash = toHex(digest.digest());
+
+            digest.update(modelLocation.getBytes(StandardCharsets.UTF_8));
+            byte[] readBuffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = stream.read(readBuffer)) != -1) {
+                digest.update(readBuffer, 0, bytesRead);
+            }
+            return locationHash + "_" + toHex(digest.digest());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads the cached model for the passed-in key.  If there is no cached model, or it can't be read, null is returned.
+     * Loading a model marks its file as used, so it won't be pruned.
+     */
+    static List<RenderableObject> loadModel(String cacheKey) {
+        File cacheFile = getCacheFile(cacheKey);
+        if (cacheFile.exists()) {
+            //Private maps need a writable channel, even though nothing is ever written to the file.
+            try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+                if (buffer.getInt() == FORMAT_VERSION) {
+                    List<RenderableObject> objects = new ArrayList<>();
+                    int objectCount = buffer.getInt();
+                    for (int i = 0; i < objectCount; ++i) {
+                        String name = readString(buffer);
+                        String texture = readString(buffer);
+                        ColorRGB color = new ColorRGB(buffer.getInt());
+                        boolean cacheVertices = buffer.get() != 0;
+                        int vertexBytes = buffer.getInt() * Float.BYTES;
+
+                        //Slice out the floats for this object, then skip past them for the next object.
+                        int vertexStart = buffer.position();
+                        buffer.limit(vertexStart + vertexBytes);
+                        FloatBuffer vertices = buffer.slice().asFloatBuffer();
+                        buffer.limit(buffer.capacity());
+                        buffer.position(vertexStart + vertexBytes);
+                        objects.add(new RenderableObject(name, texture, color, vertices, cacheVertices));
+                    }
+                    Files.setLastModifiedTime(cacheFile.toPath(), FileTime.fromMillis(System.currentTimeMillis()));
+                    return objects;
+                }
+            } catch (Exception e) {
+                InterfaceManager.coreInterface.logError("Could not read cached model " + cacheFile.getName() + ".  It will be parsed from its pack and re-cached.");
+                InterfaceManager.coreInterface.logError(e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Saves the passed-in parsed model to the cache for the passed-in key.  The file is written to a temp file and then
+     * moved into place, so other threads loading the same model will never see a partial file.  If there is already a file
+     * for the key, it's replaced, as we only save models that couldn't be loaded.  Once saved, old versions of the model are deleted.
+     */
+    static void saveModel(String cacheKey, List<RenderableObject> objects) {
+        File cacheFile = getCacheFile(cacheKey);
+        File tempFile = null;
+        try {
+            cacheFile.getParentFile().mkdirs();
+            tempFile = File.createTempFile(cacheKey, ".tmp", cacheFile.getParentFile());
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(objects.size());
+                for (RenderableObject object : objects) {
+                    writeString(output, object.name);
+                    writeString(output, object.texture);
+                    output.writeInt(object.color.rgbInt);
+                    output.writeBoolean(object.cacheVertices);
+                    output.writeInt(object.vertices.limit());
+                    for (int i = 0; i < object.vertices.limit(); ++i) {
+                        output.writeFloat(object.vertices.get(i));
+                    }
+                }
+            }
+            try {
+                Files.move(tempFile.toPath(), cacheFile.toPath());
+            } catch (FileAlreadyExistsException e) {
+                //Either the existing file couldn't be read, or another thread cached this model while we were writing.
+                //Replace it in both cases.  This can fail if the file is mapped on some systems, in which case we leave it.
+                try {
+                    Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e2) {
+                    tempFile.delete();
+                }
+            }
+
+            //Remove old versions of this model.  These may still be mapped on some systems, so don't worry if we can't.
+            String locationPrefix = cacheKey.substring(0, cacheKey.indexOf('_') + 1);
+            File[] oldFiles = cacheFile.getParentFile().listFiles((folder, fileName) -> fileName.startsWith(locationPrefix) && fileName.endsWith(CACHE_FILE_SUFFIX) && !fileName.equals(cacheFile.getName()));
+            if (oldFiles != null) {
+                for (File oldFile : oldFiles) {
+                    oldFile.delete();
+                }
+            }
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Could not save cached model " + cacheFile.getName() + ".");
+            InterfaceManager.coreInterface.logError(e.getMessage());
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Deletes all files in the cache that haven't been used in {@link #UNUSED_FILE_DAYS} days.  These are models from
+     * packs that were removed, or models whose old versions couldn't be deleted when they were replaced.
+     * Also deletes temp files left behind by crashes, as these are never used.
+     */
+    private static void pruneUnusedFiles() {
+        File[] cacheFiles = new File(new File(InterfaceManager.gameDirectory, "config"), CACHE_FOLDER_NAME).listFiles();
+        if (cacheFiles != null) {
+            long oldestUseTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(UNUSED_FILE_DAYS);
+            for (File cacheFile : cacheFiles) {
+                if (cacheFile.lastModified() < oldestUseTime) {
+                    cacheFile.delete();
+                }
+            }
+        }
+    }
+
+    private static File getCacheFile(String cacheKey) {
+        return new File(new File(new File(InterfaceManager.gameDirectory, "config"), CACHE_FOLDER_NAME), cacheKey + CACHE_FILE_SUFFIX);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte hashByte : bytes) {
+            hex.append(String.format("%02x", hashByte));
+        }
+        return hex.toString();
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        if (string == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+}
@@ -23,6 +23,18 @@ public final class ModelParserLT extends AModelParser {
         return "txt";
     }
 
+    @Override
+    protected boolean canCacheModels() {
+        //UVs come from the block textures, which can change with resource packs, so we can't cache these.
+        return false;
+    }
+
+    @Override
+    protected boolean canParseInBackground() {
+        //UVs come from the block texture atlas, which is only safe to read from the render thread.
+        return false;
+    }
+
     @Override
     protected List<RenderableObject> parseModelInternal(String modelLocation) {
         List<RenderableObject> objectList = new ArrayList<>();
@@ -23,6 +23,11 @@ public final class ModelParserOBJ extends AModelParser {
         return "obj";
     }
 
+    @Override
+    protected boolean canCacheModels() {
+        return true;
+    }
+
     @Override
     protected List<RenderableObject> parseModelInternal(String modelLocation) {
         List<RenderableObject> objectList = new ArrayList<>();
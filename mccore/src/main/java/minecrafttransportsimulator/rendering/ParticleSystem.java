@@ -0,0 +1,864 @@
+package minecrafttransportsimulator.rendering;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
+import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.entities.instances.EntityBullet;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.entities.instances.PartGun;
+import minecrafttransportsimulator.jsondefs.JSONParticle;
+import minecrafttransportsimulator.jsondefs.JSONParticle.JSONSubParticle;
+import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleSpawningOrientation;
+import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleType;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.sound.SoundInstance;
+
+/**
+ * Class that handles all particles in a world.  Particles used to be entities, but with thousands of them
+ * from things like smoke trails, the overhead of creating, tracking, and rendering each one as an entity
+ * added up quickly.  Instead, particles are stored as records that are pooled and re-used when they die,
+ * and all of them are updated in one loop via {@link #update()}.  This mimic's MC's particle logic,
+ * except we can manually set movement logic.
+ * <br><br>
+ * For rendering, particles aren't rendered one at a time.  Instead, they are written into one vertex
+ * stream per texture and lighting state, with per-vertex colors, so each stream renders in one call
+ * no matter how many particles are in it.  This is done via {@link #render(boolean, float, Point3D)},
+ * which should be called once per pass with the matrix state aligned to the camera.
+ * <br><br>
+ * Note that all calls to this class should be done from the client, as particles are client-only.
+ *
+ * @author don_bruce
+ */
+public class ParticleSystem {
+    private static final int BUFFERS_PER_VERTEX = 8;
+    private static final int COLORS_PER_VERTEX = 4;
+    private static final FloatBuffer STANDARD_RENDER_BUFFER = generateStandardBuffer();
+    private static final Map<String, FloatBuffer> parsedParticleBuffers = new HashMap<>();
+    private static final Random particleRandom = new Random();
+
+    private final List<Particle> particles = new ArrayList<>();
+    private final List<Particle> pool = new ArrayList<>();
+    private final Map<BatchKey, Batch> batches = new LinkedHashMap<>();
+    private final BatchKey lookupKey = new BatchKey();
+    private final TransformationMatrix helperTransform = new TransformationMatrix();
+    private final RotationMatrix helperRotation = new RotationMatrix();
+    private final Point3D helperPoint = new Point3D();
+    private final Point3D helperNormal = new Point3D();
+
+    /**
+     * Spawns a particle from the passed-in entity.  The switchbox, if not null, is used to offset
+     * and rotate the particle's position and velocity.
+     */
+    public void spawn(AEntityC_Renderable entitySpawning, JSONParticle definition, Point3D spawningPosition, AnimationSwitchbox switchbox) {
+        obtainParticle().spawn(entitySpawning.world, entitySpawning, entitySpawning.orientation, entitySpawning.motion, definition, spawningPosition, switchbox);
+    }
+
+    /**
+     * Updates all particles, and returns the ones that died to the pool.
+     * Should be called every tick.
+     */
+    public void update() {
+        if (!particles.isEmpty()) {
+            //Sub-particles are added to the end of the list as we go, so they get updated this tick too.
+            for (int i = 0; i < particles.size(); ++i) {
+                particles.get(i).update();
+            }
+
+            //Shift live particles down over dead ones.  This keeps them in spawn order, which matters for translucency.
+            int liveCount = 0;
+            for (int i = 0; i < particles.size(); ++i) {
+                Particle particle = particles.get(i);
+                if (particle.isValid) {
+                    particles.set(liveCount++, particle);
+                } else {
+                    particle.entitySpawning = null;
+                    pool.add(particle);
+                }
+            }
+            for (int i = particles.size() - 1; i >= liveCount; --i) {
+                particles.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Renders all particles for the current pass.  The camera position is used as the origin for the vertices,
+     * so the matrix state should be aligned to the camera when this is called.
+     */
+    public void render(boolean blendingEnabled, float partialTicks, Point3D cameraPosition) {
+        for (Particle particle : particles) {
+            if (!particle.killBadParticle && particle.ticksExisted != 0) {
+                particle.render(blendingEnabled, partialTicks, cameraPosition);
+            }
+        }
+
+        Iterator<Batch> iterator = batches.values().iterator();
+        while (iterator.hasNext()) {
+            RenderableObject object = iterator.next().object;
+            if (object.isTranslucent == blendingEnabled) {
+                if (object.vertices.position() != 0) {
+                    object.vertices.flip();
+                    object.vertexColors.flip();
+                    object.render(this);
+                    object.vertices.clear();
+                    object.vertexColors.clear();
+                } else {
+                    //Nothing rendered with this state this pass, so don't hold onto the buffers.
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private Particle obtainParticle() {
+        Particle particle = pool.isEmpty() ? new Particle() : pool.remove(pool.size() - 1);
+        particles.add(particle);
+        return particle;
+    }
+
+    private Batch getBatch(String texture, boolean isTranslucent, int worldLightValue, boolean disableLighting, boolean ignoreWorldShading) {
+        lookupKey.set(texture, isTranslucent, worldLightValue, disableLighting, ignoreWorldShading);
+        Batch batch = batches.get(lookupKey);
+        if (batch == null) {
+            BatchKey key = new BatchKey();
+            key.set(texture, isTranslucent, worldLightValue, disableLighting, ignoreWorldShading);
+            batch = new Batch(key);
+            batches.put(key, batch);
+        }
+        return batch;
+    }
+
+    private static float interpolate(float start, float end, float factor, boolean clamp) {
+        float value = start + (end - start) * factor;
+        return clamp ? value > 1.0F ? 1.0F : (value < 0.0F ? 0.0F : value) : value;
+    }
+
+    /**
+     * A single particle.  These are re-used, so all state must be reset in {@link #spawn(AWrapperWorld, AEntityC_Renderable, RotationMatrix, Point3D, JSONParticle, Point3D, AnimationSwitchbox)}.
+     */
+    private class Particle {
+        private final Point3D position = new Point3D();
+        private final Point3D prevPosition = new Point3D();
+        private final Point3D motion = new Point3D();
+        private final Point3D initialVelocity = new Point3D();
+        private final RotationMatrix orientation = new RotationMatrix();
+        private final RotationMatrix prevOrientation = new RotationMatrix();
+        private final BoundingBox boundingBox = new BoundingBox(position, 0.5);
+        private final FloatBuffer standardBuffer = FloatBuffer.allocate(STANDARD_RENDER_BUFFER.capacity());
+
+        //Constant properties.
+        private AWrapperWorld world;
+        private AEntityC_Renderable entitySpawning;
+        private JSONParticle definition;
+        private boolean textureIsTranslucent;
+        private int maxAge;
+        private ColorRGB startColor;
+        private ColorRGB endColor;
+        private ColorRGB staticColor;
+        private boolean hasModel;
+        private FloatBuffer vertices;
+
+        //Runtime variables.
+        private boolean isValid;
+        private long ticksExisted;
+        private int worldLightValue;
+        private boolean killBadParticle;
+        private boolean touchingBlocks;
+        private String texture;
+        private float timeOfNextTexture;
+        private int textureIndex;
+        private int textureDelayIndex;
+        private List<String> textureList;
+
+        private int timeOfCurrentColor;
+        private int timeOfNextColor;
+        private int colorIndex;
+        private int colorDelayIndex;
+
+        /**
+         * Spawns this particle.  The entity spawning may be null for sub-particles, in which case the orientation and
+         * motion of the parent particle are passed-in instead.
+         */
+        private void spawn(AWrapperWorld world, AEntityC_Renderable entitySpawning, RotationMatrix spawnerOrientation, Point3D spawnerMotion, JSONParticle definition, Point3D spawningPosition, AnimationSwitchbox switchbox) {
+            this.world = world;
+            this.entitySpawning = entitySpawning;
+            this.definition = definition;
+            isValid = true;
+            ticksExisted = 0;
+            worldLightValue = 0;
+            killBadParticle = false;
+            touchingBlocks = false;
+            timeOfNextTexture = 0;
+            textureIndex = 0;
+            textureDelayIndex = 0;
+            textureList = null;
+            timeOfCurrentColor = 0;
+            timeOfNextColor = 0;
+            colorIndex = 0;
+            colorDelayIndex = 0;
+            startColor = null;
+            endColor = null;
+            position.set(spawningPosition);
+            motion.set(0, 0, 0);
+            orientation.setToAngles(helperPoint.set(0, 0, 0));
+
+            helperTransform.resetTransforms();
+            if (definition.spawningOrientation == ParticleSpawningOrientation.ENTITY) {
+                orientation.set(spawnerOrientation);
+                helperTransform.set(orientation);
+            } else if (definition.spawningOrientation == ParticleSpawningOrientation.FACING) {
+                if (entitySpawning instanceof EntityBullet) {
+                    EntityBullet bullet = (EntityBullet) entitySpawning;
+                    if (bullet.sideHit != Axis.NONE) {
+                        helperRotation.setToZero().rotateX(-90);
+                        orientation.set(bullet.sideHit.facingRotation).multiplyTranspose(helperRotation);
+                        helperTransform.set(orientation);
+                    } else {
+                        killBadParticle = true;
+                    }
+                }
+            }
+            if (switchbox != null) {
+                helperTransform.multiply(switchbox.netMatrix);
+            }
+
+            if (definition.rot != null) {
+                orientation.multiply(definition.rot);
+            }
+            if (definition.rotationRandomness != null) {
+                helperPoint.set(definition.rotationRandomness);
+                helperPoint.x = (2 * Math.random() - 1) * helperPoint.x;
+                helperPoint.y = (2 * Math.random() - 1) * helperPoint.y;
+                helperPoint.z = (2 * Math.random() - 1) * helperPoint.z;
+                helperRotation.setToAngles(helperPoint);
+                orientation.multiply(helperRotation);
+            }
+            prevOrientation.set(orientation);
+
+            if (definition.pos != null) {
+                helperPoint.set(definition.pos);
+                if (entitySpawning != null) {
+                    helperPoint.multiply(entitySpawning.scale);
+                }
+            } else {
+                helperPoint.set(0, 0, 0);
+            }
+            helperPoint.transform(helperTransform);
+            position.add(helperPoint);
+            prevPosition.set(position);
+            if (definition.initialVelocity != null) {
+                if (definition.spreadRandomness != null) {
+                    motion.x = 2 * definition.spreadRandomness.x * Math.random() - definition.spreadRandomness.x;
+                    motion.y = 2 * definition.spreadRandomness.y * Math.random() - definition.spreadRandomness.y;
+                    motion.z = 2 * definition.spreadRandomness.z * Math.random() - definition.spreadRandomness.z;
+                    motion.add(definition.initialVelocity);
+                } else {
+                    //Add some basic randomness so particles don't all go in a line.
+                    motion.x = definition.initialVelocity.x + 0.2 - Math.random() * 0.4;
+                    motion.y = definition.initialVelocity.y + 0.2 - Math.random() * 0.4;
+                    motion.z = definition.initialVelocity.z + 0.2 - Math.random() * 0.4;
+                }
+                //Scale down by 10 since most of the time we go too fast.
+                motion.scale(1D / 10D);
+                motion.rotate(helperTransform);
+            }
+            if (definition.relativeInheritedVelocityFactor != null) {
+                helperRotation.setToVector(spawnerMotion, true);
+                helperPoint.set(spawnerMotion);
+                if (entitySpawning instanceof EntityVehicleF_Physics) {
+                    helperPoint.scale(((EntityVehicleF_Physics) entitySpawning).speedFactor);
+                } else if (entitySpawning instanceof APart) {
+                    APart partSpawning = (APart) entitySpawning;
+                    if (partSpawning.vehicleOn != null) {
+                        helperPoint.scale(partSpawning.vehicleOn.speedFactor);
+                    }
+                }
+                helperPoint.reOrigin(helperRotation).multiply(definition.relativeInheritedVelocityFactor).rotate(helperRotation);
+                motion.add(helperPoint);
+            }
+            initialVelocity.set(motion);
+
+            boundingBox.widthRadius = definition.hitboxSize / 2D;
+            boundingBox.heightRadius = boundingBox.widthRadius;
+            boundingBox.depthRadius = boundingBox.widthRadius;
+            maxAge = generateMaxAge();
+            if (definition.color != null) {
+                if (definition.toColor != null) {
+                    startColor = definition.color;
+                    endColor = definition.toColor;
+                    timeOfNextColor = maxAge;
+                    staticColor = null;
+                } else {
+                    staticColor = definition.color;
+                }
+            } else {
+                if (definition.colorList != null) {
+                    if (definition.randomColor) {
+                        colorIndex = particleRandom.nextInt(definition.colorList.size());
+                    }
+                    startColor = definition.colorList.get(colorIndex);
+                    if (colorIndex + 1 < definition.colorList.size()) {
+                        endColor = definition.colorList.get(colorIndex + 1);
+                    } else {
+                        endColor = definition.colorList.get(0);
+                    }
+
+                    if (definition.colorDelays != null) {
+                        timeOfNextColor = definition.colorDelays.get(colorDelayIndex);
+                    } else {
+                        timeOfNextColor = maxAge;
+                    }
+                    staticColor = null;
+                } else {
+                    staticColor = ColorRGB.WHITE;
+                }
+            }
+
+            String model = definition.model;
+            if (definition.texture != null) {
+                texture = definition.texture;
+            } else if (definition.type == ParticleType.BREAK) {
+                texture = RenderableObject.GLOBAL_TEXTURE_NAME;
+            } else if (definition.type == ParticleType.CASING) {
+                if (entitySpawning instanceof PartGun) {
+                    texture = ((PartGun) entitySpawning).lastLoadedBullet.definition.bullet.casingTexture;
+                    model = ((PartGun) entitySpawning).lastLoadedBullet.definition.bullet.casingModel;
+                } else {
+                    texture = null;
+                }
+                if (texture == null) {
+                    //Not supposed to be spawning any casings for this bullet.
+                    killBadParticle = true;
+                    return;
+                }
+            } else if (definition.type == ParticleType.SMOKE) {
+                textureList = new ArrayList<>();
+                for (int i = 0; i <= 11; ++i) {
+                    textureList.add("mts:textures/particles/big_smoke_" + i + ".png");
+                }
+                texture = textureList.get(0);
+                timeOfNextTexture = (int) (maxAge / 12F);
+            } else if (definition.textureList != null) {
+                //Set initial texture delay and texture.
+                textureList = definition.textureList;
+                if (definition.randomTexture) {
+                    textureIndex = particleRandom.nextInt(textureList.size());
+                }
+                texture = textureList.get(textureIndex);
+                if (definition.textureDelays != null) {
+                    timeOfNextTexture = definition.textureDelays.get(textureDelayIndex);
+                } else {
+                    timeOfNextTexture = maxAge;
+                }
+            } else {
+                texture = "mts:textures/particles/" + definition.type.name().toLowerCase(Locale.ROOT) + ".png";
+            }
+            textureIsTranslucent = texture.toLowerCase(Locale.ROOT).contains(AModelParser.TRANSLUCENT_OBJECT_NAME);
+
+            hasModel = model != null;
+            if (hasModel) {
+                vertices = parsedParticleBuffers.get(model);
+                if (vertices == null) {
+                    String modelDomain = model.substring(0, model.indexOf(':'));
+                    String modelPath = model.substring(modelDomain.length() + 1);
+                    List<RenderableObject> parsedObjects = AModelParser.parseModel("/assets/" + modelDomain + "/" + modelPath);
+                    int totalVertices = 0;
+                    for (RenderableObject parsedObject : parsedObjects) {
+                        totalVertices += parsedObject.vertices.capacity();
+                    }
+                    vertices = FloatBuffer.allocate(totalVertices);
+                    for (RenderableObject parsedObject : parsedObjects) {
+                        vertices.put(parsedObject.vertices);
+                    }
+                    vertices.flip();
+                    parsedParticleBuffers.put(model, vertices);
+                }
+            } else {
+                standardBuffer.clear();
+                standardBuffer.put(STANDARD_RENDER_BUFFER);
+                STANDARD_RENDER_BUFFER.rewind();
+                standardBuffer.flip();
+                vertices = standardBuffer;
+            }
+
+            if (definition.type == ParticleType.BREAK) {
+                if (world.isAir(position)) {
+                    //Don't spawn break particles in the air, they're null textures.
+                    killBadParticle = true;
+                    return;
+                } else {
+                    float[] uvPoints = InterfaceManager.renderingInterface.getBlockBreakTexture(world, position);
+                    setParticleTextureBounds(uvPoints[0], uvPoints[1], uvPoints[2], uvPoints[3]);
+                }
+            } else if (!hasModel) {
+                setParticleTextureBounds(0, 1, 0, 1);
+            }
+            updateOrientation();
+        }
+
+        private void update() {
+            ++ticksExisted;
+            prevPosition.set(position);
+            prevOrientation.set(orientation);
+            worldLightValue = InterfaceManager.renderingInterface.getLightingAtPosition(position);
+
+            //Check age to see if we are on our last tick or if we're a bad particle.
+            if (ticksExisted == maxAge || killBadParticle) {
+                isValid = false;
+                return;
+            }
+
+            //Set movement.
+            if (!definition.stopsOnGround || !touchingBlocks) {
+                if (definition.movementDuration != 0) {
+                    if (ticksExisted <= definition.movementDuration) {
+                        //Remove last tick's share of the initial velocity, and add this tick's.
+                        motion.addScaled(initialVelocity, (definition.movementDuration - ticksExisted) / (float) definition.movementDuration);
+                        motion.addScaled(initialVelocity, -(definition.movementDuration - (ticksExisted - 1)) / (float) definition.movementDuration);
+                    }
+                }
+
+                if (definition.movementVelocity != null) {
+                    motion.add(definition.movementVelocity);
+                }
+                if (definition.relativeMovementVelocity != null) {
+                    helperRotation.setToVector(motion, true);
+                    helperPoint.set(definition.relativeMovementVelocity).rotate(helperRotation);
+                    motion.add(helperPoint);
+                }
+                if (definition.movementVelocity == null && definition.relativeMovementVelocity == null) {
+                    switch (definition.type) {
+                        case SMOKE: {
+                            //Update the motions to make the smoke float up.
+                            motion.x *= 0.9;
+                            motion.y += 0.004;
+                            motion.z *= 0.9;
+                            break;
+                        }
+                        case FLAME: {
+                            //Flame just slowly drifts in the direction it was going.
+                            motion.scale(0.96);
+                            break;
+                        }
+                        case BUBBLE: {
+                            //Bubbles float up until they break the surface of the water, then they pop.
+                            if (!world.isBlockLiquid(position)) {
+                                isValid = false;
+                            } else {
+                                motion.scale(0.85).add(0, 0.002D, 0);
+                            }
+                            break;
+                        }
+                        case BREAK: {
+                            //Breaking just fall down quickly.
+                            if (!touchingBlocks) {
+                                motion.scale(0.98).add(0D, -0.04D, 0D);
+                            } else {
+                                motion.scale(0.0);
+                            }
+                            break;
+                        }
+                        default: {
+                            //No default movement for generic particles.
+                            break;
+                        }
+                    }
+                }
+
+                if (definition.terminalVelocity != null) {
+                    if (motion.x > definition.terminalVelocity.x) {
+                        motion.x = definition.terminalVelocity.x;
+                    }
+                    if (motion.x < -definition.terminalVelocity.x) {
+                        motion.x = -definition.terminalVelocity.x;
+                    }
+                    if (motion.y > definition.terminalVelocity.y) {
+                        motion.y = definition.terminalVelocity.y;
+                    }
+                    if (motion.y < -definition.terminalVelocity.y) {
+                        motion.y = -definition.terminalVelocity.y;
+                    }
+                    if (motion.z > definition.terminalVelocity.z) {
+                        motion.z = definition.terminalVelocity.z;
+                    }
+                    if (motion.z < -definition.terminalVelocity.z) {
+                        motion.z = -definition.terminalVelocity.z;
+                    }
+                }
+
+                //Check collision movement.  If we hit a block, don't move.
+                if (!definition.ignoreCollision) {
+                    touchingBlocks = boundingBox.updateCollisions(world, motion, true);
+                    if (touchingBlocks) {
+                        motion.subtract(boundingBox.currentCollisionDepth);
+                        if (definition.stopsOnGround && definition.groundSounds != null) {
+                            double distance = position.distanceTo(InterfaceManager.clientInterface.getClientPlayer().getPosition());
+                            if (distance < SoundInstance.DEFAULT_MAX_DISTANCE) {
+                                SoundInstance sound = new SoundInstance(new ParticleSoundSource(world, position), definition.groundSounds.get(particleRandom.nextInt(definition.groundSounds.size())));
+                                sound.volume = (float) (1 - distance / SoundInstance.DEFAULT_MAX_DISTANCE);
+                                InterfaceManager.soundInterface.playQuickSound(sound);
+                            }
+                        }
+                    }
+                }
+                position.add(motion);
+
+                //Update orientation.
+                updateOrientation();
+                if (definition.rotationVelocity != null) {
+                    helperRotation.setToAngles(definition.rotationVelocity);
+                    orientation.multiply(helperRotation);
+                }
+            }
+
+            //Check if we need to change textures or colors.
+            if (textureList != null && timeOfNextTexture <= ticksExisted) {
+                if (++textureIndex == textureList.size()) {
+                    textureIndex = 0;
+                }
+                texture = textureList.get(textureIndex);
+                if (definition.textureDelays != null) {
+                    if (++textureDelayIndex == definition.textureDelays.size()) {
+                        textureDelayIndex = 0;
+                    }
+                    timeOfNextTexture += definition.textureDelays.get(textureDelayIndex);
+                } else {
+                    //Assume internal smoke, so use constant delay.
+                    timeOfNextTexture += maxAge / 12F;
+                }
+            }
+            if (definition.colorDelays != null && timeOfNextColor == ticksExisted) {
+                if (++colorIndex == definition.colorList.size()) {
+                    colorIndex = 0;
+                }
+                startColor = definition.colorList.get(colorIndex);
+                if (colorIndex + 1 < definition.colorList.size()) {
+                    endColor = definition.colorList.get(colorIndex + 1);
+                } else {
+                    endColor = definition.colorList.get(0);
+                }
+
+                if (++colorDelayIndex == definition.colorDelays.size()) {
+                    colorDelayIndex = 0;
+                }
+                timeOfCurrentColor = timeOfNextColor;
+                timeOfNextColor += definition.colorDelays.get(colorDelayIndex);
+            }
+
+            //Check for sub particles.
+            if (definition.subParticles != null) {
+                for (JSONSubParticle subDef : definition.subParticles) {
+                    if (subDef.particle.spawnEveryTick ? subDef.time >= ticksExisted : subDef.time == ticksExisted) {
+                        obtainParticle().spawn(world, null, orientation, motion, subDef.particle, position, null);
+                    }
+                }
+            }
+        }
+
+        private void render(boolean blendingEnabled, float partialTicks, Point3D cameraPosition) {
+            float alpha;
+            if (definition.toTransparency != 0) {
+                alpha = interpolate(definition.transparency, definition.toTransparency, (ticksExisted + partialTicks) / maxAge, true);
+            } else {
+                alpha = definition.transparency != 0 ? definition.transparency : 1.0F;
+            }
+            if (definition.fadeTransparencyTime > maxAge - ticksExisted) {
+                alpha *= (maxAge - ticksExisted) / (float) definition.fadeTransparencyTime;
+            }
+            if ((!hasModel || textureIsTranslucent || alpha < 1.0) == blendingEnabled) {
+                float red;
+                float green;
+                float blue;
+                if (staticColor == null) {
+                    float colorDelta = (ticksExisted + partialTicks - timeOfCurrentColor) / (timeOfNextColor - timeOfCurrentColor);
+                    red = interpolate(startColor.red, endColor.red, colorDelta, true);
+                    green = interpolate(startColor.green, endColor.green, colorDelta, true);
+                    blue = interpolate(startColor.blue, endColor.blue, colorDelta, true);
+                } else {
+                    red = staticColor.red;
+                    green = staticColor.green;
+                    blue = staticColor.blue;
+                }
+
+                double totalScale;
+                if (definition.type == ParticleType.FLAME && definition.scale == 0 && definition.toScale == 0) {
+                    totalScale = 1.0F - Math.pow((ticksExisted + partialTicks) / maxAge, 2) / 2F;
+                } else if (definition.toScale != 0) {
+                    totalScale = interpolate(definition.scale, definition.toScale, (ticksExisted + partialTicks) / maxAge, false);
+                } else if (definition.scale != 0) {
+                    totalScale = definition.scale;
+                } else {
+                    totalScale = 1.0;
+                }
+                if (definition.fadeScaleTime > maxAge - ticksExisted) {
+                    totalScale *= (maxAge - ticksExisted) / (float) definition.fadeScaleTime;
+                }
+
+                //Set up the transform from the camera to the interpolated particle, and write our vertices with it.
+                helperRotation.interploate(prevOrientation, orientation, partialTicks);
+                helperPoint.set(prevPosition).interpolate(position, partialTicks).subtract(cameraPosition);
+                helperTransform.resetTransforms();
+                helperTransform.setTranslation(helperPoint);
+                helperTransform.applyRotation(helperRotation);
+                if (entitySpawning != null) {
+                    helperTransform.applyScaling(totalScale * entitySpawning.scale.x, totalScale * entitySpawning.scale.y, totalScale * entitySpawning.scale.z);
+                } else {
+                    helperTransform.applyScaling(totalScale, totalScale, totalScale);
+                }
+
+                Batch batch = getBatch(texture, blendingEnabled, worldLightValue, definition.type == ParticleType.FLAME || definition.isBright, !hasModel || definition.isBright);
+                batch.ensureCapacity(vertices.limit());
+                FloatBuffer batchVertices = batch.object.vertices;
+                FloatBuffer batchColors = batch.object.vertexColors;
+                for (int i = 0; i + BUFFERS_PER_VERTEX <= vertices.limit(); i += BUFFERS_PER_VERTEX) {
+                    helperNormal.set(vertices.get(i), vertices.get(i + 1), vertices.get(i + 2)).rotate(helperRotation);
+                    helperPoint.set(vertices.get(i + 5), vertices.get(i + 6), vertices.get(i + 7)).transform(helperTransform);
+                    batchVertices.put((float) helperNormal.x);
+                    batchVertices.put((float) helperNormal.y);
+                    batchVertices.put((float) helperNormal.z);
+                    batchVertices.put(vertices.get(i + 3));
+                    batchVertices.put(vertices.get(i + 4));
+                    batchVertices.put((float) helperPoint.x);
+                    batchVertices.put((float) helperPoint.y);
+                    batchVertices.put((float) helperPoint.z);
+                    batchColors.put(red);
+                    batchColors.put(green);
+                    batchColors.put(blue);
+                    batchColors.put(alpha);
+                }
+            }
+        }
+
+        private void updateOrientation() {
+            switch (definition.renderingOrientation) {
+                case FIXED: {
+                    //No update since we never change.
+                    break;
+                }
+                case PLAYER: {
+                    IWrapperPlayer clientPlayer = InterfaceManager.clientInterface.getClientPlayer();
+                    helperPoint.set(clientPlayer.getEyePosition()).subtract(position);
+                    orientation.setToVector(helperPoint, true);
+                    break;
+                }
+                case YAXIS: {
+                    IWrapperPlayer clientPlayer = InterfaceManager.clientInterface.getClientPlayer();
+                    helperPoint.set(clientPlayer.getEyePosition()).subtract(position);
+                    helperPoint.y = 0;
+                    orientation.setToVector(helperPoint, true);
+                    break;
+                }
+                case MOTION: {
+                    orientation.setToVector(motion, true);
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Gets the max age of the particle.  This tries to use the definition's
+         * maxAge, but will use Vanilla values if not set.  This should only be
+         * called once, as the Vanilla values have a random element that means
+         * this function will return different values on each call for them.
+         */
+        private int generateMaxAge() {
+            if (definition.duration != 0) {
+                return definition.duration;
+            } else {
+                switch (definition.type) {
+                    case SMOKE:
+                        return 33;
+                    case BUBBLE:
+                    case FLAME:
+                        return (int) (8.0D / (Math.random() * 0.8D + 0.2D)) + 4;
+                    case BREAK:
+                        return (int) (4.0D / (Math.random() * 0.9D + 0.1D));
+                    default://Generic
+                        return (int) (8.0D / (Math.random() * 0.8D + 0.2D));
+                }
+            }
+        }
+
+        private void setParticleTextureBounds(float u, float U, float v, float V) {
+            for (int i = 0; i < 6; ++i) {
+                switch (i) {
+                    case (0):
+                    case (3): {//Bottom-right
+                        vertices.put(i * 8 + 3, U);
+                        vertices.put(i * 8 + 4, V);
+                        break;
+                    }
+                    case (1): {//Top-right
+                        vertices.put(i * 8 + 3, U);
+                        vertices.put(i * 8 + 4, v);
+                        break;
+                    }
+                    case (2):
+                    case (4): {//Top-left
+                        vertices.put(i * 8 + 3, u);
+                        vertices.put(i * 8 + 4, v);
+                        break;
+                    }
+                    case (5): {//Bottom-left
+                        vertices.put(i * 8 + 3, u);
+                        vertices.put(i * 8 + 4, V);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A vertex stream for all particles with the same render state.  The buffers grow as required,
+     * and are re-used every frame, so they won't need to grow again unless more particles show up.
+     */
+    private static class Batch {
+        private final RenderableObject object;
+
+        private Batch(BatchKey key) {
+            object = new RenderableObject("particle_batch", key.texture, new ColorRGB(), FloatBuffer.allocate(STANDARD_RENDER_BUFFER.capacity()), false);
+            object.vertexColors = FloatBuffer.allocate(STANDARD_RENDER_BUFFER.capacity() / BUFFERS_PER_VERTEX * COLORS_PER_VERTEX);
+            object.isTranslucent = key.isTranslucent;
+            object.setLighting(key.worldLightValue, key.disableLighting, key.ignoreWorldShading);
+        }
+
+        private void ensureCapacity(int floatsToAdd) {
+            if (object.vertices.remaining() < floatsToAdd) {
+                FloatBuffer newVertices = FloatBuffer.allocate(Math.max(object.vertices.capacity() * 2, object.vertices.position() + floatsToAdd));
+                object.vertices.flip();
+                newVertices.put(object.vertices);
+                object.vertices = newVertices;
+
+                FloatBuffer newColors = FloatBuffer.allocate(newVertices.capacity() / BUFFERS_PER_VERTEX * COLORS_PER_VERTEX);
+                object.vertexColors.flip();
+                newColors.put(object.vertexColors);
+                object.vertexColors = newColors;
+            }
+        }
+    }
+
+    private static class BatchKey {
+        private String texture;
+        private boolean isTranslucent;
+        private int worldLightValue;
+        private boolean disableLighting;
+        private boolean ignoreWorldShading;
+
+        private void set(String texture, boolean isTranslucent, int worldLightValue, boolean disableLighting, boolean ignoreWorldShading) {
+            this.texture = texture;
+            this.isTranslucent = isTranslucent;
+            this.worldLightValue = worldLightValue;
+            this.disableLighting = disableLighting;
+            this.ignoreWorldShading = ignoreWorldShading;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object instanceof BatchKey) {
+                BatchKey other = (BatchKey) object;
+                return texture.equals(other.texture) && isTranslucent == other.isTranslucent && worldLightValue == other.worldLightValue && disableLighting == other.disableLighting && ignoreWorldShading == other.ignoreWorldShading;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = texture.hashCode();
+            hash = hash * 31 + worldLightValue;
+            hash = hash * 31 + (isTranslucent ? 1 : 0) + (disableLighting ? 2 : 0) + (ignoreWorldShading ? 4 : 0);
+            return hash;
+        }
+    }
+
+    /**
+     * Source for particle ground sounds.  Sounds need an entity to play from, and particles aren't entities,
+     * so one of these is made at the particle's position for each sound.  They are never added to the world.
+     */
+    private static class ParticleSoundSource extends AEntityB_Existing {
+        private ParticleSoundSource(AWrapperWorld world, Point3D position) {
+            super(world, position, ZERO_FOR_CONSTRUCTOR, ZERO_FOR_CONSTRUCTOR);
+        }
+
+        @Override
+        public boolean shouldSync() {
+            return false;
+        }
+
+        @Override
+        public boolean shouldSavePosition() {
+            return false;
+        }
+    }
+
+    /**
+     * Helper method to generate a standard buffer to be used for all particles as a
+     * starting buffer.  Saves computation when creating particles.  Particle is assumed
+     * to have a size of 1x1 with UV-spanning 0->1.
+     */
+    private static FloatBuffer generateStandardBuffer() {
+        FloatBuffer buffer = FloatBuffer.allocate(6 * 8);
+        for (int i = 0; i < 6; ++i) {
+            //Normal is always 0, 0, 1.
+            buffer.put(0);
+            buffer.put(0);
+            buffer.put(1);
+            switch (i) {
+                case (0):
+                case (3): {//Bottom-right
+                    buffer.put(1);
+                    buffer.put(1);
+                    buffer.put(0.5F);
+                    buffer.put(-0.5F);
+                    break;
+                }
+                case (1): {//Top-right
+                    buffer.put(1);
+                    buffer.put(0);
+                    buffer.put(0.5F);
+                    buffer.put(0.5F);
+                    break;
+                }
+                case (2):
+                case (4): {//Top-left
+                    buffer.put(0);
+                    buffer.put(0);
+                    buffer.put(-0.5F);
+                    buffer.put(0.5F);
+                    break;
+                }
+                case (5): {//Bottom-left
+                    buffer.put(0);
+                    buffer.put(1);
+                    buffer.put(-0.5F);
+                    buffer.put(-0.5F);
+                    break;
+                }
+            }
+            //Z is always 0.
+            buffer.put(0);
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
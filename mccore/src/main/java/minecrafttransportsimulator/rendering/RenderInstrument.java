@@ -1,9 +1,13 @@
 package minecrafttransportsimulator.rendering;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.VariableHandle;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
@@ -131,39 +135,49 @@ public final class RenderInstrument {
      */
     public static class InstrumentSwitchbox extends AnimationSwitchbox {
         private final JSONInstrumentComponent component;
+        private final Map<DurationDelayClock, VariableHandle> suffixedVariables = new HashMap<>();
+        private int suffixedPartNumber;
 
         public InstrumentSwitchbox(AEntityD_Definable<?> entity, JSONInstrumentComponent component) {
             super(entity, component.animations, null);
             this.component = component;
         }
 
-        private String convertAnimationPartNumber(DurationDelayClock clock) {
+        private VariableHandle convertAnimationPartNumber(DurationDelayClock clock) {
             //If the partNumber is non-zero, we need to check if we are applying a part-based animation.
             //If so, we need to let the animation system know by adding a suffix to the variable.
             //Otherwise, as we don't pass-in the part, it will assume it's an entity variable.
             //We also need to set the partNumber to 1 if we have a part number of 0 and we're
             //doing a part-specific animation.
             //Skip adding a suffix if one already exists.
-            int variablePartNumber = AEntityF_Multipart.getVariableNumber(clock.animation.variable);
-            final boolean addSuffix = variablePartNumber == -1 && !(entity instanceof APart) && (clock.animation.variable.startsWith("engine_") || clock.animation.variable.startsWith("propeller_") || clock.animation.variable.startsWith("gun_") || clock.animation.variable.startsWith("seat_"));
+            final boolean addSuffix = clock.variable.partNumber == -1 && !(entity instanceof APart) && (clock.animation.variable.startsWith("engine_") || clock.animation.variable.startsWith("propeller_") || clock.animation.variable.startsWith("gun_") || clock.animation.variable.startsWith("seat_"));
             if (partNumber == 0 && addSuffix) {
                 partNumber = 1;
             }
-            String oldVariable = clock.animation.variable;
             if (addSuffix) {
-                clock.animation.variable += "_" + partNumber;
+                //Cache the suffixed variable so we don't have to re-create it every frame.
+                if (suffixedPartNumber != partNumber) {
+                    suffixedVariables.clear();
+                    suffixedPartNumber = partNumber;
+                }
+                VariableHandle suffixedVariable = suffixedVariables.get(clock);
+                if (suffixedVariable == null) {
+                    suffixedVariable = VariableHandle.of(clock.animation.variable + "_" + partNumber);
+                    suffixedVariables.put(clock, suffixedVariable);
+                }
+                return suffixedVariable;
+            } else {
+                return clock.variable;
             }
-            return oldVariable;
         }
 
         @Override
         public void runTranslation(DurationDelayClock clock, float partialTicks) {
             //Offset the coords based on the translated amount.
             //Adjust the window to either move or scale depending on settings.
-            String oldVariable = convertAnimationPartNumber(clock);
-            double xTranslation = entity.getAnimatedVariableValue(clock, clock.animation.axis.x, partialTicks);
-            double yTranslation = entity.getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks);
-            clock.animation.variable = oldVariable;
+            VariableHandle variable = convertAnimationPartNumber(clock);
+            double xTranslation = entity.getAnimatedVariableValue(clock, variable, clock.animation.axis.x, 0, partialTicks);
+            double yTranslation = entity.getAnimatedVariableValue(clock, variable, clock.animation.axis.y, 0, partialTicks);
 
             if (component.extendWindow) {
                 //We need to add to the edge of the window in this case rather than move the entire window.
@@ -208,9 +222,8 @@ public final class RenderInstrument {
 
         @Override
         public void runRotation(DurationDelayClock clock, float partialTicks) {
-            String oldVariable = convertAnimationPartNumber(clock);
-            double variableValue = -entity.getAnimatedVariableValue(clock, clock.animation.axis.z, partialTicks);
-            clock.animation.variable = oldVariable;
+            VariableHandle variable = convertAnimationPartNumber(clock);
+            double variableValue = -entity.getAnimatedVariableValue(clock, variable, clock.animation.axis.z, 0, partialTicks);
 
             //Depending on what variables are set we do different rendering operations.
             //If we are rotating the window, but not the texture we should offset the texture points to that rotated point.
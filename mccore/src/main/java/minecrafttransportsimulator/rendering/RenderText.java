@@ -1,11 +1,33 @@
 package minecrafttransportsimulator.rendering;
 
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.FloatBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.zip.CRC32;
 
 import javax.imageio.ImageIO;
 
@@ -55,7 +77,7 @@ public class RenderText {
         if (!text.isEmpty()) {
             transformHelper.resetTransforms();
             transformHelper.applyTranslation(position);
-            getFontData(fontName).renderText(text, transformHelper, null, alignment, scale, autoScale, wrapWidth, true, color, renderLit, worldLightValue, true);
+            getFontData(fontName).renderText(text, null, transformHelper, null, alignment, scale, autoScale, wrapWidth, true, color, renderLit, worldLightValue, true);
         }
     }
 
@@ -71,10 +93,40 @@ public class RenderText {
             //Render the text.
             transformHelper.set(transform);
             transformHelper.applyTranslation(definition.pos);
-            getFontData(definition.fontName).renderText(text, transformHelper, definition.rot, TextAlignment.values()[definition.renderPosition], definition.scale, definition.autoScale, definition.wrapWidth, pixelCoords, color, definition.lightsUp && entity.renderTextLit(), entity.worldLightValue, false);
+            getFontData(definition.fontName).renderText(text, entity, transformHelper, definition.rot, TextAlignment.values()[definition.renderPosition], definition.scale, definition.autoScale, definition.wrapWidth, pixelCoords, color, definition.lightsUp && entity.renderTextLit(), entity.worldLightValue, false);
         }
     }
 
+    /**
+     * Releases the cached text meshes that were rendered for the passed-in entity.  Meshes are shared
+     * between entities showing the same text, but each entity has its own buffers for them, so this
+     * should be called when the entity is removed to free them.
+     */
+    public static void releaseText(AEntityD_Definable<?> entity) {
+        for (FontData fontData : fontDatas.values()) {
+            fontData.releaseMeshes(entity);
+        }
+    }
+
+    /**
+     * Saves any font metrics that were scanned since the last save.  Scanning only marks the metrics
+     * for saving, so this should be called once per tick rather than writing on every scanned page.
+     */
+    public static void savePageCache() {
+        FontData.savePageCache();
+    }
+
+    /**
+     * Clears all font data and cached text meshes.  This should be called when resources are reloaded,
+     * as the font textures may have changed.  Font metrics will be re-loaded on the next render.
+     */
+    public static void clearFontData() {
+        for (FontData fontData : fontDatas.values()) {
+            fontData.clearMeshes();
+        }
+        fontDatas.clear();
+    }
+
     /**
      * Returns the width of the passed-in text.  Units are in pixels,
      * though these are standardized for the default font.  Fonts with
@@ -123,6 +175,9 @@ public class RenderText {
         private static final ColorRGB[] COLORS = new ColorRGB[]{new ColorRGB(0, 0, 0), new ColorRGB(0, 0, 170), new ColorRGB(0, 170, 0), new ColorRGB(0, 170, 170), new ColorRGB(170, 0, 0), new ColorRGB(170, 0, 170), new ColorRGB(255, 170, 0), new ColorRGB(170, 170, 170), new ColorRGB(85, 85, 85), new ColorRGB(85, 85, 255), new ColorRGB(85, 255, 85), new ColorRGB(85, 255, 255), new ColorRGB(255, 85, 85), new ColorRGB(255, 85, 255), new ColorRGB(255, 255, 85), new ColorRGB(255, 255, 255)};
         private static final FontRenderState[] STATES = FontRenderState.generateDefaults();
         private static final int MAX_VERTCIES_PER_RENDER = 1000 * 6;
+        private static final int MAX_CACHED_MESHES = 512;
+        private static final int PAGE_CACHE_FORMAT_VERSION = 1;
+        private static final String PAGE_CACHE_FILE_NAME = "mtsfontcache.bin";
         private static final Point3D adjustmentOffset = new Point3D();
 
         /**
@@ -142,30 +197,17 @@ public class RenderText {
          **/
         private final float charTopOffset;
         /**
-         * Char width, in actual game texture pixels (not texture pixels).  May be fractions of a pixel if the font is up-scaled.
-         **/
-        private final float[] charWidths = new float[Character.MAX_VALUE];
-        /**
-         * Char spacing, in actual game texture pixels (not texture pixels).  May be fractions of a pixel if the font is up-scaled.
-         * This is for BOTH the left and right side, total spacing is double this.
+         * Glyph metrics, one page per texture sheet.  Pages are null until the first char on them is used.
          **/
-        private final float[] charSpacings = new float[Character.MAX_VALUE];
+        private final GlyphPage[] pages = new GlyphPage[(Character.MAX_VALUE + 1) / CHARS_PER_TEXTURE_SHEET];
         /**
-         * Left-most offset for font text position, from 0-1, relative to the texture png.
+         * Scanned page metrics for all fonts, keyed by texture location and checksum.  Loaded from disk on first use.
          **/
-        private final float[] offsetsMinU = new float[Character.MAX_VALUE];
+        private static Map<String, GlyphPage> cachedPages;
         /**
-         * Right-most offset for font text position, from 0-1, relative to the texture png.
+         * True if a page was scanned since the page cache was last saved.
          **/
-        private final float[] offsetsMaxU = new float[Character.MAX_VALUE];
-        /**
-         * Bottom-most offset for font text position, from 0-1, relative to the texture png.
-         **/
-        private final float[] offsetsMinV = new float[Character.MAX_VALUE];
-        /**
-         * Top-most offset for font text position, from 0-1, relative to the texture png.
-         **/
-        private final float[] offsetsMaxV = new float[Character.MAX_VALUE];
+        private static boolean cachedPagesChanged;
 
         /**
          * Font render objects.  These are created initially for use in render calls.  Referencing is as follows:
@@ -179,6 +221,17 @@ public class RenderText {
          * At the end, it will be populated and should be looped over for drawing.
          */
         private final Set<RenderableObject> activeRenderObjects = new LinkedHashSet<>();
+        /**
+         * Cached text meshes.  Most text, such as signs and license plates, doesn't change between frames,
+         * so we keep the vertices we generated and only re-generate them when the text or its formatting changes.
+         * This is in access-order, so the least-recently rendered mesh is removed when we hit the limit.
+         */
+        private final Map<TextMeshKey, TextMesh> cachedMeshes = new LinkedHashMap<>(16, 0.75F, true);
+        /**
+         * Mutable key for looking up meshes in {@link #cachedMeshes} without creating a new key every call.
+         * If the lookup misses, this key is put into the map and replaced with a new one.
+         **/
+        private TextMeshKey lookupKey = new TextMeshKey();
         /**
          * Mutable helper for doing vertex-building operations.
          **/
@@ -204,131 +257,329 @@ public class RenderText {
             } else {
                 fontBaseLocation = "/assets/" + fontName.substring(0, fontName.indexOf(":")) + "/textures/fonts/" + fontName.substring(fontName.indexOf(":") + 1) + "/unicode_page_";
             }
-
-            //Parse char widths and the height when applicable.
-            float scale = 1.0F;
-            float charTopOffset = 0;
             for (int i = 0; i < fontLocations.length; ++i) {
                 fontLocations[i] = String.format("%s%02x.png", fontBaseLocation, i);
+            }
+
+            //Get the height from the first page, as that has the 0 char.
+            //All other pages are loaded when they are first used.
+            GlyphPage firstPage = getPage('0');
+            this.charScale = firstPage.scale;
+            this.charTopOffset = firstPage.topOffset;
+        }
+
+        private float getCharWidth(char textChar) {
+            return getPage(textChar).charWidths[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getCharSpacing(char textChar) {
+            return getPage(textChar).charSpacings[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getMinU(char textChar) {
+            return getPage(textChar).offsetsMinU[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getMaxU(char textChar) {
+            return getPage(textChar).offsetsMaxU[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getMinV(char textChar) {
+            return getPage(textChar).offsetsMinV[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getMaxV(char textChar) {
+            return getPage(textChar).offsetsMaxV[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        /**
+         * Returns the glyph page for the passed-in char, loading it if this is the first time it was used.
+         * Pages are loaded from the metrics cache if the texture hasn't changed since they were cached,
+         * otherwise the texture is scanned and the result is saved to the cache.
+         */
+        private GlyphPage getPage(char textChar) {
+            int pageIndex = textChar / CHARS_PER_TEXTURE_SHEET;
+            GlyphPage page = pages[pageIndex];
+            if (page == null) {
+                page = pageIndex < fontLocations.length ? loadPage(fontLocations[pageIndex], pageIndex) : new GlyphPage();
+                pages[pageIndex] = page;
+            }
+            return page;
+        }
+
+        private static GlyphPage loadPage(String fontLocation, int pageIndex) {
+            byte[] textureData;
+            try (InputStream stream = InterfaceManager.renderingInterface.getTextureStream(fontLocation)) {
+                ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int bytesRead;
+                while ((bytesRead = stream.read(buffer)) != -1) {
+                    byteStream.write(buffer, 0, bytesRead);
+                }
+                textureData = byteStream.toByteArray();
+            } catch (Exception e) {
+                //Just return an empty page, as we don't care about this file.  Not all files may be present for any given font.
+                return new GlyphPage();
+            }
+
+            //Use cached metrics if this exact texture was scanned before.
+            CRC32 checksum = new CRC32();
+            checksum.update(textureData);
+            String cacheKey = fontLocation + ":" + checksum.getValue();
+            if (cachedPages == null) {
+                cachedPages = loadPageCache();
+            }
+            GlyphPage page = cachedPages.get(cacheKey);
+            if (page == null) {
                 BufferedImage bufferedImage;
                 try {
-                    bufferedImage = ImageIO.read(InterfaceManager.renderingInterface.getTextureStream(fontLocations[i]));
+                    bufferedImage = ImageIO.read(new ByteArrayInputStream(textureData));
                 } catch (Exception e) {
-                    //Just continue, as we don't care about this file.  Not all files may be present for any given font.
-                    continue;
+                    bufferedImage = null;
                 }
+                if (bufferedImage == null) {
+                    return new GlyphPage();
+                }
+                page = scanPage(bufferedImage, pageIndex);
+                cachedPages.put(cacheKey, page);
+                cachedPagesChanged = true;
+            }
+            return page;
+        }
 
-                //Calculate min/max.
-                //For each char, we look at the row/col bounds and check every pixel in the col
-                //starting from right to left.  If we hit a pixel in this col sub-section, we know we
-                //have found the end of the char and that's its width.
-                //Order is all chars in row 1, then row 2, etc.
-                int pixelsPerSide = bufferedImage.getHeight();
-                int pixelsPerCharRowCol = pixelsPerSide / CHARS_PER_ROWCOL;
-                for (int charRow = 0; charRow < CHARS_PER_ROWCOL; ++charRow) {
-                    for (int charCol = 0; charCol < CHARS_PER_ROWCOL; ++charCol) {
-                        //Get char and set defaults.
-                        char charChecking = (char) (i * CHARS_PER_TEXTURE_SHEET + charRow * CHARS_PER_ROWCOL + charCol);
-                        if (charChecking == '0') {
-                            //We will always have 0, and it's a known-height char, so use this for our scale checks.
-                            //Look top-down for pixels to see if we have any gaps.
-                            boolean foundTopPixel = false;
-                            int topPixel = charRow * pixelsPerCharRowCol;
-                            int bottomPixel = (charRow + 1) * pixelsPerCharRowCol - 1;
-                            for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
-                                boolean foundPixelThisRow = false;
-                                for (int pixelCol = charCol * pixelsPerCharRowCol; pixelCol < (charCol + 1) * pixelsPerCharRowCol; ++pixelCol) {
-                                    //Check all pixels in this row to see if we have one.
-                                    //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
-                                    int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
-                                    if (pixelValue != 0 && (pixelValue >> 24) != 0) {
-                                        foundPixelThisRow = true;
-                                        if (!foundTopPixel) {
-                                            //First existing pixel found, must be top.
-                                            topPixel = pixelRow;
-                                            foundTopPixel = true;
-                                            charTopOffset = (float) DEFAULT_PIXELS_PER_CHAR * (pixelRow - charRow * pixelsPerCharRowCol) / (pixelsPerCharRowCol);
-                                        }
+        /**
+         * Scans the texture for the page to get the metrics for all its chars.
+         */
+        private static GlyphPage scanPage(BufferedImage bufferedImage, int pageIndex) {
+            GlyphPage page = new GlyphPage();
+
+            //Calculate min/max.
+            //For each char, we look at the row/col bounds and check every pixel in the col
+            //starting from right to left.  If we hit a pixel in this col sub-section, we know we
+            //have found the end of the char and that's its width.
+            //Order is all chars in row 1, then row 2, etc.
+            int pixelsPerSide = bufferedImage.getHeight();
+            int pixelsPerCharRowCol = pixelsPerSide / CHARS_PER_ROWCOL;
+            for (int charRow = 0; charRow < CHARS_PER_ROWCOL; ++charRow) {
+                for (int charCol = 0; charCol < CHARS_PER_ROWCOL; ++charCol) {
+                    //Get char and set defaults.
+                    int charIndex = charRow * CHARS_PER_ROWCOL + charCol;
+                    char charChecking = (char) (pageIndex * CHARS_PER_TEXTURE_SHEET + charIndex);
+                    if (charChecking == '0') {
+                        //We will always have 0, and it's a known-height char, so use this for our scale checks.
+                        //Look top-down for pixels to see if we have any gaps.
+                        boolean foundTopPixel = false;
+                        int topPixel = charRow * pixelsPerCharRowCol;
+                        int bottomPixel = (charRow + 1) * pixelsPerCharRowCol - 1;
+                        for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
+                            boolean foundPixelThisRow = false;
+                            for (int pixelCol = charCol * pixelsPerCharRowCol; pixelCol < (charCol + 1) * pixelsPerCharRowCol; ++pixelCol) {
+                                //Check all pixels in this row to see if we have one.
+                                //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
+                                int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
+                                if (pixelValue != 0 && (pixelValue >> 24) != 0) {
+                                    foundPixelThisRow = true;
+                                    if (!foundTopPixel) {
+                                        //First existing pixel found, must be top.
+                                        topPixel = pixelRow;
+                                        foundTopPixel = true;
+                                        page.topOffset = (float) DEFAULT_PIXELS_PER_CHAR * (pixelRow - charRow * pixelsPerCharRowCol) / (pixelsPerCharRowCol);
                                     }
                                 }
-                                if (!foundPixelThisRow && foundTopPixel) {
-                                    //First blank pixel found after finding some pixels, must be bottom.
-                                    bottomPixel = pixelRow;
+                            }
+                            if (!foundPixelThisRow && foundTopPixel) {
+                                //First blank pixel found after finding some pixels, must be bottom.
+                                bottomPixel = pixelRow;
+                                break;
+                            }
+                        }
+
+                        //Scale should make this font render the size of 7px out of the 8px high.  This allows a 1px bottom buffer to match ASCII standards.
+                        page.scale = (DEFAULT_CHAR_HEIGHT_PIXELS / (float) DEFAULT_PIXELS_PER_CHAR) / ((bottomPixel - topPixel) / (float) pixelsPerCharRowCol);
+                    }
+                    if (charChecking == ' ') {
+                        //Space isn't rendered, but is half-width with 1 spacing on each side.
+                        page.charWidths[charIndex] = DEFAULT_PIXELS_PER_CHAR / 2;
+                        page.charSpacings[charIndex] = 0;
+                    } else {
+                        page.offsetsMinU[charIndex] = charCol / (float) CHARS_PER_ROWCOL;
+                        page.offsetsMaxU[charIndex] = (charCol + 1) / (float) CHARS_PER_ROWCOL;
+                        //Normally we'd invert the UV-mapping here to compensate for the inverted texture center.
+                        //But in this case, we don't have to do that.  Still not 100% sure on the math, but it works?
+                        page.offsetsMaxV[charIndex] = (charRow) / (float) CHARS_PER_ROWCOL;
+                        page.offsetsMinV[charIndex] = (charRow + 1) / (float) CHARS_PER_ROWCOL;
+                        page.charWidths[charIndex] = DEFAULT_PIXELS_PER_CHAR;
+
+                        //Check each pixel in the pixel sub-col to get the actual width of the char.
+                        //Do this for the left and right side to get the bounds.
+                        boolean foundPixelThisCol = false;
+                        for (int pixelCol = charCol * pixelsPerCharRowCol; pixelCol < (charCol + 1) * pixelsPerCharRowCol; ++pixelCol) {
+                            //Check all rows of pixels in this column to see if we have one.
+                            for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
+                                //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
+                                int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
+                                if (pixelValue != 0 && (pixelValue >> 24) != 0) {
+                                    //Found a pixel, we must have this as our UV.
+                                    page.offsetsMinU[charIndex] = pixelCol / (float) pixelsPerCharRowCol / CHARS_PER_ROWCOL;
+                                    page.charSpacings[charIndex] = (pixelCol - charCol * pixelsPerCharRowCol) / (float) pixelsPerCharRowCol * DEFAULT_PIXELS_PER_CHAR;
+                                    foundPixelThisCol = true;
                                     break;
                                 }
                             }
-
-                            //Scale should make this font render the size of 7px out of the 8px high.  This allows a 1px bottom buffer to match ASCII standards.
-                            scale = (DEFAULT_CHAR_HEIGHT_PIXELS / (float) DEFAULT_PIXELS_PER_CHAR) / ((bottomPixel - topPixel) / (float) pixelsPerCharRowCol);
+                            if (foundPixelThisCol) {
+                                break;
+                            }
                         }
-                        if (charChecking == ' ') {
-                            //Space isn't rendered, but is half-width with 1 spacing on each side.
-                            charWidths[charChecking] = DEFAULT_PIXELS_PER_CHAR / 2;
-                            charSpacings[charChecking] = 0;
-                        } else {
-                            offsetsMinU[charChecking] = charCol / (float) CHARS_PER_ROWCOL;
-                            offsetsMaxU[charChecking] = (charCol + 1) / (float) CHARS_PER_ROWCOL;
-                            //Normally we'd invert the UV-mapping here to compensate for the inverted texture center.
-                            //But in this case, we don't have to do that.  Still not 100% sure on the math, but it works?
-                            offsetsMaxV[charChecking] = (charRow) / (float) CHARS_PER_ROWCOL;
-                            offsetsMinV[charChecking] = (charRow + 1) / (float) CHARS_PER_ROWCOL;
-                            charWidths[charChecking] = DEFAULT_PIXELS_PER_CHAR;
-
-                            //Check each pixel in the pixel sub-col to get the actual width of the char.
-                            //Do this for the left and right side to get the bounds.
-                            boolean foundPixelThisCol = false;
-                            for (int pixelCol = charCol * pixelsPerCharRowCol; pixelCol < (charCol + 1) * pixelsPerCharRowCol; ++pixelCol) {
-                                //Check all rows of pixels in this column to see if we have one.
-                                for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
-                                    //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
-                                    int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
-                                    if (pixelValue != 0 && (pixelValue >> 24) != 0) {
-                                        //Found a pixel, we must have this as our UV.
-                                        offsetsMinU[charChecking] = pixelCol / (float) pixelsPerCharRowCol / CHARS_PER_ROWCOL;
-                                        charSpacings[charChecking] = (pixelCol - charCol * pixelsPerCharRowCol) / (float) pixelsPerCharRowCol * DEFAULT_PIXELS_PER_CHAR;
-                                        foundPixelThisCol = true;
-                                        break;
-                                    }
-                                }
-                                if (foundPixelThisCol) {
+
+                        foundPixelThisCol = false;
+                        for (int pixelCol = (charCol + 1) * pixelsPerCharRowCol - 1; pixelCol >= charCol * pixelsPerCharRowCol; --pixelCol) {
+                            //Check all rows of pixels in this column to see if we have one.
+                            for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
+                                //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
+                                int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
+                                if (pixelValue != 0 && (pixelValue >> 24) != 0) {
+                                    //Found a pixel, we must have this as our UV.
+                                    ++pixelCol;
+                                    page.offsetsMaxU[charIndex] = pixelCol / (float) pixelsPerCharRowCol / CHARS_PER_ROWCOL;
+                                    page.charWidths[charIndex] = (page.offsetsMaxU[charIndex] - page.offsetsMinU[charIndex]) * CHARS_PER_ROWCOL * DEFAULT_PIXELS_PER_CHAR;
+                                    foundPixelThisCol = true;
                                     break;
                                 }
                             }
+                            if (foundPixelThisCol) {
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+            return page;
+        }
 
-                            foundPixelThisCol = false;
-                            for (int pixelCol = (charCol + 1) * pixelsPerCharRowCol - 1; pixelCol >= charCol * pixelsPerCharRowCol; --pixelCol) {
-                                //Check all rows of pixels in this column to see if we have one.
-                                for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
-                                    //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
-                                    int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
-                                    if (pixelValue != 0 && (pixelValue >> 24) != 0) {
-                                        //Found a pixel, we must have this as our UV.
-                                        ++pixelCol;
-                                        offsetsMaxU[charChecking] = pixelCol / (float) pixelsPerCharRowCol / CHARS_PER_ROWCOL;
-                                        charWidths[charChecking] = (offsetsMaxU[charChecking] - offsetsMinU[charChecking]) * CHARS_PER_ROWCOL * DEFAULT_PIXELS_PER_CHAR;
-                                        foundPixelThisCol = true;
-                                        break;
-                                    }
-                                }
-                                if (foundPixelThisCol) {
-                                    break;
+        /**
+         * Loads the page metrics cache from disk.  If there's no cache, or it's from an older format,
+         * an empty cache is returned and all pages will be scanned as they are used.
+         */
+        private static Map<String, GlyphPage> loadPageCache() {
+            Map<String, GlyphPage> pageCache = new HashMap<>();
+            File cacheFile = new File(new File(InterfaceManager.gameDirectory, "config"), PAGE_CACHE_FILE_NAME);
+            if (cacheFile.exists()) {
+                try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+                    if (input.readInt() == PAGE_CACHE_FORMAT_VERSION) {
+                        int pageCount = input.readInt();
+                        for (int i = 0; i < pageCount; ++i) {
+                            String cacheKey = input.readUTF();
+                            GlyphPage page = new GlyphPage();
+                            page.scale = input.readFloat();
+                            page.topOffset = input.readFloat();
+                            for (float[] metrics : page.getAllMetrics()) {
+                                for (int j = 0; j < metrics.length; ++j) {
+                                    metrics[j] = input.readFloat();
                                 }
                             }
+                            pageCache.put(cacheKey, page);
+                        }
+                    }
+                } catch (Exception e) {
+                    InterfaceManager.coreInterface.logError("Could not read font metrics cache.  Fonts will be scanned as they are used.");
+                    InterfaceManager.coreInterface.logError(e.getMessage());
+                    pageCache.clear();
+                }
+            }
+            return pageCache;
+        }
+
+        /**
+         * Saves the page metrics cache to disk if any pages were scanned since it was last saved.
+         * New pages are rare after the first launch, so we just write out the whole thing.  The cache is
+         * written to a temp file and then moved into place, so a crash mid-write won't leave a partial cache.
+         */
+        private static void savePageCache() {
+            if (!cachedPagesChanged) {
+                return;
+            }
+            cachedPagesChanged = false;
+            File cacheFile = new File(new File(InterfaceManager.gameDirectory, "config"), PAGE_CACHE_FILE_NAME);
+            File tempFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+            try {
+                writePageCache(tempFile);
+                try {
+                    Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (Exception e) {
+                InterfaceManager.coreInterface.logError("Could not save font metrics cache.");
+                InterfaceManager.coreInterface.logError(e.getMessage());
+                tempFile.delete();
+            }
+        }
+
+        private static void writePageCache(File file) throws IOException {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+                output.writeInt(PAGE_CACHE_FORMAT_VERSION);
+                output.writeInt(cachedPages.size());
+                for (Entry<String, GlyphPage> pageEntry : cachedPages.entrySet()) {
+                    GlyphPage page = pageEntry.getValue();
+                    output.writeUTF(pageEntry.getKey());
+                    output.writeFloat(page.scale);
+                    output.writeFloat(page.topOffset);
+                    for (float[] metrics : page.getAllMetrics()) {
+                        for (float metric : metrics) {
+                            output.writeFloat(metric);
                         }
                     }
                 }
             }
-            this.charScale = scale;
-            this.charTopOffset = charTopOffset;
         }
 
-        private void renderText(String text, TransformationMatrix transform, RotationMatrix rotation, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords, ColorRGB color, boolean renderLit, int worldLightValue, boolean onGUI) {
+        /**
+         * Releases the buffers of all cached meshes for the passed-in owner.
+         */
+        private void releaseMeshes(Object owner) {
+            for (TextMesh mesh : cachedMeshes.values()) {
+                if (mesh.owners.remove(owner)) {
+                    for (RenderableObject object : mesh.objects) {
+                        object.destroy(owner);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Releases and removes all cached meshes.
+         */
+        private void clearMeshes() {
+            for (TextMesh mesh : cachedMeshes.values()) {
+                mesh.destroy();
+            }
+            cachedMeshes.clear();
+        }
+
+        /**
+         * Renders the text.  The owner is the entity the text is on, or null for GUI text.  Cached meshes are shared
+         * between all owners, but are rendered as each owner so the renderer can keep their lighting state apart.
+         */
+        private void renderText(String text, Object owner, TransformationMatrix transform, RotationMatrix rotation, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords, ColorRGB color, boolean renderLit, int worldLightValue, boolean onGUI) {
             //Clear out the active object list as it was set last pass.
             for (RenderableObject object : activeRenderObjects) {
                 object.vertices.clear();
             }
             activeRenderObjects.clear();
 
+            //Check if we already have a mesh for this text.  If so, just render that.
+            //Text with random chars changes every render, so it can't be cached.
+            boolean canCache = text.indexOf(FORMATTING_CHAR + RANDOM_FORMATTING_CHAR) == -1;
+            if (canCache) {
+                lookupKey.set(text, alignment, scale, autoScale, wrapWidth, pixelCoords, color);
+                TextMesh mesh = cachedMeshes.get(lookupKey);
+                if (mesh != null) {
+                    mesh.owners.add(owner);
+                    renderObjects(mesh.objects, owner, transform, rotation, mesh.scale, mesh.adjustmentOffset, renderLit, worldLightValue, onGUI);
+                    return;
+                }
+            }
+
             //Cull text to total chars.
             //This is all we can render in one pass.
             if (text.length() > MAX_VERTCIES_PER_RENDER / 6) {
@@ -508,10 +759,10 @@ public class RenderText {
                     }
                 } else if (textChar == ' ') {
                     //Just increment the offset, spaces don't render.
-                    currentOffset += charWidths[textChar] + charSpacings[textChar];
+                    currentOffset += getCharWidth(textChar) + getCharSpacing(textChar);
                 } else {
                     //Actual char to render.  Add leading spacing.
-                    currentOffset += charSpacings[textChar];
+                    currentOffset += getCharSpacing(textChar);
 
                     //Do normal char addition to the map of chars to draw.
                     //If we are bold, we will double-render slightly offset.
@@ -519,7 +770,7 @@ public class RenderText {
                     //If we are italic, we slightly skew the UV map by 1px.
                     //If we are strikethough, we add a strikethough overlay.
                     RenderableObject currentRenderObject = getObjectFor(textChar, currentColor);
-                    float charWidth = charWidths[textChar];
+                    float charWidth = getCharWidth(textChar);
                     int charSteps = 6;
                     if (currentState.bold)
                         charSteps += 6;
@@ -534,8 +785,8 @@ public class RenderText {
                             case (3): {
                                 charVertex[0] = alignmentOffset + currentOffset + charWidth;
                                 charVertex[1] = currentLineOffset - DEFAULT_PIXELS_PER_CHAR;
-                                charUV[0] = offsetsMaxU[textChar];
-                                charUV[1] = offsetsMinV[textChar];
+                                charUV[0] = getMaxU(textChar);
+                                charUV[1] = getMinV(textChar);
                                 break;
                             }
                             case (1): {//Top-right
@@ -544,8 +795,8 @@ public class RenderText {
                                     charVertex[0] += 1;
                                 }
                                 charVertex[1] = currentLineOffset;
-                                charUV[0] = offsetsMaxU[textChar];
-                                charUV[1] = offsetsMaxV[textChar];
+                                charUV[0] = getMaxU(textChar);
+                                charUV[1] = getMaxV(textChar);
                                 break;
                             }
                             case (2):
@@ -555,15 +806,15 @@ public class RenderText {
                                     charVertex[0] += 1;
                                 }
                                 charVertex[1] = currentLineOffset;
-                                charUV[0] = offsetsMinU[textChar];
-                                charUV[1] = offsetsMaxV[textChar];
+                                charUV[0] = getMinU(textChar);
+                                charUV[1] = getMaxV(textChar);
                                 break;
                             }
                             case (5): {//Bottom-left
                                 charVertex[0] = alignmentOffset + currentOffset;
                                 charVertex[1] = currentLineOffset - DEFAULT_PIXELS_PER_CHAR;
-                                charUV[0] = offsetsMinU[textChar];
-                                charUV[1] = offsetsMinV[textChar];
+                                charUV[0] = getMinU(textChar);
+                                charUV[1] = getMinV(textChar);
                                 break;
                             }
                             default: {
@@ -602,27 +853,27 @@ public class RenderText {
                                         case (0):
                                         case (3): {//Bottom-right
                                             //supplementalVertex[0] += CHAR_SPACING;
-                                            supplementalUV[0] = offsetsMaxU[customChar];
-                                            supplementalUV[1] = offsetsMinV[customChar];
+                                            supplementalUV[0] = getMaxU(customChar);
+                                            supplementalUV[1] = getMinV(customChar);
                                             break;
                                         }
                                         case (1): {//Top-right
                                             //supplementalVertex[0] += CHAR_SPACING;
-                                            supplementalUV[0] = offsetsMaxU[customChar];
-                                            supplementalUV[1] = offsetsMaxV[customChar];
+                                            supplementalUV[0] = getMaxU(customChar);
+                                            supplementalUV[1] = getMaxV(customChar);
                                             break;
                                         }
                                         case (2):
                                         case (4): {//Top-left
                                             //supplementalVertex[0] -= CHAR_SPACING;
-                                            supplementalUV[0] = offsetsMinU[customChar];
-                                            supplementalUV[1] = offsetsMaxV[customChar];
+                                            supplementalUV[0] = getMinU(customChar);
+                                            supplementalUV[1] = getMaxV(customChar);
                                             break;
                                         }
                                         case (5): {//Bottom-left
                                             //supplementalVertex[0] -= CHAR_SPACING;
-                                            supplementalUV[0] = offsetsMinU[customChar];
-                                            supplementalUV[1] = offsetsMinV[customChar];
+                                            supplementalUV[0] = getMinU(customChar);
+                                            supplementalUV[1] = getMinV(customChar);
                                             break;
                                         }
                                     }
@@ -646,24 +897,55 @@ public class RenderText {
                     }
 
                     //Increment offset to next char position and set char points and add render block to active list.
-                    currentOffset += charWidth + charSpacings[textChar];
+                    currentOffset += charWidth + getCharSpacing(textChar);
                     activeRenderObjects.add(currentRenderObject);
                 }
             }
 
             //All points obtained, render.
-            //Prior to rendering we need to scale the font objects to their requested scale, multiplied by their internal scale factor.
-            //After this, we apply the known-constant adjustmentOffset, which will itself be scaled.
             for (RenderableObject object : activeRenderObjects) {
+                object.vertices.flip();
+            }
+            if (canCache) {
+                //Copy the vertices into their own objects for the cache, since the font blocks are shared.
+                TextMesh mesh = new TextMesh(scale, adjustmentOffset);
+                for (RenderableObject object : activeRenderObjects) {
+                    FloatBuffer meshVertices = FloatBuffer.allocate(object.vertices.limit());
+                    meshVertices.put(object.vertices).flip();
+                    mesh.objects.add(new RenderableObject("font_block", object.texture, new ColorRGB(object.color.red, object.color.green, object.color.blue, false), meshVertices, true));
+                }
+                cachedMeshes.put(lookupKey, mesh);
+                lookupKey = new TextMeshKey();
+
+                //Remove the oldest mesh if we have too many.  This prevents text that changes a lot, like readouts, from filling up memory.
+                if (cachedMeshes.size() > MAX_CACHED_MESHES) {
+                    Iterator<TextMesh> iterator = cachedMeshes.values().iterator();
+                    TextMesh oldestMesh = iterator.next();
+                    iterator.remove();
+                    oldestMesh.destroy();
+                }
+                mesh.owners.add(owner);
+                renderObjects(mesh.objects, owner, transform, rotation, scale, adjustmentOffset, renderLit, worldLightValue, onGUI);
+            } else {
+                renderObjects(activeRenderObjects, null, transform, rotation, scale, adjustmentOffset, renderLit, worldLightValue, onGUI);
+            }
+        }
+
+        /**
+         * Renders the font objects.  Prior to rendering we need to scale the font objects to their requested scale,
+         * multiplied by their internal scale factor.  After this, we apply the known-constant adjustmentOffset,
+         * which will itself be scaled.
+         */
+        private static void renderObjects(Collection<RenderableObject> objects, Object objectAssociatedTo, TransformationMatrix transform, RotationMatrix rotation, float scale, Point3D offset, boolean renderLit, int worldLightValue, boolean onGUI) {
+            for (RenderableObject object : objects) {
                 object.setLighting(worldLightValue, renderLit, onGUI);
                 object.transform.set(transform);
                 if (rotation != null) {
                     object.transform.applyRotation(rotation);
                 }
                 object.transform.applyScaling(scale, scale, scale);
-                object.transform.applyTranslation(adjustmentOffset);
-                object.vertices.flip();
-                object.render(null);
+                object.transform.applyTranslation(offset);
+                object.render(objectAssociatedTo);
             }
         }
 
@@ -695,7 +977,7 @@ public class RenderText {
                 } else if (skipNext) {
                     skipNext = false;
                 } else {
-                    stringWidth += charWidths[textChar] + 2 * charSpacings[textChar];
+                    stringWidth += getCharWidth(textChar) + 2 * getCharSpacing(textChar);
                     if (!foundCharAlready) {
                         foundCharAlready = true;
                     }
@@ -704,6 +986,124 @@ public class RenderText {
             return stringWidth;
         }
 
+        /**
+         * A cached text mesh.  Contains one object per texture sheet and color, plus the final
+         * scale and offset from the parsing, as those depend on the text width.
+         */
+        private static class TextMesh {
+            private final List<RenderableObject> objects = new ArrayList<>();
+            /**
+             * Everything this mesh has been rendered for.  Each of these has its own buffers that need to be released.
+             **/
+            private final Set<Object> owners = Collections.newSetFromMap(new IdentityHashMap<>());
+            private final float scale;
+            private final Point3D adjustmentOffset;
+
+            private TextMesh(float scale, Point3D adjustmentOffset) {
+                this.scale = scale;
+                this.adjustmentOffset = adjustmentOffset.copy();
+            }
+
+            private void destroy() {
+                for (Object owner : owners) {
+                    for (RenderableObject object : objects) {
+                        object.destroy(owner);
+                    }
+                }
+                owners.clear();
+            }
+        }
+
+        /**
+         * Key for {@link TextMesh}es.  Contains everything that affects the vertices of the mesh.
+         * Colors are stored as their values, since the color objects passed-in are mutable.
+         */
+        private static class TextMeshKey {
+            private String text;
+            private TextAlignment alignment;
+            private float scale;
+            private boolean autoScale;
+            private int wrapWidth;
+            private boolean pixelCoords;
+            private float red;
+            private float green;
+            private float blue;
+
+            private void set(String text, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords, ColorRGB color) {
+                this.text = text;
+                this.alignment = alignment;
+                this.scale = scale;
+                this.autoScale = autoScale;
+                this.wrapWidth = wrapWidth;
+                this.pixelCoords = pixelCoords;
+                this.red = color.red;
+                this.green = color.green;
+                this.blue = color.blue;
+            }
+
+            @Override
+            public boolean equals(Object object) {
+                if (object instanceof TextMeshKey) {
+                    TextMeshKey other = (TextMeshKey) object;
+                    return text.equals(other.text) && alignment == other.alignment && scale == other.scale && autoScale == other.autoScale && wrapWidth == other.wrapWidth && pixelCoords == other.pixelCoords && red == other.red && green == other.green && blue == other.blue;
+                } else {
+                    return false;
+                }
+            }
+
+            @Override
+            public int hashCode() {
+                int hash = text.hashCode();
+                hash = hash * 31 + alignment.ordinal();
+                hash = hash * 31 + Float.floatToIntBits(scale);
+                hash = hash * 31 + wrapWidth;
+                hash = hash * 31 + Float.floatToIntBits(red);
+                hash = hash * 31 + Float.floatToIntBits(green);
+                hash = hash * 31 + Float.floatToIntBits(blue);
+                return hash * 4 + (autoScale ? 2 : 0) + (pixelCoords ? 1 : 0);
+            }
+        }
+
+        /**
+         * Metrics for all the chars on a single texture sheet.  Arrays are indexed by the char's position on the sheet.
+         */
+        private static class GlyphPage {
+            /**
+             * Char width, in actual game texture pixels (not texture pixels).  May be fractions of a pixel if the font is up-scaled.
+             **/
+            private final float[] charWidths = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Char spacing, in actual game texture pixels (not texture pixels).  May be fractions of a pixel if the font is up-scaled.
+             * This is for BOTH the left and right side, total spacing is double this.
+             **/
+            private final float[] charSpacings = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Left-most offset for font text position, from 0-1, relative to the texture png.
+             **/
+            private final float[] offsetsMinU = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Right-most offset for font text position, from 0-1, relative to the texture png.
+             **/
+            private final float[] offsetsMaxU = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Bottom-most offset for font text position, from 0-1, relative to the texture png.
+             **/
+            private final float[] offsetsMinV = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Top-most offset for font text position, from 0-1, relative to the texture png.
+             **/
+            private final float[] offsetsMaxV = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Scale and top offset of the font.  Only set from the page with the 0 char on it.
+             **/
+            private float scale = 1.0F;
+            private float topOffset;
+
+            private float[][] getAllMetrics() {
+                return new float[][]{charWidths, charSpacings, offsetsMinU, offsetsMaxU, offsetsMinV, offsetsMaxV};
+            }
+        }
+
         private static class FontRenderState {
             private static final int BOLD_BIT_INDEX = 1;
             private static final int ITALIC_BIT_INDEX = 2;
@@ -47,6 +47,7 @@ public class RenderableModelObject {
     public final RenderableObject object;
     private final boolean isWindow;
     private final boolean isOnlineTexture;
+    private final boolean isSmall;
     private final RenderableObject interiorWindowObject;
     private RenderableObject colorObject;
     private RenderableObject coverObject;
@@ -65,6 +66,7 @@ public class RenderableModelObject {
     private static final float COVER_OFFSET = FLARE_OFFSET + RenderableObject.Z_BUFFER_OFFSET;
     private static final float BEAM_OFFSET = -0.15F;
     private static final int BEAM_SEGMENTS = 40;
+    private static final float SMALL_OBJECT_SIZE = 0.25F;
 
     private final Set<String> downloadingTextures = new HashSet<>();
     private final Set<String> downloadedTextures = new HashSet<>();
@@ -77,6 +79,24 @@ public class RenderableModelObject {
         this.isWindow = object.name.toLowerCase(Locale.ROOT).contains(AModelParser.WINDOW_OBJECT_NAME);
         this.isOnlineTexture = object.name.toLowerCase(Locale.ROOT).startsWith(AModelParser.ONLINE_TEXTURE_OBJECT_NAME) || object.name.toLowerCase(Locale.ROOT).endsWith(AModelParser.ONLINE_TEXTURE_OBJECT_NAME);
 
+        //Get the size of the object, for skipping it past the detail distance if it's small.
+        //Each vertex is normal, UV, then XYZ, so the position is the last 3 of every 8 floats.
+        float minX = Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        float maxZ = -Float.MAX_VALUE;
+        for (int i = 5; i + 2 < object.vertices.limit(); i += 8) {
+            minX = Math.min(minX, object.vertices.get(i));
+            minY = Math.min(minY, object.vertices.get(i + 1));
+            minZ = Math.min(minZ, object.vertices.get(i + 2));
+            maxX = Math.max(maxX, object.vertices.get(i));
+            maxY = Math.max(maxY, object.vertices.get(i + 1));
+            maxZ = Math.max(maxZ, object.vertices.get(i + 2));
+        }
+        this.isSmall = maxX - minX < SMALL_OBJECT_SIZE && maxY - minY < SMALL_OBJECT_SIZE && maxZ - minZ < SMALL_OBJECT_SIZE;
+
         //If we are a window, split the model into two parts.  The first will be the exterior which will
         //be our normal model, the second will be a new, inverted, interior model.
         if (isWindow) {
@@ -219,7 +239,11 @@ public class RenderableModelObject {
                                 object.setAlpha((float) (switchbox.lastVisibilityValue - switchbox.lastVisibilityClock.animation.clampMin) / (switchbox.lastVisibilityClock.animation.clampMax - switchbox.lastVisibilityClock.animation.clampMin));
                             }
                         }
-                        object.render(entity);
+                        if (objectDef == null && lightDef == null && !isWindow && !isOnlineTexture && entity.shouldBatchStaticObjects()) {
+                            entity.world.staticGeometry.submit(entity, object);
+                        } else {
+                            object.render(entity);
+                        }
                         if (interiorWindowObject != null && ConfigSystem.client.renderingSettings.innerWindows.value) {
                             interiorWindowObject.setLighting(object.worldLightValue, false, false);
                             interiorWindowObject.transform.set(object.transform);
@@ -232,8 +256,8 @@ public class RenderableModelObject {
                         doLightRendering(entity, lightDef, lightLevel, entity.lightColorValues.get(lightDef), blendingEnabled);
                     }
 
-                    //Render text on this object.  Only do this on the solid pass.
-                    if (!blendingEnabled) {
+                    //Render text on this object.  Only do this on the solid pass, and if we're close enough to see it.
+                    if (!blendingEnabled && !entity.isPastDetailDistance) {
                         for (Entry<JSONText, String> textEntry : entity.text.entrySet()) {
                             JSONText textDef = textEntry.getKey();
                             if (object.name.equals(textDef.attachedTo)) {
@@ -264,6 +288,11 @@ public class RenderableModelObject {
         if (isWindow && !ConfigSystem.client.renderingSettings.renderWindows.value) {
             return false;
         }
+        //Block small animated objects past the detail distance, as they can't be seen, but still cost an animation update.
+        //Lights don't count, as they can be seen at any distance if they are on.
+        if (isSmall && objectDef != null && lightDef == null && entity.isPastDetailDistance) {
+            return false;
+        }
         //If the light only has solid components, and we aren't translucent, don't render on the blending pass.
         if (lightDef != null && blendingEnabled && !object.isTranslucent && !lightDef.emissive && !lightDef.isBeam && (lightDef.blendableComponents == null || lightDef.blendableComponents.isEmpty())) {
             return false;
@@ -449,8 +478,8 @@ public class RenderableModelObject {
                     }
                 }
 
-                //Render all flares.
-                if (flareObject != null) {
+                //Render all flares, provided we're close enough to see them.
+                if (flareObject != null && !entity.isPastDetailDistance) {
                     flareObject.isTranslucent = true;
                     flareObject.setLighting(object.worldLightValue, ConfigSystem.client.renderingSettings.brightLights.value, true);
                     flareObject.setColor(color);
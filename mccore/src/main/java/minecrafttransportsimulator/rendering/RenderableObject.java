@@ -1,7 +1,9 @@
 package minecrafttransportsimulator.rendering;
 
 import java.nio.FloatBuffer;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
@@ -59,9 +61,14 @@ public class RenderableObject {
     public final ColorRGB color;
     public float alpha = 1.0F;
     public FloatBuffer vertices;
+    /**
+     * Optional per-vertex colors, as red, green, blue, and alpha for each vertex in {@link #vertices}.
+     * If set, these are used in place of {@link #color} and {@link #alpha}.  Only supported for objects
+     * that don't cache their vertices, as the colors are expected to change every render.
+     */
+    public FloatBuffer vertexColors;
     public final boolean cacheVertices;
 
-    public boolean changedSinceLastRender;
     public boolean isTranslucent;
     public int cachedVertexIndex = -1;
     public boolean isLines = false;
@@ -92,6 +99,15 @@ public class RenderableObject {
      **/
     public static final String GLOBAL_TEXTURE_NAME = "GLOBAL";
 
+    /**
+     * Render state keys, keyed by texture, then indexed by the state flags.  Keys are shared between all
+     * objects with the same state, so objects that swap textures don't create new keys every frame.
+     **/
+    private static final Map<String, String[]> renderStateKeys = new HashMap<>();
+    private String renderStateKey;
+    private String renderStateKeyTexture;
+    private int renderStateKeyFlags = -1;
+
     private static final int[][] FACE_POINT_INDEXES = new int[][]{
             //X-axis.
             new int[]{0, 1, 3, 2}, new int[]{5, 4, 6, 7},
@@ -169,39 +185,44 @@ public class RenderableObject {
     }
 
     public void setAlpha(float alpha) {
-        if (this.alpha != alpha) {
-            this.alpha = alpha;
-            this.changedSinceLastRender = true;
-        }
+        this.alpha = alpha;
     }
 
     public void setColor(ColorRGB color) {
-        if (!this.color.equals(color)) {
-            this.color.setTo(color);
-            this.changedSinceLastRender = true;
-        }
+        this.color.setTo(color);
     }
 
     public void setLighting(int worldLightValue, boolean disableLighting, boolean ignoreWorldShading) {
-        if (this.worldLightValue != worldLightValue) {
-            this.worldLightValue = worldLightValue;
-            this.changedSinceLastRender = true;
-        }
-        if (this.disableLighting != disableLighting) {
-            this.disableLighting = disableLighting;
-            this.changedSinceLastRender = true;
-        }
-        if (this.ignoreWorldShading != ignoreWorldShading) {
-            this.ignoreWorldShading = ignoreWorldShading;
-            this.changedSinceLastRender = true;
-        }
+        this.worldLightValue = worldLightValue;
+        this.disableLighting = disableLighting;
+        this.ignoreWorldShading = ignoreWorldShading;
     }
 
     public void setBlending(boolean enableBrightBlending) {
-        if (this.enableBrightBlending != enableBrightBlending) {
-            this.enableBrightBlending = enableBrightBlending;
-            this.changedSinceLastRender = true;
+        this.enableBrightBlending = enableBrightBlending;
+    }
+
+    /**
+     * Returns a key for the texture, translucency, blending, and lighting state of this object.  Objects with
+     * equal keys can be rendered with the same render state.  The key is cached and only looked up again if one
+     * of those properties changed since the last call, so this is safe to call every frame.
+     */
+    public String getRenderStateKey() {
+        int flags = (isTranslucent ? 1 : 0) | (enableBrightBlending ? 2 : 0) | (ignoreWorldShading ? 4 : 0) | (disableLighting ? 8 : 0);
+        if (flags != renderStateKeyFlags || texture != renderStateKeyTexture) {
+            String[] textureKeys = renderStateKeys.get(texture);
+            if (textureKeys == null) {
+                textureKeys = new String[16];
+                renderStateKeys.put(texture, textureKeys);
+            }
+            if (textureKeys[flags] == null) {
+                textureKeys[flags] = texture + isTranslucent + enableBrightBlending + ignoreWorldShading + disableLighting;
+            }
+            renderStateKey = textureKeys[flags];
+            renderStateKeyTexture = texture;
+            renderStateKeyFlags = flags;
         }
+        return renderStateKey;
     }
 
     /**
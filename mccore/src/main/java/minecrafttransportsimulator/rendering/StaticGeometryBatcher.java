@@ -0,0 +1,323 @@
+package minecrafttransportsimulator.rendering;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * Class that merges the geometry of non-animated objects on static entities, such as roads and poles,
+ * into one {@link RenderableObject} per render state for each chunk-sized region of the world.
+ * This turns thousands of draw calls for large road networks into a handful per region.
+ * <br><br>
+ * Entities submit their objects via {@link #submit(AEntityC_Renderable, RenderableObject)} every
+ * frame in place of rendering them.  The object's transform must be set relative to the entity
+ * at this point, the same as it would be for rendering.  Submissions that match what was submitted
+ * last frame are ignored; any change marks the region to be rebuilt.  Objects an entity stops submitting
+ * are removed from the batch at the end of the frame, but only if that entity submitted something that frame.
+ * This keeps the geometry of entities that were culled, as their regions may still be in view.  Because of this,
+ * entities MUST be removed via {@link #remove(AEntityC_Renderable)} when they are removed from the world,
+ * or if they stop submitting objects entirely.
+ * <br><br>
+ * Regions are rendered by the world rendering code via {@link #render(boolean, Point3D)}, once per pass after all
+ * entities have rendered, so they don't depend on any one entity being rendered.  Note that all calls to this
+ * class should be done from the rendering thread, as this is client-only.
+ *
+ * @author don_bruce
+ */
+public class StaticGeometryBatcher {
+    /**
+     * Size of regions, in blocks.  Matches chunk size to keep the rebuilds from a single change small.
+     **/
+    private static final int REGION_SIZE = 16;
+    private static final int BUFFERS_PER_VERTEX = 8;
+    private static final Point3D vertexHolder = new Point3D();
+    private static final Point3D normalHolder = new Point3D();
+
+    private final Map<Long, Region> regions = new HashMap<>();
+    private final Map<Object, Submitter> submitters = new HashMap<>();
+    private final List<Submitter> submittersThisFrame = new ArrayList<>();
+
+    /**
+     * Submits the object for the entity to be rendered as part of its region's batch.
+     * The object is not rendered directly, so the caller should not render it.
+     */
+    public void submit(AEntityC_Renderable entity, RenderableObject object) {
+        submit(entity, entity.position, object);
+    }
+
+    /**
+     * Like {@link #submit(AEntityC_Renderable, RenderableObject)}, but for any owner at the passed-in position.
+     * The position is only used on the first submission from the owner, as owners are expected to never move.
+     */
+    void submit(Object owner, Point3D position, RenderableObject object) {
+        Submitter submitter = submitters.get(owner);
+        if (submitter == null) {
+            int regionX = Math.floorDiv((int) Math.floor(position.x), REGION_SIZE);
+            int regionZ = Math.floorDiv((int) Math.floor(position.z), REGION_SIZE);
+            Region region = regions.computeIfAbsent(getRegionKey(regionX, regionZ), k -> new Region(k, regionX * REGION_SIZE, regionZ * REGION_SIZE));
+            submitter = new Submitter(region, position.copy());
+            region.submitters.add(submitter);
+            submitters.put(owner, submitter);
+        }
+        if (!submitter.submittedThisFrame) {
+            submitter.submittedThisFrame = true;
+            submittersThisFrame.add(submitter);
+        }
+        Geometry geometry = submitter.geometry.get(object);
+        if (geometry == null) {
+            geometry = new Geometry(submitter, object);
+            submitter.geometry.put(object, geometry);
+            submitter.region.isDirty = true;
+        } else if (!geometry.matches(object)) {
+            geometry.setTo(object);
+            submitter.region.isDirty = true;
+        }
+        geometry.submittedThisFrame = true;
+    }
+
+    /**
+     * Renders the batched geometry for all regions in view, rebuilding them first if required.
+     * Should be called once per pass after all entities have rendered, with the matrix state aligned to the camera.
+     */
+    public void render(boolean blendingEnabled, Point3D cameraPosition) {
+        //Objects are submitted on the pass they render on, so only prune after the blended pass has submitted.
+        if (blendingEnabled) {
+            pruneUnsubmittedGeometry();
+        }
+        for (Region region : regions.values()) {
+            if (region.isDirty) {
+                region.rebuild();
+            }
+            if (region.bounds != null && InterfaceManager.renderingInterface.isBoxInView(region.bounds, 0)) {
+                for (RenderableObject batch : region.batches) {
+                    if (batch.isTranslucent == blendingEnabled) {
+                        batch.transform.setTranslation(region.originX - cameraPosition.x, -cameraPosition.y, region.originZ - cameraPosition.z);
+                        batch.render(region);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all geometry the entity submitted.  The region will be rebuilt without it the next time it renders.
+     */
+    public void remove(AEntityC_Renderable entity) {
+        Submitter submitter = submitters.remove(entity);
+        if (submitter != null) {
+            if (submitter.submittedThisFrame) {
+                submittersThisFrame.remove(submitter);
+            }
+            Region region = submitter.region;
+            region.submitters.remove(submitter);
+            region.isDirty = true;
+            if (region.submitters.isEmpty()) {
+                region.destroyBatches();
+                regions.remove(region.key);
+            }
+        }
+    }
+
+    /**
+     * Returns the batches for the region the passed-in position is in, rebuilding them if required.
+     * Returns null if nothing has been submitted to that region.  Used to check merged geometry without rendering it.
+     */
+    List<RenderableObject> getRegionBatches(Point3D position) {
+        Region region = regions.get(getRegionKey(Math.floorDiv((int) Math.floor(position.x), REGION_SIZE), Math.floorDiv((int) Math.floor(position.z), REGION_SIZE)));
+        if (region != null) {
+            if (region.isDirty) {
+                region.rebuild();
+            }
+            return region.batches;
+        } else {
+            return null;
+        }
+    }
+
+    private static long getRegionKey(int regionX, int regionZ) {
+        return ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Removes geometry that wasn't submitted this frame by the owners that submitted anything this frame,
+     * then resets the submission states for the next frame.
+     */
+    private void pruneUnsubmittedGeometry() {
+        for (Submitter submitter : submittersThisFrame) {
+            Iterator<Geometry> iterator = submitter.geometry.values().iterator();
+            while (iterator.hasNext()) {
+                Geometry geometry = iterator.next();
+                if (geometry.submittedThisFrame) {
+                    geometry.submittedThisFrame = false;
+                } else {
+                    iterator.remove();
+                    submitter.region.isDirty = true;
+                }
+            }
+            submitter.submittedThisFrame = false;
+        }
+        submittersThisFrame.clear();
+    }
+
+    private static class Region {
+        private final long key;
+        private final int originX;
+        private final int originZ;
+        private final List<Submitter> submitters = new ArrayList<>();
+        private final List<RenderableObject> batches = new ArrayList<>();
+        private BoundingBox bounds;
+        private boolean isDirty;
+
+        private Region(long key, int originX, int originZ) {
+            this.key = key;
+            this.originX = originX;
+            this.originZ = originZ;
+        }
+
+        private void rebuild() {
+            destroyBatches();
+
+            //Group geometry by render state, and get the size of each group.
+            Map<String, List<Geometry>> groups = new LinkedHashMap<>();
+            for (Submitter submitter : submitters) {
+                for (Geometry entry : submitter.geometry.values()) {
+                    groups.computeIfAbsent(entry.getStateKey(), k -> new ArrayList<>()).add(entry);
+                }
+            }
+
+            //Merge each group into a single object, with the vertices transformed to be relative to the region origin.
+            //Track the bounds as we go, as the geometry of things like long roads can extend past the region.
+            Point3D min = new Point3D(Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE);
+            Point3D max = new Point3D(-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE);
+            for (List<Geometry> group : groups.values()) {
+                int totalFloats = 0;
+                for (Geometry entry : group) {
+                    totalFloats += entry.object.vertices.limit();
+                }
+                FloatBuffer mergedVertices = FloatBuffer.allocate(totalFloats);
+                for (Geometry entry : group) {
+                    FloatBuffer vertices = entry.object.vertices;
+                    Point3D position = entry.submitter.position;
+                    for (int i = 0; i + BUFFERS_PER_VERTEX <= vertices.limit(); i += BUFFERS_PER_VERTEX) {
+                        normalHolder.set(vertices.get(i), vertices.get(i + 1), vertices.get(i + 2)).rotate(entry.transform).normalize();
+                        vertexHolder.set(vertices.get(i + 5), vertices.get(i + 6), vertices.get(i + 7)).transform(entry.transform);
+                        vertexHolder.add(position.x - originX, position.y, position.z - originZ);
+                        mergedVertices.put((float) normalHolder.x);
+                        mergedVertices.put((float) normalHolder.y);
+                        mergedVertices.put((float) normalHolder.z);
+                        mergedVertices.put(vertices.get(i + 3));
+                        mergedVertices.put(vertices.get(i + 4));
+                        mergedVertices.put((float) vertexHolder.x);
+                        mergedVertices.put((float) vertexHolder.y);
+                        mergedVertices.put((float) vertexHolder.z);
+                        min.set(Math.min(min.x, vertexHolder.x), Math.min(min.y, vertexHolder.y), Math.min(min.z, vertexHolder.z));
+                        max.set(Math.max(max.x, vertexHolder.x), Math.max(max.y, vertexHolder.y), Math.max(max.z, vertexHolder.z));
+                    }
+                }
+                mergedVertices.flip();
+
+                Geometry first = group.get(0);
+                RenderableObject batch = new RenderableObject("static_batch", first.texture, new ColorRGB(first.red, first.green, first.blue, false), mergedVertices, true);
+                batch.alpha = first.alpha;
+                batch.isTranslucent = first.isTranslucent;
+                batch.worldLightValue = first.worldLightValue;
+                batch.disableLighting = first.disableLighting;
+                batch.ignoreWorldShading = first.ignoreWorldShading;
+                batch.enableBrightBlending = first.enableBrightBlending;
+                batches.add(batch);
+            }
+            if (min.x <= max.x) {
+                min.add(originX, 0, originZ);
+                max.add(originX, 0, originZ);
+                bounds = new BoundingBox(min, max);
+            } else {
+                bounds = null;
+            }
+            isDirty = false;
+        }
+
+        private void destroyBatches() {
+            for (RenderableObject batch : batches) {
+                batch.destroy(this);
+            }
+            batches.clear();
+        }
+    }
+
+    /**
+     * Something that submits geometry, and all the geometry it has submitted.
+     */
+    private static class Submitter {
+        private final Region region;
+        private final Point3D position;
+        private final Map<RenderableObject, Geometry> geometry = new IdentityHashMap<>();
+        private boolean submittedThisFrame;
+
+        private Submitter(Region region, Point3D position) {
+            this.region = region;
+            this.position = position;
+        }
+    }
+
+    /**
+     * The state of an object at the time it was submitted.  We copy everything
+     * here as the objects are shared between entities and will change after submission.
+     */
+    private static class Geometry {
+        private final Submitter submitter;
+        private final RenderableObject object;
+        private final TransformationMatrix transform = new TransformationMatrix();
+        private String texture;
+        private float red;
+        private float green;
+        private float blue;
+        private float alpha;
+        private boolean isTranslucent;
+        private int worldLightValue;
+        private boolean disableLighting;
+        private boolean ignoreWorldShading;
+        private boolean enableBrightBlending;
+        private boolean submittedThisFrame;
+
+        private Geometry(Submitter submitter, RenderableObject object) {
+            this.submitter = submitter;
+            this.object = object;
+            setTo(object);
+        }
+
+        private void setTo(RenderableObject object) {
+            transform.set(object.transform);
+            texture = object.texture;
+            red = object.color.red;
+            green = object.color.green;
+            blue = object.color.blue;
+            alpha = object.alpha;
+            isTranslucent = object.isTranslucent;
+            worldLightValue = object.worldLightValue;
+            disableLighting = object.disableLighting;
+            ignoreWorldShading = object.ignoreWorldShading;
+            enableBrightBlending = object.enableBrightBlending;
+        }
+
+        private boolean matches(RenderableObject object) {
+            TransformationMatrix other = object.transform;
+            return object.worldLightValue == worldLightValue && object.alpha == alpha && object.color.red == red && object.color.green == green && object.color.blue == blue && object.isTranslucent == isTranslucent && object.disableLighting == disableLighting && object.ignoreWorldShading == ignoreWorldShading && object.enableBrightBlending == enableBrightBlending && (texture == null ? object.texture == null : texture.equals(object.texture)) && other.m00 == transform.m00 && other.m01 == transform.m01 && other.m02 == transform.m02 && other.m03 == transform.m03 && other.m10 == transform.m10 && other.m11 == transform.m11 && other.m12 == transform.m12 && other.m13 == transform.m13 && other.m20 == transform.m20 && other.m21 == transform.m21 && other.m22 == transform.m22 && other.m23 == transform.m23;
+        }
+
+        private String getStateKey() {
+            return texture + red + green + blue + alpha + isTranslucent + worldLightValue + disableLighting + ignoreWorldShading + enableBrightBlending;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package minecrafttransportsimulator.rendering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
+import minecrafttransportsimulator.mcinterface.IInterfaceRender;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * Tests for {@link StaticGeometryBatcher}.  Rendering is replaced with a stub that records
+ * what would have been drawn, so the merged vertex buffers can be checked without MC.
+ *
+ * @author don_bruce
+ */
+public class StaticGeometryBatcherTest {
+    private static final int FLOATS_PER_VERTEX = 8;
+    private static final float DELTA = 0.0001F;
+
+    private final List<RenderableObject> renderedObjects = new ArrayList<>();
+    private StaticGeometryBatcher batcher;
+
+    @Before
+    public void setup() {
+        renderedObjects.clear();
+        InterfaceManager.renderingInterface = (IInterfaceRender) Proxy.newProxyInstance(IInterfaceRender.class.getClassLoader(), new Class<?>[]{IInterfaceRender.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "renderVertices":
+                    renderedObjects.add((RenderableObject) args[0]);
+                    return null;
+                case "isBoxInView":
+                    return true;
+                default:
+                    return method.getReturnType().equals(boolean.class) ? false : null;
+            }
+        });
+        batcher = new StaticGeometryBatcher();
+    }
+
+    @Test
+    public void mergesObjectsWithSameStateIntoOneBatch() {
+        Point3D firstPosition = new Point3D(1, 64, 2);
+        Point3D secondPosition = new Point3D(5, 70, 9);
+        batcher.submit(new Object(), firstPosition, createTriangle("first", "texture"));
+        batcher.submit(new Object(), secondPosition, createTriangle("second", "texture"));
+
+        List<RenderableObject> batches = batcher.getRegionBatches(firstPosition);
+        assertEquals(1, batches.size());
+        FloatBuffer vertices = batches.get(0).vertices;
+        assertEquals(2 * 3 * FLOATS_PER_VERTEX, vertices.limit());
+
+        //Vertices should be offset by their submitter's position, relative to the region origin at 0,0.
+        assertVertex(vertices, 0, 0, 0, 1, 1, 64, 2);
+        assertVertex(vertices, 3, 0, 0, 1, 5, 70, 9);
+    }
+
+    @Test
+    public void separatesObjectsByRenderState() {
+        Point3D position = new Point3D(1, 64, 2);
+        batcher.submit(new Object(), position, createTriangle("first", "texture"));
+        batcher.submit(new Object(), position, createTriangle("second", "otherTexture"));
+        RenderableObject translucent = createTriangle("third", "texture");
+        translucent.isTranslucent = true;
+        batcher.submit(new Object(), position, translucent);
+
+        assertEquals(3, batcher.getRegionBatches(position).size());
+    }
+
+    @Test
+    public void appliesObjectTransformsAndRegionOrigin() {
+        //Region for this position starts at -16,-16, so the vertex should be placed at 15,10,15 after the transform.
+        Point3D position = new Point3D(-1, 10, -1);
+        RenderableObject object = createTriangle("rotated", "texture");
+        object.transform.setTranslation(0, 0, 0).applyRotation(new RotationMatrix().rotateY(90));
+        batcher.submit(new Object(), position, object);
+
+        FloatBuffer vertices = batcher.getRegionBatches(position).get(0).vertices;
+        //Normal of +Z rotated 90 degrees about Y is +X.  The vertex at the origin stays at the origin.
+        assertVertex(vertices, 0, 1, 0, 0, 15, 10, 15);
+        //Vertex at 1,0,0 rotated 90 degrees about Y is at 0,0,-1.
+        assertVertex(vertices, 1, 1, 0, 0, 15, 10, 14);
+    }
+
+    @Test
+    public void rendersRegionsWithoutSubmissionsThisFrame() {
+        Point3D position = new Point3D(1, 64, 2);
+        batcher.submit(new Object(), position, createTriangle("first", "texture"));
+        renderFrame();
+        assertEquals(1, renderedObjects.size());
+
+        //Nothing submits this frame, as if all entities were culled, but the region should still render.
+        renderedObjects.clear();
+        renderFrame();
+        assertEquals(1, renderedObjects.size());
+        assertEquals(3 * FLOATS_PER_VERTEX, renderedObjects.get(0).vertices.limit());
+    }
+
+    @Test
+    public void prunesObjectsNoLongerSubmitted() {
+        Point3D position = new Point3D(1, 64, 2);
+        Object owner = new Object();
+        RenderableObject kept = createTriangle("kept", "texture");
+        RenderableObject dropped = createTriangle("dropped", "texture");
+        batcher.submit(owner, position, kept);
+        batcher.submit(owner, position, dropped);
+        renderFrame();
+        assertEquals(2 * 3 * FLOATS_PER_VERTEX, batcher.getRegionBatches(position).get(0).vertices.limit());
+
+        //Only submit one object.  The other should be removed from the batch.
+        batcher.submit(owner, position, kept);
+        renderFrame();
+        assertEquals(3 * FLOATS_PER_VERTEX, batcher.getRegionBatches(position).get(0).vertices.limit());
+    }
+
+    @Test
+    public void returnsNullForEmptyRegions() {
+        assertNull(batcher.getRegionBatches(new Point3D(100, 0, 100)));
+        batcher.submit(new Object(), new Point3D(1, 64, 2), createTriangle("first", "texture"));
+        assertNull(batcher.getRegionBatches(new Point3D(100, 0, 100)));
+        assertNotNull(batcher.getRegionBatches(new Point3D(15, 0, 15)));
+    }
+
+    private void renderFrame() {
+        batcher.render(false, new Point3D());
+        batcher.render(true, new Point3D());
+    }
+
+    /**
+     * Creates a triangle with a +Z normal and points at the origin, 1,0,0, and 0,1,0.
+     */
+    private static RenderableObject createTriangle(String name, String texture) {
+        FloatBuffer vertices = FloatBuffer.allocate(3 * FLOATS_PER_VERTEX);
+        vertices.put(new float[]{0, 0, 1, 0, 0, 0, 0, 0});
+        vertices.put(new float[]{0, 0, 1, 1, 0, 1, 0, 0});
+        vertices.put(new float[]{0, 0, 1, 0, 1, 0, 1, 0});
+        vertices.flip();
+        return new RenderableObject(name, texture, new ColorRGB(), vertices, true);
+    }
+
+    private static void assertVertex(FloatBuffer vertices, int vertexIndex, float normalX, float normalY, float normalZ, float x, float y, float z) {
+        int start = vertexIndex * FLOATS_PER_VERTEX;
+        assertEquals(normalX, vertices.get(start), DELTA);
+        assertEquals(normalY, vertices.get(start + 1), DELTA);
+        assertEquals(normalZ, vertices.get(start + 2), DELTA);
+        assertEquals(x, vertices.get(start + 5), DELTA);
+        assertEquals(y, vertices.get(start + 6), DELTA);
+        assertEquals(z, vertices.get(start + 7), DELTA);
+    }
+}
@@ -0,0 +1,152 @@
+package mcinterface1122;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+/**
+ * Cache of block collision boxes for a world, in world coordinates.
+ * Vehicles check the same blocks every tick for every collision box, and getting the collision boxes
+ * of each block is the bulk of the cost of those checks.  Blocks are stored per chunk section,
+ * and each block's boxes are kept until the actual state at that position changes, at which point they are re-calculated.
+ * We use the actual state rather than the stored state as things like fences change their boxes based on their neighbors.
+ * Blocks with tile entities are never cached, as their boxes may depend on the tile entity rather than the state.
+ * Chunks MUST be removed via {@link #removeChunk(ChunkPos)} when they unload.
+ *
+ * @author don_bruce
+ */
+class BlockCollisionCache {
+    private static final int SECTIONS_PER_CHUNK = 16;
+    private static final int BLOCKS_PER_SECTION = 16 * 16 * 16;
+    private static final AxisAlignedBB[] NO_BOXES = new AxisAlignedBB[0];
+    /**
+     * Shared block for all air.  Air has no boxes and nothing else we need per position, so it isn't cached.
+     **/
+    private static final CachedBlock AIR_BLOCK = new CachedBlock();
+
+    static {
+        AIR_BLOCK.isAir = true;
+        AIR_BLOCK.collisionBoxes = NO_BOXES;
+    }
+
+    private final World world;
+    private final Map<Long, CachedBlock[][]> chunks = new HashMap<>();
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+    private final List<AxisAlignedBB> mutableBoxes = new ArrayList<>();
+    private final CachedBlock uncachedBlock = new CachedBlock();
+    private long lastChunkKey;
+    private CachedBlock[][] lastChunk;
+
+    BlockCollisionCache(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Returns the block at the passed-in position, updating it first if the state there has changed.
+     * The returned object MUST NOT be held: blocks that can't be cached share one object that changes every call.
+     * Air blocks also share one object, which has no state set.
+     */
+    CachedBlock getBlock(int x, int y, int z) {
+        mutablePos.setPos(x, y, z);
+        IBlockState state = world.getBlockState(mutablePos);
+        if (state.getBlock().isAir(state, world, mutablePos)) {
+            return AIR_BLOCK;
+        }
+        if (y < 0 || y >= SECTIONS_PER_CHUNK * 16 || state.getBlock().hasTileEntity(state)) {
+            setBlock(uncachedBlock, state, state);
+            return uncachedBlock;
+        }
+        IBlockState actualState = state.getActualState(world, mutablePos);
+
+        long chunkKey = ChunkPos.asLong(x >> 4, z >> 4);
+        if (lastChunk == null || chunkKey != lastChunkKey) {
+            lastChunk = chunks.computeIfAbsent(chunkKey, k -> new CachedBlock[SECTIONS_PER_CHUNK][]);
+            lastChunkKey = chunkKey;
+        }
+        CachedBlock[] section = lastChunk[y >> 4];
+        if (section == null) {
+            section = new CachedBlock[BLOCKS_PER_SECTION];
+            lastChunk[y >> 4] = section;
+        }
+        int index = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        CachedBlock block = section[index];
+        if (block == null) {
+            block = new CachedBlock();
+            section[index] = block;
+            setBlock(block, state, actualState);
+        } else if (block.actualState != actualState) {
+            setBlock(block, state, actualState);
+        }
+        return block;
+    }
+
+    /**
+     * Returns true if the block at the passed-in position is loaded.
+     */
+    boolean isLoaded(int x, int y, int z) {
+        return world.isBlockLoaded(mutablePos.setPos(x, y, z));
+    }
+
+    /**
+     * Removes all cached blocks for the passed-in chunk.
+     */
+    void removeChunk(ChunkPos chunkPos) {
+        chunks.remove(ChunkPos.asLong(chunkPos.x, chunkPos.z));
+        lastChunk = null;
+    }
+
+    private void setBlock(CachedBlock block, IBlockState state, IBlockState actualState) {
+        block.state = state;
+        block.actualState = actualState;
+        Material material = state.getMaterial();
+        block.isAir = state.getBlock().isAir(state, world, mutablePos);
+        block.isLeaves = material == Material.LEAVES;
+        block.isLiquid = material.isLiquid();
+        block.collisionBoxes = NO_BOXES;
+        if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, mutablePos) != null) {
+            //Query with a box bigger than the block, as some blocks, like fences, have boxes that go outside it.
+            mutableBoxes.clear();
+            state.addCollisionBoxToList(world, mutablePos, new AxisAlignedBB(mutablePos).grow(1), mutableBoxes, null, false);
+            if (!mutableBoxes.isEmpty()) {
+                block.collisionBoxes = mutableBoxes.toArray(new AxisAlignedBB[0]);
+            }
+        }
+        block.liquidBox = block.isLiquid ? state.getBoundingBox(world, mutablePos).offset(mutablePos) : null;
+    }
+
+    static class CachedBlock {
+        IBlockState state;
+        IBlockState actualState;
+        boolean isAir;
+        boolean isLeaves;
+        boolean isLiquid;
+        /**
+         * Collision boxes, in world coordinates.  Empty if the block doesn't have collision.
+         **/
+        AxisAlignedBB[] collisionBoxes;
+        /**
+         * Liquid bounds, in world coordinates.  Null if the block isn't a liquid.
+         **/
+        AxisAlignedBB liquidBox;
+
+        /**
+         * Returns true if any of the collision boxes intersect the passed-in box.
+         */
+        boolean collidesWith(AxisAlignedBB box) {
+            for (AxisAlignedBB collisionBox : collisionBoxes) {
+                if (collisionBox.intersects(box)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packloading.PackParser;
+import minecrafttransportsimulator.rendering.RenderText;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.ControlSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
@@ -163,7 +164,9 @@ public class InterfaceClient implements IInterfaceClient {
 
     @Override
     public Point3D getCameraPosition() {
-        Vec3d position = ActiveRenderInfo.getCameraPosition();
+        //Camera position in ActiveRenderInfo is relative to the entity, so project it from the entity to get the world position.
+        Minecraft mc = Minecraft.getMinecraft();
+        Vec3d position = ActiveRenderInfo.projectViewFromEntity(mc.getRenderViewEntity(), mc.getRenderPartialTicks());
         mutablePosition.set(position.x, position.y, position.z);
         return mutablePosition;
     }
@@ -274,6 +277,9 @@ public class InterfaceClient implements IInterfaceClient {
                         }
                         changeCameraRequest = false;
                     }
+
+                    //Save any font metrics that were scanned this tick.
+                    RenderText.savePageCache();
                 }
                 world.endProfiling();
             }
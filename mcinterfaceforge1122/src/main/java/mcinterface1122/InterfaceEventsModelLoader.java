@@ -16,6 +16,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.lwjgl.opengl.GL11;
 
+import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
 import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.components.AItemPack;
@@ -109,6 +110,14 @@ public class InterfaceEventsModelLoader {
                             world.endProfiling();
                         }
 
+                        //Render static geometry and particles.  These are batched relative to the camera rather than an entity, so no translation is needed.
+                        Point3D cameraPosition = new Point3D(cameraEntity.lastTickPosX + (cameraEntity.posX - cameraEntity.lastTickPosX) * partialTicks, cameraEntity.lastTickPosY + (cameraEntity.posY - cameraEntity.lastTickPosY) * partialTicks, cameraEntity.lastTickPosZ + (cameraEntity.posZ - cameraEntity.lastTickPosZ) * partialTicks);
+                        world.beginProfiling("MTSStaticGeometry", true);
+                        world.staticGeometry.render(blendingEnabled, cameraPosition);
+                        world.beginProfiling("MTSParticles", false);
+                        world.particles.render(blendingEnabled, partialTicks, cameraPosition);
+                        world.endProfiling();
+
                         //Reset states.
                         GL11.glShadeModel(GL11.GL_FLAT);
                         if (blendingEnabled) {
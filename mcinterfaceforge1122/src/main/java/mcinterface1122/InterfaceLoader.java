@@ -9,6 +9,7 @@ import org.apache.logging.log4j.Logger;
 
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packloading.PackParser;
+import minecrafttransportsimulator.rendering.AModelParser;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
 import net.minecraftforge.fluids.FluidRegistry;
@@ -69,7 +70,7 @@ public final class InterfaceLoader {
 
             //Parse the packs.
             PackParser.addDefaultItems();
-            PackParser.parsePacks(packDirectories);
+            PackParser.parsePacks(packDirectories, new File(new File(gameDirectory, "config"), "mtspackcache.bin"), MODVER);
         } else {
             InterfaceManager.coreInterface.logError("Could not find mods directory!  Game directory is confirmed to: " + gameDirectory);
         }
@@ -98,6 +99,11 @@ public final class InterfaceLoader {
                 ConfigSystem.client.renderingSettings.playerTweaks.value = false;
             }
 
+            //Start loading pack models, if we are set to do so.
+            if (ConfigSystem.client.renderingSettings.preloadModels.value) {
+                AModelParser.preloadPackModels();
+            }
+
             //Save modified config.
             ConfigSystem.saveToDisk();
         }
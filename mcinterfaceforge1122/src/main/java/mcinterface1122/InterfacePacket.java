@@ -1,11 +1,13 @@
 package mcinterface1122;
 
 import java.io.IOException;
-
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IInterfacePacket;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
@@ -16,6 +18,7 @@ import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
+import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -24,7 +27,19 @@ import net.minecraftforge.fml.relauncher.Side;
 
 class InterfacePacket implements IInterfacePacket {
     private static final SimpleNetworkWrapper network = NetworkRegistry.INSTANCE.newSimpleChannel(InterfaceLoader.MODID);
-    private static final BiMap<Byte, Class<? extends APacketBase>> packetMappings = HashBiMap.create();
+    private static final Map<Class<? extends APacketBase>, Byte> packetMappings = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private static final Function<ByteBuf, ? extends APacketBase>[] packetFactories = new Function[256];
+    /**
+     * Index of each packet class.  This caches the index on the class itself on first use,
+     * so getting the index for a packet doesn't need a map lookup every send.
+     **/
+    private static final ClassValue<Byte> packetIndexes = new ClassValue<Byte>() {
+        @Override
+        protected Byte computeValue(Class<?> packetClass) {
+            return packetMappings.get(packetClass);
+        }
+    };
 
     /**
      * Called to init this network.  Needs to be done after networking is ready.
@@ -37,19 +52,20 @@ class InterfacePacket implements IInterfacePacket {
 
         //Register internal packets, then external.
         byte packetIndex = 0;
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCSHandshakeClient.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCSHandshakeServer.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCSHandshakeClient.class, PacketEntityCSHandshakeClient::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCSHandshakeServer.class, PacketEntityCSHandshakeServer::new);
         APacketBase.initPackets(packetIndex);
     }
 
     @Override
-    public void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass) {
-        packetMappings.put(packetIndex, packetClass);
+    public <PacketType extends APacketBase> void registerPacket(byte packetIndex, Class<PacketType> packetClass, Function<ByteBuf, PacketType> packetFactory) {
+        packetMappings.put(packetClass, packetIndex);
+        packetFactories[packetIndex & 0xFF] = packetFactory;
     }
 
     @Override
     public byte getPacketIndex(APacketBase packet) {
-        return packetMappings.inverse().get(packet.getClass());
+        return packetIndexes.get(packet.getClass());
     }
 
     @Override
@@ -62,6 +78,24 @@ class InterfacePacket implements IInterfacePacket {
         network.sendToAll(new WrapperPacket(packet));
     }
 
+    @Override
+    public void sendToClientsInWorld(APacketBase packet, AWrapperWorld world) {
+        network.sendToDimension(new WrapperPacket(packet), ((WrapperWorld) world).world.provider.getDimension());
+    }
+
+    @Override
+    public void sendToClientsNear(APacketBase packet, AWrapperWorld world, Point3D position, double radius) {
+        network.sendToAllAround(new WrapperPacket(packet), new TargetPoint(((WrapperWorld) world).world.provider.getDimension(), position.x, position.y, position.z, radius));
+    }
+
+    @Override
+    public void sendToTrackingClients(APacketBase packet, AEntityB_Existing entity) {
+        WrapperPacket wrapperPacket = new WrapperPacket(packet);
+        for (IWrapperPlayer player : entity.world.getPlayersTracking(entity)) {
+            network.sendTo(wrapperPacket, (EntityPlayerMP) ((WrapperPlayer) player).player);
+        }
+    }
+
     @Override
     public void sendToPlayer(APacketBase packet, IWrapperPlayer player) {
         network.sendTo(new WrapperPacket(packet), (EntityPlayerMP) ((WrapperPlayer) player).player);
@@ -115,11 +149,15 @@ class InterfacePacket implements IInterfacePacket {
         @Override
         public void fromBytes(ByteBuf buf) {
             byte packetIndex = buf.readByte();
-            try {
-                Class<? extends APacketBase> packetClass = packetMappings.get(packetIndex);
-                packet = packetClass.getConstructor(ByteBuf.class).newInstance(buf);
-            } catch (Exception e) {
-                e.printStackTrace();
+            Function<ByteBuf, ? extends APacketBase> packetFactory = packetFactories[packetIndex & 0xFF];
+            if (packetFactory != null) {
+                try {
+                    packet = packetFactory.apply(buf);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            } else {
+                InterfaceManager.coreInterface.logError("Was asked to create packet of index " + packetIndex + " but we haven't registered that one yet!");
             }
         }
 
@@ -16,6 +16,7 @@ import java.util.Set;
 
 import org.lwjgl.opengl.GL11;
 
+import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.guis.components.AGUIBase;
@@ -31,6 +32,8 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.OpenGlHelper;
 import net.minecraft.client.renderer.RenderHelper;
+import net.minecraft.client.renderer.culling.Frustum;
+import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.renderer.texture.TextureMap;
 import net.minecraft.client.renderer.texture.TextureUtil;
@@ -60,6 +63,7 @@ public class InterfaceRender implements IInterfaceRender {
     private static final ResourceLocation MISSING_TEXTURE = new ResourceLocation("mts:textures/rendering/missing.png");
     private static final Map<RenderableObject, Set<Object>> objectMap = new HashMap<>();
     protected static int lastRenderPassActualPass;
+    private static Frustum renderFrustum;
 
     @Override
     public float[] getBlockBreakTexture(AWrapperWorld world, Point3D position) {
@@ -126,6 +130,10 @@ public class InterfaceRender implements IInterfaceRender {
             GL11.glCallList(object.cachedVertexIndex);
         } else if (object.isLines) {
             renderLines(object.vertices);
+        } else if (object.vertexColors != null) {
+            renderVertices(object.vertices, object.vertexColors);
+            //Put the GL color back to what the state manager thinks it is, or the next color set might get skipped.
+            GL11.glColor4f(object.color.red, object.color.green, object.color.blue, object.alpha);
         } else {
             renderVertices(object.vertices);
         }
@@ -198,6 +206,26 @@ public class InterfaceRender implements IInterfaceRender {
         return Minecraft.getMinecraft().getRenderManager().isDebugBoundingBox();
     }
 
+    @Override
+    public boolean isBoxInView(BoundingBox box, double maxDistance) {
+        //Frustum uses the clipping planes set up for the current render, we just need to give it the camera position.
+        RenderManager manager = Minecraft.getMinecraft().getRenderManager();
+        if (maxDistance > 0) {
+            double deltaX = box.globalCenter.x - manager.viewerPosX;
+            double deltaY = box.globalCenter.y - manager.viewerPosY;
+            double deltaZ = box.globalCenter.z - manager.viewerPosZ;
+            if (deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ > maxDistance * maxDistance) {
+                return false;
+            }
+        }
+        if (renderFrustum == null) {
+            //Create this on first use, as it sets up the clipping planes from the current GL state.
+            renderFrustum = new Frustum();
+        }
+        renderFrustum.setPosition(manager.viewerPosX, manager.viewerPosY, manager.viewerPosZ);
+        return renderFrustum.isBoundingBoxInFrustum(WrapperWorld.convert(box));
+    }
+
     /**
      * Renders a set of raw vertices without any caching.
      */
@@ -213,6 +241,23 @@ public class InterfaceRender implements IInterfaceRender {
         vertices.rewind();
     }
 
+    /**
+     * Like {@link #renderVertices(FloatBuffer)}, but with a color for each vertex.
+     */
+    private static void renderVertices(FloatBuffer vertices, FloatBuffer colors) {
+        GL11.glBegin(GL11.GL_TRIANGLES);
+        while (vertices.hasRemaining()) {
+            GL11.glColor4f(colors.get(), colors.get(), colors.get(), colors.get());
+            GL11.glNormal3f(vertices.get(), vertices.get(), vertices.get());
+            GL11.glTexCoord2f(vertices.get(), vertices.get());
+            GL11.glVertex3f(vertices.get(), vertices.get(), vertices.get());
+        }
+        GL11.glEnd();
+        //Rewind buffers for next read.
+        vertices.rewind();
+        colors.rewind();
+    }
+
     /**
      * Renders a set of raw lines without any caching.
      */
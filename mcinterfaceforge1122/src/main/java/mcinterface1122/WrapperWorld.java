@@ -4,12 +4,12 @@ import java.io.File;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import mcinterface1122.BlockCollisionCache.CachedBlock;
 import minecrafttransportsimulator.baseclasses.BlockHitResult;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
@@ -35,6 +35,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.mcinterface.SavedDataWriter;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataRequest;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataUpdate;
 import minecrafttransportsimulator.packloading.PackParser;
@@ -65,6 +66,8 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemDye;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
@@ -76,8 +79,10 @@ import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
@@ -99,10 +104,16 @@ public class WrapperWorld extends AWrapperWorld {
     private final Map<UUID, BuilderEntityExisting> playerServerGunBuilders = new HashMap<>();
     private final Map<UUID, Integer> ticksSincePlayerJoin = new HashMap<>();
     private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<>();
-    private final Set<BlockPos> knownAirBlocks = new HashSet<>();
+    private final BlockCollisionCache collisionCache;
 
     protected final World world;
     private final IWrapperNBT savedData;
+    private final SavedDataWriter savedDataWriter;
+    /**
+     * Copies of the saved data sections as of the last write.  Used by the background writer so it
+     * doesn't touch the live data.  Sections that haven't changed are re-used between writes.
+     **/
+    private final Map<String, NBTBase> savedDataSnapshots = new HashMap<>();
 
     /**
      * Returns a wrapper instance for the passed-in world instance.
@@ -123,9 +134,11 @@ public class WrapperWorld extends AWrapperWorld {
 
     private WrapperWorld(World world) {
         this.world = world;
+        this.collisionCache = new BlockCollisionCache(world);
         if (world.isRemote) {
             //Send packet to server to request data for this world.
             this.savedData = InterfaceManager.coreInterface.getNewNBTWrapper();
+            this.savedDataWriter = null;
             InterfaceManager.packetInterface.sendToServer(new PacketWorldSavedDataRequest(InterfaceManager.clientInterface.getClientPlayer()));
         } else {
             //Load data from disk.
@@ -139,6 +152,7 @@ public class WrapperWorld extends AWrapperWorld {
                 e.printStackTrace();
                 throw new IllegalStateException("Could not load saved data from disk!  This will result in data loss if we continue!");
             }
+            this.savedDataWriter = new SavedDataWriter(getDataFile(), this::snapshotSavedData);
         }
         MinecraftForge.EVENT_BUS.register(this);
     }
@@ -190,14 +204,29 @@ public class WrapperWorld extends AWrapperWorld {
     public void setData(String name, IWrapperNBT value) {
         savedData.setData(name, value);
         if (!isClient()) {
-            try {
-                CompressedStreamTools.writeCompressed(((WrapperNBT) savedData).tag, Files.newOutputStream(getDataFile().toPath()));
-                InterfaceManager.packetInterface.sendToAllClients(new PacketWorldSavedDataUpdate(name, value));
-            } catch (Exception e) {
-                e.printStackTrace();
-                throw new IllegalStateException("Could not save data to disk!  This will result in data loss if we continue!");
+            //Don't write here, the writer will batch the changes and write them in the background.
+            savedDataWriter.markDirty(name);
+            InterfaceManager.packetInterface.sendToAllClients(new PacketWorldSavedDataUpdate(name, value));
+        }
+    }
+
+    /**
+     * Creates a snapshot of the saved data for the {@link SavedDataWriter}.  Dirty sections are copied,
+     * all others re-use the copy from the last snapshot as they haven't changed.
+     */
+    private SavedDataWriter.DataWriter snapshotSavedData(Set<String> dirtySections) {
+        NBTTagCompound liveTag = ((WrapperNBT) savedData).tag;
+        NBTTagCompound snapshotTag = new NBTTagCompound();
+        for (String name : liveTag.getKeySet()) {
+            NBTBase sectionSnapshot = dirtySections.contains(name) ? null : savedDataSnapshots.get(name);
+            if (sectionSnapshot == null) {
+                sectionSnapshot = liveTag.getTag(name).copy();
+                savedDataSnapshots.put(name, sectionSnapshot);
             }
+            snapshotTag.setTag(name, sectionSnapshot);
         }
+        savedDataSnapshots.keySet().retainAll(liveTag.getKeySet());
+        return stream -> CompressedStreamTools.writeCompressed(snapshotTag, stream);
     }
 
     @Override
@@ -235,6 +264,20 @@ public class WrapperWorld extends AWrapperWorld {
         return players;
     }
 
+    @Override
+    public List<IWrapperPlayer> getPlayersTracking(AEntityB_Existing entity) {
+        //MC only tracks entities within the view distance, so that's our range.
+        //Like MC, we only check horizontal distance here.
+        List<IWrapperPlayer> players = new ArrayList<>();
+        double trackingRange = world.getMinecraftServer().getPlayerList().getViewDistance() * 16;
+        for (EntityPlayer player : world.playerEntities) {
+            if (Math.abs(player.posX - entity.position.x) <= trackingRange && Math.abs(player.posZ - entity.position.z) <= trackingRange) {
+                players.add(WrapperPlayer.getWrapperFor(player));
+            }
+        }
+        return players;
+    }
+
     @Override
     public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
         List<IWrapperEntity> entities = new ArrayList<>();
@@ -493,23 +536,36 @@ public class WrapperWorld extends AWrapperWorld {
 
     @Override
     public double getHeight(Point3D position) {
-        BlockPos pos = new BlockPos(position.x, position.y, position.z);
+        int x = (int) Math.floor(position.x);
+        int y = (int) Math.floor(position.y);
+        int z = (int) Math.floor(position.z);
+        //Skip the empty sections above the top filled section in this column, since MC already tracks where that is.
+        //Unloaded chunks are null here, so we just fall through to the normal check for them.
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(x >> 4, z >> 4);
+        if (chunk != null) {
+            int topY = chunk.getTopFilledSegment() + 15;
+            if (topY > 0 && y > topY) {
+                y = topY;
+            }
+        }
+
         //Need to go down till we find a block.
         boolean bottomSlab = false;
-        while (pos.getY() > 0) {
-            if (!world.isAirBlock(pos)) {
+        while (y > 0) {
+            CachedBlock cachedBlock = collisionCache.getBlock(x, y, z);
+            if (!cachedBlock.isAir) {
                 //Check for a slab, since this affects distance.
-                IBlockState state = world.getBlockState(pos);
+                IBlockState state = cachedBlock.state;
                 Block block = state.getBlock();
                 bottomSlab = block instanceof BlockSlab && !((BlockSlab) block).isDouble() && state.getValue(BlockSlab.HALF) == BlockSlab.EnumBlockHalf.BOTTOM;
 
                 //Adjust up since we need to be above the top block. 
-                pos = pos.up();
+                ++y;
                 break;
             }
-            pos = pos.down();
+            --y;
         }
-        return bottomSlab ? position.y - (pos.getY() - 0.5) : position.y - pos.getY();
+        return bottomSlab ? position.y - (y - 0.5) : position.y - y;
     }
 
     @Override
@@ -520,18 +576,21 @@ public class WrapperWorld extends AWrapperWorld {
         for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
             for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
                 for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (world.isBlockLoaded(pos)) {
-                        IBlockState state = world.getBlockState(pos);
-                        if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null && state.getMaterial() != Material.LEAVES) {
+                    if (collisionCache.isLoaded(i, j, k)) {
+                        CachedBlock block = collisionCache.getBlock(i, j, k);
+                        if (!block.isLeaves) {
                             int oldCollidingBlockCount = mutableCollidingAABBs.size();
-                            state.addCollisionBoxToList(world, pos, mcBox, mutableCollidingAABBs, null, false);
+                            for (AxisAlignedBB collisionBox : block.collisionBoxes) {
+                                if (collisionBox.intersects(mcBox)) {
+                                    mutableCollidingAABBs.add(collisionBox);
+                                }
+                            }
                             if (mutableCollidingAABBs.size() > oldCollidingBlockCount) {
                                 box.collidingBlockPositions.add(new Point3D(i, j, k));
                             }
                         }
-                        if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                            mutableCollidingAABBs.add(state.getBoundingBox(world, pos).offset(pos));
+                        if (box.collidesWithLiquids && block.isLiquid) {
+                            mutableCollidingAABBs.add(block.liquidBox);
                             box.collidingBlockPositions.add(new Point3D(i, j, k));
                         }
                     }
@@ -602,39 +661,22 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean clearCache, boolean breakLeaves) {
-        if (clearCache) {
-            knownAirBlocks.clear();
-        }
-        mutableCollidingAABBs.clear();
+    public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean breakLeaves) {
         AxisAlignedBB mcBox = WrapperWorld.convertWithOffset(box, offset.x, offset.y, offset.z);
         for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
             for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
                 for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!knownAirBlocks.contains(pos)) {
-                        if (world.isBlockLoaded(pos)) {
-                            IBlockState state = world.getBlockState(pos);
-                            if (state.getMaterial() != Material.LEAVES) {
-                                if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null) {
-                                    int oldCollidingBlockCount = mutableCollidingAABBs.size();
-                                    state.addCollisionBoxToList(world, pos, mcBox, mutableCollidingAABBs, null, false);
-                                    if (mutableCollidingAABBs.size() > oldCollidingBlockCount) {
-                                        return true;
-                                    }
-                                } else {
-                                    knownAirBlocks.add(pos);
-                                }
-                                if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                                    if (mcBox.intersects(state.getBoundingBox(world, pos).offset(pos))) {
-                                        return true;
-                                    }
-                                }
-                            } else if (breakLeaves) {
-                                world.destroyBlock(pos, false);
-                            } else {
-                                knownAirBlocks.add(pos);
+                    if (collisionCache.isLoaded(i, j, k)) {
+                        CachedBlock block = collisionCache.getBlock(i, j, k);
+                        if (!block.isLeaves) {
+                            if (block.collidesWith(mcBox)) {
+                                return true;
+                            }
+                            if (box.collidesWithLiquids && block.isLiquid && mcBox.intersects(block.liquidBox)) {
+                                return true;
                             }
+                        } else if (breakLeaves) {
+                            world.destroyBlock(new BlockPos(i, j, k), false);
                         }
                     }
                 }
@@ -1003,6 +1045,7 @@ public class WrapperWorld extends AWrapperWorld {
             if (event.phase.equals(Phase.START)) {
                 beginProfiling("MTS_ServerVehicleUpdates", true);
                 tickAll();
+                savedDataWriter.tick();
 
                 for (EntityPlayer player : event.world.playerEntities) {
                     UUID playerUUID = player.getUniqueID();
@@ -1055,6 +1098,17 @@ public class WrapperWorld extends AWrapperWorld {
         }
     }
 
+    /**
+     * Remove cached collisions for chunks that unload, as they may change before they load again.
+     */
+    @SubscribeEvent
+    public void onIVChunkUnload(ChunkEvent.Unload event) {
+        //Need to check if it's our world, because Forge is stupid like that.
+        if (event.getWorld() == world) {
+            collisionCache.removeChunk(event.getChunk().getPos());
+        }
+    }
+
     /**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
      * Also remove this wrapper from the created lists, as it's invalid.
@@ -1066,6 +1120,9 @@ public class WrapperWorld extends AWrapperWorld {
             for (AEntityA_Base entity : allEntities) {
                 entity.remove();
             }
+            if (savedDataWriter != null) {
+                savedDataWriter.flush();
+            }
             worldWrappers.remove(world);
         }
     }
@@ -0,0 +1,149 @@
+package mcinterface1165;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.material.Material;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.shapes.VoxelShape;
+import net.minecraft.world.World;
+
+/**
+ * Cache of block collision shapes for a world, flattened into AABBs in world coordinates.
+ * Vehicles check the same blocks every tick for every collision box, and getting, moving, and flattening
+ * the shape of each block is the bulk of the cost of those checks.  Blocks are stored per chunk section,
+ * and each block's boxes are kept until the state at that position changes, at which point they are re-calculated.
+ * Blocks with tile entities are never cached, as their shapes may depend on the tile entity rather than the state.
+ * Chunks MUST be removed via {@link #removeChunk(ChunkPos)} when they unload.
+ *
+ * @author don_bruce
+ */
+class BlockCollisionCache {
+    private static final int SECTIONS_PER_CHUNK = 16;
+    private static final int BLOCKS_PER_SECTION = 16 * 16 * 16;
+    private static final AxisAlignedBB[] NO_BOXES = new AxisAlignedBB[0];
+    /**
+     * Shared block for all air.  Air has no boxes and nothing else we need per position, so it isn't cached.
+     **/
+    private static final CachedBlock AIR_BLOCK = new CachedBlock();
+
+    static {
+        AIR_BLOCK.isAir = true;
+        AIR_BLOCK.collisionBoxes = NO_BOXES;
+    }
+
+    private final World world;
+    private final Map<Long, CachedBlock[][]> chunks = new HashMap<>();
+    private final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+    private final CachedBlock uncachedBlock = new CachedBlock();
+    private long lastChunkKey;
+    private CachedBlock[][] lastChunk;
+
+    BlockCollisionCache(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Returns the block at the passed-in position, updating it first if the state there has changed.
+     * The returned object MUST NOT be held: blocks that can't be cached share one object that changes every call.
+     * Air blocks also share one object, which has no state set.
+     */
+    CachedBlock getBlock(int x, int y, int z) {
+        mutablePos.set(x, y, z);
+        BlockState state = world.getBlockState(mutablePos);
+        if (state.isAir(world, mutablePos)) {
+            return AIR_BLOCK;
+        }
+        if (y < 0 || y >= SECTIONS_PER_CHUNK * 16 || state.hasTileEntity()) {
+            uncachedBlock.setTo(state, world, mutablePos);
+            return uncachedBlock;
+        }
+
+        long chunkKey = ChunkPos.asLong(x >> 4, z >> 4);
+        if (lastChunk == null || chunkKey != lastChunkKey) {
+            lastChunk = chunks.computeIfAbsent(chunkKey, k -> new CachedBlock[SECTIONS_PER_CHUNK][]);
+            lastChunkKey = chunkKey;
+        }
+        CachedBlock[] section = lastChunk[y >> 4];
+        if (section == null) {
+            section = new CachedBlock[BLOCKS_PER_SECTION];
+            lastChunk[y >> 4] = section;
+        }
+        int index = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        CachedBlock block = section[index];
+        if (block == null) {
+            block = new CachedBlock();
+            section[index] = block;
+            block.setTo(state, world, mutablePos);
+        } else if (block.state != state) {
+            block.setTo(state, world, mutablePos);
+        }
+        return block;
+    }
+
+    /**
+     * Returns true if the block at the passed-in position is loaded.
+     */
+    boolean isLoaded(int x, int y, int z) {
+        return world.isLoaded(mutablePos.set(x, y, z));
+    }
+
+    /**
+     * Removes all cached blocks for the passed-in chunk.
+     */
+    void removeChunk(ChunkPos chunkPos) {
+        chunks.remove(chunkPos.toLong());
+        lastChunk = null;
+    }
+
+    static class CachedBlock {
+        BlockState state;
+        boolean isAir;
+        boolean isLeaves;
+        boolean isLiquid;
+        /**
+         * Collision boxes, in world coordinates.  Empty if the block doesn't have collision.
+         **/
+        AxisAlignedBB[] collisionBoxes;
+        /**
+         * Full-block box for liquids, in world coordinates.  Null if the block isn't a liquid.
+         **/
+        AxisAlignedBB liquidBox;
+
+        private void setTo(BlockState state, World world, BlockPos pos) {
+            this.state = state;
+            Material material = state.getMaterial();
+            isAir = state.isAir(world, pos);
+            isLeaves = material == Material.LEAVES;
+            isLiquid = material.isLiquid();
+            collisionBoxes = NO_BOXES;
+            if (!isAir) {
+                VoxelShape collisionShape = state.getCollisionShape(world, pos);
+                if (!collisionShape.isEmpty()) {
+                    List<AxisAlignedBB> shapeBoxes = collisionShape.toAabbs();
+                    collisionBoxes = new AxisAlignedBB[shapeBoxes.size()];
+                    for (int i = 0; i < collisionBoxes.length; ++i) {
+                        collisionBoxes[i] = shapeBoxes.get(i).move(pos);
+                    }
+                }
+            }
+            liquidBox = isLiquid ? new AxisAlignedBB(pos) : null;
+        }
+
+        /**
+         * Returns true if any of the collision boxes intersect the passed-in box.
+         */
+        boolean collidesWith(AxisAlignedBB box) {
+            for (AxisAlignedBB collisionBox : collisionBoxes) {
+                if (collisionBox.intersects(box)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -297,6 +297,9 @@ public class InterfaceClient implements IInterfaceClient {
                         }
                         changeCameraRequest = false;
                     }
+
+                    //Save any font metrics that were scanned this tick.
+                    RenderText.savePageCache();
                 }
                 world.endProfiling();
             }
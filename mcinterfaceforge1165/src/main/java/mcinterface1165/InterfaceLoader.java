@@ -28,6 +28,7 @@ import minecrafttransportsimulator.jsondefs.JSONPack;
 import minecrafttransportsimulator.mcinterface.IInterfaceCore;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packloading.PackParser;
+import minecrafttransportsimulator.rendering.AModelParser;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
 import net.minecraft.entity.EntityClassification;
@@ -102,7 +103,7 @@ public class InterfaceLoader {
 
             //Parse the packs.
             PackParser.addDefaultItems();
-            PackParser.parsePacks(packDirectories);
+            PackParser.parsePacks(packDirectories, new File(new File(gameDirectory, "config"), "mtspackcache.bin"), MODVER);
         } else {
             InterfaceManager.coreInterface.logError("Could not find mods directory!  Game directory is confirmed to: " + gameDirectory);
         }
@@ -249,6 +250,11 @@ public class InterfaceLoader {
             //Put all liquids into the config file for use by modpack makers.
             ConfigSystem.settings.fuel.lastLoadedFluids = InterfaceManager.clientInterface.getAllFluidNames();
 
+            //Start loading pack models, if we are set to do so.
+            if (ConfigSystem.client.renderingSettings.preloadModels.value) {
+                AModelParser.preloadPackModels();
+            }
+
             //Save modified config.
             ConfigSystem.saveToDisk();
         }
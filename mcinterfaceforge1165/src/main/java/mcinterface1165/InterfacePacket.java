@@ -1,11 +1,13 @@
 package mcinterface1165;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-
 import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IInterfacePacket;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
@@ -24,7 +26,19 @@ import net.minecraftforge.fml.network.simple.SimpleChannel;
 class InterfacePacket implements IInterfacePacket {
     private static final String PROTOCOL_VERSION = "1";
     private static final SimpleChannel network = NetworkRegistry.newSimpleChannel(new ResourceLocation(InterfaceLoader.MODID, "main"), () -> PROTOCOL_VERSION, PROTOCOL_VERSION::equals, PROTOCOL_VERSION::equals);
-    private static final BiMap<Byte, Class<? extends APacketBase>> packetMappings = HashBiMap.create();
+    private static final Map<Class<? extends APacketBase>, Byte> packetMappings = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private static final Function<ByteBuf, ? extends APacketBase>[] packetFactories = new Function[256];
+    /**
+     * Index of each packet class.  This caches the index on the class itself on first use,
+     * so getting the index for a packet doesn't need a map lookup every send.
+     **/
+    private static final ClassValue<Byte> packetIndexes = new ClassValue<Byte>() {
+        @Override
+        protected Byte computeValue(Class<?> packetClass) {
+            return packetMappings.get(packetClass);
+        }
+    };
 
     /**
      * Called to init this network.  Needs to be done after networking is ready.
@@ -36,19 +50,20 @@ class InterfacePacket implements IInterfacePacket {
 
         //Register internal packets, then external.
         byte packetIndex = 0;
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCSHandshakeClient.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCSHandshakeServer.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCSHandshakeClient.class, PacketEntityCSHandshakeClient::new);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityCSHandshakeServer.class, PacketEntityCSHandshakeServer::new);
         APacketBase.initPackets(packetIndex);
     }
 
     @Override
-    public void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass) {
-        packetMappings.put(packetIndex, packetClass);
+    public <PacketType extends APacketBase> void registerPacket(byte packetIndex, Class<PacketType> packetClass, Function<ByteBuf, PacketType> packetFactory) {
+        packetMappings.put(packetClass, packetIndex);
+        packetFactories[packetIndex & 0xFF] = packetFactory;
     }
 
     @Override
     public byte getPacketIndex(APacketBase packet) {
-        return packetMappings.inverse().get(packet.getClass());
+        return packetIndexes.get(packet.getClass());
     }
 
     @Override
@@ -61,6 +76,24 @@ class InterfacePacket implements IInterfacePacket {
         network.send(PacketDistributor.ALL.noArg(), new WrapperPacket(packet));
     }
 
+    @Override
+    public void sendToClientsInWorld(APacketBase packet, AWrapperWorld world) {
+        network.send(PacketDistributor.DIMENSION.with(() -> ((WrapperWorld) world).world.dimension()), new WrapperPacket(packet));
+    }
+
+    @Override
+    public void sendToClientsNear(APacketBase packet, AWrapperWorld world, Point3D position, double radius) {
+        network.send(PacketDistributor.NEAR.with(() -> new PacketDistributor.TargetPoint(position.x, position.y, position.z, radius * radius, ((WrapperWorld) world).world.dimension())), new WrapperPacket(packet));
+    }
+
+    @Override
+    public void sendToTrackingClients(APacketBase packet, AEntityB_Existing entity) {
+        WrapperPacket wrapperPacket = new WrapperPacket(packet);
+        for (IWrapperPlayer player : entity.world.getPlayersTracking(entity)) {
+            network.send(PacketDistributor.PLAYER.with(() -> (ServerPlayerEntity) ((WrapperPlayer) player).player), wrapperPacket);
+        }
+    }
+
     @Override
     public void sendToPlayer(APacketBase packet, IWrapperPlayer player) {
         network.send(PacketDistributor.PLAYER.with(() -> (ServerPlayerEntity) ((WrapperPlayer) player).player), new WrapperPacket(packet));
@@ -107,13 +140,11 @@ class InterfacePacket implements IInterfacePacket {
 
         public static WrapperPacket fromBytes(PacketBuffer buf) {
             byte packetIndex = buf.readByte();
-            try {
-                Class<? extends APacketBase> packetClass = packetMappings.get(packetIndex);
-                return new WrapperPacket(packetClass.getConstructor(ByteBuf.class).newInstance(buf));
-            } catch (Exception e) {
-                e.printStackTrace();
+            Function<ByteBuf, ? extends APacketBase> packetFactory = packetFactories[packetIndex & 0xFF];
+            if (packetFactory == null) {
                 throw new IndexOutOfBoundsException("Was asked to create packet of index " + packetIndex + " but we haven't registered that one yet!");
             }
+            return new WrapperPacket(packetFactory.apply(buf));
         }
 
         public static void toBytes(WrapperPacket message, PacketBuffer buf) {
@@ -6,12 +6,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.imageio.ImageIO;
@@ -23,6 +21,7 @@ import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.IVertexBuilder;
 
+import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
@@ -59,6 +58,7 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.vector.Matrix4f;
+import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.LightType;
 import net.minecraftforge.fml.client.registry.RenderingRegistry;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
@@ -77,16 +77,25 @@ public class InterfaceRender implements IInterfaceRender {
     private static final List<GUIComponentItem> stacksToRender = new ArrayList<>();
 
     private static final Map<String, RenderType> renderTypes = new HashMap<>();
-    private static final Map<RenderableObject, Map<Object, BufferData>> buffers = new HashMap<>();
-    private static final Map<RenderType, List<RenderData>> queuedRenders = new HashMap<>();
+    /**
+     * Uploaded buffers for each object, keyed by the color, alpha, and light they were built with.
+     * These are shared by all entities that render the same object with the same properties, since the
+     * only thing that differs between those entities is the transform, which we pass in at draw time.
+     **/
+    private static final Map<RenderableObject, Map<BufferData, BufferData>> buffers = new HashMap<>();
+    /** The buffer each entity is currently using for each object.**/
+    private static final Map<RenderableObject, Map<Object, BufferData>> bufferUsers = new HashMap<>();
+    private static final BufferData bufferKey = new BufferData();
+    /** Renders queued this frame.  The records in these are re-used every frame to avoid garbage.**/
+    private static final Map<RenderType, RenderDataList> queuedRenders = new HashMap<>();
     private static final ConcurrentLinkedQueue<BufferData> removedRenders = new ConcurrentLinkedQueue<>();
-    private static final Set<RenderableObject> changedRenders = new HashSet<>();
 
     private static RenderState.TextureState MISSING_STATE;
     private static RenderState.TextureState BLOCK_STATE;
     private static MatrixStack matrixStack;
     private static IRenderTypeBuffer renderBuffer;
     private static Point3D renderCameraOffset = new Point3D();
+    private static ClippingHelper renderFrustum;
     private static boolean renderingGUI;
     private static float[] matrixConvertArray = new float[16];
 
@@ -139,19 +148,33 @@ public class InterfaceRender implements IInterfaceRender {
             //Rewind buffer for next read.
             object.vertices.rewind();
         } else {
-            String typeID = object.texture + object.isTranslucent + object.enableBrightBlending + object.ignoreWorldShading + object.disableLighting;
-            final RenderType renderType;
+            //Don't use computeIfAbsent here, the lambdas would capture the object and create garbage every call.
+            String typeID = object.getRenderStateKey();
+            RenderType renderType = renderTypes.get(typeID);
             if (object.cacheVertices && !renderingGUI) {
             	//Get the render type and data buffer for this entity.
-            	renderType = renderTypes.computeIfAbsent(typeID, k -> CustomRenderType.create("mts_entity", DefaultVertexFormats.NEW_ENTITY, 7, 2097152, true, object.isTranslucent, CustomRenderType.createForObject(object).createCompositeState(false)));
-            	BufferData data = buffers.computeIfAbsent(object, k -> new HashMap<>()).computeIfAbsent(objectAssociatedTo, k1 -> new BufferData(renderType, object));
+            	if (renderType == null) {
+            	    renderType = CustomRenderType.create("mts_entity", DefaultVertexFormats.NEW_ENTITY, 7, 2097152, true, object.isTranslucent, CustomRenderType.createForObject(object).createCompositeState(false));
+            	    renderTypes.put(typeID, renderType);
+            	}
+            	Map<Object, BufferData> users = bufferUsers.computeIfAbsent(object, k -> new HashMap<>());
+            	BufferData data = users.get(objectAssociatedTo);
+            	if (data == null || !data.matches(object)) {
+            	    //Entity properties changed, or it's new.  Switch to the shared buffer for the new properties.
+            	    if (data != null) {
+            	        releaseBuffer(object, data);
+            	    }
+            	    bufferKey.setTo(object);
+            	    data = buffers.computeIfAbsent(object, k -> new HashMap<>()).get(bufferKey);
+            	    if (data == null) {
+            	        data = new BufferData(renderType, object);
+            	        buffers.get(object).put(data, data);
+            	    }
+            	    ++data.users;
+            	    users.put(objectAssociatedTo, data);
+            	}
 
                 //Make sure data is ready, if not, init it.
-                if (object.changedSinceLastRender) {
-                    data.builder.clear();
-                    data.isReady = false;
-                    changedRenders.add(object);
-                }
                 if (!data.isReady) {
                     int index = 0;
                     data.builder.begin(GL11.GL_QUADS, renderType.format());
@@ -181,14 +204,17 @@ public class InterfaceRender implements IInterfaceRender {
                 }
 
                 //Add this buffer to the list to render later.
-                List<RenderData> renders = queuedRenders.get(renderType);
+                RenderDataList renders = queuedRenders.get(renderType);
                 if (renders == null) {
-                    renders = new ArrayList<>();
+                    renders = new RenderDataList();
                     queuedRenders.put(renderType, renders);
                 }
-                renders.add(new RenderData(stackEntry.pose(), data.buffer));
+                renders.add(stackEntry.pose(), data.buffer);
             } else {
-            	renderType = renderTypes.computeIfAbsent(typeID, k -> CustomRenderType.create("mts_entity", DefaultVertexFormats.NEW_ENTITY, 7, 256, true, object.isTranslucent, CustomRenderType.createForObject(object).createCompositeState(false)));
+            	if (renderType == null) {
+            	    renderType = CustomRenderType.create("mts_entity", DefaultVertexFormats.NEW_ENTITY, 7, 256, true, object.isTranslucent, CustomRenderType.createForObject(object).createCompositeState(false));
+            	    renderTypes.put(typeID, renderType);
+            	}
                 IVertexBuilder buffer = renderBuffer.getBuffer(renderType);
                 
                 //Now populate the state we requested.
@@ -203,6 +229,21 @@ public class InterfaceRender implements IInterfaceRender {
                     float posX = object.vertices.get();
                     float posY = object.vertices.get();
                     float posZ = object.vertices.get();
+                    float red;
+                    float green;
+                    float blue;
+                    float alpha;
+                    if (object.vertexColors != null) {
+                        red = object.vertexColors.get();
+                        green = object.vertexColors.get();
+                        blue = object.vertexColors.get();
+                        alpha = object.vertexColors.get();
+                    } else {
+                        red = object.color.red;
+                        green = object.color.green;
+                        blue = object.color.blue;
+                        alpha = object.alpha;
+                    }
 
                     //Add the vertex.  Yes, we have to multiply this here on the CPU.  Yes, it's retarded because the GPU should be doing the matrix math.
                     //Blaze3d my ass, this is SLOWER than DisplayLists!
@@ -211,7 +252,7 @@ public class InterfaceRender implements IInterfaceRender {
                     //Yes, they're stupid.
                     do {
                         buffer.vertex(stackEntry.pose(), posX, posY, posZ);
-                        buffer.color(object.color.red, object.color.green, object.color.blue, object.alpha);
+                        buffer.color(red, green, blue, alpha);
                         buffer.uv(texU, texV);
                         buffer.overlayCoords(OverlayTexture.NO_OVERLAY);
                         buffer.uv2(object.worldLightValue);
@@ -222,8 +263,11 @@ public class InterfaceRender implements IInterfaceRender {
                         index = 0;
                     }
                 }
-                //Rewind buffer for next read.
+                //Rewind buffers for next read.
                 object.vertices.rewind();
+                if (object.vertexColors != null) {
+                    object.vertexColors.rewind();
+                }
             }
         }
         matrixStack.popPose();
@@ -237,16 +281,34 @@ public class InterfaceRender implements IInterfaceRender {
             //Make sure we actually bound a buffer; just because the main system asks for a bound buffer,
     	    //doesn't mean we actually can give it one.  GUI models are one such case, as they don't work right
             //with bound buffers due to matrix differences.
-            Map<Object, BufferData> map = buffers.get(object);
-            if (map != null) {
-                BufferData buffer = map.remove(objectAssociatedTo);
+            Map<Object, BufferData> users = bufferUsers.get(object);
+            if (users != null) {
+                BufferData buffer = users.remove(objectAssociatedTo);
                 if (buffer != null) {
-                    removedRenders.add(buffer);
+                    releaseBuffer(object, buffer);
+                }
+                if (users.isEmpty()) {
+                    bufferUsers.remove(object);
                 }
             }
     	}
     }
 
+    /**
+     * Releases a user of the shared buffer.  If nothing else is using it, it's
+     * removed from the shared buffers and queued to be closed after rendering.
+     */
+    private static void releaseBuffer(RenderableObject object, BufferData buffer) {
+        if (--buffer.users == 0) {
+            Map<BufferData, BufferData> objectBuffers = buffers.get(object);
+            objectBuffers.remove(buffer);
+            if (objectBuffers.isEmpty()) {
+                buffers.remove(object);
+            }
+            removedRenders.add(buffer);
+        }
+    }
+
     @Override
     public int getLightingAtPosition(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
@@ -258,6 +320,17 @@ public class InterfaceRender implements IInterfaceRender {
         return Minecraft.getInstance().getEntityRenderDispatcher().shouldRenderHitBoxes();
     }
 
+    @Override
+    public boolean isBoxInView(BoundingBox box, double maxDistance) {
+        if (maxDistance > 0) {
+            Vector3d cameraPosition = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
+            if (cameraPosition.distanceToSqr(box.globalCenter.x, box.globalCenter.y, box.globalCenter.z) > maxDistance * maxDistance) {
+                return false;
+            }
+        }
+        return renderFrustum == null || renderFrustum.isVisible(WrapperWorld.convert(box));
+    }
+
     @Override
     public boolean bindURLTexture(String textureURL, InputStream stream) {
         if (stream != null) {
@@ -451,6 +524,8 @@ public class InterfaceRender implements IInterfaceRender {
             @Override
             public boolean shouldRender(BuilderEntityRenderForwarder builder, ClippingHelper camera, double camX, double camY, double camZ) {
                 //Always render the forwarder, no matter where the camera is.
+                //Save the camera frustum though, as we need it to cull the entities we render.
+                renderFrustum = camera;
                 return true;
             }
 
@@ -480,7 +555,6 @@ public class InterfaceRender implements IInterfaceRender {
         ConcurrentLinkedQueue<AEntityC_Renderable> allEntities = world.renderableEntities;
         if (allEntities != null) {
             world.beginProfiling("MTSRendering_Setup", true);
-            changedRenders.clear();
 
             //NOTE: this operation occurs on a ConcurrentLinkedQueue.  Therefore, updates will
             //not occur one after another.  Sanitize your inputs!
@@ -491,6 +565,12 @@ public class InterfaceRender implements IInterfaceRender {
                 matrixStack.popPose();
             }
 
+            //Render static geometry and particles.  These are batched relative to the camera rather than an entity, so no translation is needed.
+            world.beginProfiling("MTSRendering_StaticGeometry", false);
+            world.staticGeometry.render(blendingEnabled, renderCameraOffset);
+            world.beginProfiling("MTSRendering_Particles", false);
+            world.particles.render(blendingEnabled, partialTicks, renderCameraOffset);
+
             //Need to tell the immediate buffer  it's done rendering, else it'll hold onto the data and crash other systems.
             if (renderBuffer instanceof IRenderTypeBuffer.Impl) {
                 ((IRenderTypeBuffer.Impl) renderBuffer).endBatch();
@@ -500,28 +580,27 @@ public class InterfaceRender implements IInterfaceRender {
             world.beginProfiling("MTSRendering_Execution", false);
             renderBuffers();
 
-            if (!changedRenders.isEmpty()) {
-                changedRenders.forEach(render -> render.changedSinceLastRender = false);
-            }
             world.endProfiling();
         }
     }
 
     private static void renderBuffers() {
         //Call order is CRITICAL and will lead to random JME faults with no stacktrace if modified!
-        for (Entry<RenderType, List<RenderData>> renderEntry : queuedRenders.entrySet()) {
+        for (Entry<RenderType, RenderDataList> renderEntry : queuedRenders.entrySet()) {
             RenderType renderType = renderEntry.getKey();
-            List<RenderData> datas = renderEntry.getValue();
-            if (!datas.isEmpty()) {
+            RenderDataList datas = renderEntry.getValue();
+            if (datas.size != 0) {
                 renderType.setupRenderState();
-                for (RenderData data : datas) {
+                for (int i = 0; i < datas.size; ++i) {
+                    RenderData data = datas.datas.get(i);
                     data.buffer.bind();
                     renderType.format().setupBufferState(0L);
                     data.buffer.draw(data.matrix, GL11.GL_QUADS);
+                    data.buffer = null;
                 }
                 renderType.format().clearBufferState();
                 renderType.clearRenderState();
-                datas.clear();
+                datas.size = 0;
             }
         }
         VertexBuffer.unbind();
@@ -596,12 +675,25 @@ public class InterfaceRender implements IInterfaceRender {
     }
 
     private static class RenderData {
-        final Matrix4f matrix;
-        final VertexBuffer buffer;
+        final Matrix4f matrix = new Matrix4f();
+        VertexBuffer buffer;
+    }
 
-        private RenderData(Matrix4f matrix, VertexBuffer buffer) {
-            this.matrix = new Matrix4f(matrix);
-            this.buffer = buffer;
+    /**
+     * List of renders for a render type.  Records are kept between frames and only the
+     * size is reset, so we don't create new ones for every object we render every frame.
+     */
+    private static class RenderDataList {
+        final List<RenderData> datas = new ArrayList<>();
+        int size;
+
+        private void add(Matrix4f matrix, VertexBuffer buffer) {
+            if (size == datas.size()) {
+                datas.add(new RenderData());
+            }
+            RenderData data = datas.get(size++);
+            data.matrix.set(matrix);
+            data.buffer = buffer;
         }
     }
 
@@ -614,6 +706,7 @@ public class InterfaceRender implements IInterfaceRender {
         float alpha;
         int lightIndex;
         boolean isReady;
+        int users;
 
         private BufferData() {
             builder = null;
@@ -640,6 +733,19 @@ public class InterfaceRender implements IInterfaceRender {
             }
         }
 
+        @Override
+        public int hashCode() {
+            int hash = Float.hashCode(red);
+            hash = 31 * hash + Float.hashCode(green);
+            hash = 31 * hash + Float.hashCode(blue);
+            hash = 31 * hash + Float.hashCode(alpha);
+            return 31 * hash + lightIndex;
+        }
+
+        private boolean matches(RenderableObject object) {
+            return object.worldLightValue == lightIndex && object.alpha == alpha && object.color.blue == blue && object.color.green == green && object.color.red == red;
+        }
+
         private void setTo(RenderableObject object) {
             this.red = object.color.red;
             this.green = object.color.green;
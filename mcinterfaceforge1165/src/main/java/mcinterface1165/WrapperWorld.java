@@ -4,13 +4,14 @@ import java.io.File;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import mcinterface1165.BlockCollisionCache.CachedBlock;
 import mcinterface1165.mixin.common.ConcretePowderBlockMixin;
 import minecrafttransportsimulator.baseclasses.BlockHitResult;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
@@ -37,6 +38,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.mcinterface.SavedDataWriter;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataRequest;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataUpdate;
 import minecrafttransportsimulator.packloading.PackParser;
@@ -62,7 +64,9 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.ItemUseContext;
 import net.minecraft.item.Items;
+import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.INBT;
 import net.minecraft.state.properties.SlabType;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.tileentity.TileEntity;
@@ -76,19 +80,18 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.util.math.RayTraceContext;
 import net.minecraft.util.math.RayTraceResult;
-import net.minecraft.util.math.shapes.IBooleanFunction;
-import net.minecraft.util.math.shapes.VoxelShape;
-import net.minecraft.util.math.shapes.VoxelShapes;
 import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.Explosion;
 import net.minecraft.world.LightType;
 import net.minecraft.world.World;
+import net.minecraft.world.gen.Heightmap;
 import net.minecraft.world.server.ServerWorld;
 import net.minecraft.world.storage.DimensionSavedDataManager;
 import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.items.CapabilityItemHandler;
@@ -110,11 +113,17 @@ public class WrapperWorld extends AWrapperWorld {
     private final Map<UUID, Integer> ticksSincePlayerJoin = new HashMap<>();
     private static Map<UUID, BuilderEntityRenderForwarder> playerFollowers = new HashMap<>();
     private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<>();
-    private final Set<BlockPos> knownAirBlocks = new HashSet<>();
+    private final BlockCollisionCache collisionCache;
 
 
     protected final World world;
     private final IWrapperNBT savedData;
+    private final SavedDataWriter savedDataWriter;
+    /**
+     * Copies of the saved data sections as of the last write.  Used by the background writer so it
+     * doesn't touch the live data.  Sections that haven't changed are re-used between writes.
+     **/
+    private final Map<String, INBT> savedDataSnapshots = new HashMap<>();
 
     /**
      * Returns a wrapper instance for the passed-in world instance.
@@ -135,9 +144,11 @@ public class WrapperWorld extends AWrapperWorld {
 
     private WrapperWorld(World world) {
         this.world = world;
+        this.collisionCache = new BlockCollisionCache(world);
         if (world.isClientSide) {
             //Send packet to server to request data for this world.
             this.savedData = InterfaceManager.coreInterface.getNewNBTWrapper();
+            this.savedDataWriter = null;
             InterfaceManager.packetInterface.sendToServer(new PacketWorldSavedDataRequest(InterfaceManager.clientInterface.getClientPlayer()));
         } else {
             //Load data from disk.
@@ -151,6 +162,7 @@ public class WrapperWorld extends AWrapperWorld {
                 e.printStackTrace();
                 throw new IllegalStateException("Could not load saved data from disk!  This will result in data loss if we continue!");
             }
+            this.savedDataWriter = new SavedDataWriter(getDataFile(), this::snapshotSavedData);
         }
         MinecraftForge.EVENT_BUS.register(this);
     }
@@ -202,14 +214,29 @@ public class WrapperWorld extends AWrapperWorld {
     public void setData(String name, IWrapperNBT value) {
         savedData.setData(name, value);
         if (!isClient()) {
-            try {
-                CompressedStreamTools.writeCompressed(((WrapperNBT) savedData).tag, Files.newOutputStream(getDataFile().toPath()));
-                InterfaceManager.packetInterface.sendToAllClients(new PacketWorldSavedDataUpdate(name, value));
-            } catch (Exception e) {
-                e.printStackTrace();
-                throw new IllegalStateException("Could not save data to disk!  This will result in data loss if we continue!");
+            //Don't write here, the writer will batch the changes and write them in the background.
+            savedDataWriter.markDirty(name);
+            InterfaceManager.packetInterface.sendToAllClients(new PacketWorldSavedDataUpdate(name, value));
+        }
+    }
+
+    /**
+     * Creates a snapshot of the saved data for the {@link SavedDataWriter}.  Dirty sections are copied,
+     * all others re-use the copy from the last snapshot as they haven't changed.
+     */
+    private SavedDataWriter.DataWriter snapshotSavedData(Set<String> dirtySections) {
+        CompoundNBT liveTag = ((WrapperNBT) savedData).tag;
+        CompoundNBT snapshotTag = new CompoundNBT();
+        for (String name : liveTag.getAllKeys()) {
+            INBT sectionSnapshot = dirtySections.contains(name) ? null : savedDataSnapshots.get(name);
+            if (sectionSnapshot == null) {
+                sectionSnapshot = liveTag.get(name).copy();
+                savedDataSnapshots.put(name, sectionSnapshot);
             }
+            snapshotTag.put(name, sectionSnapshot);
         }
+        savedDataSnapshots.keySet().retainAll(liveTag.getAllKeys());
+        return stream -> CompressedStreamTools.writeCompressed(snapshotTag, stream);
     }
 
     @Override
@@ -268,6 +295,20 @@ public class WrapperWorld extends AWrapperWorld {
         return players;
     }
 
+    @Override
+    public List<IWrapperPlayer> getPlayersTracking(AEntityB_Existing entity) {
+        //MC only tracks entities within the view distance, so that's our range.
+        //Like MC, we only check horizontal distance here.
+        List<IWrapperPlayer> players = new ArrayList<>();
+        double trackingRange = world.getServer().getPlayerList().getViewDistance() * 16;
+        for (PlayerEntity player : world.players()) {
+            if (Math.abs(player.getX() - entity.position.x) <= trackingRange && Math.abs(player.getZ() - entity.position.z) <= trackingRange) {
+                players.add(WrapperPlayer.getWrapperFor(player));
+            }
+        }
+        return players;
+    }
+
     @Override
     public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
         List<IWrapperEntity> entities = new ArrayList<>();
@@ -522,43 +563,49 @@ public class WrapperWorld extends AWrapperWorld {
 
     @Override
     public double getHeight(Point3D position) {
-        BlockPos pos = new BlockPos(position.x, position.y, position.z);
+        int x = (int) Math.floor(position.x);
+        int y = (int) Math.floor(position.y);
+        int z = (int) Math.floor(position.z);
+        //Skip the air above the top block in this column, since MC already tracks where that is.
+        //Unloaded columns return 0 here, so we just fall through to the normal check for them.
+        int surfaceY = world.getHeight(Heightmap.Type.WORLD_SURFACE, x, z) - 1;
+        if (surfaceY > 0 && y > surfaceY) {
+            y = surfaceY;
+        }
+
         //Need to go down till we find a block.
         boolean bottomSlab = false;
-        while (pos.getY() > 0) {
-            if (!world.isEmptyBlock(pos)) {
+        while (y > 0) {
+            CachedBlock block = collisionCache.getBlock(x, y, z);
+            if (!block.isAir) {
                 //Check for a slab, since this affects distance.
-                BlockState state = world.getBlockState(pos);
-                bottomSlab = state.getBlock() instanceof SlabBlock && state.getValue(SlabBlock.TYPE) == SlabType.BOTTOM;
+                bottomSlab = block.state.getBlock() instanceof SlabBlock && block.state.getValue(SlabBlock.TYPE) == SlabType.BOTTOM;
 
                 //Adjust up since we need to be above the top block.
-                pos = pos.above();
+                ++y;
                 break;
             }
-            pos = pos.below();
+            --y;
         }
-        return bottomSlab ? position.y - (pos.getY() - 0.5) : position.y - pos.getY();
+        return bottomSlab ? position.y - (y - 0.5) : position.y - y;
     }
 
     @Override
     public void updateBoundingBoxCollisions(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
         AxisAlignedBB mcBox = WrapperWorld.convert(box);
-        VoxelShape mcShape = VoxelShapes.create(mcBox);
         box.collidingBlockPositions.clear();
         mutableCollidingAABBs.clear();
         for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
             for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
                 for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!world.isEmptyBlock(pos)) {
-                        BlockState state = world.getBlockState(pos);
-                        VoxelShape collisionShape = state.getCollisionShape(world, pos).move(i, j, k);
-                        if (!collisionShape.isEmpty() && VoxelShapes.joinIsNotEmpty(mcShape, collisionShape, IBooleanFunction.AND) && state.getMaterial() != Material.LEAVES) {
-                            mutableCollidingAABBs.addAll(collisionShape.toAabbs());
+                    CachedBlock block = collisionCache.getBlock(i, j, k);
+                    if (!block.isAir) {
+                        if (!block.isLeaves && block.collidesWith(mcBox)) {
+                            Collections.addAll(mutableCollidingAABBs, block.collisionBoxes);
                             box.collidingBlockPositions.add(new Point3D(i, j, k));
                         }
-                        if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                            mutableCollidingAABBs.add(VoxelShapes.block().bounds().move(pos));
+                        if (box.collidesWithLiquids && block.isLiquid) {
+                            mutableCollidingAABBs.add(block.liquidBox);
                             box.collidingBlockPositions.add(new Point3D(i, j, k));
                         }
                     }
@@ -629,37 +676,22 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean clearCache, boolean breakLeaves) {
-        if (clearCache) {
-            knownAirBlocks.clear();
-        }
-        mutableCollidingAABBs.clear();
+    public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean breakLeaves) {
         AxisAlignedBB mcBox = WrapperWorld.convertWithOffset(box, offset.x, offset.y, offset.z);
-        VoxelShape mcShape = VoxelShapes.create(mcBox);
         for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
             for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
                 for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!knownAirBlocks.contains(pos)) {
-                        if (world.isLoaded(pos)) {
-                            BlockState state = world.getBlockState(pos);
-                            VoxelShape collisionShape = state.getCollisionShape(world, pos).move(i, j, k);
-                            if (state.getMaterial() != Material.LEAVES) {
-                                if (collisionShape != null && !collisionShape.isEmpty() && VoxelShapes.joinIsNotEmpty(mcShape, collisionShape, IBooleanFunction.AND)) {
-                                    return true;
-                                } else {
-                                    knownAirBlocks.add(pos);
-                                }
-                                if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                                    if (mcBox.intersects(VoxelShapes.block().bounds().move(pos))) {
-                                        return true;
-                                    }
-                                }
-                            } else if (breakLeaves) {
-                                world.destroyBlock(pos, false);
-                            } else {
-                                knownAirBlocks.add(pos);
+                    if (collisionCache.isLoaded(i, j, k)) {
+                        CachedBlock block = collisionCache.getBlock(i, j, k);
+                        if (!block.isLeaves) {
+                            if (block.collidesWith(mcBox)) {
+                                return true;
+                            }
+                            if (box.collidesWithLiquids && block.isLiquid && mcBox.intersects(block.liquidBox)) {
+                                return true;
                             }
+                        } else if (breakLeaves) {
+                            world.destroyBlock(new BlockPos(i, j, k), false);
                         }
                     }
                 }
@@ -1015,6 +1047,7 @@ public class WrapperWorld extends AWrapperWorld {
             if (event.phase.equals(Phase.START)) {
                 beginProfiling("MTS_ServerVehicleUpdates", true);
                 tickAll();
+                savedDataWriter.tick();
 
                 for (PlayerEntity mcPlayer : event.world.players()) {
                     UUID playerUUID = mcPlayer.getUUID();
@@ -1096,6 +1129,17 @@ public class WrapperWorld extends AWrapperWorld {
         }
     }
 
+    /**
+     * Remove cached collisions for chunks that unload, as they may change before they load again.
+     */
+    @SubscribeEvent
+    public void onIVChunkUnload(ChunkEvent.Unload event) {
+        //Need to check if it's our world, because Forge is stupid like that.
+        if (event.getWorld() == world) {
+            collisionCache.removeChunk(event.getChunk().getPos());
+        }
+    }
+
     /**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
      * Also remove this wrapper from the created lists, as it's invalid.
@@ -1107,6 +1151,9 @@ public class WrapperWorld extends AWrapperWorld {
             for (AEntityA_Base entity : allEntities) {
                 entity.remove();
             }
+            if (savedDataWriter != null) {
+                savedDataWriter.flush();
+            }
             worldWrappers.remove(world);
         }
     }